@@ -0,0 +1,110 @@
+package com.apps4society.MinIO_API.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara o resultado JSON de uma execução do JMH com a linha de base gravada no repositório. Com {@code update=true}
+ * o resultado atual passa a ser a linha de base. Uma piora maior que a tolerância em qualquer benchmark, ou a falta da
+ * linha de base, encerra com código 1, o que faz o {@code mvn verify -Denv=benchmark} falhar.
+ * <p>
+ * Uso: {@code BaselineComparison <resultado.json> <linha-de-base.json> <tolerância> [update]}
+ */
+public final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PACKAGE = "com.apps4society.MinIO_API.";
+
+    private record Score(String mode, double value, String unit) {
+
+        // No modo de vazão quanto maior melhor; nos de tempo, quanto menor.
+        double change(Score baseline) {
+            double ratio = value / baseline.value;
+            return "thrpt".equals(mode) ? 1 - ratio : ratio - 1;
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Uso: BaselineComparison <resultado.json> <linha-de-base.json> <tolerância> [update]");
+            System.exit(2);
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(result)) {
+            System.err.println("Resultado do JMH não encontrado: " + result);
+            System.exit(2);
+        }
+        if (!update && !Files.exists(baseline)) {
+            System.err.println("Linha de base não encontrada: " + baseline + ". Grave-a com -Djmh.update-baseline=true.");
+            System.exit(1);
+        }
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Linha de base gravada em " + baseline);
+            return;
+        }
+
+        Map<String, Score> current = read(result);
+        Map<String, Score> reference = read(baseline);
+        int regressions = 0;
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Base", "Atual", "Variação");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = reference.get(entry.getKey());
+            if (before == null || !before.unit().equals(now.unit())) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value(), "nova");
+                continue;
+            }
+            double change = now.change(before);
+            boolean regression = change > tolerance;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value(), now.value(),
+                    change * 100, regression ? "  PIORA" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) pioraram mais de %.0f%% em relação à linha de base.%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return Pontuação de cada benchmark, identificado pelo nome, modo e parâmetros.
+     */
+    private static Map<String, Score> read(Path file) throws IOException {
+        JsonNode root = MAPPER.readTree(file.toFile());
+        if (!(root instanceof ArrayNode runs)) {
+            throw new IOException("Resultado do JMH inválido: " + file);
+        }
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            String mode = run.path("mode").asText();
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace(PACKAGE, "")).append(" [").append(mode);
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(", ").append(param.getKey()).append('=').append(param.getValue().asText()));
+            key.append(']');
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(mode, metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
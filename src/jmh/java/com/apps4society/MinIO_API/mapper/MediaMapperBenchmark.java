@@ -0,0 +1,54 @@
+package com.apps4society.MinIO_API.mapper;
+
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão das mídias de uma página da listagem em {@link MediaResponse}, nos tamanhos de página aceitos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class MediaMapperBenchmark {
+
+    // Página pequena, página padrão da listagem e um lote grande de URLs.
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private final MediaMapper mediaMapper = new MediaMapperImpl();
+    private List<Media> page;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Media media = new Media((long) (i % 50), "arquivo-" + i + ".jpg", "educAPI", MediaType.IMAGE);
+            media.setEntityId((long) i + 1);
+            page.add(media);
+        }
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Media media : page) {
+            blackhole.consume(mediaMapper.toResponse(media));
+        }
+    }
+
+    @Benchmark
+    public void toResponseWithUrl(Blackhole blackhole) {
+        for (Media media : page) {
+            blackhole.consume(mediaMapper.toResponse(media, "http://localhost:9000/test-bucket/educAPI/" + media.getFileName()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.apps4society.MinIO_API.security;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do filtro de API key em cada requisição: chave válida (cria a autenticação), chave inválida (responde 401)
+ * e rota pública (só compara prefixos).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class ApiKeyFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private final ApiKeyFilter filter = new ApiKeyFilter();
+    private MockHttpServletRequest validKey;
+    private MockHttpServletRequest invalidKey;
+    private MockHttpServletRequest publicRoute;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(filter, "apiKey", "chave-de-producao-com-32-caracteres");
+        validKey = request("/api/media/educAPI/42", "chave-de-producao-com-32-caracteres");
+        invalidKey = request("/api/media/educAPI/42", "chave-de-producao-com-32-caracterez");
+        publicRoute = request("/swagger-ui/index.html", null);
+    }
+
+    private static MockHttpServletRequest request(String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (apiKey != null) {
+            request.addHeader("api-key", apiKey);
+        }
+        return request;
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void validKey() throws Exception {
+        filter.doFilter(validKey, new MockHttpServletResponse(), CHAIN);
+    }
+
+    @Benchmark
+    public void invalidKey() throws Exception {
+        filter.doFilter(invalidKey, new MockHttpServletResponse(), CHAIN);
+    }
+
+    @Benchmark
+    public void publicRoute() throws Exception {
+        filter.doFilter(publicRoute, new MockHttpServletResponse(), CHAIN);
+    }
+}
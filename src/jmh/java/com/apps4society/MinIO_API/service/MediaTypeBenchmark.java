@@ -0,0 +1,52 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identificação do tipo da mídia: pela extensão (upload direto ao MinIO) e pela assinatura do conteúdo (uploads que
+ * passam pela API).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class MediaTypeBenchmark {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1};
+    private static final byte[] MP4 = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'm', 'p', '4', '2', 0, 0, 0, 0};
+    // MP3 sem tag ID3: a última assinatura testada, depois de todas as outras.
+    private static final byte[] MP3_FRAME = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x64, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    // Em um estado próprio para que os nomes não multipliquem os benchmarks de assinatura.
+    @State(Scope.Benchmark)
+    public static class FileNames {
+
+        @Param({"foto_perfil.png", "Aula 12 - Introdução.MP4", "podcast.episodio.07.mp3"})
+        public String fileName;
+    }
+
+    @Benchmark
+    public MediaType determineMediaType(FileNames names) {
+        return MediaType.fromFileName(names.fileName);
+    }
+
+    @Benchmark
+    public MediaSniffer.Detected sniffJpeg() {
+        return MediaSniffer.detect(JPEG);
+    }
+
+    @Benchmark
+    public MediaSniffer.Detected sniffMp4() {
+        return MediaSniffer.detect(MP4);
+    }
+
+    @Benchmark
+    public MediaSniffer.Detected sniffMp3Frame() {
+        return MediaSniffer.detect(MP3_FRAME);
+    }
+}
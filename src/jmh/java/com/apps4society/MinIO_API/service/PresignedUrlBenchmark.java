@@ -0,0 +1,84 @@
+package com.apps4society.MinIO_API.service;
+
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.http.Method;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração de URLs assinadas: a assinatura feita localmente pelo SDK (falta no cache) e a consulta ao
+ * {@link PresignedUrlCache} (acerto). Com a região fixa o SDK não consulta o MinIO, então nada aqui sai da JVM.
+ * A assinatura só estabiliza depois de uns 10 s de JIT, daí o aquecimento mais longo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 12, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class PresignedUrlBenchmark {
+
+    private static final Duration EXPIRY = Duration.ofHours(1);
+    private static final String SERVICE_NAME = "educAPI";
+
+    @State(Scope.Benchmark)
+    public static class Cache {
+
+        // Mídias distintas em cache, como num serviço com muitos acessos.
+        @Param({"1000", "10000"})
+        public int cachedMedias;
+
+        private PresignedUrlCache cache;
+
+        @Setup
+        public void setUp() {
+            cache = new PresignedUrlCache(cachedMedias, 0.5, Clock.systemUTC());
+            for (long mediaId = 1; mediaId <= cachedMedias; mediaId++) {
+                cache.put(SERVICE_NAME, mediaId, "http://localhost:9000/test-bucket/educAPI/" + mediaId + ".png", EXPIRY);
+            }
+        }
+    }
+
+    private MinioClient minioClient;
+
+    @Setup
+    public void setUp() {
+        minioClient = MinioClient.builder()
+                .endpoint("http://localhost:9000")
+                .region("us-east-1")
+                .credentials("minioadmin", "minioadmin")
+                .build();
+    }
+
+    @Benchmark
+    public String sign() throws Exception {
+        return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.GET)
+                .bucket("test-bucket")
+                .object("educAPI/foto_perfil.png")
+                .expiry((int) EXPIRY.toSeconds(), TimeUnit.SECONDS)
+                .build());
+    }
+
+    @Benchmark
+    public String signWithContentDisposition() throws Exception {
+        return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.GET)
+                .bucket("test-bucket")
+                .object("blobs/6f1c1e0e-8d4b-4c35-9d0a-2f4a8d2b9e11")
+                .expiry((int) EXPIRY.toSeconds(), TimeUnit.SECONDS)
+                .extraQueryParams(Map.of("response-content-disposition", "inline; filename=\"foto_perfil.png\""))
+                .build());
+    }
+
+    @Benchmark
+    public String cacheHit(Cache state) {
+        return state.cache.get(SERVICE_NAME, ThreadLocalRandom.current().nextLong(1, state.cachedMedias + 1)).orElseThrow();
+    }
+}
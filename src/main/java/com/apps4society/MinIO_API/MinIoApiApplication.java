@@ -2,9 +2,11 @@ package com.apps4society.MinIO_API;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class MinIoApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,45 @@
+package com.apps4society.MinIO_API.config;
+
+import com.apps4society.MinIO_API.model.entity.Media;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alinha a sequência de IDs de {@link Media} com as linhas já existentes. Até a troca para sequência os IDs vinham do
+ * AUTO_INCREMENT; no MySQL o Hibernate cria a tabela {@code media_seq} começando em 1 e os primeiros IDs colidiriam
+ * com os antigos. Roda antes de o servidor aceitar requisições e só avança o valor, nunca o recua.
+ */
+@Slf4j
+@Component
+public class MediaIdSequenceAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public MediaIdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            // Sequência nativa (H2 no desenvolvimento local): nasce junto com a tabela, sem IDs antigos.
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(entity_id), 0) from media", Long.class);
+        // O otimizador pooled lê o topo do próximo bloco: o bloco inteiro precisa ficar acima do maior ID.
+        long floor = maxId + Media.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("update media_seq set next_val = ? where next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("Sequência media_seq avançada para {} | Maior ID existente: {}", floor, maxId);
+        }
+    }
+}
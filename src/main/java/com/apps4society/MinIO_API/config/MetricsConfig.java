@@ -0,0 +1,95 @@
+package com.apps4society.MinIO_API.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardMultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Métricas dos endpoints. O timer {@code http.server.requests} do Spring ganha a tag {@code serviceName}, tirada da
+ * variável de caminho ou, nos uploads, do {@code mediaRequest} (ver {@link #tagServiceName}); a leitura do corpo
+ * multipart, que acontece antes do controller, é medida em {@code http.multipart.parse}. Requisições barradas pela
+ * API key não chegam ao mapeamento e ficam sem serviço, então só clientes autenticados criam valores novos da tag.
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String SERVICE_NAME_TAG = "serviceName";
+    static final String NONE = "none";
+    private static final String SERVICE_NAME_ATTRIBUTE = MetricsConfig.class.getName() + ".serviceName";
+
+    /**
+     * Registra o serviço de uma requisição que não o traz no caminho.
+     */
+    public static void tagServiceName(ServletRequest request, String serviceName) {
+        request.setAttribute(SERVICE_NAME_ATTRIBUTE, serviceName);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(SERVICE_NAME_TAG, serviceName(context.getCarrier()));
+            }
+        };
+    }
+
+    /**
+     * Mesmo resolvedor que o Spring Boot criaria, medindo a leitura das partes: o Tomcat recebe o corpo inteiro e
+     * grava os arquivos grandes em disco antes de o controller recebê-los. Com {@code resolve-lazily} a leitura só
+     * acontece quando alguém pede as partes, e o {@code /api/media/stream}, que lê o corpo cru, fica de fora.
+     */
+    @Bean(DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MultipartResolver multipartResolver(MeterRegistry meterRegistry, MultipartProperties multipartProperties) {
+        Timer parse = Timer.builder("http.multipart.parse")
+                .description("Recebimento e leitura das partes das requisições multipart")
+                .register(meterRegistry);
+        boolean resolveLazily = multipartProperties.isResolveLazily();
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver() {
+            @Override
+            public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) {
+                if (!resolveLazily) {
+                    return parse.record(() -> super.resolveMultipart(request));
+                }
+                return new StandardMultipartHttpServletRequest(request, true) {
+                    @Override
+                    protected void initializeMultipart() {
+                        parse.record(() -> super.initializeMultipart());
+                    }
+                };
+            }
+        };
+        resolver.setStrictServletCompliance(multipartProperties.isStrictServletCompliance());
+        return resolver;
+    }
+
+    static String serviceName(HttpServletRequest request) {
+        if (request.getAttribute(SERVICE_NAME_ATTRIBUTE) instanceof String serviceName) {
+            return serviceName;
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get(SERVICE_NAME_TAG) instanceof String serviceName) {
+            return serviceName;
+        }
+        return NONE;
+    }
+}
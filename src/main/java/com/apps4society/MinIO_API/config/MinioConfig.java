@@ -1,27 +1,197 @@
 package com.apps4society.MinIO_API.config;
 
+import com.apps4society.MinIO_API.storage.MinioEndpointBalancer;
+import com.apps4society.MinIO_API.storage.MinioMetrics;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import io.minio.http.HttpUtils;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class MinioConfig {
 
     private final MinioProperties minioProperties;
+    private final boolean virtualThreads;
 
-    public MinioConfig(MinioProperties minioProperties) {
+    public MinioConfig(MinioProperties minioProperties, @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.minioProperties = minioProperties;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Cliente HTTP compartilhado pelos dois clientes do MinIO, que assim dividem o mesmo pool de conexões e as
+     * métricas. Todas as chamadas do SDK passam pelo dispatcher assíncrono do OkHttp; no modo de threads virtuais
+     * ele também as usa.
+     * <p>
+     * Os padrões do OkHttp não servem a um único servidor muito usado: o dispatcher deixa só 5 chamadas simultâneas
+     * por host (as demais esperam na fila, mesmo com threads livres) e o pool guarda só 5 conexões ociosas, então
+     * cada rajada de uploads abre conexões (e faz handshakes TLS) de novo. Os limites vêm de {@code minio.http.*};
+     * a ocupação do pool ({@code minio.http.pool.connection.*}) e do dispatcher ({@code minio.http.calls}) e o tempo
+     * de abertura das conexões ({@code minio.http.connect}) são publicados como métricas. Com {@code minio.endpoints}
+     * configurado, o {@link MinioEndpointBalancer} distribui as chamadas entre os nós.
+     * <p>
+     * No modo de threads virtuais o dispatcher fica sem limite: cada chamada ganha a sua thread virtual e uma fila
+     * no dispatcher só seria um teto de concorrência escondido (e, com {@code minio.endpoints}, dividido entre todos
+     * os nós, já que o limite por host conta o host de {@code minio.url}). Quem limita o paralelismo passa a ser quem
+     * chama: as requisições HTTP e os executores de upload.
+     */
+    @Bean
+    public OkHttpClient minioHttpClient(MinioMetrics minioMetrics, MinioEndpointBalancer endpointBalancer,
+                                        MeterRegistry meterRegistry) throws GeneralSecurityException {
+        Dispatcher dispatcher = virtualThreads
+                ? new Dispatcher(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("minio-http-", 0).factory()))
+                : new Dispatcher();
+        dispatcher.setMaxRequests(virtualThreads ? Integer.MAX_VALUE : minioProperties.getHttpMaxRequests());
+        dispatcher.setMaxRequestsPerHost(virtualThreads ? Integer.MAX_VALUE : minioProperties.getHttpMaxRequestsPerHost());
+        ConnectionPool connectionPool = new ConnectionPool(minioProperties.getHttpMaxIdleConnections(),
+                minioProperties.getHttpKeepAlive().toMillis(), TimeUnit.MILLISECONDS);
+
+        OkHttpClient defaults = HttpUtils.newDefaultHttpClient(minioProperties.getHttpConnectTimeout().toMillis(),
+                minioProperties.getHttpWriteTimeout().toMillis(), minioProperties.getHttpReadTimeout().toMillis());
+        OkHttpClient.Builder builder = defaults.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .addInterceptor(minioMetrics)
+                .eventListenerFactory(minioMetrics);
+        if (endpointBalancer.isEnabled()) {
+            // Depois das métricas, para que minio.requests meça a operação inteira, com as repetições em outro nó.
+            builder.addInterceptor(endpointBalancer);
+        }
+        if (minioProperties.isHttp2()) {
+            // Negociado por ALPN: só vale com TLS e se o servidor aceitar; do contrário a conexão segue em HTTP/1.1.
+            builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        }
+        if (minioProperties.getTlsSessionCacheSize() > 0 || minioProperties.getTlsSessionTimeout().isPositive()) {
+            configureTlsSessions(builder, defaults.x509TrustManager());
+        }
+
+        new OkHttpConnectionPoolMetrics(connectionPool, "minio.http.pool", Tags.empty(),
+                minioProperties.getHttpMaxIdleConnections()).bindTo(meterRegistry);
+        Gauge.builder("minio.http.calls", dispatcher, Dispatcher::runningCallsCount)
+                .description("Chamadas ao MinIO em andamento (running) e à espera de vaga no dispatcher (queued)")
+                .tag("state", "running")
+                .register(meterRegistry);
+        Gauge.builder("minio.http.calls", dispatcher, Dispatcher::queuedCallsCount)
+                .description("Chamadas ao MinIO em andamento (running) e à espera de vaga no dispatcher (queued)")
+                .tag("state", "queued")
+                .register(meterRegistry);
+        return builder.build();
+    }
+
+    /**
+     * Contexto TLS próprio do cliente do MinIO, com o cache de sessões dimensionado para ele: conexões novas retomam
+     * a sessão (handshake abreviado) em vez de negociar tudo de novo. Mantém os certificados confiáveis do SDK,
+     * inclusive os de {@code SSL_CERT_FILE}. Zero em um dos parâmetros deixa o padrão do JDK.
+     */
+    private void configureTlsSessions(OkHttpClient.Builder builder, X509TrustManager trustManager) throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{trustManager}, null);
+        SSLSessionContext sessions = sslContext.getClientSessionContext();
+        if (minioProperties.getTlsSessionCacheSize() > 0) {
+            sessions.setSessionCacheSize(minioProperties.getTlsSessionCacheSize());
+        }
+        if (minioProperties.getTlsSessionTimeout().isPositive()) {
+            sessions.setSessionTimeout((int) minioProperties.getTlsSessionTimeout().toSeconds());
+        }
+        builder.sslSocketFactory(sslContext.getSocketFactory(), trustManager);
     }
 
     @Bean
-    public MinioClient minioClient() {
+    public MinioClient minioClient(OkHttpClient minioHttpClient) {
         return MinioClient.builder()
                 .endpoint(minioProperties.getUrl())
                 .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(minioHttpClient)
+                .build();
+    }
+
+    /**
+     * Cliente assíncrono usado pelo upload multipart, que precisa das chamadas de baixo nível
+     * (create/uploadPart/complete/abort) não expostas pelo {@link MinioClient}.
+     */
+    @Bean
+    public MinioAsyncClient minioAsyncClient(OkHttpClient minioHttpClient) {
+        return MinioAsyncClient.builder()
+                .endpoint(minioProperties.getUrl())
+                .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(minioHttpClient)
                 .build();
     }
 
+    /**
+     * Executor limitado para o envio das partes. A fila curta com CallerRunsPolicy faz a thread da requisição
+     * desacelerar quando todas as threads estão ocupadas, em vez de acumular partes em memória. No modo de threads
+     * virtuais o pool continua existindo só como limite de partes em voo; as threads em si passam a ser virtuais.
+     */
+    @Bean(name = "minioUploadExecutor", destroyMethod = "shutdown")
+    public ExecutorService minioUploadExecutor() {
+        int threads = minioProperties.getUploadExecutorThreads();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                virtualThreads ? Thread.ofVirtual().name("minio-upload-", 0).factory() : new CustomizableThreadFactory("minio-upload-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Executor dos arquivos de um upload em lote. Separado do {@code minioUploadExecutor} para que um lote não
+     * ocupe as threads das partes dos uploads multipart, nem espere por elas; a CallerRunsPolicy faz a thread da
+     * requisição enviar arquivos também quando todas estão ocupadas.
+     */
+    @Bean(name = "minioBulkUploadExecutor", destroyMethod = "shutdown")
+    public ExecutorService minioBulkUploadExecutor() {
+        int threads = minioProperties.getUploadBulkThreads();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                virtualThreads ? Thread.ofVirtual().name("minio-bulk-", 0).factory() : new CustomizableThreadFactory("minio-bulk-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     public String getBucketName() {
         return minioProperties.getBucketName();
     }
+
+    /**
+     * Tamanho de cada parte enviada ao MinIO quando o tamanho total do arquivo não é conhecido (upload em streaming).
+     */
+    public long getUploadPartSize() {
+        return minioProperties.getUploadPartSize().toBytes();
+    }
+
+    /**
+     * Tamanho a partir do qual vídeos são enviados pelo upload multipart paralelo.
+     */
+    public long getMultipartThreshold() {
+        return minioProperties.getMultipartThreshold().toBytes();
+    }
+
+    /**
+     * Validade das URLs assinadas de PUT entregues para o upload direto ao MinIO.
+     */
+    public Duration getPresignedUploadExpiry() {
+        return minioProperties.getPresignedUploadExpiry();
+    }
 }
@@ -5,6 +5,10 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @ConfigurationProperties(prefix = "minio")
@@ -22,4 +26,94 @@ public class MinioProperties {
 
     @Value("${minio.bucket.name}")
     private String bucketName;
+
+    @Value("${minio.endpoints:}")
+    private List<String> endpoints;
+
+    @Value("${minio.balancer.probe-interval:10s}")
+    private Duration balancerProbeInterval;
+
+    @Value("${minio.balancer.probe-timeout:2s}")
+    private Duration balancerProbeTimeout;
+
+    @Value("${minio.balancer.failure-threshold:3}")
+    private int balancerFailureThreshold;
+
+    @Value("${minio.balancer.max-attempts:3}")
+    private int balancerMaxAttempts;
+
+    @Value("${minio.http.connect-timeout:10s}")
+    private Duration httpConnectTimeout;
+
+    @Value("${minio.http.read-timeout:5m}")
+    private Duration httpReadTimeout;
+
+    @Value("${minio.http.write-timeout:5m}")
+    private Duration httpWriteTimeout;
+
+    @Value("${minio.http.max-idle-connections:32}")
+    private int httpMaxIdleConnections;
+
+    @Value("${minio.http.keep-alive:5m}")
+    private Duration httpKeepAlive;
+
+    @Value("${minio.http.max-requests:128}")
+    private int httpMaxRequests;
+
+    @Value("${minio.http.max-requests-per-host:64}")
+    private int httpMaxRequestsPerHost;
+
+    @Value("${minio.http.http2:false}")
+    private boolean http2;
+
+    @Value("${minio.http.tls.session-cache-size:0}")
+    private int tlsSessionCacheSize;
+
+    @Value("${minio.http.tls.session-timeout:0s}")
+    private Duration tlsSessionTimeout;
+
+    @Value("${minio.upload.part-size:10MB}")
+    private DataSize uploadPartSize;
+
+    @Value("${minio.upload.multipart-threshold:64MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${minio.upload.parallelism:4}")
+    private int uploadParallelism;
+
+    @Value("${minio.upload.executor-threads:16}")
+    private int uploadExecutorThreads;
+
+    @Value("${minio.upload.bulk-threads:8}")
+    private int uploadBulkThreads;
+
+    @Value("${minio.upload.max-retries:3}")
+    private int uploadMaxRetries;
+
+    @Value("${minio.upload.presigned-expiry:15m}")
+    private Duration presignedUploadExpiry;
+
+    @Value("${minio.url-cache.max-entries:10000}")
+    private int urlCacheMaxEntries;
+
+    @Value("${minio.url-cache.min-remaining:0.5}")
+    private double urlCacheMinRemaining;
+
+    @Value("${minio.outbox.poll-interval:30s}")
+    private Duration outboxPollInterval;
+
+    @Value("${minio.outbox.batch-size:100}")
+    private int outboxBatchSize;
+
+    @Value("${minio.outbox.max-backoff:1h}")
+    private Duration outboxMaxBackoff;
+
+    @Value("${minio.outbox.dispatch-threads:4}")
+    private int outboxDispatchThreads;
+
+    @Value("${minio.archive.batch-size:500}")
+    private int archiveBatchSize;
+
+    @Value("${minio.archive.keep-copy:true}")
+    private boolean archiveKeepCopy;
 }
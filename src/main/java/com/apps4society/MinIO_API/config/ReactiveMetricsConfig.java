@@ -0,0 +1,33 @@
+package com.apps4society.MinIO_API.config;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationConvention;
+import org.springframework.web.reactive.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Tag {@code serviceName} no {@code http.server.requests} da variante reativa. Aqui ela vem só da variável de
+ * caminho; os uploads, que trazem o serviço no corpo multipart, ficam sem.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                String serviceName = context.getAttributes().get(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                        && variables.get(MetricsConfig.SERVICE_NAME_TAG) instanceof String name ? name : MetricsConfig.NONE;
+                return super.getLowCardinalityKeyValues(context).and(MetricsConfig.SERVICE_NAME_TAG, serviceName);
+            }
+        };
+    }
+}
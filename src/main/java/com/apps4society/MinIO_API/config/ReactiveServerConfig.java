@@ -0,0 +1,20 @@
+package com.apps4society.MinIO_API.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Com o Tomcat também no classpath (variante servlet), o Spring Boot escolheria o adaptador reativo do Tomcat;
+ * aqui a variante reativa passa a rodar sobre o Netty, com seu pequeno número fixo de event loops.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
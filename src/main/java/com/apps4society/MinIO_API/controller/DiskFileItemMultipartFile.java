@@ -0,0 +1,62 @@
+package com.apps4society.MinIO_API.controller;
+
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Expõe como {@link MultipartFile} uma parte lida pelo commons-fileupload, para os endpoints que leem o corpo
+ * multipart por conta própria continuarem usando o {@code MediaService}. O conteúdo fica em memória ou no arquivo
+ * temporário da parte até {@link DiskFileItem#delete()}.
+ */
+final class DiskFileItemMultipartFile implements MultipartFile {
+
+    private final DiskFileItem item;
+
+    DiskFileItemMultipartFile(DiskFileItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getName() {
+        return item.getFieldName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return item.getName();
+    }
+
+    @Override
+    public String getContentType() {
+        return item.getContentType();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return item.getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return item.getSize();
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return item.get();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return item.getInputStream();
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        item.write(dest.toPath());
+    }
+}
@@ -0,0 +1,111 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.service.MediaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+/**
+ * Download do conteúdo das mídias pela própria API, para clientes que não alcançam o MinIO. Só existe com
+ * {@code app.media.proxy.enabled=true}.
+ */
+@Tag(name = "Media API", description = "Endpoints para gerenciar arquivos de mídia no MinIO.")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.media.proxy.enabled", havingValue = "true")
+@RequestMapping("/api/media")
+@SecurityRequirement(name = "API Key")
+public class MediaContentController {
+
+    private final MediaService mediaService;
+
+    public MediaContentController(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * Escreve direto na resposta, na própria thread da requisição: o download pode levar muito mais que o timeout
+     * das respostas assíncronas, e um arquivo grande não deve ocupar o executor de tarefas.
+     */
+    @Operation(summary = "Baixar o conteúdo da mídia",
+            description = "Entrega o arquivo passando pela API, com suporte a Range (um intervalo), If-Range e If-None-Match.",
+            responses = {@ApiResponse(responseCode = "200", description = "Arquivo completo."),
+                    @ApiResponse(responseCode = "206", description = "Intervalo solicitado."),
+                    @ApiResponse(responseCode = "304", description = "O cliente já tem esta versão."),
+                    @ApiResponse(responseCode = "404", description = "Mídia não encontrada."),
+                    @ApiResponse(responseCode = "416", description = "Intervalo fora do arquivo.")})
+    @GetMapping("{serviceName}/{mediaId}/content")
+    public void downloadMedia(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("mediaId") Long mediaId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        MediaObject object = mediaService.getMediaObject(serviceName, mediaId);
+        String etag = MediaContentSupport.quoted(object.etag());
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (object.lastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.lastModified().toInstant().toEpochMilli());
+        }
+        if (MediaContentSupport.matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        MediaContentSupport.Slice slice = MediaContentSupport.slice(range, ifRange, etag, object.size());
+        if (!slice.satisfiable()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, slice.contentRange(object.size()));
+            return;
+        }
+
+        response.setStatus(slice.partial() ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+        if (slice.partial()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, slice.contentRange(object.size()));
+        }
+        response.setContentType(object.contentType());
+        response.setContentLengthLong(slice.length());
+        if (slice.length() == 0) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        Optional<ByteBuffer> cached = mediaService.readCachedMediaObject(object, slice.offset(), slice.length());
+        if (cached.isPresent()) {
+            // O trecho mapeado do cache vai direto para a resposta, sem passar por um buffer intermediário.
+            ByteBuffer mapped = cached.get();
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (mapped.hasRemaining()) {
+                channel.write(mapped);
+            }
+        } else {
+            byte[] buffer = new byte[MediaContentSupport.BUFFER_SIZE];
+            try (InputStream in = mediaService.openMediaObject(object, slice.offset(), slice.length())) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,84 @@
+package com.apps4society.MinIO_API.controller;
+
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+
+/**
+ * Regras de HTTP condicional e de Range comuns às variantes servlet e reativa do download de mídias.
+ */
+final class MediaContentSupport {
+
+    /**
+     * Tamanho do buffer de cópia: o heap usado por um download não depende do tamanho do arquivo.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private MediaContentSupport() {
+    }
+
+    /**
+     * Trecho do objeto a enviar. {@code partial} indica resposta 206; quando não é {@code satisfiable} a
+     * resposta é 416.
+     */
+    record Slice(long offset, long length, boolean partial, boolean satisfiable) {
+
+        String contentRange(long size) {
+            return satisfiable
+                    ? "bytes " + offset + "-" + (offset + length - 1) + "/" + size
+                    : "bytes */" + size;
+        }
+    }
+
+    static String quoted(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    /**
+     * Verifica If-None-Match (ou If-Range) contra o ETag, aceitando listas, "*" e validadores fracos.
+     */
+    static boolean matches(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.replaceFirst("^W/", "").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Só atende um único intervalo; Range inválido, com vários intervalos ou com If-Range de outra versão é
+     * ignorado e o arquivo vai inteiro, como o RFC 9110 permite.
+     */
+    static Slice slice(String rangeHeader, String ifRange, String etag, long size) {
+        Slice full = new Slice(0, size, false, true);
+        if (rangeHeader == null || (ifRange != null && !ifRange.trim().equals(etag))) {
+            return full;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return full;
+        }
+        if (ranges.size() != 1) {
+            return full;
+        }
+
+        try {
+            long start = ranges.get(0).getRangeStart(size);
+            long end = ranges.get(0).getRangeEnd(size);
+            if (start > end) {
+                return new Slice(0, 0, true, false);
+            }
+            return new Slice(start, end - start + 1, true, true);
+        } catch (IllegalArgumentException e) {
+            return new Slice(0, 0, true, false);
+        }
+    }
+}
@@ -1,36 +1,95 @@
 package com.apps4society.MinIO_API.controller;
 
+import com.apps4society.MinIO_API.config.MetricsConfig;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.model.DTO.BulkUploadResult;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.MediaUrlsRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
 import com.apps4society.MinIO_API.service.MediaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletDiskFileUpload;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Tag(name = "Media API", description = "Endpoints para gerenciar arquivos de mídia no MinIO.")
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/media")
 @SecurityRequirement(name = "API Key")
 @Validated
 public class MediaController {
 
     private final MediaService mediaService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
-    public MediaController(MediaService mediaService) {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Value("${app.upload.stream.max-file-size:2GB}")
+    private DataSize streamMaxFileSize;
+
+    @Value("${app.upload.bulk.max-files:500}")
+    private int bulkMaxFiles;
+
+    @Value("${app.upload.bulk.max-request-size:500MB}")
+    private DataSize bulkMaxRequestSize;
+
+    @Value("${spring.servlet.multipart.max-file-size:1MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.media.list.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.media.list.max-page-size:1000}")
+    private int maxPageSize;
+
+    public MediaController(MediaService mediaService, ObjectMapper objectMapper, Validator validator) {
         this.mediaService = mediaService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     @Operation(summary = "Upload de um arquivo", description = "Faz o upload de um arquivo para o MinIO e salva as informações no banco de dados.",
@@ -38,24 +97,190 @@ public class MediaController {
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MediaResponse> uploadFile(
             @Valid @RequestPart("mediaRequest") MediaRequest mediaRequest,
-            @RequestPart("file") MultipartFile file) {
+            @RequestPart("file") MultipartFile file,
+            HttpServletRequest request) {
+        MetricsConfig.tagServiceName(request, mediaRequest.serviceName());
         return ResponseEntity.status(HttpStatus.CREATED).body(mediaService.uploadMedia(mediaRequest, file));
     }
 
+    @Operation(summary = "Upload de um arquivo em streaming",
+            description = "Lê o corpo multipart de forma incremental e envia o arquivo direto para o MinIO, sem gravá-lo em disco. " +
+                    "A parte 'mediaRequest' deve ser enviada antes da parte 'file'.",
+            responses = {@ApiResponse(responseCode = "201", description = "Arquivo enviado com sucesso.")})
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaResponse> uploadFileStream(HttpServletRequest request) throws IOException, MissingServletRequestPartException {
+        JakartaServletDiskFileUpload upload = new JakartaServletDiskFileUpload();
+        upload.setFileSizeMax(streamMaxFileSize.toBytes());
+
+        MediaRequest mediaRequest = null;
+        FileItemInputIterator parts = upload.getItemIterator(request);
+        while (parts.hasNext()) {
+            FileItemInput part = parts.next();
+            if ("mediaRequest".equals(part.getFieldName())) {
+                try (InputStream stream = part.getInputStream()) {
+                    mediaRequest = readMediaRequest(stream);
+                }
+                MetricsConfig.tagServiceName(request, mediaRequest.serviceName());
+            } else if ("file".equals(part.getFieldName()) && !part.isFormField()) {
+                if (mediaRequest == null) {
+                    throw new InvalidInputException("A parte 'mediaRequest' deve ser enviada antes da parte 'file'.");
+                }
+                try (InputStream stream = part.getInputStream()) {
+                    MediaResponse response = mediaService.uploadMediaStream(mediaRequest, part.getName(), part.getContentType(), stream);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                } catch (FileStorageException e) {
+                    // O limite estoura na leitura do corpo, que pode estar várias camadas abaixo (serviço e upload multipart).
+                    FileUploadSizeException tooLarge = findCause(e, FileUploadSizeException.class);
+                    if (tooLarge != null) {
+                        throw new MaxUploadSizeExceededException(streamMaxFileSize.toBytes(), tooLarge);
+                    }
+                    throw e;
+                }
+            }
+        }
+        throw new MissingServletRequestPartException(mediaRequest == null ? "mediaRequest" : "file");
+    }
+
+    /**
+     * O corpo é lido aqui, e não pelo multipart do Spring, para ter limite de requisição próprio
+     * ({@code app.upload.bulk.max-request-size}) sem elevar o limite global dos demais endpoints; cada arquivo segue
+     * limitado a {@code spring.servlet.multipart.max-file-size}.
+     */
+    @Operation(summary = "Upload em lote",
+            description = "Envia vários arquivos numa só requisição, com uma parte 'mediaRequest' e uma parte 'files' por arquivo. " +
+                    "Cada arquivo tem seu próprio resultado, com o status que teria num upload individual.",
+            responses = {@ApiResponse(responseCode = "201", description = "Todos os arquivos foram enviados com sucesso."),
+                    @ApiResponse(responseCode = "207", description = "Algum arquivo falhou; os demais foram enviados.")})
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<BulkUploadResult>> uploadFiles(HttpServletRequest request) throws IOException, MissingServletRequestPartException {
+        JakartaServletDiskFileUpload upload = new JakartaServletDiskFileUpload();
+        upload.setSizeMax(bulkMaxRequestSize.toBytes());
+        upload.setFileSizeMax(maxFileSize.toBytes());
+
+        List<DiskFileItem> parts;
+        try {
+            parts = upload.parseRequest(request);
+        } catch (FileUploadSizeException e) {
+            throw new MaxUploadSizeExceededException(e.getPermitted(), e);
+        }
+        try {
+            MediaRequest mediaRequest = null;
+            List<MultipartFile> files = new ArrayList<>();
+            for (DiskFileItem part : parts) {
+                if ("mediaRequest".equals(part.getFieldName())) {
+                    try (InputStream stream = part.getInputStream()) {
+                        mediaRequest = readMediaRequest(stream);
+                    }
+                } else if ("files".equals(part.getFieldName()) && !part.isFormField()) {
+                    files.add(new DiskFileItemMultipartFile(part));
+                }
+            }
+            if (mediaRequest == null || files.isEmpty()) {
+                throw new MissingServletRequestPartException(mediaRequest == null ? "mediaRequest" : "files");
+            }
+
+            MetricsConfig.tagServiceName(request, mediaRequest.serviceName());
+            if (files.size() > bulkMaxFiles) {
+                throw new InvalidInputException("No máximo " + bulkMaxFiles + " arquivos podem ser enviados por requisição.");
+            }
+            List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, files);
+            HttpStatus status = results.stream().allMatch(BulkUploadResult::isCreated) ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(results);
+        } finally {
+            for (DiskFileItem part : parts) {
+                part.delete();
+            }
+        }
+    }
+
+    @Operation(summary = "Reservar upload direto",
+            description = "Reserva a mídia e devolve uma URL assinada para o cliente enviar o arquivo com um PUT diretamente ao MinIO. " +
+                    "A mídia fica pendente até a confirmação.",
+            responses = {@ApiResponse(responseCode = "201", description = "Reserva criada com sucesso.")})
+    @PostMapping(value = "/presigned", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PresignedUploadResponse> reservePresignedUpload(@Valid @RequestBody PresignedUploadRequest request,
+                                                                          HttpServletRequest servletRequest) {
+        MetricsConfig.tagServiceName(servletRequest, request.serviceName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(mediaService.reservePresignedUpload(request));
+    }
+
+    @Operation(summary = "Confirmar upload direto", description = "Verifica que o arquivo chegou ao MinIO e ativa a mídia reservada.",
+            responses = {@ApiResponse(responseCode = "200", description = "Mídia ativada com sucesso."),
+                    @ApiResponse(responseCode = "400", description = "O arquivo ainda não foi enviado."),
+                    @ApiResponse(responseCode = "404", description = "Reserva não encontrada.")})
+    @PostMapping("{serviceName}/{mediaId}/confirm")
+    public ResponseEntity<MediaResponse> confirmPresignedUpload(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("mediaId") Long mediaId) {
+        return ResponseEntity.ok(mediaService.confirmPresignedUpload(serviceName, mediaId));
+    }
+
+    @Operation(summary = "URL da mídia", description = "Gera a URL assinada de download da mídia. Com width, aponta para a " +
+            "menor miniatura que atende a largura de exibição, quando houver; senão, para o arquivo original.")
     @GetMapping("{serviceName}/{mediaId}")
     public ResponseEntity<String> getMedia(
             @PathVariable("serviceName") String serviceName,
-            @PathVariable("mediaId") Long mediaId) {
-        return ResponseEntity.ok(mediaService.getMediaUrl(serviceName, mediaId));
+            @PathVariable("mediaId") Long mediaId,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        return ResponseEntity.ok(mediaService.getMediaUrl(serviceName, mediaId, width));
+    }
+
+    @Operation(summary = "URLs em lote", description = "Gera as URLs assinadas de várias mídias em uma única requisição. " +
+            "IDs inexistentes ou inativos são omitidos do resultado. Aceita width como na consulta individual.")
+    @PostMapping(value = "{serviceName}/urls", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<Long, String>> getMediaUrls(
+            @PathVariable("serviceName") String serviceName,
+            @Valid @RequestBody MediaUrlsRequest request,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        return ResponseEntity.ok(mediaService.getMediaUrls(serviceName, request.mediaIds(), width));
     }
 
     @Operation(summary = "Listar mídias por entidade e usuário",
-            description = "Lista todas as mídias associadas a uma entidade específica e que foram feitas por um usuário específico.")
+            description = "Lista as mídias associadas a uma entidade específica e que foram feitas por um usuário específico, em páginas " +
+                    "ordenadas por ID. Quando há mais itens, o cabeçalho X-Next-Cursor traz o valor a enviar em afterId para a próxima " +
+                    "página. Com includeUrls=true, cada item já vem com a URL assinada.")
     @GetMapping("/lists/{serviceName}/{uploadedBy}")
     public ResponseEntity<List<MediaResponse>> listMediaByEntity(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("uploadedBy") Long uploadedBy,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeUrls", defaultValue = "false") boolean includeUrls,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        MediaPage page = mediaService.listMediaByUploadedBy(serviceName, uploadedBy, afterId, pageSize, includeUrls, width);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.items());
+    }
+
+    @Operation(summary = "Listar mídias em streaming",
+            description = "Entrega todas as mídias do usuário em NDJSON (um JSON por linha), lendo do banco aos poucos, " +
+                    "sem montar a lista inteira em memória.")
+    @GetMapping(value = "/lists/{serviceName}/{uploadedBy}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMediaByEntity(
             @PathVariable("serviceName") String serviceName,
             @PathVariable("uploadedBy") Long uploadedBy) {
-        return ResponseEntity.ok(mediaService.listMediaByUploadedBy(serviceName, uploadedBy));
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                mediaService.streamMediaByUploadedBy(serviceName, uploadedBy, media -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(media));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
 
     @Operation(summary = "Atualizar mídia", description = "Atualiza um arquivo no MinIO e suas informações no banco de dados.",
@@ -65,7 +290,9 @@ public class MediaController {
     public ResponseEntity<MediaResponse> updateMedia(
             @PathVariable("entityId") Long entityId,
             @Valid @RequestPart("mediaRequest") MediaRequest mediaRequest,
-            @RequestPart("file") MultipartFile file) {
+            @RequestPart("file") MultipartFile file,
+            HttpServletRequest request) {
+        MetricsConfig.tagServiceName(request, mediaRequest.serviceName());
         return ResponseEntity.ok(mediaService.updateMedia(entityId, mediaRequest, file));
     }
 
@@ -79,4 +306,31 @@ public class MediaController {
         return ResponseEntity.noContent().build();
     }
 
+    private static <T extends Throwable> T findCause(Throwable error, Class<T> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    private MediaRequest readMediaRequest(InputStream stream) throws IOException {
+        MediaRequest mediaRequest;
+        try {
+            mediaRequest = objectMapper.readValue(stream, MediaRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("A parte 'mediaRequest' não contém um JSON válido.");
+        }
+
+        Set<ConstraintViolation<MediaRequest>> violations = validator.validate(mediaRequest);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(" "));
+            throw new InvalidInputException(message);
+        }
+        return mediaRequest;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.service.ReactiveMediaService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão reativa do {@link MediaContentController}.
+ */
+@Tag(name = "Media API", description = "Endpoints para gerenciar arquivos de mídia no MinIO.")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "app.media.proxy.enabled", havingValue = "true")
+@RequestMapping("/api/media")
+@SecurityRequirement(name = "API Key")
+public class ReactiveMediaContentController {
+
+    private final ReactiveMediaService mediaService;
+
+    public ReactiveMediaContentController(ReactiveMediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    @GetMapping("{serviceName}/{mediaId}/content")
+    public Mono<Void> downloadMedia(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("mediaId") Long mediaId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            ServerHttpResponse response) {
+        return mediaService.getMediaObject(serviceName, mediaId).flatMap(object -> {
+            String etag = MediaContentSupport.quoted(object.etag());
+            HttpHeaders headers = response.getHeaders();
+
+            headers.setETag(etag);
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (object.lastModified() != null) {
+                headers.setLastModified(object.lastModified());
+            }
+            if (MediaContentSupport.matches(ifNoneMatch, etag)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+
+            MediaContentSupport.Slice slice = MediaContentSupport.slice(range, ifRange, etag, object.size());
+            if (!slice.satisfiable()) {
+                response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                headers.set(HttpHeaders.CONTENT_RANGE, slice.contentRange(object.size()));
+                return response.setComplete();
+            }
+
+            response.setStatusCode(slice.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK);
+            if (slice.partial()) {
+                headers.set(HttpHeaders.CONTENT_RANGE, slice.contentRange(object.size()));
+            }
+            if (object.contentType() != null) {
+                headers.setContentType(MediaType.parseMediaType(object.contentType()));
+            }
+            headers.setContentLength(slice.length());
+            if (slice.length() == 0) {
+                return response.setComplete();
+            }
+            // O trecho mapeado do cache vai para o Netty sem cópia; sem ele, o conteúdo vem do MinIO.
+            return mediaService.readCachedMediaObject(object, slice.offset(), slice.length())
+                    .map(mapped -> Flux.just(response.bufferFactory().wrap(mapped)))
+                    .switchIfEmpty(Mono.fromSupplier(() -> mediaService.readMediaObject(object, slice.offset(), slice.length(),
+                            response.bufferFactory(), MediaContentSupport.BUFFER_SIZE)))
+                    .flatMap(response::writeWith);
+        });
+    }
+}
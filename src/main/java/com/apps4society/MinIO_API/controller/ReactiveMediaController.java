@@ -0,0 +1,240 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.MediaUrlsRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
+import com.apps4society.MinIO_API.service.ReactiveMediaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Mesmos endpoints do {@link MediaController} para a variante reativa (perfil "reactive"). Os uploads leem o corpo
+ * multipart como eventos, na ordem em que chegam, então a parte 'mediaRequest' deve vir antes da parte 'file' em
+ * {@code POST /api/media} e em {@code PUT /api/media/{entityId}}.
+ */
+@Tag(name = "Media API", description = "Endpoints para gerenciar arquivos de mídia no MinIO.")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/media")
+@SecurityRequirement(name = "API Key")
+@Validated
+public class ReactiveMediaController {
+
+    private static final int MAX_MEDIA_REQUEST_BYTES = 64 * 1024;
+
+    private final ReactiveMediaService mediaService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.upload.stream.max-file-size:2GB}")
+    private DataSize streamMaxFileSize;
+
+    // O mesmo limite do POST /api/media e do PUT da variante servlet.
+    @Value("${spring.servlet.multipart.max-file-size:1MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.media.list.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.media.list.max-page-size:1000}")
+    private int maxPageSize;
+
+    public ReactiveMediaController(ReactiveMediaService mediaService, ObjectMapper objectMapper, Validator validator) {
+        this.mediaService = mediaService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<MediaResponse>> uploadFile(@RequestBody Flux<PartEvent> parts) {
+        return upload(parts, maxFileSize);
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<MediaResponse>> uploadFileStream(@RequestBody Flux<PartEvent> parts) {
+        return upload(parts, streamMaxFileSize);
+    }
+
+    private Mono<ResponseEntity<MediaResponse>> upload(Flux<PartEvent> parts, DataSize limit) {
+        return readMultipart(parts, limit, (mediaRequest, file, content) -> mediaService.uploadMedia(mediaRequest, file.filename(),
+                contentType(file), content))
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping(value = "/presigned", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PresignedUploadResponse>> reservePresignedUpload(@Valid @RequestBody PresignedUploadRequest request) {
+        return mediaService.reservePresignedUpload(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping("{serviceName}/{mediaId}/confirm")
+    public Mono<ResponseEntity<MediaResponse>> confirmPresignedUpload(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("mediaId") Long mediaId) {
+        return mediaService.confirmPresignedUpload(serviceName, mediaId).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("{serviceName}/{mediaId}")
+    public Mono<ResponseEntity<String>> getMedia(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("mediaId") Long mediaId,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        return mediaService.getMediaUrl(serviceName, mediaId, width).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "{serviceName}/urls", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Map<Long, String>>> getMediaUrls(
+            @PathVariable("serviceName") String serviceName,
+            @Valid @RequestBody MediaUrlsRequest request,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        return mediaService.getMediaUrls(serviceName, request.mediaIds(), width).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/lists/{serviceName}/{uploadedBy}")
+    public Mono<ResponseEntity<List<MediaResponse>>> listMediaByEntity(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("uploadedBy") Long uploadedBy,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeUrls", defaultValue = "false") boolean includeUrls,
+            @RequestParam(value = "width", required = false) @Min(value = 1, message = "A largura deve ser maior que zero.") Integer width) {
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        return mediaService.listMediaByUploadedBy(serviceName, uploadedBy, afterId, pageSize, includeUrls, width)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.nextCursor() != null) {
+                        response.header(MediaController.NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+                    }
+                    return response.body(page.items());
+                });
+    }
+
+    @GetMapping(value = "/lists/{serviceName}/{uploadedBy}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MediaResponse> streamMediaByEntity(
+            @PathVariable("serviceName") String serviceName,
+            @PathVariable("uploadedBy") Long uploadedBy) {
+        return mediaService.streamMediaByUploadedBy(serviceName, uploadedBy);
+    }
+
+    @PutMapping(value = "/{entityId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<MediaResponse>> updateMedia(
+            @PathVariable("entityId") Long entityId,
+            @RequestBody Flux<PartEvent> parts) {
+        return readMultipart(parts, maxFileSize, (mediaRequest, file, content) -> mediaService.updateMedia(entityId, mediaRequest, file.filename(),
+                contentType(file), content))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("{serviceName}/{mediaId}")
+    public Mono<ResponseEntity<Void>> disableMedia(@PathVariable String serviceName, @PathVariable Long mediaId) {
+        return mediaService.disableMedia(serviceName, mediaId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @FunctionalInterface
+    private interface FileHandler {
+        Mono<MediaResponse> handle(MediaRequest mediaRequest, FilePartEvent file, Flux<DataBuffer> content);
+    }
+
+    /**
+     * Percorre as partes em ordem: guarda o 'mediaRequest' e entrega o conteúdo da parte 'file' ao handler
+     * conforme chega, limitado a {@code limit}.
+     */
+    private Mono<MediaResponse> readMultipart(Flux<PartEvent> parts, DataSize limit, FileHandler handler) {
+        AtomicReference<MediaRequest> mediaRequest = new AtomicReference<>();
+        long maxBytes = limit.toBytes();
+
+        return parts.windowUntil(PartEvent::isLast)
+                .concatMap(part -> part.switchOnFirst((first, events) -> {
+                    if (!first.hasValue()) {
+                        return events.then(Mono.<MediaResponse>empty());
+                    }
+                    PartEvent event = first.get();
+                    if ("mediaRequest".equals(event.name())) {
+                        return DataBufferUtils.join(events.map(PartEvent::content), MAX_MEDIA_REQUEST_BYTES)
+                                .onErrorMap(DataBufferLimitException.class,
+                                        e -> new InvalidInputException("A parte 'mediaRequest' excede o tamanho permitido."))
+                                .map(this::readMediaRequest)
+                                .doOnNext(mediaRequest::set)
+                                .then(Mono.<MediaResponse>empty());
+                    }
+                    if ("file".equals(event.name()) && event instanceof FilePartEvent file) {
+                        if (mediaRequest.get() == null) {
+                            return Mono.<MediaResponse>error(new InvalidInputException("A parte 'mediaRequest' deve ser enviada antes da parte 'file'."));
+                        }
+                        AtomicLong received = new AtomicLong();
+                        Flux<DataBuffer> content = events.map(PartEvent::content)
+                                .doOnNext(buffer -> {
+                                    if (received.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                                        DataBufferUtils.release(buffer);
+                                        throw new DataBufferLimitException("O arquivo excede " + maxBytes + " bytes.");
+                                    }
+                                });
+                        return handler.handle(mediaRequest.get(), file, content)
+                                .onErrorMap(e -> e instanceof DataBufferLimitException || e.getCause() instanceof DataBufferLimitException,
+                                        e -> new MaxUploadSizeExceededException(maxBytes, e));
+                    }
+                    return events.doOnNext(skipped -> DataBufferUtils.release(skipped.content())).then(Mono.<MediaResponse>empty());
+                }))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(
+                        "Required part '" + (mediaRequest.get() == null ? "mediaRequest" : "file") + "' is not present.")));
+    }
+
+    private MediaRequest readMediaRequest(DataBuffer buffer) {
+        MediaRequest mediaRequest;
+        try (InputStream stream = buffer.asInputStream(true)) {
+            mediaRequest = objectMapper.readValue(stream, MediaRequest.class);
+        } catch (IOException e) {
+            throw new InvalidInputException("A parte 'mediaRequest' não contém um JSON válido.");
+        }
+
+        Set<ConstraintViolation<MediaRequest>> violations = validator.validate(mediaRequest);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(" "));
+            throw new InvalidInputException(message);
+        }
+        return mediaRequest;
+    }
+
+    private static String contentType(FilePartEvent file) {
+        MediaType contentType = file.headers().getContentType();
+        return contentType == null ? null : contentType.toString();
+    }
+}
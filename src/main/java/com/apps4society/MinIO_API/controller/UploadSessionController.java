@@ -0,0 +1,78 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionRequest;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadedPartResponse;
+import com.apps4society.MinIO_API.service.UploadSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name = "Upload Session API", description = "Endpoints para upload retomável de arquivos grandes, enviados em partes pelo cliente.")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/media/uploads")
+@SecurityRequirement(name = "API Key")
+@Validated
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    @Operation(summary = "Iniciar sessão de upload", description = "Abre um upload multipart no MinIO e devolve o ID da sessão e o tamanho de parte recomendado.",
+            responses = {@ApiResponse(responseCode = "201", description = "Sessão criada com sucesso.")})
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> initiate(@Valid @RequestBody UploadSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.initiate(request));
+    }
+
+    @Operation(summary = "Enviar parte", description = "Envia o corpo da requisição como a parte indicada. Reenviar o mesmo número substitui a parte anterior.",
+            responses = {@ApiResponse(responseCode = "200", description = "Parte recebida."),
+                    @ApiResponse(responseCode = "404", description = "Sessão não encontrada.")})
+    @PutMapping(value = "/{sessionId}/parts/{partNumber}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadedPartResponse> uploadPart(
+            @PathVariable("sessionId") Long sessionId,
+            @PathVariable("partNumber") int partNumber,
+            HttpServletRequest request) throws IOException {
+        try (InputStream stream = request.getInputStream()) {
+            return ResponseEntity.ok(uploadSessionService.uploadPart(sessionId, partNumber, stream, request.getContentLengthLong()));
+        }
+    }
+
+    @Operation(summary = "Consultar sessão", description = "Lista as partes já recebidas, para que o cliente saiba de onde retomar o envio.")
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionResponse> getSession(@PathVariable("sessionId") Long sessionId) {
+        return ResponseEntity.ok(uploadSessionService.getSession(sessionId));
+    }
+
+    @Operation(summary = "Concluir sessão", description = "Junta as partes recebidas em um único arquivo e registra a mídia.",
+            responses = {@ApiResponse(responseCode = "201", description = "Mídia criada com sucesso.")})
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<MediaResponse> complete(@PathVariable("sessionId") Long sessionId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.complete(sessionId));
+    }
+
+    @Operation(summary = "Cancelar sessão", description = "Cancela o upload e descarta as partes já enviadas.",
+            responses = {@ApiResponse(responseCode = "204", description = "Sessão cancelada.")})
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abort(@PathVariable("sessionId") Long sessionId) {
+        uploadSessionService.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
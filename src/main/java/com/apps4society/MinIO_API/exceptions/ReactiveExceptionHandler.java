@@ -0,0 +1,106 @@
+package com.apps4society.MinIO_API.exceptions;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Equivalente do {@link GlobalExceptionHandler} para a variante reativa, com as mesmas respostas de erro.
+ */
+@Slf4j
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex, ServerHttpRequest request) {
+        StringBuilder errorMessage = new StringBuilder();
+        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+            errorMessage.append(fieldError.getField())
+                    .append(": ")
+                    .append(fieldError.getDefaultMessage())
+                    .append(" ");
+        }
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, errorMessage.toString().trim(), request);
+    }
+
+    @ExceptionHandler({InvalidInputException.class, InvalidFileException.class, IllegalArgumentException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(Exception ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    // parâmetros ou partes ausentes, tipos inválidos e corpos ilegíveis
+    // Parâmetros de requisição validados no controller (@Min etc.)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex, ServerHttpRequest request) {
+        String message = ex.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(" "));
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, message, request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInput(ServerWebInputException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, "Parâmetro ausente: " + ex.getReason(), request);
+    }
+
+    @ExceptionHandler({MediaNotFoundException.class, BucketNotFoundException.class, UploadSessionNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFound(Exception ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(DuplicateFileException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateFile(DuplicateFileException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    public ResponseEntity<ErrorResponse> handleMethodNotAllowed(MethodNotAllowedException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.METHOD_NOT_ALLOWED, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(UnsupportedMediaTypeException.class)
+    public ResponseEntity<ErrorResponse> handleNotAcceptable(UnsupportedMediaTypeException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.NOT_ACCEPTABLE, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handlePayloadTooLarge(MaxUploadSizeExceededException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, "O arquivo enviado excede o limite permitido.", request);
+    }
+
+    @ExceptionHandler({MinIOConnectionException.class, ExternalServiceException.class})
+    public ResponseEntity<ErrorResponse> handleBadGateway(RuntimeException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_GATEWAY, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(FileStorageException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(FileStorageException ex, ServerHttpRequest request) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleException(Exception e) {
+        log.error("Erro interno detectado: ", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Ocorreu um erro interno no servidor: " + e.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String message, ServerHttpRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(status, message, request.getPath().value());
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
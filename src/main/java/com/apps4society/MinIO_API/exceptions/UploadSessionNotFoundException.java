@@ -0,0 +1,7 @@
+package com.apps4society.MinIO_API.exceptions;
+
+public class UploadSessionNotFoundException extends RuntimeException {
+    public UploadSessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.apps4society.MinIO_API.mapper;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.projection.MediaSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -15,4 +16,13 @@ public interface MediaMapper {
     @Mapping(target = "fileName", source = "fileName")
     MediaResponse toResponse(Media media);
 
+    @Mapping(target = "entityId", source = "media.entityId")
+    @Mapping(target = "serviceName", source = "media.serviceName")
+    @Mapping(target = "fileName", source = "media.fileName")
+    @Mapping(target = "url", source = "url")
+    MediaResponse toResponse(Media media, String url);
+
+    @Mapping(target = "url", ignore = true)
+    MediaResponse toResponse(MediaSummary summary);
+
 }
@@ -0,0 +1,36 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de um dos arquivos de um upload em lote.")
+public record BulkUploadResult(
+
+        @Schema(description = "Nome do arquivo enviado.", example = "foto_perfil.png")
+        String fileName,
+
+        @Schema(description = "Status HTTP que o arquivo teria num upload individual.", example = "201")
+        int status,
+
+        @Schema(description = "Mídia criada, quando o upload do arquivo deu certo.")
+        MediaResponse media,
+
+        @Schema(description = "Motivo da falha, quando o upload do arquivo não deu certo.")
+        String error
+) {
+
+    public static BulkUploadResult created(MediaResponse media) {
+        return new BulkUploadResult(media.fileName(), 201, media, null);
+    }
+
+    public static BulkUploadResult failed(String fileName, int status, String error) {
+        return new BulkUploadResult(fileName, status, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return media != null;
+    }
+}
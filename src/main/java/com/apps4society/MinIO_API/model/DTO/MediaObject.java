@@ -0,0 +1,9 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Metadados do objeto de uma mídia no MinIO, usados para servir o conteúdo pela própria API.
+ * @param etag ETag do objeto, sem aspas.
+ */
+public record MediaObject(String objectName, long size, String etag, String contentType, ZonedDateTime lastModified) {}
@@ -0,0 +1,9 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor. {@code nextCursor} é o último ID da página e deve ser enviado como
+ * {@code afterId} para buscar a próxima; é nulo quando não há mais itens.
+ */
+public record MediaPage(List<MediaResponse> items, Long nextCursor) {}
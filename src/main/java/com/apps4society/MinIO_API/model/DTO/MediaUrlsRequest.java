@@ -0,0 +1,15 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "IDs das mídias cujas URLs assinadas devem ser geradas em lote.")
+public record MediaUrlsRequest(
+        @Schema(description = "IDs das mídias.", example = "[1, 2, 3]")
+        @NotEmpty(message = "A lista de IDs não pode ser vazia")
+        @Size(max = 500, message = "No máximo 500 IDs podem ser consultados por requisição")
+        List<Long> mediaIds
+) {}
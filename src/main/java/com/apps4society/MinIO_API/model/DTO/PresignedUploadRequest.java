@@ -0,0 +1,22 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Dados para reservar uma mídia e obter a URL de upload direto ao MinIO.")
+public record PresignedUploadRequest(
+        @Schema(description = "Nome do serviço ao qual a mídia pertence.", example = "educAPI")
+        @NotBlank(message = "O nome do serviço não pode ser vazio")
+        String serviceName,
+
+        @Schema(description = "ID do usuário que está realizando o upload.", example = "42")
+        @Min(value = 1, message = "O campo uploadedBy deve ser maior que 0")
+        @NotNull(message = "O id do professor é obrigatório")
+        Long uploadedBy,
+
+        @Schema(description = "Nome do arquivo que será enviado.", example = "foto_perfil.png")
+        @NotBlank(message = "O nome do arquivo não pode ser vazio")
+        String fileName
+) {}
@@ -0,0 +1,24 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Mídia reservada e URL assinada para o cliente enviar o arquivo diretamente ao MinIO.")
+public record PresignedUploadResponse(
+
+        @Schema(description = "Identificador da mídia reservada, usado na confirmação.", example = "1")
+        Long entityId,
+
+        @Schema(description = "Nome do serviço ao qual a mídia pertence.", example = "educAPI")
+        String serviceName,
+
+        @Schema(description = "Nome do arquivo reservado.", example = "foto_perfil.png")
+        String fileName,
+
+        @Schema(description = "URL assinada para enviar o arquivo com um PUT.", example = "https://minio.example.com/bucket/educAPI/foto_perfil.png?X-Amz-Signature=...")
+        String uploadUrl,
+
+        @Schema(description = "Instante em que a URL deixa de ser aceita.")
+        Instant expiresAt
+) {}
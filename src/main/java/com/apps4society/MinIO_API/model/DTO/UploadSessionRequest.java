@@ -0,0 +1,25 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Dados para iniciar um upload retomável em partes.")
+public record UploadSessionRequest(
+        @Schema(description = "Nome do serviço ao qual a mídia pertence.", example = "educAPI")
+        @NotBlank(message = "O nome do serviço não pode ser vazio")
+        String serviceName,
+
+        @Schema(description = "ID do usuário que está realizando o upload.", example = "42")
+        @Min(value = 1, message = "O campo uploadedBy deve ser maior que 0")
+        @NotNull(message = "O id do professor é obrigatório")
+        Long uploadedBy,
+
+        @Schema(description = "Nome do arquivo que será enviado.", example = "aula_01.mp4")
+        @NotBlank(message = "O nome do arquivo não pode ser vazio")
+        String fileName,
+
+        @Schema(description = "Content-Type do arquivo.", example = "video/mp4")
+        String contentType
+) {}
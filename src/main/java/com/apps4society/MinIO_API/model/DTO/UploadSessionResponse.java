@@ -0,0 +1,33 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import com.apps4society.MinIO_API.model.enums.UploadSessionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Estado de um upload retomável.")
+public record UploadSessionResponse(
+
+        @Schema(description = "Identificador da sessão de upload.", example = "7")
+        Long sessionId,
+
+        @Schema(description = "Nome do serviço ao qual a mídia pertence.", example = "educAPI")
+        String serviceName,
+
+        @Schema(description = "Nome do arquivo enviado.", example = "aula_01.mp4")
+        String fileName,
+
+        @Schema(description = "Situação da sessão.", example = "OPEN")
+        UploadSessionStatus status,
+
+        @Schema(description = "Tamanho recomendado de cada parte em bytes. Todas as partes, exceto a última, precisam ter ao menos 5 MiB.", example = "10485760")
+        long partSize,
+
+        @Schema(description = "Partes já recebidas, em ordem.")
+        List<UploadedPartResponse> parts,
+
+        @Schema(description = "ID da mídia criada, quando a sessão já foi concluída.", example = "1")
+        Long mediaId
+) {}
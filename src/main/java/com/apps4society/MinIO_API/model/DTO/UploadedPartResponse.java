@@ -0,0 +1,16 @@
+package com.apps4society.MinIO_API.model.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Parte já recebida de um upload retomável.")
+public record UploadedPartResponse(
+
+        @Schema(description = "Número da parte (a partir de 1).", example = "1")
+        int partNumber,
+
+        @Schema(description = "Tamanho da parte em bytes.", example = "10485760")
+        long size,
+
+        @Schema(description = "ETag devolvido pelo armazenamento para a parte.")
+        String etag
+) {}
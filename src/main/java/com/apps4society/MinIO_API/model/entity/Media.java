@@ -6,14 +6,30 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
+/**
+ * Índices seguem as consultas do {@code MediaRepository}: a chave única (serviço, arquivo) atende a checagem de duplicidade
+ * e as reservas pendentes; o índice da listagem termina no ID para que a paginação por cursor leia só a página pedida.
+ * As buscas por ID usam a chave primária.
+ * <p>
+ * O ID vem de uma sequência com blocos de {@link #ID_ALLOCATION_SIZE}, e não de AUTO_INCREMENT: com IDENTITY o
+ * Hibernate precisa de cada INSERT executado na hora para saber o ID e não agrupa as inserções em lote. No MySQL, sem
+ * sequências nativas, ela é a tabela {@code media_seq}.
+ */
 @Entity
-@Table(name = "media")
+@Table(name = "media",
+        uniqueConstraints = @UniqueConstraint(name = "uk_media_service_file", columnNames = {"service_name", "file_name"}),
+        indexes = @Index(name = "idx_media_service_uploader", columnList = "service_name, uploadedBy_id, active, entityId"))
 @Getter
 @Setter
 public class Media {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_seq")
+    @SequenceGenerator(name = "media_seq", sequenceName = "media_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long entityId;
 
     @Column(name = "service_name", nullable = false)
@@ -33,6 +49,25 @@ public class Media {
     @Column(name = "active", nullable = false)
     private boolean active = true;
 
+    // Reservada para upload direto ao MinIO e ainda não confirmada; fica inativa até a confirmação.
+    @Column(name = "pending", nullable = false)
+    private boolean pending = false;
+
+    // Validade da URL de PUT da reserva de upload direto; vencida, a reserva deixa de segurar o nome. Nula nas demais.
+    @Column(name = "reserved_until")
+    private LocalDateTime reservedUntil;
+
+    // ETag do objeto conferido na confirmação do upload direto, que ainda pode ser sobrescrito até a URL de PUT vencer.
+    @Column(name = "upload_etag", length = 128)
+    private String uploadEtag;
+
+    // Preenchidos só no modo endereçado por conteúdo: o objeto é o do blob, compartilhado pelas mídias de mesmo conteúdo.
+    @Column(name = "object_name", length = 1024)
+    private String objectName;
+
+    @Column(name = "blob_digest", length = 64)
+    private String blobDigest;
+
     public Media(Long uploadedBy, String fileName, String serviceName, MediaType mediaType) {
         this.uploadedBy = uploadedBy;
         this.fileName = fileName;
@@ -42,7 +77,42 @@ public class Media {
 
     public Media(){}
 
+    /**
+     * Objeto da mídia no bucket: o do blob, quando ela aponta para um, ou {@code {serviceName}/{fileName}}.
+     */
+    public String getObjectName() {
+        return objectName != null ? objectName : serviceName + "/" + fileName;
+    }
+
+    /**
+     * Aponta a mídia para o blob; com nulo ela volta ao objeto {@code {serviceName}/{fileName}}.
+     */
+    public void useBlob(MediaBlob blob) {
+        this.objectName = blob == null ? null : blob.getObjectName();
+        this.blobDigest = blob == null ? null : blob.getDigest();
+    }
+
+    /**
+     * Registro inativo com o nome atual da mídia, para segurar esse nome depois que ela passar a outro: ocupa a chave
+     * única (serviço, arquivo) sem aparecer nas buscas.
+     */
+    public Media nameHolder() {
+        Media holder = new Media(uploadedBy, fileName, serviceName, mediaType);
+        holder.disable();
+        return holder;
+    }
+
     public void disable() {
         this.active = false;
     }
+
+    public void reserve() {
+        this.active = false;
+        this.pending = true;
+    }
+
+    public void activate() {
+        this.active = true;
+        this.pending = false;
+    }
 }
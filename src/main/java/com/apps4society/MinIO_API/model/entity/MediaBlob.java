@@ -0,0 +1,47 @@
+package com.apps4society.MinIO_API.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Conteúdo guardado uma única vez no modo endereçado por conteúdo, identificado pelo SHA-256. As mídias com o mesmo
+ * conteúdo, de qualquer serviço, apontam para o mesmo objeto; o contador diz quantas ainda o usam. Com zero
+ * referências o objeto é arquivado, mas o registro fica e é reaproveitado pelo próximo upload do mesmo conteúdo.
+ */
+@Entity
+@Table(name = "media_blob",
+        uniqueConstraints = @UniqueConstraint(name = "uk_media_blob_digest", columnNames = "digest"))
+@Getter
+@Setter
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long blobId;
+
+    // SHA-256 em hexadecimal minúsculo
+    @Column(name = "digest", nullable = false, length = 64)
+    private String digest;
+
+    @Column(name = "object_name", nullable = false, length = 1024)
+    private String objectName;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount = 0;
+
+    public MediaBlob(String digest, String objectName, long sizeBytes, String contentType) {
+        this.digest = digest;
+        this.objectName = objectName;
+        this.sizeBytes = sizeBytes;
+        this.contentType = contentType;
+    }
+
+    public MediaBlob(){}
+}
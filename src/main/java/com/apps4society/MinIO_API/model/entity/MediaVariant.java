@@ -0,0 +1,46 @@
+package com.apps4society.MinIO_API.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Miniatura de uma mídia de imagem, gerada em segundo plano depois do upload. A largura identifica a variante; o
+ * objeto fica sob o prefixo de miniaturas, separado dos originais.
+ */
+@Entity
+@Table(name = "media_variant",
+        uniqueConstraints = @UniqueConstraint(name = "uk_media_variant_media_width", columnNames = {"media_id", "width"}))
+@Getter
+@Setter
+public class MediaVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long variantId;
+
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    @Column(name = "width", nullable = false)
+    private int width;
+
+    @Column(name = "height", nullable = false)
+    private int height;
+
+    @Column(name = "object_name", nullable = false, length = 1024)
+    private String objectName;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    public MediaVariant(Long mediaId, int width, int height, String objectName, long sizeBytes) {
+        this.mediaId = mediaId;
+        this.width = width;
+        this.height = height;
+        this.objectName = objectName;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public MediaVariant(){}
+}
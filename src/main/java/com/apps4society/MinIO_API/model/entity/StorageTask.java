@@ -0,0 +1,58 @@
+package com.apps4society.MinIO_API.model.entity;
+
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Operação no MinIO gravada na mesma transação que alterou a mídia (outbox). A operação em si roda depois do
+ * commit, sem conexão do banco presa; se falhar, a tarefa continua aqui até o relay conseguir executá-la.
+ */
+@Entity
+@Table(name = "storage_task",
+        indexes = @Index(name = "idx_storage_task_next_attempt", columnList = "next_attempt_at"))
+@Getter
+@Setter
+public class StorageTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private StorageTaskType type;
+
+    @Column(name = "source_object", nullable = false, length = 1024)
+    private String sourceObject;
+
+    @Column(name = "target_object", length = 1024)
+    private String targetObject;
+
+    // Mídia inativa que segura o nome de origem de um MOVE até o objeto sair dele; removida junto com a tarefa.
+    @Column(name = "name_holder_id")
+    private Long nameHolderId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = createdAt;
+
+    public StorageTask(StorageTaskType type, String sourceObject, String targetObject) {
+        this.type = type;
+        this.sourceObject = sourceObject;
+        this.targetObject = targetObject;
+    }
+
+    public StorageTask(){}
+}
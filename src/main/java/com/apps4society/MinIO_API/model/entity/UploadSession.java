@@ -0,0 +1,86 @@
+package com.apps4society.MinIO_API.model.entity;
+
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.UploadSessionStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Upload retomável em andamento. Guarda o uploadId do multipart do S3 para que o cliente possa continuar
+ * a partir da última parte recebida; a mídia só é criada quando a sessão é concluída. Uma sessão aberta além de
+ * {@code expiresAt} é abortada no MinIO pela varredura do {@code UploadSessionServiceImpl}.
+ */
+@Entity
+@Table(name = "upload_session",
+        indexes = @Index(name = "idx_upload_session_service_file", columnList = "service_name, file_name, status"))
+@Getter
+@Setter
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sessionId;
+
+    @Column(name = "upload_id", nullable = false, length = 1024)
+    private String uploadId;
+
+    @Column(name = "service_name", nullable = false)
+    private String serviceName;
+
+    @Size(max = 255, message = "O nome do arquivo não pode exceder 255 caracteres.")
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_type", nullable = false)
+    private MediaType mediaType;
+
+    @Column(name = "uploadedBy_id", nullable = false)
+    private Long uploadedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private UploadSessionStatus status = UploadSessionStatus.OPEN;
+
+    @Column(name = "media_id")
+    private Long mediaId;
+
+    // Parte com menos de 5 MiB já recebida: só a última pode ser menor, então nenhuma parte depois dela é aceita.
+    @Column(name = "final_part_number")
+    private Integer finalPartNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Nulo nas sessões abertas antes da validade existir; para elas vale a data de criação mais a validade atual.
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public UploadSession(String uploadId, String serviceName, String fileName, String contentType, MediaType mediaType, Long uploadedBy,
+                         LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.serviceName = serviceName;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.mediaType = mediaType;
+        this.uploadedBy = uploadedBy;
+        this.expiresAt = expiresAt;
+    }
+
+    public UploadSession(){}
+
+    public String getObjectName() {
+        return serviceName + "/" + fileName;
+    }
+
+    public boolean isOpen() {
+        return status == UploadSessionStatus.OPEN;
+    }
+}
@@ -1,8 +1,22 @@
 package com.apps4society.MinIO_API.model.enums;
 
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+
 public enum MediaType {
     IMAGE,
     VIDEO,
-    AUDIO
-}
+    AUDIO;
 
+    /**
+     * Determina o tipo de mídia com base na extensão do arquivo.
+     */
+    public static MediaType fromFileName(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
+        return switch (extension) {
+            case "jpg", "jpeg", "png" -> IMAGE;
+            case "mp4" -> VIDEO;
+            case "mp3" -> AUDIO;
+            default -> throw new UnsupportedMediaTypeException("Tipo de mídia não suportado: " + extension);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.apps4society.MinIO_API.model.enums;
+
+public enum StorageTaskType {
+    MOVE,
+    REMOVE,
+    // Marca o objeto de uma mídia desativada com a tag de status, sem tocar no conteúdo.
+    TAG,
+    // Movimentação adiada para o StorageArchiver, que roda fora do horário de pico; o relay não a executa.
+    ARCHIVE
+}
@@ -0,0 +1,8 @@
+package com.apps4society.MinIO_API.model.enums;
+
+public enum UploadSessionStatus {
+    OPEN,
+    COMPLETED,
+    ABORTED,
+    EXPIRED
+}
@@ -0,0 +1,14 @@
+package com.apps4society.MinIO_API.model.projection;
+
+/**
+ * Projeção somente com as colunas da listagem. Consultas que devolvem esta interface não criam entidades gerenciadas,
+ * então o contexto de persistência não cresce durante o streaming.
+ */
+public interface MediaSummary {
+
+    Long getEntityId();
+
+    String getServiceName();
+
+    String getFileName();
+}
@@ -0,0 +1,20 @@
+package com.apps4society.MinIO_API.repository;
+
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, Long> {
+
+    /**
+     * Busca o blob bloqueando a linha até o fim da transação, para que incrementos e decrementos concorrentes do
+     * contador de referências não se percam.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MediaBlob> findForUpdateByDigest(String digest);
+}
@@ -1,19 +1,74 @@
 package com.apps4society.MinIO_API.repository;
 
 import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.projection.MediaSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface MediaRepository extends JpaRepository<Media, Long> {
 
     Optional<Media> findByEntityIdAndServiceNameAndActiveTrue(Long entityId, String serviceName);
 
-    List<Media> findByServiceNameAndUploadedByAndActiveTrue(String serviceName, Long uploadedBy);
+    /**
+     * Página da listagem por cursor (keyset): só as mídias com ID maior que {@code afterId}, em ordem de ID.
+     */
+    List<Media> findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(
+            String serviceName, Long uploadedBy, Long afterId, Limit limit);
+
+    /**
+     * Percorre todas as mídias do usuário sem carregá-las de uma vez. Precisa ser consumido dentro de uma transação
+     * e fechado ao final. No MySQL o fetch size só vira cursor no servidor com {@code useCursorFetch=true} na URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MediaSummary> streamByServiceNameAndUploadedByAndActiveTrueOrderByEntityIdAsc(String serviceName, Long uploadedBy);
+
+    List<Media> findByServiceNameAndEntityIdInAndActiveTrue(String serviceName, Collection<Long> entityIds);
 
     boolean existsByFileNameAndServiceName(String fileName, String serviceName);
 
+    /**
+     * Nomes já ocupados no serviço, ativos, desativados ou reservados: checagem de duplicidade de um lote inteiro.
+     */
+    @Query("select m.fileName from Media m where m.serviceName = :serviceName and m.fileName in :fileNames")
+    Set<String> findFileNamesByServiceNameAndFileNameIn(@Param("serviceName") String serviceName,
+                                                        @Param("fileNames") Collection<String> fileNames);
+
+    /**
+     * Ativa de uma vez as reservas de um lote cujos arquivos já estão no MinIO.
+     */
+    @Modifying
+    @Query("update Media m set m.active = true, m.pending = false where m.entityId in :entityIds")
+    int activateAll(@Param("entityIds") Collection<Long> entityIds);
+
+    Optional<Media> findByEntityIdAndServiceNameAndPendingTrue(Long entityId, String serviceName);
+
+    /**
+     * Apaga a reserva de upload direto do arquivo cuja URL de PUT já venceu, liberando o nome.
+     */
+    @Modifying
+    @Query("delete from Media m where m.fileName = :fileName and m.serviceName = :serviceName and m.pending = true " +
+            "and m.reservedUntil < :now")
+    int deleteExpiredReservation(@Param("fileName") String fileName, @Param("serviceName") String serviceName,
+                                 @Param("now") LocalDateTime now);
+
+    Optional<Media> findByFileNameAndServiceNameAndPendingTrue(String fileName, String serviceName);
+
 }
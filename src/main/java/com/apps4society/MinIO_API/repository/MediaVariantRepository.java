@@ -0,0 +1,19 @@
+package com.apps4society.MinIO_API.repository;
+
+import com.apps4society.MinIO_API.model.entity.MediaVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MediaVariantRepository extends JpaRepository<MediaVariant, Long> {
+
+    List<MediaVariant> findByMediaId(Long mediaId);
+
+    Optional<MediaVariant> findByMediaIdAndWidth(Long mediaId, int width);
+
+    List<MediaVariant> findByMediaIdInAndWidth(Collection<Long> mediaIds, int width);
+}
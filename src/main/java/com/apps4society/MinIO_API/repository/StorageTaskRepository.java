@@ -0,0 +1,19 @@
+package com.apps4society.MinIO_API.repository;
+
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StorageTaskRepository extends JpaRepository<StorageTask, Long> {
+
+    List<StorageTask> findByTypeNotAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(StorageTaskType type, LocalDateTime now, Limit limit);
+
+    List<StorageTask> findByTypeAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(StorageTaskType type, LocalDateTime now, Limit limit);
+
+}
@@ -0,0 +1,34 @@
+package com.apps4society.MinIO_API.repository;
+
+import com.apps4society.MinIO_API.model.entity.UploadSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    /**
+     * Há sessão aberta e ainda válida para o arquivo. Sem {@code expiresAt}, a sessão vale até {@code createdBefore}
+     * passar da data de criação.
+     */
+    @Query("select count(s) > 0 from UploadSession s where s.fileName = :fileName and s.serviceName = :serviceName " +
+            "and s.status = com.apps4society.MinIO_API.model.enums.UploadSessionStatus.OPEN " +
+            "and (s.expiresAt > :now or (s.expiresAt is null and s.createdAt > :createdBefore))")
+    boolean existsValidOpenSession(@Param("fileName") String fileName, @Param("serviceName") String serviceName,
+                                   @Param("now") LocalDateTime now, @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Sessões abertas cuja validade passou, a abortar no MinIO.
+     */
+    @Query("select s from UploadSession s where s.status = com.apps4society.MinIO_API.model.enums.UploadSessionStatus.OPEN " +
+            "and (s.expiresAt <= :now or (s.expiresAt is null and s.createdAt <= :createdBefore)) order by s.sessionId")
+    List<UploadSession> findExpiredOpenSessions(@Param("now") LocalDateTime now, @Param("createdBefore") LocalDateTime createdBefore,
+                                                Limit limit);
+
+}
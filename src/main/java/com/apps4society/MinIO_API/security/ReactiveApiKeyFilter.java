@@ -0,0 +1,50 @@
+package com.apps4society.MinIO_API.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Versão WebFlux do {@link ApiKeyFilter}. Não é um bean, para não ser registrado também como filtro global:
+ * só roda dentro da cadeia do Spring Security montada em {@code ReactiveSecurityConfig}.
+ */
+public class ReactiveApiKeyFilter implements WebFilter {
+
+    private final String apiKey;
+
+    public ReactiveApiKeyFilter(String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestUri = exchange.getRequest().getPath().value();
+
+        if (requestUri.startsWith("/swagger-ui") ||
+                requestUri.startsWith("/v3/api-docs") ||
+                requestUri.startsWith("/webjars") ||
+                requestUri.startsWith("/error")) {
+            return chain.filter(exchange);
+        }
+
+        String requestApiKey = exchange.getRequest().getHeaders().getFirst("api-key");
+
+        if (requestApiKey == null || !requestApiKey.equals(apiKey)) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        User authenticatedUser = new User("api-key-user", "", Collections.emptyList());
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
@@ -0,0 +1,122 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.repository.MediaBlobRepository;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Modo endereçado por conteúdo: com ele ligado, os uploads que passam pela API são gravados sob um nome próprio
+ * no prefixo de blobs enquanto o SHA-256 é calculado, e o {@link MediaBlob} do digest decide se o objeto enviado
+ * passa a ser o do conteúdo ou se é uma cópia a descartar. Assim o mesmo logo enviado por vários serviços, com
+ * nomes diferentes, ocupa o armazenamento uma vez só.
+ * <p>
+ * O nome do objeto não é o digest: se um blob perde a última referência e o mesmo conteúdo volta logo em seguida,
+ * o arquivamento do objeto antigo ainda pode estar no outbox, e um nome fixo faria esse arquivamento levar o novo.
+ */
+@Slf4j
+@Component
+public class ContentAddressedStore {
+
+    /**
+     * @param leftover Remoção do objeto recém-enviado quando o conteúdo já existia; nulo quando ele virou o blob.
+     */
+    public record Attachment(MediaBlob blob, StorageTask leftover) {}
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final StorageOutbox storageOutbox;
+    private final TransactionTemplate newTransaction;
+    private final boolean enabled;
+    private final String prefix;
+
+    public ContentAddressedStore(MediaBlobRepository mediaBlobRepository, StorageOutbox storageOutbox,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.media.content-addressed.enabled:false}") boolean enabled,
+                                 @Value("${app.media.content-addressed.prefix:blobs/}") String prefix) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.storageOutbox = storageOutbox;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.prefix = prefix;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Nome único para o objeto de um upload, ainda sem digest conhecido.
+     */
+    public String newObjectName() {
+        return prefix + UUID.randomUUID();
+    }
+
+    /**
+     * Acrescenta uma referência ao blob do digest. Se o conteúdo já está armazenado, o objeto recém-enviado é
+     * descartado; se o blob não tem referências (ou ainda não existe), o objeto enviado passa a ser o dele. Deve
+     * ser chamado dentro da transação que ativa ou troca a mídia, para que o contador volte junto num rollback.
+     */
+    public Attachment attach(String digest, long size, String contentType, String uploadedObject) {
+        MediaBlob blob = mediaBlobRepository.findForUpdateByDigest(digest).orElse(null);
+        if (blob == null) {
+            create(digest, size, contentType, uploadedObject);
+            blob = mediaBlobRepository.findForUpdateByDigest(digest)
+                    .orElseThrow(() -> new IllegalStateException("Blob '" + digest + "' não encontrado após a criação."));
+        }
+
+        StorageTask leftover = null;
+        if (blob.getRefCount() == 0) {
+            // O objeto anterior foi arquivado (ou sobrou de um upload que falhou e já o removeu); o enviado assume.
+            blob.setObjectName(uploadedObject);
+            blob.setSizeBytes(size);
+            blob.setContentType(contentType);
+        } else if (!uploadedObject.equals(blob.getObjectName())) {
+            log.info("Conteúdo '{}' já armazenado em '{}'; descartando a cópia '{}'", digest, blob.getObjectName(), uploadedObject);
+            leftover = storageOutbox.remove(uploadedObject);
+        }
+        blob.setRefCount(blob.getRefCount() + 1);
+        mediaBlobRepository.save(blob);
+        return new Attachment(blob, leftover);
+    }
+
+    /**
+     * Retira uma referência do blob. Deve ser chamado dentro da transação que troca ou desativa a mídia.
+     * @return Objeto do blob quando esta era a última referência e ele pode ser arquivado.
+     */
+    public Optional<String> release(String digest) {
+        MediaBlob blob = mediaBlobRepository.findForUpdateByDigest(digest).orElse(null);
+        if (blob == null || blob.getRefCount() <= 0) {
+            log.warn("Blob '{}' sem referências a liberar", digest);
+            return Optional.empty();
+        }
+        blob.setRefCount(blob.getRefCount() - 1);
+        mediaBlobRepository.save(blob);
+        log.info("Blob '{}' agora com {} referências", digest, blob.getRefCount());
+        return blob.getRefCount() == 0 ? Optional.of(blob.getObjectName()) : Optional.empty();
+    }
+
+    /**
+     * Cria o registro, sem referências, numa transação própria e já confirmada, para que dois primeiros uploads
+     * simultâneos do mesmo conteúdo esbarrem na chave única aqui, e não no commit da mídia. Quem perde só passa a
+     * disputar o bloqueio da linha criada pelo outro.
+     */
+    private void create(String digest, long size, String contentType, String uploadedObject) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    mediaBlobRepository.saveAndFlush(new MediaBlob(digest, uploadedObject, size, contentType)));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Blob '{}' criado por um upload concorrente", digest);
+        }
+    }
+}
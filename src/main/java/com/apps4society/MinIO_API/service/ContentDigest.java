@@ -0,0 +1,92 @@
+package com.apps4society.MinIO_API.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 e tamanho do conteúdo calculados enquanto ele segue para o MinIO, sem ler o arquivo uma segunda vez.
+ * Cada instância acompanha um único upload e só pode ser consultada depois que o envio terminou.
+ */
+final class ContentDigest {
+
+    private final MessageDigest sha256;
+    private long size;
+    private String hex;
+
+    ContentDigest() {
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM.", e);
+        }
+    }
+
+    /**
+     * Envolve o fluxo de upload; todo byte lido por quem envia ao MinIO entra no cálculo.
+     */
+    InputStream wrap(InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public int read() throws IOException {
+                int value = super.read();
+                if (value >= 0) {
+                    sha256.update((byte) value);
+                    size++;
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    sha256.update(buffer, offset, read);
+                    size += read;
+                }
+                return read;
+            }
+
+            // Pular bytes os deixaria fora do cálculo; lê e descarta.
+            @Override
+            public long skip(long n) throws IOException {
+                return readNBytes((int) Math.min(n, Integer.MAX_VALUE)).length;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Soma os bytes legíveis do buffer sem mover a posição de leitura.
+     */
+    void update(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer chunk = iterator.next();
+                size += chunk.remaining();
+                sha256.update(chunk);
+            }
+        }
+    }
+
+    String hex() {
+        if (hex == null) {
+            hex = HexFormat.of().formatHex(sha256.digest());
+        }
+        return hex;
+    }
+
+    long size() {
+        return size;
+    }
+}
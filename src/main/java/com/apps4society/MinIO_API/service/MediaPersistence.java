@@ -0,0 +1,272 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.storage.MediaObjectCache;
+import com.apps4society.MinIO_API.storage.StorageArchiver;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Gravações da tabela de mídias que acompanham um envio ao MinIO, comuns ao {@link MediaServiceImpl} e ao
+ * {@link ReactiveMediaServiceImpl}: a reserva do nome, a ativação e a troca de arquivo. Cada uma roda na sua transação
+ * curta, sem MinIO dentro; as movimentações de objetos vão pelo {@link StorageOutbox} depois do commit. Todo envio ao
+ * MinIO com o nome do arquivo acontece só depois que esse nome foi reservado no banco.
+ */
+@Slf4j
+@Component
+class MediaPersistence {
+
+    static final String DISABLED_FOLDER = "arquivos_desativados/";
+
+    private final MediaRepository mediaRepository;
+    private final StorageOutbox storageOutbox;
+    private final ContentAddressedStore contentStore;
+    private final PresignedUrlCache presignedUrlCache;
+    private final MediaObjectCache mediaObjectCache;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final TransactionTemplate transactionTemplate;
+
+    MediaPersistence(MediaRepository mediaRepository, StorageOutbox storageOutbox, ContentAddressedStore contentStore,
+                     PresignedUrlCache presignedUrlCache, MediaObjectCache mediaObjectCache, ThumbnailPipeline thumbnailPipeline,
+                     TransactionTemplate transactionTemplate) {
+        this.mediaRepository = mediaRepository;
+        this.storageOutbox = storageOutbox;
+        this.contentStore = contentStore;
+        this.presignedUrlCache = presignedUrlCache;
+        this.mediaObjectCache = mediaObjectCache;
+        this.thumbnailPipeline = thumbnailPipeline;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reserva o nome do arquivo gravando a mídia como pendente antes de qualquer envio ao MinIO. A chave única
+     * (serviço, arquivo) garante que só um dos uploads concorrentes obtenha a reserva. Uma reserva de upload direto
+     * cuja URL de PUT venceu não segura o nome: é apagada e a reserva é tentada mais uma vez.
+     */
+    Media claim(Long uploadedBy, String fileName, String serviceName, MediaType mediaType) {
+        return insertClaim(fileName, serviceName, () -> {
+            Media media = new Media(uploadedBy, fileName, serviceName, mediaType);
+            media.reserve();
+            return media;
+        });
+    }
+
+    /**
+     * Reserva o novo nome de uma troca de arquivo antes do envio ao MinIO, como no {@link #claim}. A reserva é um
+     * registro inativo e não pendente, que não aparece nas buscas nem pode ser confirmado como upload direto; o
+     * {@link #commitUpdate} a troca pela própria mídia.
+     */
+    Media claimRename(Media media, String newFileName, MediaType mediaType) {
+        return insertClaim(newFileName, media.getServiceName(), () -> {
+            Media claim = new Media(media.getUploadedBy(), newFileName, media.getServiceName(), mediaType);
+            claim.disable();
+            return claim;
+        });
+    }
+
+    private Media insertClaim(String fileName, String serviceName, Supplier<Media> newClaim) {
+        try {
+            return insert(newClaim.get());
+        } catch (DataIntegrityViolationException e) {
+            if (reclaimExpiredReservation(fileName, serviceName)) {
+                try {
+                    return insert(newClaim.get());
+                } catch (DataIntegrityViolationException retry) {
+                    // Outro upload ficou com o nome liberado.
+                }
+            }
+            log.error("Arquivo duplicado detectado: '{}' para o serviço '{}'", fileName, serviceName);
+            throw duplicate(fileName, serviceName);
+        }
+    }
+
+    private Media insert(Media claim) {
+        mediaRepository.saveAndFlush(claim);
+        return claim;
+    }
+
+    private boolean reclaimExpiredReservation(String fileName, String serviceName) {
+        Integer deleted = transactionTemplate.execute(status ->
+                mediaRepository.deleteExpiredReservation(fileName, serviceName, LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Reserva vencida de upload direto de '{}' no serviço '{}' descartada", fileName, serviceName);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Desfaz a reserva de um upload que falhou, liberando o nome para uma nova tentativa.
+     */
+    void releaseClaim(Media media) {
+        try {
+            mediaRepository.delete(media);
+        } catch (Exception e) {
+            log.error("Erro ao liberar a reserva da mídia '{}' no serviço '{}'", media.getFileName(), media.getServiceName(), e);
+        }
+    }
+
+    /**
+     * Desfaz a reserva de um envio cujo objeto chegou ao MinIO com o nome reservado, mas não ao banco. O objeto sai
+     * pelo outbox e a reserva só é apagada junto com a tarefa: liberado antes, o nome poderia receber o envio de outro
+     * upload, que a remoção atrasada apagaria. Se nem a tarefa puder ser gravada, a reserva fica segurando o nome.
+     */
+    void releaseUpload(Media claim, String objectName) {
+        try {
+            StorageTask remove = transactionTemplate.execute(status -> storageOutbox.remove(objectName, claim.getEntityId()));
+            storageOutbox.dispatchAsync(remove);
+        } catch (Exception e) {
+            log.error("Erro ao agendar a remoção de '{}'; o nome segue reservado", objectName, e);
+        }
+    }
+
+    /**
+     * Ativa a mídia reservada cujo arquivo já está no MinIO. Se a gravação falhar, a reserva é desfeita sem deixar o
+     * objeto enviado para trás.
+     */
+    Media activateUpload(Media media, String objectName, ContentDigest digest, String contentType) {
+        media.activate();
+        if (digest != null) {
+            try {
+                return saveWithBlob(media, objectName, digest, contentType);
+            } catch (RuntimeException e) {
+                // O objeto do blob tem nome próprio e já foi removido pelo saveWithBlob.
+                releaseClaim(media);
+                throw e;
+            }
+        }
+        try {
+            return mediaRepository.save(media);
+        } catch (RuntimeException e) {
+            releaseUpload(media, objectName);
+            throw e;
+        }
+    }
+
+    /**
+     * Grava a mídia já ativada apontando para o blob do conteúdo enviado. Se o conteúdo já estava armazenado, a
+     * cópia recém-enviada é removida depois do commit; se a gravação falhar, é ela que sobra e é removida.
+     */
+    Media saveWithBlob(Media media, String objectName, ContentDigest digest, String contentType) {
+        ContentAddressedStore.Attachment attachment;
+        try {
+            attachment = transactionTemplate.execute(status -> {
+                ContentAddressedStore.Attachment attached = contentStore.attach(digest.hex(), digest.size(), contentType, objectName);
+                media.useBlob(attached.blob());
+                mediaRepository.save(media);
+                return attached;
+            });
+        } catch (RuntimeException e) {
+            storageOutbox.dispatch(storageOutbox.remove(objectName));
+            throw e;
+        }
+        log.info("Conteúdo SHA-256 '{}' ({} bytes) | Objeto: '{}'", digest.hex(), digest.size(), media.getObjectName());
+        if (attachment.leftover() != null) {
+            storageOutbox.dispatch(attachment.leftover());
+        }
+        return media;
+    }
+
+    /**
+     * Grava a troca do arquivo de uma mídia cujo arquivo novo já está no MinIO, junto com a tarefa de arquivar o
+     * anterior, e depois do commit limpa os caches e despacha as tarefas. A reserva do novo nome ({@link #claimRename})
+     * sai na mesma transação em que a mídia passa a usá-lo, sem janela para outro upload. Se a gravação falhar, o
+     * arquivo novo sai e a reserva é desfeita.
+     */
+    Media commitUpdate(Media media, String newFileName, MediaSniffer.Detected detected, String newFileObjectName,
+                       ContentDigest digest, Media claim) {
+        String serviceName = media.getServiceName();
+        String oldObjectName = media.getObjectName();
+        String oldBlobDigest = media.getBlobDigest();
+        Media nameHolder = oldBlobDigest == null ? media.nameHolder() : null;
+        List<StorageTask> tasks;
+        try {
+            tasks = transactionTemplate.execute(status -> {
+                List<StorageTask> pending = new ArrayList<>();
+                mediaRepository.delete(claim);
+                mediaRepository.flush();
+                if (digest != null) {
+                    ContentAddressedStore.Attachment attachment = contentStore.attach(digest.hex(), digest.size(), detected.contentType(), newFileObjectName);
+                    media.useBlob(attachment.blob());
+                    if (attachment.leftover() != null) {
+                        pending.add(attachment.leftover());
+                    }
+                } else {
+                    media.useBlob(null);
+                }
+                media.setFileName(newFileName);
+                media.setMediaType(detected.mediaType());
+
+                Media updatedMedia = mediaRepository.saveAndFlush(media);
+                log.info("Mídia atualizada no banco | ID: '{}' | Nome: '{}'", updatedMedia.getEntityId(), updatedMedia.getFileName());
+                thumbnailPipeline.discard(media.getEntityId());
+                // O objeto sai do nome antigo logo, e não no arquivamento em lote, porque o nome volta a ficar livre
+                // para novos uploads; até lá ele fica com um registro inativo, removido pelo outbox junto com a
+                // tarefa. O blob tem nome próprio e segue o caminho da desativação.
+                StorageTask archive;
+                if (nameHolder != null) {
+                    mediaRepository.save(nameHolder);
+                    archive = storageOutbox.move(oldObjectName, DISABLED_FOLDER + oldObjectName, nameHolder.getEntityId());
+                } else {
+                    archive = archive(oldObjectName, oldBlobDigest);
+                }
+                if (archive != null) {
+                    pending.add(archive);
+                }
+                return pending;
+            });
+        } catch (Exception e) {
+            log.error("Erro ao gravar a atualização da mídia ID '{}'; removendo o arquivo novo", media.getEntityId(), e);
+            if (digest != null) {
+                storageOutbox.dispatch(storageOutbox.remove(newFileObjectName));
+                releaseClaim(claim);
+            } else {
+                releaseUpload(claim, newFileObjectName);
+            }
+            throw new FileStorageException("Erro ao atualizar a mídia no armazenamento.", e);
+        }
+
+        presignedUrlCache.invalidate(serviceName, media.getEntityId());
+        // O objeto de um blob nunca muda de conteúdo e pode seguir em uso por outras mídias; só o do caminho sai do cache.
+        if (oldBlobDigest == null) {
+            mediaObjectCache.evict(oldObjectName);
+        }
+        tasks.forEach(storageOutbox::dispatchAsync);
+        thumbnailPipeline.schedule(media);
+        return media;
+    }
+
+    /**
+     * Registra o arquivamento adiado de um objeto cujo nome nenhum upload pode ocupar até lá: o de uma mídia
+     * desativada, que segue reservando o nome, ou o de um blob. A movimentação fica para o {@link StorageArchiver}.
+     * Deve ser chamado dentro da transação que troca ou desativa a mídia.
+     * @return Tarefa de marcação do objeto a despachar depois do commit, ou nulo quando o objeto é um blob ainda usado
+     * por outras mídias.
+     */
+    StorageTask archive(String objectName, String blobDigest) {
+        if (blobDigest != null && contentStore.release(blobDigest).isEmpty()) {
+            log.info("Objeto '{}' segue em uso por outras mídias; nada a arquivar", objectName);
+            return null;
+        }
+        log.info("Arquivo '{}' será movido para '{}' no próximo arquivamento", objectName, DISABLED_FOLDER + objectName);
+        storageOutbox.archive(objectName, DISABLED_FOLDER + objectName);
+        return storageOutbox.tag(objectName);
+    }
+
+    private static DuplicateFileException duplicate(String fileName, String serviceName) {
+        return new DuplicateFileException("O arquivo com o nome '" + fileName + "' já foi enviado para o serviço '" + serviceName + "'.");
+    }
+}
@@ -1,11 +1,21 @@
 package com.apps4society.MinIO_API.service;
 
+import com.apps4society.MinIO_API.model.DTO.BulkUploadResult;
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface MediaService {
 
@@ -17,13 +27,86 @@ public interface MediaService {
 //    MediaResponse uploadMedia(String serviceName, Long uploadedBy, Long entityId, MultipartFile file);
     MediaResponse uploadMedia(MediaRequest mediaRequest, MultipartFile file);
 
-    String getMediaUrl(String serviceName, Long mediaId);    /**
-//     * Lista todas as mídias ativas associadas a uma entidade específica.
-//     * @param serviceName Nome do serviço ao qual as mídias pertencem.
-//     * @param entityId ID da entidade associada às mídias.
-//     * @return Lista de MediaResponse contendo URLs assinadas e informações das mídias.
-//     */
-    List<MediaResponse> listMediaByUploadedBy(String serviceName, Long uploadedBy);
+    /**
+     * Faz o upload de uma nova mídia lendo o conteúdo diretamente do corpo da requisição, sem arquivo temporário.
+     * @param fileName Nome original do arquivo enviado.
+     * @param contentType Content-Type informado pelo cliente para a parte do arquivo.
+     * @param stream Conteúdo do arquivo, consumido uma única vez e de tamanho desconhecido.
+     * @return MediaResponse com os detalhes da mídia salva.
+     */
+    MediaResponse uploadMediaStream(MediaRequest mediaRequest, String fileName, String contentType, InputStream stream);
+
+    /**
+     * Faz o upload de vários arquivos de uma vez, todos com os dados de {@code mediaRequest}. Cada arquivo tem seu
+     * próprio resultado: a falha de um não impede os demais.
+     * @return Um resultado por arquivo, na ordem recebida.
+     */
+    List<BulkUploadResult> uploadMediaBulk(MediaRequest mediaRequest, List<MultipartFile> files);
+
+    /**
+     * Reserva uma mídia pendente e gera uma URL assinada para o cliente enviar o arquivo diretamente ao MinIO.
+     * A mídia só fica visível depois de {@link #confirmPresignedUpload(String, Long)}.
+     * @param request Serviço, usuário e nome do arquivo que será enviado.
+     * @return PresignedUploadResponse com o ID da reserva e a URL de PUT.
+     */
+    PresignedUploadResponse reservePresignedUpload(PresignedUploadRequest request);
+
+    /**
+     * Confirma um upload direto: verifica no MinIO que o objeto existe e ativa a mídia reservada.
+     * @param mediaId ID devolvido por {@link #reservePresignedUpload(PresignedUploadRequest)}.
+     * @return MediaResponse com os detalhes da mídia ativada.
+     */
+    MediaResponse confirmPresignedUpload(String serviceName, Long mediaId);
+
+    /**
+     * Gera a URL assinada de download da mídia.
+     * @param width Largura em que o cliente vai exibir a imagem, ou nulo para o original. Com miniaturas disponíveis,
+     *              a URL aponta para a menor que atende essa largura.
+     */
+    String getMediaUrl(String serviceName, Long mediaId, Integer width);
+
+    /**
+     * Consulta no MinIO os metadados do objeto de uma mídia ativa, para o download pela própria API.
+     * @return MediaObject com tamanho, ETag e Content-Type do objeto.
+     */
+    MediaObject getMediaObject(String serviceName, Long mediaId);
+
+    /**
+     * Abre o conteúdo do objeto a partir de {@code offset}. Falha se o objeto mudou desde {@link #getMediaObject}.
+     * @param length Quantidade de bytes a ler, ou -1 para ler até o fim.
+     */
+    InputStream openMediaObject(MediaObject object, long offset, long length);
+
+    /**
+     * Trecho do objeto vindo do cache em disco, mapeado em memória; na falta da cópia local o objeto é trazido do
+     * MinIO para o cache. Vazio quando o cache está desligado ou não aceita o objeto, e então o conteúdo deve ser
+     * lido com {@link #openMediaObject}.
+     */
+    Optional<ByteBuffer> readCachedMediaObject(MediaObject object, long offset, long length);
+
+    /**
+     * Gera as URLs assinadas de várias mídias de uma vez, com uma única consulta ao banco para as que não estão em cache.
+     * @param mediaIds IDs das mídias; IDs inexistentes ou inativos são omitidos do resultado.
+     * @param width Largura de exibição, como em {@link #getMediaUrl(String, Long, Integer)}.
+     * @return Mapa de ID da mídia para URL, na ordem em que os IDs foram pedidos.
+     */
+    Map<Long, String> getMediaUrls(String serviceName, List<Long> mediaIds, Integer width);
+
+    /**
+     * Lista uma página das mídias ativas de um usuário, paginada por cursor sobre o ID.
+     * @param afterId Cursor devolvido pela página anterior, ou nulo para a primeira página.
+     * @param limit Quantidade máxima de itens na página.
+     * @param includeUrls Quando verdadeiro, preenche a URL assinada de cada mídia na resposta.
+     * @param width Largura de exibição usada nas URLs, como em {@link #getMediaUrl(String, Long, Integer)}.
+     * @return MediaPage com os itens e o cursor da próxima página.
+     */
+    MediaPage listMediaByUploadedBy(String serviceName, Long uploadedBy, Long afterId, int limit, boolean includeUrls, Integer width);
+
+    /**
+     * Entrega todas as mídias ativas de um usuário, uma a uma, sem montar a lista em memória.
+     * @param consumer Chamado para cada mídia, em ordem de ID, dentro de uma transação somente leitura.
+     */
+    void streamMediaByUploadedBy(String serviceName, Long uploadedBy, Consumer<MediaResponse> consumer);
 //
 //    /**
 //     * Atualiza um arquivo de mídia existente no MinIO e suas informações no banco de dados.
@@ -3,22 +3,68 @@ package com.apps4society.MinIO_API.service;
 import com.apps4society.MinIO_API.config.MinioConfig;
 import com.apps4society.MinIO_API.exceptions.*;
 import com.apps4society.MinIO_API.mapper.MediaMapper;
+import com.apps4society.MinIO_API.model.DTO.BulkUploadResult;
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaVariant;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
 import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.projection.MediaSummary;
 import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.storage.MediaObjectCache;
+import com.apps4society.MinIO_API.storage.MinioMetrics;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import com.apps4society.MinIO_API.storage.StorageArchiver;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Nenhuma operação no MinIO roda dentro de transação: o banco só é tocado em transações curtas antes ou depois
+ * do envio, e as movimentações de objetos que acompanham uma alteração vão pelo {@link StorageOutbox}. Assim a
+ * quantidade de uploads simultâneos não fica limitada pelo tamanho do pool de conexões.
+ */
 @Service
 @Slf4j
 public class MediaServiceImpl implements MediaService {
@@ -26,63 +72,418 @@ public class MediaServiceImpl implements MediaService {
     private final MediaRepository mediaRepository;
     private final MediaMapper mediaMapper;
     private final MinioClient minioClient;
+    private final MinioConfig minioConfig;
+    private final MinioMetrics minioMetrics;
+    private final MultipartUploadEngine multipartUploadEngine;
+    private final PresignedUrlCache presignedUrlCache;
+    private final StorageOutbox storageOutbox;
+    private final MediaObjectCache mediaObjectCache;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final ContentAddressedStore contentStore;
+    private final MediaPersistence mediaPersistence;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor bulkUploadExecutor;
     private final String bucketName;
 
-    public MediaServiceImpl(MediaRepository mediaRepository, MediaMapper mediaMapper, MinioClient minioClient, MinioConfig minioConfig) {
+    private static final Duration URL_EXPIRY = Duration.ofHours(1);
+
+    public MediaServiceImpl(MediaRepository mediaRepository, MediaMapper mediaMapper, MinioClient minioClient, MinioConfig minioConfig,
+                            MinioMetrics minioMetrics, MultipartUploadEngine multipartUploadEngine, PresignedUrlCache presignedUrlCache,
+                            StorageOutbox storageOutbox, MediaObjectCache mediaObjectCache, ThumbnailPipeline thumbnailPipeline,
+                            ContentAddressedStore contentStore, MediaPersistence mediaPersistence, TransactionTemplate transactionTemplate,
+                            @Qualifier("minioBulkUploadExecutor") Executor bulkUploadExecutor) {
         this.mediaRepository = mediaRepository;
         this.mediaMapper = mediaMapper;
         this.minioClient = minioClient;
+        this.minioConfig = minioConfig;
+        this.minioMetrics = minioMetrics;
+        this.multipartUploadEngine = multipartUploadEngine;
+        this.presignedUrlCache = presignedUrlCache;
+        this.storageOutbox = storageOutbox;
+        this.mediaObjectCache = mediaObjectCache;
+        this.thumbnailPipeline = thumbnailPipeline;
+        this.contentStore = contentStore;
+        this.mediaPersistence = mediaPersistence;
+        this.transactionTemplate = transactionTemplate;
+        this.bulkUploadExecutor = bulkUploadExecutor;
         this.bucketName = minioConfig.getBucketName();
     }
 
+    /**
+     * Sem transação própria: a reserva precisa ser confirmada no banco antes do envio ao MinIO, para que uploads
+     * concorrentes do mesmo nome falhem na hora em vez de esperar o bloqueio da chave única durante o envio.
+     */
     @Override
-    @Transactional
     public MediaResponse uploadMedia(MediaRequest mediaRequest,MultipartFile file) {
         log.info("Iniciando upload de mídia | Serviço: '{}'", mediaRequest.serviceName());
 
         validateFile(file);
 
         String originalFileName = file.getOriginalFilename();
-        String objectName = mediaRequest.serviceName() + "/" + originalFileName;
-        MediaType mediaType = determineMediaType(originalFileName);
+        ContentDigest digest = contentStore.isEnabled() ? new ContentDigest() : null;
+        String objectName = digest != null ? contentStore.newObjectName() : mediaRequest.serviceName() + "/" + originalFileName;
 
         log.info("Nome do arquivo original: '{}'", originalFileName);
         log.info("Nome do objeto no MinIO: '{}'", objectName);
-        log.info("Tipo de mídia detectado: '{}'", mediaType);
 
-        if (mediaRepository.existsByFileNameAndServiceName(originalFileName, mediaRequest.serviceName())){
-            log.error("Arquivo duplicado detectado: '{}' para o serviço '{}'", originalFileName, mediaRequest.serviceName());
-            throw new DuplicateFileException("O arquivo com o nome '" + originalFileName + "' já foi enviado para o serviço '" + mediaRequest.serviceName() + "'.");
+        try (PushbackInputStream stream = new PushbackInputStream(file.getInputStream(), MediaSniffer.HEADER_BYTES)) {
+            MediaSniffer.Detected detected = sniff(stream, file.getContentType());
+            Media media = mediaPersistence.claim(mediaRequest.uploadedBy(), originalFileName, mediaRequest.serviceName(), detected.mediaType());
+            return storeMedia(media, objectName, stream, file.getSize(), detected.contentType(), digest);
+        } catch (IOException e) {
+            throw new FileStorageException("Erro ao ler o arquivo enviado.", e);
+        }
+    }
+
+    @Override
+    public MediaResponse uploadMediaStream(MediaRequest mediaRequest, String fileName, String contentType, InputStream stream) {
+        log.info("Iniciando upload de mídia em streaming | Serviço: '{}'", mediaRequest.serviceName());
+
+        if (fileName == null || fileName.isBlank()) {
+            throw new InvalidFileException("O arquivo enviado para upload está vazio ou sem nome.");
         }
 
+        ContentDigest digest = contentStore.isEnabled() ? new ContentDigest() : null;
+        String objectName = digest != null ? contentStore.newObjectName() : mediaRequest.serviceName() + "/" + fileName;
+        log.info("Nome do objeto no MinIO: '{}'", objectName);
+
+        // O tamanho é desconhecido: o cabeçalho espiado também serve para recusar arquivos vazios sem ler o resto.
+        PushbackInputStream body = new PushbackInputStream(stream, MediaSniffer.HEADER_BYTES);
+        MediaSniffer.Detected detected;
         try {
-            log.info("Enviando arquivo para MinIO - Bucket: '{}'", bucketName);
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
-            log.info("Arquivo '{}' salvo com sucesso no MinIO!", objectName);
+            detected = sniff(body, contentType);
+        } catch (IOException e) {
+            throw new FileStorageException("Erro ao ler o arquivo enviado.", e);
+        }
 
-            Media media = new Media(mediaRequest.uploadedBy(), originalFileName, mediaRequest.serviceName(), mediaType);
+        Media media = mediaPersistence.claim(mediaRequest.uploadedBy(), fileName, mediaRequest.serviceName(), detected.mediaType());
+        return storeMedia(media, objectName, body, -1, detected.contentType(), digest);
+    }
 
-            //criando variavel apenas para debug
-            Media savedMedia = mediaRepository.save(media);
-            log.info("Mídia salva no banco | ID: '{}' | Nome: '{}'", savedMedia.getEntityId(), savedMedia.getFileName());
+    /**
+     * Mesmo caminho do upload individual, com cada etapa feita para o lote inteiro: uma consulta dos nomes já usados,
+     * as reservas numa só transação, os envios em paralelo no executor de lote e a ativação num só UPDATE. Se um
+     * upload concorrente tomar um dos nomes entre a consulta e as reservas, o lote volta a reservar arquivo por arquivo.
+     */
+    @Override
+    public List<BulkUploadResult> uploadMediaBulk(MediaRequest mediaRequest, List<MultipartFile> files) {
+        String serviceName = mediaRequest.serviceName();
+        log.info("Iniciando upload em lote de {} arquivos | Serviço: '{}'", files.size(), serviceName);
+
+        BulkUploadResult[] results = new BulkUploadResult[files.size()];
+        List<BulkItem> items = new ArrayList<>();
+        Set<String> fileNames = new HashSet<>();
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            try {
+                validateFile(file);
+                if (!fileNames.add(file.getOriginalFilename())) {
+                    throw new DuplicateFileException("O arquivo com o nome '" + file.getOriginalFilename() + "' aparece mais de uma vez no lote.");
+                }
+                items.add(new BulkItem(i, file, sniff(file)));
+            } catch (RuntimeException e) {
+                results[i] = failed(file.getOriginalFilename(), e);
+            }
+        }
+
+        if (!items.isEmpty()) {
+            Set<String> taken = mediaRepository.findFileNamesByServiceNameAndFileNameIn(serviceName, fileNames);
+            items.removeIf(item -> {
+                if (!taken.contains(item.fileName())) {
+                    return false;
+                }
+                results[item.index] = failed(item.fileName(), new DuplicateFileException(
+                        "O arquivo com o nome '" + item.fileName() + "' já foi enviado para o serviço '" + serviceName + "'."));
+                return true;
+            });
+        }
+        if (!items.isEmpty()) {
+            claimAll(mediaRequest.uploadedBy(), serviceName, items, results);
+        }
+        if (!items.isEmpty()) {
+            storeAll(items, results);
+        }
+
+        long created = Arrays.stream(results).filter(BulkUploadResult::isCreated).count();
+        log.info("Upload em lote concluído | Serviço: '{}' | {} de {} arquivos criados", serviceName, created, files.size());
+        return List.of(results);
+    }
+
+    /**
+     * Reserva os nomes do lote numa única transação. Se algum nome for tomado nesse meio-tempo, a transação inteira
+     * volta e cada arquivo é reservado separadamente, como no upload individual.
+     */
+    private void claimAll(Long uploadedBy, String serviceName, List<BulkItem> items, BulkUploadResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (BulkItem item : items) {
+                    item.media = new Media(uploadedBy, item.fileName(), serviceName, item.detected.mediaType());
+                    item.media.reserve();
+                }
+                mediaRepository.saveAllAndFlush(items.stream().map(item -> item.media).toList());
+            });
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Nome do lote tomado por um upload concorrente; reservando arquivo por arquivo | Serviço: '{}'", serviceName);
+        }
+
+        items.removeIf(item -> {
+            try {
+                item.media = mediaPersistence.claim(uploadedBy, item.fileName(), serviceName, item.detected.mediaType());
+                return false;
+            } catch (DuplicateFileException e) {
+                results[item.index] = failed(item.fileName(), e);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Envia os arquivos reservados em paralelo e ativa de uma vez os que chegaram ao MinIO. As reservas dos que
+     * falharam são desfeitas, liberando os nomes para uma nova tentativa.
+     */
+    private void storeAll(List<BulkItem> items, BulkUploadResult[] results) {
+        boolean contentAddressed = contentStore.isEnabled();
+        List<CompletableFuture<Void>> uploads = new ArrayList<>();
+        for (BulkItem item : items) {
+            item.digest = contentAddressed ? new ContentDigest() : null;
+            item.objectName = contentAddressed ? contentStore.newObjectName() : item.media.getServiceName() + "/" + item.fileName();
+            uploads.add(CompletableFuture.runAsync(() -> upload(item), bulkUploadExecutor));
+        }
+
+        List<BulkItem> stored = new ArrayList<>();
+        List<Media> failedClaims = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkItem item = items.get(i);
+            try {
+                uploads.get(i).join();
+                stored.add(item);
+            } catch (CompletionException e) {
+                log.error("Erro ao armazenar mídia '{}' do lote no MinIO!", item.fileName(), e.getCause());
+                results[item.index] = failed(item.fileName(), new FileStorageException("Erro ao salvar mídia no armazenamento.", e.getCause()));
+                failedClaims.add(item.media);
+            }
+        }
+
+        List<StorageTask> leftovers = new ArrayList<>();
+        if (!stored.isEmpty()) {
+            try {
+                leftovers = activateAll(stored);
+            } catch (RuntimeException e) {
+                log.error("Erro ao ativar as mídias do lote no banco!", e);
+                for (BulkItem item : stored) {
+                    results[item.index] = failed(item.fileName(), new FileStorageException("Erro ao salvar mídia no armazenamento.", e));
+                    if (item.digest != null) {
+                        failedClaims.add(item.media);
+                        storageOutbox.dispatchAsync(storageOutbox.remove(item.objectName));
+                    } else {
+                        // O objeto ocupa o nome reservado: a reserva só sai depois dele.
+                        mediaPersistence.releaseUpload(item.media, item.objectName);
+                    }
+                }
+                stored = List.of();
+            }
+        }
+
+        if (!failedClaims.isEmpty()) {
+            try {
+                mediaRepository.deleteAllInBatch(failedClaims);
+            } catch (Exception e) {
+                log.error("Erro ao liberar as reservas de {} mídias do lote", failedClaims.size(), e);
+            }
+        }
+        for (BulkItem item : stored) {
+            thumbnailPipeline.schedule(item.media);
+            results[item.index] = BulkUploadResult.created(mediaMapper.toResponse(item.media));
+        }
+        leftovers.forEach(storageOutbox::dispatchAsync);
+    }
+
+    private void upload(BulkItem item) {
+        try (InputStream stream = item.file.getInputStream()) {
+            putObject(item.objectName, item.digest == null ? stream : item.digest.wrap(stream), item.file.getSize(),
+                    item.detected.contentType(), item.detected.mediaType());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        log.info("Arquivo '{}' do lote salvo com sucesso no MinIO!", item.objectName);
+    }
+
+    /**
+     * Ativa as mídias cujos arquivos já estão no MinIO. Sem o modo endereçado por conteúdo basta um UPDATE para o
+     * lote todo; com ele, cada mídia ainda precisa apontar para o blob do seu conteúdo.
+     * @return Remoções das cópias enviadas de conteúdos que já estavam armazenados, a despachar depois do commit.
+     */
+    private List<StorageTask> activateAll(List<BulkItem> stored) {
+        return transactionTemplate.execute(status -> {
+            List<StorageTask> leftovers = new ArrayList<>();
+            if (stored.get(0).digest == null) {
+                mediaRepository.activateAll(stored.stream().map(item -> item.media.getEntityId()).toList());
+                stored.forEach(item -> item.media.activate());
+                return leftovers;
+            }
+            for (BulkItem item : stored) {
+                ContentAddressedStore.Attachment attachment = contentStore.attach(
+                        item.digest.hex(), item.digest.size(), item.detected.contentType(), item.objectName);
+                item.media.useBlob(attachment.blob());
+                item.media.activate();
+                mediaRepository.save(item.media);
+                if (attachment.leftover() != null) {
+                    leftovers.add(attachment.leftover());
+                }
+            }
+            return leftovers;
+        });
+    }
+
+    /**
+     * Resultado de um arquivo que falhou, com o status que o upload individual responderia para o mesmo erro.
+     */
+    private static BulkUploadResult failed(String fileName, RuntimeException e) {
+        HttpStatus status = switch (e) {
+            case InvalidFileException ignored -> HttpStatus.BAD_REQUEST;
+            case DuplicateFileException ignored -> HttpStatus.CONFLICT;
+            case UnsupportedMediaTypeException ignored -> HttpStatus.NOT_ACCEPTABLE;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        return BulkUploadResult.failed(fileName, status.value(), e.getMessage());
+    }
+
+    /**
+     * Um arquivo do lote ao longo das etapas: detectado, reservado, enviado.
+     */
+    private static final class BulkItem {
+        private final int index;
+        private final MultipartFile file;
+        private final MediaSniffer.Detected detected;
+        private Media media;
+        private ContentDigest digest;
+        private String objectName;
+
+        private BulkItem(int index, MultipartFile file, MediaSniffer.Detected detected) {
+            this.index = index;
+            this.file = file;
+            this.detected = detected;
+        }
 
-            return mediaMapper.toResponse(media);
+        private String fileName() {
+            return file.getOriginalFilename();
+        }
+    }
+
+    /**
+     * Envia o arquivo da mídia reservada e a ativa. Se o envio falhar a reserva é desfeita; se a ativação falhar, o
+     * {@link MediaPersistence#activateUpload} também remove o objeto enviado.
+     * @param digest Presente no modo endereçado por conteúdo: o SHA-256 é calculado durante o envio e a mídia passa
+     *               a apontar para o blob do conteúdo.
+     */
+    private MediaResponse storeMedia(Media media, String objectName, InputStream stream, long size, String contentType,
+                                     ContentDigest digest) {
+        try {
+            log.info("Enviando arquivo para MinIO - Bucket: '{}'", bucketName);
+            putObject(objectName, digest == null ? stream : digest.wrap(stream), size, contentType, media.getMediaType());
         } catch (Exception e) {
             log.error("Erro ao armazenar mídia no MinIO!", e);
+            mediaPersistence.releaseClaim(media);
+            throw new FileStorageException("Erro ao salvar mídia no armazenamento.", e);
+        }
+        log.info("Arquivo '{}' salvo com sucesso no MinIO!", objectName);
+        try {
+            Media savedMedia = mediaPersistence.activateUpload(media, objectName, digest, contentType);
+            log.info("Mídia salva no banco | ID: '{}' | Nome: '{}'", savedMedia.getEntityId(), savedMedia.getFileName());
+        } catch (RuntimeException e) {
+            log.error("Erro ao gravar a mídia no banco!", e);
             throw new FileStorageException("Erro ao salvar mídia no armazenamento.", e);
         }
+        thumbnailPipeline.schedule(media);
+
+        return mediaMapper.toResponse(media);
+    }
+
+    /**
+     * A reserva vale enquanto valer a URL de PUT. Vencida, qualquer upload pode ficar com o nome; antes, o objeto que
+     * o dono anterior talvez tenha enviado sem confirmar é apagado, para não ser confirmado no lugar do novo envio.
+     */
+    @Override
+    public PresignedUploadResponse reservePresignedUpload(PresignedUploadRequest request) {
+        String serviceName = request.serviceName();
+        String fileName = request.fileName();
+        String objectName = serviceName + "/" + fileName;
+        log.info("Reservando upload direto | Serviço: '{}' | Arquivo: '{}'", serviceName, fileName);
+
+        MediaType mediaType = determineMediaType(fileName);
+        Duration expiry = minioConfig.getPresignedUploadExpiry();
+        LocalDateTime now = LocalDateTime.now();
+
+        Media pending = mediaRepository.findByFileNameAndServiceNameAndPendingTrue(fileName, serviceName).orElse(null);
+        Media media;
+        if (pending != null && pending.getUploadedBy().equals(request.uploadedBy())) {
+            // O mesmo usuário já tem uma reserva para o arquivo: só renova a validade e gera uma nova URL.
+            media = pending;
+        } else {
+            if (pending != null && pending.getReservedUntil() != null && pending.getReservedUntil().isBefore(now)) {
+                removeObject(objectName);
+            }
+            media = mediaPersistence.claim(request.uploadedBy(), fileName, serviceName, mediaType);
+            log.info("Mídia reservada no banco | ID: '{}' | Nome: '{}'", media.getEntityId(), fileName);
+        }
+        media.setReservedUntil(now.plus(expiry));
+        mediaRepository.save(media);
+
+        try {
+            String uploadUrl = minioMetrics.presign(objectName, () -> minioClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(Method.PUT)
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
+                            .build()
+            ));
+            return new PresignedUploadResponse(media.getEntityId(), serviceName, fileName, uploadUrl, Instant.now().plus(expiry));
+        } catch (Exception e) {
+            throw new MinIOConnectionException("Erro ao gerar URL assinada para upload.", e);
+        }
     }
 
+    @Override
+    public MediaResponse confirmPresignedUpload(String serviceName, Long mediaId) {
+        log.info("Confirmando upload direto da mídia ID '{}' no serviço '{}'", mediaId, serviceName);
+
+        Media media = mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)
+                .orElseThrow(() -> new MediaNotFoundException("Reserva de upload não encontrada ou já confirmada."));
+        // Vencida, a reserva pode ser tomada por outro upload a qualquer momento; o cliente deve pedir uma nova URL.
+        if (media.getReservedUntil() != null && media.getReservedUntil().isBefore(LocalDateTime.now())) {
+            throw new InvalidInputException("A reserva de upload venceu; solicite uma nova URL.");
+        }
+
+        String objectName = serviceName + "/" + media.getFileName();
+        StatObjectResponse stat;
+        try {
+            stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw new InvalidFileException("O arquivo '" + media.getFileName() + "' ainda não foi enviado ao armazenamento.");
+            }
+            throw new MinIOConnectionException("Erro ao verificar o arquivo no armazenamento.", e);
+        } catch (Exception e) {
+            throw new MinIOConnectionException("Erro ao verificar o arquivo no armazenamento.", e);
+        }
+
+        if (stat.size() <= 0) {
+            throw new InvalidFileException("O arquivo enviado para upload está vazio ou sem nome.");
+        }
+
+        media.activate();
+        media.setUploadEtag(stat.etag());
+        mediaRepository.save(media);
+        log.info("Mídia ID '{}' ativada | Objeto: '{}' | Tamanho: {} bytes", mediaId, objectName, stat.size());
+        thumbnailPipeline.schedule(media);
+
+        return mediaMapper.toResponse(media);
+    }
 
     @Override
-    public String getMediaUrl(String serviceName, Long mediaId) {
+    public String getMediaUrl(String serviceName, Long mediaId, Integer width) {
         log.info("Buscando URL da mídia ID '{}' no serviço '{}'", mediaId, serviceName);
 
         if (serviceName == null || serviceName.trim().isEmpty()) {
@@ -93,29 +494,124 @@ public class MediaServiceImpl implements MediaService {
             throw new IllegalArgumentException("O ID do material deve ser maior que 0.");
         }
 
+        int variant = thumbnailPipeline.variantFor(width);
+        Optional<String> cachedUrl = presignedUrlCache.get(serviceName, mediaId, variant);
+        if (cachedUrl.isPresent()) {
+            return cachedUrl.get();
+        }
+
+        long generation = presignedUrlCache.generation();
         Media media = mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)
                 .orElseThrow(() -> new MediaNotFoundException("Mídia não encontrada ou inativa."));
 
+        return signUrl(media, variant, thumbnailPipeline.find(mediaId, variant).orElse(null), generation);
+    }
+
+    @Override
+    public MediaObject getMediaObject(String serviceName, Long mediaId) {
+        log.info("Consultando o objeto da mídia ID '{}' no serviço '{}'", mediaId, serviceName);
+
+        Media media = mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)
+                .orElseThrow(() -> new MediaNotFoundException("Mídia não encontrada ou inativa."));
+
+        String objectName = media.getObjectName();
         try {
-            String objectPath = media.getServiceName() + "/" + media.getFileName();
-            return minioClient.getPresignedObjectUrl(
-                    GetPresignedObjectUrlArgs.builder()
-                            .method(Method.GET)
+            StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            checkUploadEtag(media, stat);
+            return new MediaObject(objectName, stat.size(), stat.etag(), stat.contentType(), stat.lastModified());
+        } catch (MediaNotFoundException e) {
+            throw e;
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw new MediaNotFoundException("Arquivo da mídia não encontrado no armazenamento.");
+            }
+            throw new MinIOConnectionException("Erro ao consultar o arquivo no armazenamento.", e);
+        } catch (Exception e) {
+            throw new MinIOConnectionException("Erro ao consultar o arquivo no armazenamento.", e);
+        }
+    }
+
+    /**
+     * Pede ao MinIO só o trecho solicitado, condicionado ao ETag consultado, para que um Range nunca misture
+     * bytes de duas versões do arquivo.
+     */
+    @Override
+    public InputStream openMediaObject(MediaObject object, long offset, long length) {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
                             .bucket(bucketName)
-                            .object(objectPath)
-                            .expiry(1, TimeUnit.HOURS)
+                            .object(object.objectName())
+                            .offset(offset)
+                            .length(length < 0 ? null : length)
+                            .matchETag("\"" + object.etag() + "\"")
                             .build()
             );
         } catch (Exception e) {
-            throw new MinIOConnectionException("Erro ao gerar URL assinada da mídia.", e);
+            throw new MinIOConnectionException("Erro ao ler o arquivo do armazenamento.", e);
+        }
+    }
+
+    @Override
+    public Optional<ByteBuffer> readCachedMediaObject(MediaObject object, long offset, long length) {
+        return mediaObjectCache.read(object, offset, length, () -> openMediaObject(object, 0, -1));
+    }
+
+    @Override
+    public Map<Long, String> getMediaUrls(String serviceName, List<Long> mediaIds, Integer width) {
+        log.info("Buscando URLs de {} mídias no serviço '{}'", mediaIds.size(), serviceName);
+
+        if (serviceName == null || serviceName.trim().isEmpty()) {
+            throw new IllegalArgumentException("O nome do serviço não pode ser vazio ou nulo.");
+        }
+
+        int variant = thumbnailPipeline.variantFor(width);
+        Set<Long> requested = new LinkedHashSet<>(mediaIds);
+        Map<Long, String> resolved = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long mediaId : requested) {
+            if (mediaId == null || mediaId <= 0) {
+                throw new IllegalArgumentException("O ID do material deve ser maior que 0.");
+            }
+            presignedUrlCache.get(serviceName, mediaId, variant)
+                    .ifPresentOrElse(url -> resolved.put(mediaId, url), () -> missing.add(mediaId));
+        }
+
+        if (!missing.isEmpty()) {
+            long generation = presignedUrlCache.generation();
+            List<Media> found = mediaRepository.findByServiceNameAndEntityIdInAndActiveTrue(serviceName, missing);
+            Map<Long, MediaVariant> variants = thumbnailPipeline.find(found.stream().map(Media::getEntityId).toList(), variant);
+            found.forEach(media -> resolved.put(media.getEntityId(), signUrl(media, variant, variants.get(media.getEntityId()), generation)));
         }
+
+        Map<Long, String> urls = new LinkedHashMap<>();
+        for (Long mediaId : requested) {
+            String url = resolved.get(mediaId);
+            if (url != null) {
+                urls.put(mediaId, url);
+            }
+        }
+        log.info("{} de {} URLs resolvidas ({} do cache)", urls.size(), requested.size(), requested.size() - missing.size());
+        return urls;
     }
 
     @Override
-    public List<MediaResponse> listMediaByUploadedBy(String serviceName, Long uploadedBy) {
-        log.info("Buscando mídias para o serviço '{}' e usuário '{}'", serviceName, uploadedBy);
+    public MediaPage listMediaByUploadedBy(String serviceName, Long uploadedBy, Long afterId, int limit, boolean includeUrls, Integer width) {
+        log.info("Buscando mídias para o serviço '{}' e usuário '{}' | Após ID: {} | Limite: {}", serviceName, uploadedBy, afterId, limit);
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que 0.");
+        }
 
-        List<Media> midias = mediaRepository.findByServiceNameAndUploadedByAndActiveTrue(serviceName, uploadedBy);
+        // Busca um item a mais só para saber se existe próxima página.
+        List<Media> midias = mediaRepository.findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(
+                serviceName, uploadedBy, afterId == null ? 0L : afterId, Limit.of(limit + 1));
+
+        Long nextCursor = null;
+        if (midias.size() > limit) {
+            midias = midias.subList(0, limit);
+            nextCursor = midias.get(limit - 1).getEntityId();
+        }
 
         if (midias.isEmpty()) {
             log.warn("Nenhuma mídia encontrada para o serviço '{}' e usuário '{}'", serviceName, uploadedBy);
@@ -123,11 +619,32 @@ public class MediaServiceImpl implements MediaService {
             log.info("{} mídias encontradas para o serviço '{}' e usuário '{}'", midias.size(), serviceName, uploadedBy);
         }
 
-        return midias.stream().map(mediaMapper::toResponse).collect(Collectors.toList());
+        if (!includeUrls || midias.isEmpty()) {
+            return new MediaPage(midias.stream().map(mediaMapper::toResponse).collect(Collectors.toList()), nextCursor);
+        }
+
+        Map<Long, String> urls = getMediaUrls(serviceName, midias.stream().map(Media::getEntityId).toList(), width);
+        return new MediaPage(midias.stream()
+                .map(media -> mediaMapper.toResponse(media, urls.get(media.getEntityId())))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMediaByUploadedBy(String serviceName, Long uploadedBy, Consumer<MediaResponse> consumer) {
+        log.info("Transmitindo mídias do serviço '{}' e usuário '{}'", serviceName, uploadedBy);
+
+        long count = 0;
+        try (Stream<MediaSummary> midias = mediaRepository.streamByServiceNameAndUploadedByAndActiveTrueOrderByEntityIdAsc(serviceName, uploadedBy)) {
+            for (MediaSummary media : (Iterable<MediaSummary>) midias::iterator) {
+                consumer.accept(mediaMapper.toResponse(media));
+                count++;
+            }
+        }
+        log.info("{} mídias transmitidas para o serviço '{}' e usuário '{}'", count, serviceName, uploadedBy);
     }
 
     @Override
-    @Transactional
     public MediaResponse updateMedia(Long entityId, MediaRequest mediaRequest, MultipartFile file) {
         String serviceName = mediaRequest.serviceName();
 
@@ -143,114 +660,183 @@ public class MediaServiceImpl implements MediaService {
 
         validateFile(file);
 
-        if (mediaRepository.existsByFileNameAndServiceName(file.getOriginalFilename(), serviceName)) {
-            log.error("Arquivo duplicado detectado: '{}' para o serviço '{}'", file.getOriginalFilename(), serviceName);
-            throw new DuplicateFileException("O arquivo com o nome '" + file.getOriginalFilename() + "' já foi enviado para o serviço '" + serviceName + "'.");
-        }
-
-        try {
-            String oldObjectName = serviceName + "/" + media.getFileName();
-            String newObjectName = "arquivos_desativados/" + serviceName + "/" + media.getFileName();
-
-            log.info("Movendo arquivo antigo para '{}'", newObjectName);
-            minioClient.copyObject(
-                    CopyObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(newObjectName)
-                            .source(CopySource.builder().bucket(bucketName).object(oldObjectName).build())
-                            .build()
-            );
-            minioClient.removeObject(
-                    RemoveObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(oldObjectName)
-                            .build()
-            );
-            log.info("Arquivo antigo '{}' movido para '{}'", oldObjectName, newObjectName);
-
-            String newFileName = file.getOriginalFilename();
-            String newFileObjectName = serviceName + "/" + newFileName;
-            MediaType newMediaType = determineMediaType(newFileObjectName);
-
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(newFileObjectName)
-                            .stream(file.getInputStream(), file.getSize(), -1)
-                            .contentType(file.getContentType())
-                            .build()
-            );
-            log.info("Novo arquivo '{}' enviado para MinIO!", newFileObjectName);
-
-            media.setFileName(newFileName);
-            media.setMediaType(newMediaType);
-
-            Media updatedMedia = mediaRepository.save(media);
-            log.info("Mídia atualizada no banco | ID: '{}' | Nome: '{}'", updatedMedia.getEntityId(), updatedMedia.getFileName());
-
-            return mediaMapper.toResponse(media);
+        String newFileName = file.getOriginalFilename();
+        ContentDigest digest = contentStore.isEnabled() ? new ContentDigest() : null;
+        String newFileObjectName = digest != null ? contentStore.newObjectName() : serviceName + "/" + newFileName;
+
+        // O novo nome é reservado e o arquivo sobe antes de a mídia mudar; o antigo só é arquivado depois que a troca
+        // for gravada.
+        MediaSniffer.Detected detected;
+        Media claim;
+        try (PushbackInputStream stream = new PushbackInputStream(file.getInputStream(), MediaSniffer.HEADER_BYTES)) {
+            detected = sniff(stream, file.getContentType());
+            claim = mediaPersistence.claimRename(media, newFileName, detected.mediaType());
+            try {
+                putObject(newFileObjectName, digest == null ? stream : digest.wrap(stream), file.getSize(), detected.contentType(), detected.mediaType());
+            } catch (Exception e) {
+                mediaPersistence.releaseClaim(claim);
+                throw e;
+            }
+        } catch (UnsupportedMediaTypeException | InvalidFileException | DuplicateFileException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao atualizar a mídia no MinIO!", e);
             throw new FileStorageException("Erro ao atualizar a mídia no armazenamento.", e);
         }
+        log.info("Novo arquivo '{}' enviado para MinIO!", newFileObjectName);
+
+        return mediaMapper.toResponse(mediaPersistence.commitUpdate(media, newFileName, detected, newFileObjectName, digest, claim));
     }
 
+    /**
+     * A desativação só mexe em metadados: o flag da mídia e, depois do commit e em segundo plano, a tag do objeto.
+     * A movimentação para a pasta de arquivo fica para o {@link StorageArchiver}, em lote e fora do horário de pico.
+     * Uma mídia que aponta para um blob só decrementa o contador, e o objeto é arquivado quando sai a última referência.
+     */
     @Override
-    @Transactional
     public void disableMedia(String serviceName, Long mediaId) {
         log.info("Desativando mídia ID '{}' no serviço '{}'", mediaId, serviceName);
 
-        Media media = mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)
-                .orElseThrow(() -> {
-                    log.warn("Mídia ID '{}' não encontrada no serviço '{}'!", mediaId, serviceName);
-                    return new MediaNotFoundException("Mídia não encontrada ou inativa.");
-                });
-
-        try {
-            String newObjectName = "arquivos_desativados/" + serviceName + "/" + media.getFileName();
-            log.info("Movendo arquivo para '{}'", newObjectName);
+        StorageTask tag = transactionTemplate.execute(status -> {
+            Media media = mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)
+                    .orElseThrow(() -> {
+                        log.warn("Mídia ID '{}' não encontrada no serviço '{}'!", mediaId, serviceName);
+                        return new MediaNotFoundException("Mídia não encontrada ou inativa.");
+                    });
+
+            media.disable();
+            mediaRepository.save(media);
+            thumbnailPipeline.discard(mediaId);
+
+            String objectName = media.getObjectName();
+            if (media.getBlobDigest() == null) {
+                mediaObjectCache.evict(objectName);
+            }
+            return mediaPersistence.archive(objectName, media.getBlobDigest());
+        });
+
+        presignedUrlCache.invalidate(serviceName, mediaId);
+        log.info("Mídia ID '{}' desativada no banco para o serviço '{}'!", mediaId, serviceName);
 
-            minioClient.copyObject(
-                    CopyObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(newObjectName)
-                            .source(CopySource.builder().bucket(bucketName).object(serviceName + "/" + media.getFileName()).build())
-                            .build()
-            );
+        if (tag != null) {
+            storageOutbox.dispatchAsync(tag);
+        }
+    }
 
-            minioClient.removeObject(
-                    RemoveObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(serviceName + "/" + media.getFileName())
-                            .build()
-            );
+    /**
+     * Assina a URL de download da mídia (ou da miniatura, quando houver) e a guarda no cache. A assinatura é calculada
+     * localmente, sem ida ao MinIO.
+     * @param variant Largura pedida, já normalizada; a URL fica em cache nela mesmo quando a miniatura não existe.
+     * @param generation Geração do cache pega antes de ler a mídia; a URL não entra no cache se a mídia mudou depois.
+     */
+    private String signUrl(Media media, int variant, MediaVariant thumbnail, long generation) {
+        try {
+            String objectPath = thumbnail != null ? thumbnail.getObjectName() : media.getObjectName();
+            GetPresignedObjectUrlArgs.Builder args = GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(bucketName)
+                    .object(objectPath)
+                    .expiry((int) URL_EXPIRY.toSeconds(), TimeUnit.SECONDS);
+            if (thumbnail == null && media.getBlobDigest() != null) {
+                // O objeto do blob não leva o nome do arquivo; o download o recebe pelo cabeçalho da resposta.
+                String fileName = media.getFileName();
+                ContentDisposition disposition = StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)
+                        ? ContentDisposition.inline().filename(fileName).build()
+                        : ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build();
+                args.extraQueryParams(Map.of("response-content-disposition", disposition.toString()));
+            }
+            String url = minioMetrics.presign(objectPath, () -> minioClient.getPresignedObjectUrl(args.build()));
+            presignedUrlCache.put(media.getServiceName(), media.getEntityId(), variant, url, URL_EXPIRY, generation);
+            return url;
+        } catch (Exception e) {
+            throw new MinIOConnectionException("Erro ao gerar URL assinada da mídia.", e);
+        }
+    }
 
-            log.info("Arquivo '{}' movido para '{}'", media.getFileName(), newObjectName);
+    /**
+     * Remove na hora, e não pelo outbox: uma remoção atrasada poderia apagar o envio que vem depois dela.
+     */
+    private void removeObject(String objectName) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            log.info("Objeto '{}' de uma reserva vencida removido", objectName);
         } catch (Exception e) {
-            log.error("Erro ao mover mídia!", e);
-            throw new FileStorageException("Erro ao mover mídia no armazenamento.", e);
+            throw new MinIOConnectionException("Erro ao remover o arquivo de uma reserva vencida.", e);
         }
+    }
 
-        media.disable();
-        mediaRepository.save(media);
-        log.info("Mídia ID '{}' desativada no banco para o serviço '{}'!", mediaId, serviceName);
+    /**
+     * A URL de PUT de um upload direto segue valendo depois da confirmação; se o objeto mudou desde então, o conteúdo
+     * não é mais o que foi confirmado.
+     */
+    private static void checkUploadEtag(Media media, StatObjectResponse stat) {
+        if (media.getUploadEtag() != null && !media.getUploadEtag().equals(stat.etag())) {
+            log.warn("Objeto da mídia ID '{}' alterado depois da confirmação do upload direto", media.getEntityId());
+            throw new MediaNotFoundException("O arquivo da mídia foi alterado depois da confirmação do upload.");
+        }
     }
 
     /**
-     * Determina o tipo de mídia com base na extensão do arquivo.
+     * Determina o tipo de mídia com base na extensão do arquivo. Usado só quando o conteúdo não passa pela API
+     * (upload direto ao MinIO); nos demais casos o tipo vem do conteúdo, via {@link #sniff}.
      */
     private MediaType determineMediaType(String fileName) {
-        String extension = fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
-        return switch (extension) {
-            case "jpg", "jpeg", "png" -> MediaType.IMAGE;
-            case "mp4" -> MediaType.VIDEO;
-            case "mp3" -> MediaType.AUDIO;
-            default -> throw new UnsupportedMediaTypeException("Tipo de mídia não suportado: " + extension);
-        };
+        return MediaType.fromFileName(fileName);
+    }
+
+    /**
+     * Espia o cabeçalho do arquivo e o devolve ao fluxo, que segue intacto para o MinIO. O tipo de mídia e o
+     * Content-Type gravado vêm do conteúdo; o Content-Type informado pelo cliente só aparece no log.
+     */
+    private MediaSniffer.Detected sniff(PushbackInputStream stream, String declaredContentType) throws IOException {
+        byte[] header = stream.readNBytes(MediaSniffer.HEADER_BYTES);
+        if (header.length == 0) {
+            throw new InvalidFileException("O arquivo enviado para upload está vazio ou sem nome.");
+        }
+        stream.unread(header);
+
+        MediaSniffer.Detected detected = MediaSniffer.detect(header);
+        log.info("Tipo de mídia detectado pelo conteúdo: '{}' ({}) | Content-Type informado: '{}'",
+                detected.mediaType(), detected.contentType(), declaredContentType);
+        return detected;
+    }
+
+    /**
+     * Espia o cabeçalho de um arquivo já recebido; o envio abre o arquivo de novo, a partir do início.
+     */
+    private MediaSniffer.Detected sniff(MultipartFile file) {
+        try (PushbackInputStream stream = new PushbackInputStream(file.getInputStream(), MediaSniffer.HEADER_BYTES)) {
+            return sniff(stream, file.getContentType());
+        } catch (IOException e) {
+            throw new FileStorageException("Erro ao ler o arquivo enviado.", e);
+        }
+    }
+
+    /**
+     * Envia o objeto ao MinIO. Vídeos grandes (ou de tamanho desconhecido) vão pelo upload multipart paralelo;
+     * os demais usam o putObject comum. Quando o tamanho não é conhecido (size = -1) o cliente precisa de um
+     * tamanho de parte explícito e mantém em memória apenas uma parte por vez.
+     */
+    private void putObject(String objectName, InputStream stream, long size, String contentType, MediaType mediaType) throws Exception {
+        if (mediaType == MediaType.VIDEO && (size < 0 || size >= minioConfig.getMultipartThreshold())) {
+            log.info("Usando upload multipart paralelo para '{}'", objectName);
+            multipartUploadEngine.upload(bucketName, objectName, stream, size, contentType);
+            return;
+        }
+
+        long partSize = size >= 0 ? -1 : minioConfig.getUploadPartSize();
+        minioClient.putObject(
+                PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .stream(stream, size, partSize)
+                        .contentType(contentType)
+                        .build()
+        );
     }
 
     private void validateFile(MultipartFile file) {
-        if (file.isEmpty() || file.getOriginalFilename() == null) {
+        if (file.isEmpty() || file.getOriginalFilename() == null || file.getOriginalFilename().isBlank()) {
             throw new InvalidFileException("O arquivo enviado para upload está vazio ou sem nome.");
         }
     }
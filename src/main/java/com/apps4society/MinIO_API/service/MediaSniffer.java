@@ -0,0 +1,121 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Identifica o tipo da mídia pela assinatura nos primeiros bytes do conteúdo, sem depender da extensão do nome
+ * nem do Content-Type informado pelo cliente. Os serviços espiam o cabeçalho do fluxo de upload e o devolvem ao
+ * fluxo antes do envio ao MinIO, de modo que cada byte é lido uma única vez.
+ */
+final class MediaSniffer {
+
+    /**
+     * Bytes do início do arquivo suficientes para reconhecer todas as assinaturas suportadas: no ISO BMFF, a caixa
+     * ftyp com a marca principal e as primeiras marcas compatíveis.
+     */
+    static final int HEADER_BYTES = 32;
+
+    private static final String UNSUPPORTED = "O conteúdo do arquivo não corresponde a nenhum tipo de mídia suportado (JPEG, PNG, MP4 ou MP3).";
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] ID3 = {'I', 'D', '3'};
+    private static final byte[] FTYP = {'f', 't', 'y', 'p'};
+
+    // Marcas ISO BMFF de vídeo MP4.
+    private static final Set<String> MP4_BRANDS = Set.of(
+            "isom", "iso2", "iso3", "iso4", "iso5", "iso6", "iso8", "mp41", "mp42", "mp71", "avc1", "dash",
+            "M4V ", "M4VH", "M4VP", "mmp4", "msnv", "f4v ");
+    // Marcas do mesmo contêiner que não são vídeo MP4: imagens HEIF/HEIC e AVIF, áudio M4A/M4B e QuickTime. Arquivos
+    // assim costumam listar também marcas MP4 entre as compatíveis.
+    private static final Set<String> OTHER_BRANDS = Set.of(
+            "heic", "heix", "heim", "heis", "hevc", "hevx", "mif1", "msf1", "miaf", "avif", "avis",
+            "M4A ", "M4B ", "M4P ", "F4A ", "F4B ", "qt  ");
+
+    record Detected(MediaType mediaType, String contentType) {}
+
+    private MediaSniffer() {
+    }
+
+    /**
+     * @param header Primeiros bytes do arquivo; pode ter menos que {@link #HEADER_BYTES} quando o arquivo é curto.
+     * @throws UnsupportedMediaTypeException se o conteúdo não for JPEG, PNG, MP4 ou MP3.
+     */
+    static Detected detect(byte[] header) {
+        if (matches(header, 0, JPEG)) {
+            return new Detected(MediaType.IMAGE, "image/jpeg");
+        }
+        if (matches(header, 0, PNG)) {
+            return new Detected(MediaType.IMAGE, "image/png");
+        }
+        // ISO BMFF: tamanho da caixa em 4 bytes seguido do tipo "ftyp".
+        if (matches(header, 4, FTYP) && isMp4Video(header)) {
+            return new Detected(MediaType.VIDEO, "video/mp4");
+        }
+        if (matches(header, 0, ID3) || isMp3Frame(header)) {
+            return new Detected(MediaType.AUDIO, "audio/mpeg");
+        }
+        throw new UnsupportedMediaTypeException(UNSUPPORTED);
+    }
+
+    /**
+     * A caixa ftyp traz a marca principal (bytes 8 a 11), a versão (12 a 15) e as marcas compatíveis até o fim da
+     * caixa. É vídeo MP4 quando a marca principal é de MP4 ou, se ela não for conhecida, quando há uma marca MP4
+     * entre as compatíveis e nenhuma de outro formato.
+     */
+    private static boolean isMp4Video(byte[] header) {
+        String major = brand(header, 8);
+        if (major == null || OTHER_BRANDS.contains(major)) {
+            return false;
+        }
+        if (MP4_BRANDS.contains(major)) {
+            return true;
+        }
+        long boxSize = ((header[0] & 0xFFL) << 24) | ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        int end = (int) Math.min(boxSize, header.length);
+        boolean mp4 = false;
+        for (int offset = 16; offset + 4 <= end; offset += 4) {
+            String compatible = brand(header, offset);
+            if (OTHER_BRANDS.contains(compatible)) {
+                return false;
+            }
+            mp4 |= MP4_BRANDS.contains(compatible);
+        }
+        return mp4;
+    }
+
+    private static String brand(byte[] header, int offset) {
+        return header.length < offset + 4 ? null : new String(header, offset, 4, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Cabeçalho de quadro MPEG de áudio camada III (MP3 sem tag ID3): sincronismo de 11 bits e campos de versão,
+     * taxa de bits e frequência com valores válidos.
+     */
+    private static boolean isMp3Frame(byte[] header) {
+        if (header.length < 4 || (header[0] & 0xFF) != 0xFF || (header[1] & 0xE0) != 0xE0) {
+            return false;
+        }
+        int version = (header[1] >> 3) & 0x3;
+        int layer = (header[1] >> 1) & 0x3;
+        int bitrate = (header[2] >> 4) & 0xF;
+        int sampleRate = (header[2] >> 2) & 0x3;
+        return version != 1 && layer == 1 && bitrate != 0xF && sampleRate != 3;
+    }
+
+    private static boolean matches(byte[] header, int offset, byte[] signature) {
+        if (header.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
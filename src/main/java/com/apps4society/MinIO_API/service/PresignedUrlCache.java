@@ -0,0 +1,213 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache em memória das URLs assinadas de download, por (serviço, mídia). Cada mídia guarda a URL do original e as das
+ * miniaturas já pedidas, identificadas pela largura (0 para o original), para que {@link #invalidate} descarte todas
+ * de uma vez. Uma URL só é reaproveitada enquanto ainda tem pelo menos a fração configurada da sua validade pela
+ * frente, para o cliente não receber um link prestes a expirar. O tamanho é limitado em mídias e as menos usadas
+ * saem primeiro, por amostragem: o LRU é aproximado.
+ * <p>
+ * As leituras não usam lock, porque cada pedido de URL passa por aqui; só as escritas ({@link #put} e
+ * {@link #invalidate}), bem mais raras, se revezam num {@link ReentrantLock} em vez de synchronized, que prenderia as
+ * threads virtuais à thread de plataforma.
+ * <p>
+ * Quem assina uma URL a partir de uma leitura do banco pega a {@link #generation()} antes da leitura e a repassa ao
+ * {@link #put}: se a mídia foi invalidada nesse meio tempo (desativada ou trocada por outra requisição), a URL lida
+ * antes da mudança não entra no cache. A invalidação vale só para este nó; com várias instâncias, as outras seguem
+ * servindo a URL que já tinham em cache até ela perder a validade mínima.
+ */
+@Slf4j
+@Component
+public class PresignedUrlCache {
+
+    static final int ORIGINAL = 0;
+    // Mídias comparadas a cada remoção; sai a de uso mais antigo entre elas.
+    static final int EVICTION_SAMPLE = 16;
+
+    private record Entry(String url, Instant issuedAt, Instant expiresAt) {}
+
+    /**
+     * URLs de uma mídia e a marca do seu último uso, para a escolha de quem sai quando o cache enche.
+     */
+    private static final class Slot {
+        private final Map<Integer, Entry> variants = new ConcurrentHashMap<>(4);
+        private volatile long lastAccess;
+    }
+
+    private final int maxEntries;
+    private final double minRemainingRatio;
+    private final Clock clock;
+    private final Map<String, Slot> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accesses = new AtomicLong();
+    // Geração da última invalidação de cada mídia, limitada como as entradas; as que saem sobem o piso.
+    private final Map<String, Long> invalidations;
+    private volatile long generation;
+    private long forgottenInvalidation;
+    // Continua, a cada remoção, a varredura da anterior, para que a amostra percorra todas as mídias.
+    private Iterator<Map.Entry<String, Slot>> sweep = Collections.emptyIterator();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public PresignedUrlCache(MinioProperties minioProperties) {
+        this(minioProperties.getUrlCacheMaxEntries(), minioProperties.getUrlCacheMinRemaining(), Clock.systemUTC());
+    }
+
+    PresignedUrlCache(int maxEntries, double minRemainingRatio, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.minRemainingRatio = minRemainingRatio;
+        this.clock = clock;
+        this.invalidations = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > Math.max(PresignedUrlCache.this.maxEntries, 1)) {
+                    forgottenInvalidation = eldest.getValue();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Marca a pegar antes de ler a mídia do banco e repassar ao {@link #put} da URL assinada a partir dela.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    public Optional<String> get(String serviceName, Long mediaId) {
+        return get(serviceName, mediaId, ORIGINAL);
+    }
+
+    /**
+     * @param variant Largura da miniatura, ou 0 para o original.
+     */
+    public Optional<String> get(String serviceName, Long mediaId, int variant) {
+        String key = key(serviceName, mediaId);
+        Slot slot = entries.get(key);
+        Entry entry = slot == null ? null : slot.variants.get(variant);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        long lifetime = Duration.between(entry.issuedAt(), entry.expiresAt()).toMillis();
+        long remaining = Duration.between(clock.instant(), entry.expiresAt()).toMillis();
+        if (remaining < lifetime * minRemainingRatio) {
+            slot.variants.remove(variant, entry);
+            if (slot.variants.isEmpty()) {
+                entries.remove(key, slot);
+            }
+            return Optional.empty();
+        }
+        slot.lastAccess = accesses.incrementAndGet();
+        return Optional.of(entry.url());
+    }
+
+    public void put(String serviceName, Long mediaId, String url, Duration expiry) {
+        put(serviceName, mediaId, ORIGINAL, url, expiry);
+    }
+
+    /**
+     * Guarda a URL recém-assinada. O instante de emissão é o momento atual, então a URL deve ter acabado de ser gerada.
+     * @param variant Largura da miniatura, ou 0 para o original.
+     */
+    public void put(String serviceName, Long mediaId, int variant, String url, Duration expiry) {
+        put(serviceName, mediaId, variant, url, expiry, Long.MAX_VALUE);
+    }
+
+    /**
+     * Guarda a URL só se a mídia não foi invalidada depois da geração informada.
+     * @param generation {@link #generation()} pega antes da leitura da mídia que originou a URL.
+     */
+    public void put(String serviceName, Long mediaId, int variant, String url, Duration expiry, long generation) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        String key = key(serviceName, mediaId);
+        Instant now = clock.instant();
+        lock.lock();
+        try {
+            Long invalidatedAt = invalidations.get(key);
+            if ((invalidatedAt != null ? invalidatedAt : forgottenInvalidation) > generation) {
+                log.debug("URL da mídia ID '{}' do serviço '{}' não guardada: a mídia mudou durante a leitura", mediaId, serviceName);
+                return;
+            }
+            Slot slot = entries.computeIfAbsent(key, k -> new Slot());
+            slot.variants.put(variant, new Entry(url, now, now.plus(expiry)));
+            slot.lastAccess = accesses.incrementAndGet();
+            evictIfFull();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tira as mídias de uso mais antigo de amostras de {@link #EVICTION_SAMPLE} até o cache voltar ao limite.
+     * Chamado com o lock.
+     */
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            Map.Entry<String, Slot> victim = null;
+            for (int i = 0; i < EVICTION_SAMPLE; i++) {
+                if (!sweep.hasNext()) {
+                    sweep = entries.entrySet().iterator();
+                    if (!sweep.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, Slot> candidate = sweep.next();
+                if (victim == null || candidate.getValue().lastAccess < victim.getValue().lastAccess) {
+                    victim = candidate;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            entries.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    /**
+     * Descarta as URLs do original e de todas as miniaturas da mídia.
+     */
+    public void invalidate(String serviceName, Long mediaId) {
+        String key = key(serviceName, mediaId);
+        Slot removed;
+        lock.lock();
+        try {
+            removed = entries.remove(key);
+            invalidations.remove(key);
+            invalidations.put(key, ++generation);
+        } finally {
+            lock.unlock();
+        }
+        if (removed != null) {
+            log.debug("URLs em cache da mídia ID '{}' do serviço '{}' invalidadas", mediaId, serviceName);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static String key(String serviceName, Long mediaId) {
+        return serviceName + "/" + mediaId;
+    }
+}
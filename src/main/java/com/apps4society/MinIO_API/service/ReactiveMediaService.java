@@ -0,0 +1,69 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versão reativa do {@link MediaService}, usada pela variante WebFlux da API. O conteúdo dos arquivos vai do
+ * corpo da requisição ao MinIO sem bloquear threads; o acesso ao banco roda no scheduler boundedElastic.
+ */
+public interface ReactiveMediaService {
+
+    /**
+     * Faz o upload de uma nova mídia a partir do corpo da requisição, consumido uma única vez.
+     * @param fileName Nome original do arquivo enviado.
+     * @param contentType Content-Type informado pelo cliente para a parte do arquivo.
+     * @return MediaResponse com os detalhes da mídia salva.
+     */
+    Mono<MediaResponse> uploadMedia(MediaRequest mediaRequest, String fileName, String contentType, Flux<DataBuffer> content);
+
+    Mono<PresignedUploadResponse> reservePresignedUpload(PresignedUploadRequest request);
+
+    Mono<MediaResponse> confirmPresignedUpload(String serviceName, Long mediaId);
+
+    Mono<String> getMediaUrl(String serviceName, Long mediaId, Integer width);
+
+    Mono<MediaObject> getMediaObject(String serviceName, Long mediaId);
+
+    /**
+     * Lê o trecho do objeto em buffers do {@code bufferFactory} da resposta; no Netty são buffers diretos do pool,
+     * escritos no socket sem cópia para o heap.
+     * @param length Quantidade de bytes a ler, ou -1 para ler até o fim.
+     */
+    Flux<DataBuffer> readMediaObject(MediaObject object, long offset, long length, DataBufferFactory bufferFactory, int bufferSize);
+
+    /**
+     * Trecho do objeto vindo do cache em disco, mapeado em memória, como em {@link MediaService#readCachedMediaObject}.
+     * Vazio quando o cache não atende o objeto.
+     */
+    Mono<ByteBuffer> readCachedMediaObject(MediaObject object, long offset, long length);
+
+    Mono<Map<Long, String>> getMediaUrls(String serviceName, List<Long> mediaIds, Integer width);
+
+    Mono<MediaPage> listMediaByUploadedBy(String serviceName, Long uploadedBy, Long afterId, int limit, boolean includeUrls, Integer width);
+
+    /**
+     * Entrega todas as mídias ativas de um usuário conforme o cliente consome, buscando uma página por vez.
+     */
+    Flux<MediaResponse> streamMediaByUploadedBy(String serviceName, Long uploadedBy);
+
+    /**
+     * Substitui o arquivo de uma mídia ativa pelo conteúdo recebido e arquiva o anterior.
+     * @return MediaResponse com os detalhes da mídia atualizada.
+     */
+    Mono<MediaResponse> updateMedia(Long entityId, MediaRequest mediaRequest, String fileName, String contentType, Flux<DataBuffer> content);
+
+    Mono<Void> disableMedia(String serviceName, Long mediaId);
+}
@@ -0,0 +1,265 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.exceptions.*;
+import com.apps4society.MinIO_API.mapper.MediaMapper;
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+/**
+ * Os envios ao MinIO passam pelo caminho não bloqueante do {@link MultipartUploadEngine}, e só o banco (JPA)
+ * roda no boundedElastic, em chamadas curtas. As operações sem envio de conteúdo delegam ao {@link MediaService}.
+ */
+@Service
+@Slf4j
+public class ReactiveMediaServiceImpl implements ReactiveMediaService {
+
+    private static final String EMPTY_FILE = "O arquivo enviado para upload está vazio ou sem nome.";
+
+    private final MediaService mediaService;
+    private final MediaRepository mediaRepository;
+    private final MediaMapper mediaMapper;
+    private final MultipartUploadEngine multipartUploadEngine;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final ContentAddressedStore contentStore;
+    private final MediaPersistence mediaPersistence;
+    private final String bucketName;
+    private final int streamPageSize;
+
+    public ReactiveMediaServiceImpl(MediaService mediaService, MediaRepository mediaRepository, MediaMapper mediaMapper,
+                                    MultipartUploadEngine multipartUploadEngine, ThumbnailPipeline thumbnailPipeline,
+                                    ContentAddressedStore contentStore, MediaPersistence mediaPersistence, MinioConfig minioConfig,
+                                    @Value("${app.media.list.page-size:100}") int streamPageSize) {
+        this.mediaService = mediaService;
+        this.mediaRepository = mediaRepository;
+        this.mediaMapper = mediaMapper;
+        this.multipartUploadEngine = multipartUploadEngine;
+        this.thumbnailPipeline = thumbnailPipeline;
+        this.contentStore = contentStore;
+        this.mediaPersistence = mediaPersistence;
+        this.bucketName = minioConfig.getBucketName();
+        this.streamPageSize = streamPageSize;
+    }
+
+    @Override
+    public Mono<MediaResponse> uploadMedia(MediaRequest mediaRequest, String fileName, String contentType, Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            log.info("Iniciando upload de mídia reativo | Serviço: '{}'", mediaRequest.serviceName());
+
+            if (fileName == null || fileName.isBlank()) {
+                return Mono.error(new InvalidFileException(EMPTY_FILE));
+            }
+
+            ContentDigest digest = contentStore.isEnabled() ? new ContentDigest() : null;
+            String objectName = digest != null ? contentStore.newObjectName() : mediaRequest.serviceName() + "/" + fileName;
+            log.info("Nome do objeto no MinIO: '{}'", objectName);
+
+            return withContent(content, contentType, (detected, body) -> blocking(() -> mediaPersistence.claim(mediaRequest.uploadedBy(), fileName, mediaRequest.serviceName(), detected.mediaType()))
+                    .flatMap(media -> multipartUploadEngine.upload(bucketName, objectName, hashed(body, digest), detected.contentType())
+                            .onErrorResume(e -> {
+                                log.error("Erro ao armazenar mídia no MinIO!", e);
+                                return releasing(media, e instanceof FileStorageException
+                                        ? e
+                                        : new FileStorageException("Erro ao salvar mídia no armazenamento.", e));
+                            })
+                            .then(blocking(() -> {
+                                log.info("Arquivo '{}' salvo com sucesso no MinIO!", objectName);
+                                try {
+                                    // Se a ativação falhar, a reserva é desfeita junto com o objeto enviado.
+                                    Media savedMedia = mediaPersistence.activateUpload(media, objectName, digest, detected.contentType());
+                                    log.info("Mídia salva no banco | ID: '{}' | Nome: '{}'", savedMedia.getEntityId(), savedMedia.getFileName());
+                                } catch (RuntimeException e) {
+                                    log.error("Erro ao gravar a mídia no banco!", e);
+                                    throw new FileStorageException("Erro ao salvar mídia no armazenamento.", e);
+                                }
+                                thumbnailPipeline.schedule(media);
+                                return mediaMapper.toResponse(media);
+                            }))));
+        });
+    }
+
+    @Override
+    public Mono<PresignedUploadResponse> reservePresignedUpload(PresignedUploadRequest request) {
+        return blocking(() -> mediaService.reservePresignedUpload(request));
+    }
+
+    @Override
+    public Mono<MediaResponse> confirmPresignedUpload(String serviceName, Long mediaId) {
+        return blocking(() -> mediaService.confirmPresignedUpload(serviceName, mediaId));
+    }
+
+    @Override
+    public Mono<String> getMediaUrl(String serviceName, Long mediaId, Integer width) {
+        return blocking(() -> mediaService.getMediaUrl(serviceName, mediaId, width));
+    }
+
+    @Override
+    public Mono<MediaObject> getMediaObject(String serviceName, Long mediaId) {
+        return blocking(() -> mediaService.getMediaObject(serviceName, mediaId));
+    }
+
+    /**
+     * O SDK do MinIO só entrega o corpo como InputStream, então a leitura roda no boundedElastic; os bytes vão
+     * direto para os buffers da resposta.
+     */
+    @Override
+    public Flux<DataBuffer> readMediaObject(MediaObject object, long offset, long length, DataBufferFactory bufferFactory, int bufferSize) {
+        return DataBufferUtils.readInputStream(() -> mediaService.openMediaObject(object, offset, length), bufferFactory, bufferSize)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<ByteBuffer> readCachedMediaObject(MediaObject object, long offset, long length) {
+        return blocking(() -> mediaService.readCachedMediaObject(object, offset, length).orElse(null));
+    }
+
+    @Override
+    public Mono<Map<Long, String>> getMediaUrls(String serviceName, List<Long> mediaIds, Integer width) {
+        return blocking(() -> mediaService.getMediaUrls(serviceName, mediaIds, width));
+    }
+
+    @Override
+    public Mono<MediaPage> listMediaByUploadedBy(String serviceName, Long uploadedBy, Long afterId, int limit, boolean includeUrls, Integer width) {
+        return blocking(() -> mediaService.listMediaByUploadedBy(serviceName, uploadedBy, afterId, limit, includeUrls, width));
+    }
+
+    /**
+     * Percorre as páginas por cursor só conforme o cliente pede mais itens, sem manter uma transação aberta
+     * durante toda a resposta.
+     */
+    @Override
+    public Flux<MediaResponse> streamMediaByUploadedBy(String serviceName, Long uploadedBy) {
+        log.info("Transmitindo mídias do serviço '{}' e usuário '{}'", serviceName, uploadedBy);
+        return listMediaByUploadedBy(serviceName, uploadedBy, null, streamPageSize, false, null)
+                .expand(page -> page.nextCursor() == null
+                        ? Mono.empty()
+                        : listMediaByUploadedBy(serviceName, uploadedBy, page.nextCursor(), streamPageSize, false, null))
+                .concatMapIterable(MediaPage::items);
+    }
+
+    @Override
+    public Mono<MediaResponse> updateMedia(Long entityId, MediaRequest mediaRequest, String fileName, String contentType, Flux<DataBuffer> content) {
+        String serviceName = mediaRequest.serviceName();
+
+        return blocking(() -> {
+            log.info("Atualizando mídia ID '{}' no serviço '{}'", entityId, serviceName);
+            return mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(entityId, serviceName)
+                    .orElseThrow(() -> {
+                        log.warn("Mídia ID '{}' não encontrada no serviço '{}' ou inativa.", entityId, serviceName);
+                        return new MediaNotFoundException("Mídia não encontrada ou inativa.");
+                    });
+        }).flatMap(media -> {
+            if (fileName == null || fileName.isBlank()) {
+                return Mono.error(new InvalidFileException(EMPTY_FILE));
+            }
+            ContentDigest digest = contentStore.isEnabled() ? new ContentDigest() : null;
+            String newFileObjectName = digest != null ? contentStore.newObjectName() : serviceName + "/" + fileName;
+
+            // O novo nome é reservado antes do envio, como no upload; a reserva sai se o envio falhar.
+            return withContent(content, contentType, (detected, body) -> blocking(() -> mediaPersistence.claimRename(media, fileName, detected.mediaType()))
+                    .flatMap(claim -> multipartUploadEngine.upload(bucketName, newFileObjectName, hashed(body, digest), detected.contentType())
+                            .onErrorResume(e -> releasing(claim, e))
+                            .then(blocking(() -> {
+                                log.info("Novo arquivo '{}' enviado para MinIO!", newFileObjectName);
+                                return mediaMapper.toResponse(mediaPersistence.commitUpdate(media, fileName, detected, newFileObjectName, digest, claim));
+                            }))));
+        });
+    }
+
+    @Override
+    public Mono<Void> disableMedia(String serviceName, Long mediaId) {
+        return Mono.fromRunnable(() -> mediaService.disableMedia(serviceName, mediaId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * Desfaz a reserva de um envio que falhou e propaga o erro.
+     */
+    private <T> Mono<T> releasing(Media claim, Throwable error) {
+        return Mono.fromRunnable(() -> mediaPersistence.releaseClaim(claim))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.error(error));
+    }
+
+    /**
+     * Soma cada buffer ao SHA-256 antes de ele seguir para o MinIO; os buffers chegam em ordem, um por vez.
+     */
+    private static Flux<DataBuffer> hashed(Flux<DataBuffer> body, ContentDigest digest) {
+        return digest == null ? body : body.doOnNext(digest::update);
+    }
+
+    /**
+     * Recusa corpos vazios antes de qualquer reserva e detecta o tipo da mídia pelo cabeçalho, olhando só o
+     * primeiro buffer com dados sem consumi-lo; o corpo segue intacto para o handler.
+     */
+    private <T> Mono<T> withContent(Flux<DataBuffer> content, String declaredContentType,
+                                    BiFunction<MediaSniffer.Detected, Flux<DataBuffer>, Mono<T>> handler) {
+        return content
+                .filter(buffer -> {
+                    if (buffer.readableByteCount() > 0) {
+                        return true;
+                    }
+                    DataBufferUtils.release(buffer);
+                    return false;
+                })
+                .switchOnFirst((first, body) -> {
+                    if (first.hasError()) {
+                        return Mono.<T>error(first.getThrowable());
+                    }
+                    if (!first.hasValue()) {
+                        return Mono.<T>error(new InvalidFileException(EMPTY_FILE));
+                    }
+                    MediaSniffer.Detected detected;
+                    try {
+                        detected = MediaSniffer.detect(header(first.get()));
+                    } catch (UnsupportedMediaTypeException e) {
+                        return Mono.<T>error(e);
+                    }
+                    log.info("Tipo de mídia detectado pelo conteúdo: '{}' ({}) | Content-Type informado: '{}'",
+                            detected.mediaType(), detected.contentType(), declaredContentType);
+                    return handler.apply(detected, body);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .next();
+    }
+
+    /**
+     * Copia o início do buffer sem mover a posição de leitura. Um primeiro buffer menor que o cabeçalho é raro
+     * (o multipart entrega blocos de alguns KB) e todas as assinaturas cabem em {@link MediaSniffer#HEADER_BYTES}.
+     */
+    private static byte[] header(DataBuffer buffer) {
+        byte[] header = new byte[Math.min(buffer.readableByteCount(), MediaSniffer.HEADER_BYTES)];
+        int start = buffer.readPosition();
+        for (int i = 0; i < header.length; i++) {
+            header[i] = buffer.getByte(start + i);
+        }
+        return header;
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,324 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaVariant;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.MediaVariantRepository;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gera em segundo plano as miniaturas das mídias de imagem, nas larguras configuradas, depois que o upload foi
+ * gravado. As miniaturas ficam em {@code {prefixo}{serviceName}/{mediaId}/{largura}/{fileName}} e são registradas em
+ * {@link MediaVariant}; as URLs podem então apontar para a menor variante que atende a largura pedida pelo
+ * cliente. O pool de geração é limitado e, com a fila cheia, a mídia segue só com o original.
+ */
+@Slf4j
+@Component
+public class ThumbnailPipeline {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private record Decoded(BufferedImage image, boolean png) {}
+
+    private final MediaRepository mediaRepository;
+    private final MediaVariantRepository mediaVariantRepository;
+    private final MinioClient minioClient;
+    private final StorageOutbox storageOutbox;
+    private final PresignedUrlCache presignedUrlCache;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final boolean enabled;
+    private final int[] widths;
+    private final String prefix;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailPipeline(MediaRepository mediaRepository, MediaVariantRepository mediaVariantRepository, MinioClient minioClient,
+                             StorageOutbox storageOutbox, PresignedUrlCache presignedUrlCache, TransactionTemplate transactionTemplate,
+                             MinioConfig minioConfig,
+                             @Value("${app.media.thumbnails.enabled:false}") boolean enabled,
+                             @Value("${app.media.thumbnails.widths:160,480}") int[] widths,
+                             @Value("${app.media.thumbnails.prefix:miniaturas/}") String prefix,
+                             @Value("${app.media.thumbnails.max-pixels:40000000}") long maxPixels,
+                             @Value("${app.media.thumbnails.threads:2}") int threads,
+                             @Value("${app.media.thumbnails.queue-capacity:100}") int queueCapacity) {
+        this.mediaRepository = mediaRepository;
+        this.mediaVariantRepository = mediaVariantRepository;
+        this.minioClient = minioClient;
+        this.storageOutbox = storageOutbox;
+        this.presignedUrlCache = presignedUrlCache;
+        this.transactionTemplate = transactionTemplate;
+        this.bucketName = minioConfig.getBucketName();
+        this.enabled = enabled && widths.length > 0;
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).distinct().sorted().toArray();
+        this.prefix = prefix;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Agenda a geração das miniaturas de uma mídia de imagem. Deve ser chamado depois do commit que ativou a mídia.
+     */
+    public void schedule(Media media) {
+        if (!enabled || media.getMediaType() != MediaType.IMAGE) {
+            return;
+        }
+        Long mediaId = media.getEntityId();
+        String serviceName = media.getServiceName();
+        String fileName = media.getFileName();
+        String source = media.getObjectName();
+        try {
+            executor.execute(() -> generate(mediaId, serviceName, fileName, source));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de miniaturas cheia; a mídia ID '{}' ficará só com o original", mediaId);
+        }
+    }
+
+    /**
+     * Largura da variante que atende a largura pedida: a menor configurada que seja maior ou igual a ela. Devolve
+     * {@link PresignedUrlCache#ORIGINAL} quando nenhuma atende ou as miniaturas estão desligadas.
+     */
+    public int variantFor(Integer requestedWidth) {
+        if (!enabled || requestedWidth == null) {
+            return PresignedUrlCache.ORIGINAL;
+        }
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return PresignedUrlCache.ORIGINAL;
+    }
+
+    /**
+     * Miniatura da mídia na largura indicada; vazio quando ela não existe (imagem menor que a largura, geração
+     * ainda em andamento ou falha), caso em que vale o original.
+     */
+    public Optional<MediaVariant> find(Long mediaId, int variant) {
+        if (variant == PresignedUrlCache.ORIGINAL) {
+            return Optional.empty();
+        }
+        return mediaVariantRepository.findByMediaIdAndWidth(mediaId, variant);
+    }
+
+    public Map<Long, MediaVariant> find(Collection<Long> mediaIds, int variant) {
+        if (variant == PresignedUrlCache.ORIGINAL || mediaIds.isEmpty()) {
+            return Map.of();
+        }
+        return mediaVariantRepository.findByMediaIdInAndWidth(mediaIds, variant).stream()
+                .collect(Collectors.toMap(MediaVariant::getMediaId, Function.identity()));
+    }
+
+    /**
+     * Apaga os registros das miniaturas e agenda a remoção dos objetos no outbox, que o relay executa na próxima
+     * varredura. Deve ser chamado dentro da transação que troca ou desativa a mídia.
+     */
+    public void discard(Long mediaId) {
+        List<MediaVariant> variants = mediaVariantRepository.findByMediaId(mediaId);
+        if (variants.isEmpty()) {
+            return;
+        }
+        variants.forEach(variant -> storageOutbox.remove(variant.getObjectName()));
+        mediaVariantRepository.deleteAll(variants);
+        log.info("{} miniaturas da mídia ID '{}' descartadas", variants.size(), mediaId);
+    }
+
+    /**
+     * @param source Objeto original; no modo endereçado por conteúdo é o blob, e não {@code {serviceName}/{fileName}}.
+     */
+    void generate(Long mediaId, String serviceName, String fileName, String source) {
+        List<MediaVariant> variants = new ArrayList<>();
+        try {
+            Decoded decoded = read(source);
+            if (decoded == null) {
+                return;
+            }
+            BufferedImage image = decoded.image();
+            boolean png = decoded.png();
+
+            // Da maior para a menor, cada miniatura parte da anterior em vez do original.
+            BufferedImage current = image;
+            for (int i = widths.length - 1; i >= 0; i--) {
+                int width = widths[i];
+                if (width >= image.getWidth()) {
+                    continue;
+                }
+                current = resize(current, width, png);
+                byte[] bytes = encode(current, png);
+                String objectName = prefix + serviceName + "/" + mediaId + "/" + width + "/" + fileName;
+                minioClient.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .stream(new ByteArrayInputStream(bytes), bytes.length, -1)
+                                .contentType(png ? "image/png" : "image/jpeg")
+                                .build()
+                );
+                variants.add(new MediaVariant(mediaId, width, current.getHeight(), objectName, bytes.length));
+            }
+        } catch (Exception e) {
+            log.error("Erro ao gerar as miniaturas de '{}'", source, e);
+            removeLater(variants);
+            return;
+        }
+        if (variants.isEmpty()) {
+            return;
+        }
+
+        Boolean recorded = transactionTemplate.execute(status -> {
+            // A mídia pode ter sido trocada ou desativada enquanto as miniaturas eram geradas.
+            Optional<Media> media = mediaRepository.findById(mediaId);
+            if (media.isEmpty() || !media.get().isActive() || !fileName.equals(media.get().getFileName())) {
+                variants.forEach(variant -> storageOutbox.remove(variant.getObjectName()));
+                return false;
+            }
+            mediaVariantRepository.saveAll(variants);
+            return true;
+        });
+        if (Boolean.TRUE.equals(recorded)) {
+            presignedUrlCache.invalidate(serviceName, mediaId);
+            log.info("{} miniaturas geradas para a mídia ID '{}' ({})", variants.size(), mediaId, source);
+        } else {
+            log.info("Mídia ID '{}' mudou durante a geração; miniaturas descartadas", mediaId);
+        }
+    }
+
+    /**
+     * Lê a imagem conferindo as dimensões pelo cabeçalho antes de decodificar, para que uma imagem enorme não
+     * esgote a memória. O formato vem do conteúdo, não da extensão. Devolve nulo quando o conteúdo não é uma
+     * imagem legível ou é grande demais.
+     */
+    private Decoded read(String objectName) throws Exception {
+        try (InputStream in = minioClient.getObject(GetObjectArgs.builder().bucket(bucketName).object(objectName).build());
+             ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                log.warn("Conteúdo de '{}' não é uma imagem legível; miniaturas não geradas", objectName);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Imagem '{}' tem {} pixels, acima do limite de {}; miniaturas não geradas", objectName, pixels, maxPixels);
+                    return null;
+                }
+                return new Decoded(reader.read(0), "png".equalsIgnoreCase(reader.getFormatName()));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz pela metade a cada passo até a largura final, o que mantém a qualidade da interpolação bilinear.
+     */
+    static BufferedImage resize(BufferedImage source, int width, boolean alpha) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                // Sem canal alfa (JPEG), áreas transparentes da origem ficam brancas em vez de pretas.
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, alpha ? null : Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, boolean png) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (png) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void removeLater(List<MediaVariant> variants) {
+        if (variants.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> variants.forEach(variant -> storageOutbox.remove(variant.getObjectName())));
+        } catch (Exception e) {
+            log.error("Erro ao agendar a remoção das miniaturas incompletas", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionRequest;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadedPartResponse;
+
+import java.io.InputStream;
+
+public interface UploadSessionService {
+
+    /**
+     * Abre uma sessão de upload retomável, iniciando um upload multipart no MinIO.
+     * @param request Serviço, usuário e nome do arquivo que será enviado.
+     * @return UploadSessionResponse com o ID da sessão e o tamanho de parte recomendado.
+     */
+    UploadSessionResponse initiate(UploadSessionRequest request);
+
+    /**
+     * Recebe uma parte numerada do arquivo. Reenviar o mesmo número substitui a parte anterior.
+     * @param length Tamanho exato da parte em bytes (Content-Length da requisição).
+     */
+    UploadedPartResponse uploadPart(Long sessionId, int partNumber, InputStream stream, long length);
+
+    /**
+     * Consulta as partes já recebidas, para que o cliente saiba de onde retomar.
+     */
+    UploadSessionResponse getSession(Long sessionId);
+
+    /**
+     * Junta as partes recebidas em um único objeto e registra a mídia no banco de dados.
+     */
+    MediaResponse complete(Long sessionId);
+
+    /**
+     * Cancela a sessão e descarta as partes já enviadas.
+     */
+    void abort(Long sessionId);
+}
@@ -0,0 +1,277 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.exceptions.UploadSessionNotFoundException;
+import com.apps4society.MinIO_API.mapper.MediaMapper;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionRequest;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadedPartResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.UploadSession;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.UploadSessionStatus;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.UploadSessionRepository;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import io.minio.messages.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Uma sessão vale por {@code app.upload.session.ttl} a partir da abertura. Passado isso ela não aceita mais partes
+ * nem conclusão, e a varredura periódica aborta o upload multipart no MinIO, descartando as partes já enviadas, e
+ * marca a sessão como expirada.
+ */
+@Service
+@Slf4j
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final int EXPIRED_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MediaRepository mediaRepository;
+    private final MediaMapper mediaMapper;
+    private final MultipartUploadEngine multipartUploadEngine;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final String bucketName;
+    private final Duration sessionTtl;
+
+    public UploadSessionServiceImpl(UploadSessionRepository uploadSessionRepository, MediaRepository mediaRepository, MediaMapper mediaMapper,
+                                    MultipartUploadEngine multipartUploadEngine, MinioConfig minioConfig,
+                                    ThumbnailPipeline thumbnailPipeline, TransactionTemplate transactionTemplate,
+                                    @Value("${app.upload.session.ttl:24h}") Duration sessionTtl) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mediaRepository = mediaRepository;
+        this.mediaMapper = mediaMapper;
+        this.multipartUploadEngine = multipartUploadEngine;
+        this.thumbnailPipeline = thumbnailPipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.bucketName = minioConfig.getBucketName();
+        this.sessionTtl = sessionTtl;
+    }
+
+    @Override
+    public UploadSessionResponse initiate(UploadSessionRequest request) {
+        log.info("Iniciando sessão de upload | Serviço: '{}' | Arquivo: '{}'", request.serviceName(), request.fileName());
+
+        MediaType mediaType = MediaType.fromFileName(request.fileName());
+        checkDuplicate(request.fileName(), request.serviceName());
+
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadSessionRepository.existsValidOpenSession(request.fileName(), request.serviceName(), now, now.minus(sessionTtl))) {
+            throw new DuplicateFileException("Já existe um upload em andamento para o arquivo '" + request.fileName() + "' no serviço '" + request.serviceName() + "'.");
+        }
+
+        String objectName = request.serviceName() + "/" + request.fileName();
+        String uploadId = multipartUploadEngine.initiate(bucketName, objectName, request.contentType());
+
+        UploadSession session = uploadSessionRepository.save(new UploadSession(
+                uploadId, request.serviceName(), request.fileName(), request.contentType(), mediaType, request.uploadedBy(),
+                now.plus(sessionTtl)));
+        log.info("Sessão de upload '{}' criada | uploadId: '{}'", session.getSessionId(), uploadId);
+
+        return toResponse(session, List.of());
+    }
+
+    @Override
+    public UploadedPartResponse uploadPart(Long sessionId, int partNumber, InputStream stream, long length) {
+        UploadSession session = findValidSession(sessionId);
+
+        if (partNumber < 1 || partNumber > MultipartUploadEngine.MAX_PARTS) {
+            throw new InvalidInputException("O número da parte deve estar entre 1 e " + MultipartUploadEngine.MAX_PARTS + ".");
+        }
+        if (length <= 0) {
+            throw new InvalidFileException("A parte enviada está vazia ou sem Content-Length.");
+        }
+        checkPartSize(session, partNumber, length);
+
+        log.info("Recebendo parte {} da sessão '{}' ({} bytes)", partNumber, sessionId, length);
+        Part part = multipartUploadEngine.uploadPart(bucketName, session.getObjectName(), session.getUploadId(), partNumber, stream, length);
+        return new UploadedPartResponse(partNumber, length, part.etag());
+    }
+
+    @Override
+    public UploadSessionResponse getSession(Long sessionId) {
+        UploadSession session = findSession(sessionId);
+        if (!session.isOpen()) {
+            return toResponse(session, List.of());
+        }
+        return toResponse(session, listParts(session));
+    }
+
+    /**
+     * Sem transação em volta da conclusão no MinIO, que pode demorar para uploads com muitas partes: a reserva do
+     * nome é gravada antes e a ativação da mídia junto com o fechamento da sessão numa transação curta depois.
+     */
+    @Override
+    public MediaResponse complete(Long sessionId) {
+        UploadSession session = findValidSession(sessionId);
+        List<Part> parts = multipartUploadEngine.listParts(bucketName, session.getObjectName(), session.getUploadId()).stream()
+                .sorted(Comparator.comparingInt(Part::partNumber))
+                .toList();
+
+        if (parts.isEmpty()) {
+            throw new InvalidFileException("Nenhuma parte foi enviada para a sessão de upload.");
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            if (parts.get(i).partNumber() != i + 1) {
+                throw new InvalidInputException("A parte " + (i + 1) + " ainda não foi recebida.");
+            }
+            // Partes pequenas enviadas em paralelo podem escapar da checagem no envio; o MinIO só recusaria aqui.
+            if (i < parts.size() - 1 && parts.get(i).partSize() < MultipartUploadEngine.MIN_PART_SIZE) {
+                throw new InvalidInputException("A parte " + (i + 1) + " tem menos de 5 MiB; só a última parte pode ser menor.");
+            }
+        }
+
+        // Reserva o nome antes de tornar o objeto visível; se a conclusão falhar, a reserva é desfeita.
+        Media media = new Media(session.getUploadedBy(), session.getFileName(), session.getServiceName(), session.getMediaType());
+        media.reserve();
+        try {
+            mediaRepository.saveAndFlush(media);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Arquivo duplicado detectado: '{}' para o serviço '{}'", session.getFileName(), session.getServiceName());
+            throw new DuplicateFileException("O arquivo com o nome '" + session.getFileName() + "' já foi enviado para o serviço '" + session.getServiceName() + "'.");
+        }
+
+        Part[] completed = parts.stream().map(p -> new Part(p.partNumber(), p.etag())).toArray(Part[]::new);
+        try {
+            multipartUploadEngine.complete(bucketName, session.getObjectName(), session.getUploadId(), completed);
+        } catch (RuntimeException e) {
+            mediaRepository.delete(media);
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            media.activate();
+            mediaRepository.save(media);
+            session.setStatus(UploadSessionStatus.COMPLETED);
+            session.setMediaId(media.getEntityId());
+            uploadSessionRepository.save(session);
+        });
+        log.info("Sessão de upload '{}' concluída | Mídia ID: '{}'", sessionId, media.getEntityId());
+        thumbnailPipeline.schedule(media);
+
+        return mediaMapper.toResponse(media);
+    }
+
+    @Override
+    public void abort(Long sessionId) {
+        UploadSession session = findOpenSession(sessionId);
+        multipartUploadEngine.abort(bucketName, session.getObjectName(), session.getUploadId());
+        session.setStatus(UploadSessionStatus.ABORTED);
+        uploadSessionRepository.save(session);
+        log.info("Sessão de upload '{}' cancelada", sessionId);
+    }
+
+    /**
+     * Aborta no MinIO os uploads das sessões abertas além da validade. Se o MinIO falhar, a sessão continua aberta
+     * e volta na próxima varredura.
+     */
+    @Scheduled(cron = "${app.upload.session.sweep-cron:0 */15 * * * *}")
+    public void expireSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UploadSession> expired = uploadSessionRepository.findExpiredOpenSessions(now, now.minus(sessionTtl), Limit.of(EXPIRED_BATCH_SIZE));
+        int aborted = 0;
+        for (UploadSession session : expired) {
+            if (!multipartUploadEngine.abort(bucketName, session.getObjectName(), session.getUploadId())) {
+                continue;
+            }
+            session.setStatus(UploadSessionStatus.EXPIRED);
+            uploadSessionRepository.save(session);
+            aborted++;
+        }
+        if (aborted > 0) {
+            log.info("{} sessões de upload expiradas abortadas no MinIO", aborted);
+        }
+    }
+
+    /**
+     * O S3 exige pelo menos 5 MiB em toda parte menos a última. Uma parte menor é tomada como a última: é recusada se
+     * já houver parte depois dela e, uma vez aceita, nenhuma parte com número maior é aceita.
+     */
+    private void checkPartSize(UploadSession session, int partNumber, long length) {
+        Integer finalPart = session.getFinalPartNumber();
+        if (length >= MultipartUploadEngine.MIN_PART_SIZE) {
+            if (finalPart != null && partNumber > finalPart) {
+                throw new InvalidInputException("A parte " + finalPart + " tem menos de 5 MiB e por isso é a última; a parte " + partNumber + " não é aceita.");
+            }
+            return;
+        }
+        if (finalPart != null && finalPart != partNumber) {
+            throw new InvalidInputException("Só a última parte pode ter menos de 5 MiB, e a parte " + finalPart + " já é a última.");
+        }
+        if (finalPart == null) {
+            boolean laterPartReceived = multipartUploadEngine.listParts(bucketName, session.getObjectName(), session.getUploadId()).stream()
+                    .anyMatch(part -> part.partNumber() > partNumber);
+            if (laterPartReceived) {
+                throw new InvalidInputException("Só a última parte pode ter menos de 5 MiB, e já há partes depois da parte " + partNumber + ".");
+            }
+            session.setFinalPartNumber(partNumber);
+            uploadSessionRepository.save(session);
+        }
+    }
+
+    private List<UploadedPartResponse> listParts(UploadSession session) {
+        return multipartUploadEngine.listParts(bucketName, session.getObjectName(), session.getUploadId()).stream()
+                .sorted(Comparator.comparingInt(Part::partNumber))
+                .map(part -> new UploadedPartResponse(part.partNumber(), part.partSize(), part.etag()))
+                .toList();
+    }
+
+    private UploadSession findSession(Long sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new UploadSessionNotFoundException("Sessão de upload não encontrada."));
+    }
+
+    private UploadSession findOpenSession(Long sessionId) {
+        UploadSession session = findSession(sessionId);
+        if (!session.isOpen()) {
+            throw new InvalidInputException(switch (session.getStatus()) {
+                case COMPLETED -> "A sessão de upload já foi concluída.";
+                case EXPIRED -> "A sessão de upload expirou.";
+                default -> "A sessão de upload já foi cancelada.";
+            });
+        }
+        return session;
+    }
+
+    /**
+     * Sessão aberta e dentro da validade, que ainda aceita partes e conclusão. Cancelar continua valendo depois dela.
+     */
+    private UploadSession findValidSession(Long sessionId) {
+        UploadSession session = findOpenSession(sessionId);
+        LocalDateTime expiresAt = session.getExpiresAt() != null ? session.getExpiresAt() : session.getCreatedAt().plus(sessionTtl);
+        if (!expiresAt.isAfter(LocalDateTime.now())) {
+            throw new InvalidInputException("A sessão de upload expirou.");
+        }
+        return session;
+    }
+
+    private void checkDuplicate(String fileName, String serviceName) {
+        if (mediaRepository.existsByFileNameAndServiceName(fileName, serviceName)) {
+            log.error("Arquivo duplicado detectado: '{}' para o serviço '{}'", fileName, serviceName);
+            throw new DuplicateFileException("O arquivo com o nome '" + fileName + "' já foi enviado para o serviço '" + serviceName + "'.");
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session, List<UploadedPartResponse> parts) {
+        return new UploadSessionResponse(session.getSessionId(), session.getServiceName(), session.getFileName(),
+                session.getStatus(), multipartUploadEngine.getPartSize(), parts, session.getMediaId());
+    }
+}
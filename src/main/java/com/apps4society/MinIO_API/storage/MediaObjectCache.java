@@ -0,0 +1,281 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Cache em disco local dos objetos servidos pelo download via API, por nome do objeto
+ * ({@code {serviceName}/{fileName}}). Na primeira leitura o objeto inteiro é copiado do MinIO para um arquivo; as
+ * seguintes são servidas por um mapeamento em memória desse arquivo, sem ida ao MinIO. Cada entrada guarda o ETag
+ * do objeto copiado e só é usada quando ele bate com o ETag consultado no {@code statObject} da requisição.
+ * O total em disco é limitado e as entradas menos usadas saem primeiro; objetos maiores que o limite por objeto
+ * não entram no cache.
+ * <p>
+ * O diretório é exclusivo do cache: ele só parte num diretório vazio ou criado por ele (marcado por
+ * {@value #LOCK_FILE}) e mantém um lock nesse arquivo enquanto a aplicação roda, para que duas instâncias não
+ * dividam o mesmo diretório.
+ */
+@Slf4j
+@Component
+public class MediaObjectCache {
+
+    static final String LOCK_FILE = ".minio-api-cache.lock";
+    private static final String ENTRY_SUFFIX = ".cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private record Entry(Path file, String etag, long size) {}
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Void>> loading = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long usedBytes;
+    private FileChannel lockChannel;
+
+    public MediaObjectCache(@Value("${app.media.proxy.cache.enabled:false}") boolean enabled,
+                            @Value("${app.media.proxy.cache.directory:${java.io.tmpdir}/minio-api-cache}") Path directory,
+                            @Value("${app.media.proxy.cache.max-size:1GB}") DataSize maxSize,
+                            @Value("${app.media.proxy.cache.max-object-size:64MB}") DataSize maxObjectSize) {
+        this.enabled = enabled && maxSize.toBytes() > 0;
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        // Um único mapeamento em memória não passa de 2 GB.
+        this.maxObjectBytes = Math.min(Math.min(maxObjectSize.toBytes(), maxBytes), Integer.MAX_VALUE);
+        if (this.enabled) {
+            prepareDirectory();
+            log.info("Cache de objetos em disco ativo em '{}' | Limite: {} bytes | Limite por objeto: {} bytes",
+                    directory, maxBytes, maxObjectBytes);
+        }
+    }
+
+    /**
+     * Trecho do objeto servido pelo cache, mapeado em memória somente para leitura. Na falta da entrada (ou com
+     * ETag diferente) o objeto é copiado com o {@code loader}, que deve entregar o objeto inteiro na versão do
+     * ETag informado. Vazio quando o cache está desligado, o objeto é grande demais ou a cópia falhou; nesses
+     * casos o conteúdo deve ser lido direto do MinIO.
+     */
+    public Optional<ByteBuffer> read(MediaObject object, long offset, long length, Supplier<InputStream> loader) {
+        if (!enabled || object.size() > maxObjectBytes) {
+            return Optional.empty();
+        }
+        Optional<ByteBuffer> cached = map(object, offset, length);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        load(object, loader);
+        return map(object, offset, length);
+    }
+
+    /**
+     * Remove a entrada do objeto, se houver. Chamado quando o objeto sai de {@code {serviceName}/{fileName}}.
+     */
+    public void evict(String objectName) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.remove(objectName);
+            if (entry != null) {
+                discard(entry);
+                log.debug("Objeto '{}' removido do cache em disco", objectName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * O mapeamento é feito com o lock para que a entrada não seja descartada entre a consulta e a abertura do
+     * arquivo. Depois de mapeado, o trecho continua válido mesmo que o arquivo seja apagado.
+     */
+    private Optional<ByteBuffer> map(MediaObject object, long offset, long length) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(object.objectName());
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!entry.etag().equals(object.etag())) {
+                log.debug("Objeto '{}' mudou no armazenamento; descartando a cópia em disco", object.objectName());
+                entries.remove(object.objectName());
+                discard(entry);
+                return Optional.empty();
+            }
+            try (FileChannel channel = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+                return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            } catch (IOException e) {
+                log.warn("Falha ao ler '{}' do cache em disco; descartando a entrada", object.objectName(), e);
+                entries.remove(object.objectName());
+                discard(entry);
+                return Optional.empty();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia o objeto para o disco. Leituras simultâneas do mesmo objeto esperam a cópia em andamento em vez de
+     * buscá-lo de novo no MinIO.
+     */
+    private void load(MediaObject object, Supplier<InputStream> loader) {
+        CompletableFuture<Void> pending;
+        CompletableFuture<Void> own = new CompletableFuture<>();
+        lock.lock();
+        try {
+            pending = loading.putIfAbsent(object.objectName(), own);
+        } finally {
+            lock.unlock();
+        }
+        if (pending != null) {
+            pending.join();
+            return;
+        }
+
+        Path temp = directory.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            long copied;
+            try (InputStream in = loader.get()) {
+                copied = Files.copy(in, temp);
+            }
+            if (copied != object.size()) {
+                throw new IOException("Tamanho copiado (" + copied + ") diferente do esperado (" + object.size() + ")");
+            }
+            Path file = Files.move(temp, directory.resolve(UUID.randomUUID() + ENTRY_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            store(object, new Entry(file, object.etag(), copied));
+            log.debug("Objeto '{}' copiado para o cache em disco ({} bytes)", object.objectName(), copied);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao copiar '{}' para o cache em disco", object.objectName(), e);
+            deleteQuietly(temp);
+        } finally {
+            lock.lock();
+            try {
+                loading.remove(object.objectName());
+            } finally {
+                lock.unlock();
+            }
+            own.complete(null);
+        }
+    }
+
+    private void store(MediaObject object, Entry entry) {
+        lock.lock();
+        try {
+            Entry previous = entries.put(object.objectName(), entry);
+            if (previous != null) {
+                discard(previous);
+            }
+            usedBytes += entry.size();
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> candidate = eldest.next();
+                if (candidate.getValue() == entry) {
+                    continue;
+                }
+                eldest.remove();
+                discard(candidate.getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Entry entry) {
+        usedBytes -= entry.size();
+        deleteQuietly(entry.file());
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar '{}' do cache em disco", file, e);
+        }
+    }
+
+    /**
+     * As entradas só vivem em memória, então arquivos de uma execução anterior são apagados na partida; só os que o
+     * próprio cache cria. Um diretório com outros arquivos, ou com entradas mas sem o {@value #LOCK_FILE}, não é do
+     * cache, e um lock já tomado indica outra instância usando o diretório: nos dois casos a aplicação não sobe.
+     */
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            Path lockFile = directory.resolve(LOCK_FILE);
+            boolean marked = Files.exists(lockFile);
+            List<Path> leftovers;
+            try (Stream<Path> files = Files.list(directory)) {
+                leftovers = files.filter(file -> !file.equals(lockFile)).toList();
+            }
+            if (leftovers.stream().anyMatch(file -> !marked || !isOwnFile(file))) {
+                throw new IllegalStateException("O diretório do cache de objetos '" + directory
+                        + "' tem arquivos que não são do cache; configure um diretório exclusivo.");
+            }
+            lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (!tryLock(lockChannel)) {
+                lockChannel.close();
+                throw new IllegalStateException("O diretório do cache de objetos '" + directory
+                        + "' já está em uso por outra instância.");
+            }
+            leftovers.forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível preparar o diretório do cache de objetos '" + directory + "'", e);
+        }
+    }
+
+    private static boolean isOwnFile(Path file) {
+        String name = file.getFileName().toString();
+        return Files.isRegularFile(file) && (name.endsWith(ENTRY_SUFFIX) || name.endsWith(TEMP_SUFFIX));
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (lockChannel == null) {
+            return;
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Não foi possível liberar o lock do cache de objetos em '{}'", directory, e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.http.HttpUtils;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balanceamento, do lado do cliente, entre os nós de um MinIO distribuído ({@code minio.endpoints}), sem o salto
+ * por um balanceador externo. Como interceptador do cliente HTTP compartilhado, manda cada chamada do SDK para o nó
+ * com menos chamadas em andamento (um download conta até o corpo ser fechado). O cabeçalho {@code Host}, assinado
+ * pelo SDK com o endereço de {@code minio.url}, é mantido: a assinatura vale em qualquer nó e as URLs assinadas
+ * entregues aos clientes continuam apontando para {@code minio.url}.
+ * <p>
+ * Um nó sai da rotação depois de {@code minio.balancer.failure-threshold} falhas seguidas (erro de conexão ou
+ * 502/503/504) ou quando a sonda periódica em {@code /minio/health/live} falha, e volta quando responde de novo.
+ * Operações idempotentes (GET, HEAD, PUT e DELETE) que falham assim são repetidas em outro nó; as demais (criar e
+ * concluir upload multipart, remoção em lote) não. Com todos os nós fora da rotação, as chamadas seguem para eles
+ * mesmo assim, em vez de falharem aqui.
+ */
+@Slf4j
+@Component
+public class MinioEndpointBalancer implements Interceptor {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE");
+    private static final Set<Integer> NODE_FAILURE_STATUS = Set.of(502, 503, 504);
+
+    private final List<Node> nodes;
+    private final int failureThreshold;
+    private final int maxAttempts;
+    private final OkHttpClient probeClient;
+
+    public MinioEndpointBalancer(MinioProperties minioProperties, MeterRegistry meterRegistry) {
+        List<String> endpoints = minioProperties.getEndpoints() == null ? List.of() : minioProperties.getEndpoints();
+        this.nodes = endpoints.stream()
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .map(endpoint -> new Node(HttpUrl.get(endpoint)))
+                .toList();
+        this.failureThreshold = Math.max(minioProperties.getBalancerFailureThreshold(), 1);
+        this.maxAttempts = Math.max(minioProperties.getBalancerMaxAttempts(), 1);
+        long probeTimeout = nodes.isEmpty() ? 0 : minioProperties.getBalancerProbeTimeout().toMillis();
+        this.probeClient = nodes.isEmpty() ? null : HttpUtils.newDefaultHttpClient(probeTimeout, probeTimeout, probeTimeout);
+
+        for (Node node : nodes) {
+            Gauge.builder("minio.endpoint.outstanding", node.outstanding, AtomicInteger::get)
+                    .description("Chamadas em andamento em cada nó do MinIO")
+                    .tag("endpoint", node.name)
+                    .register(meterRegistry);
+            Gauge.builder("minio.endpoint.healthy", node, n -> n.healthy ? 1 : 0)
+                    .description("1 se o nó do MinIO está na rotação do balanceamento")
+                    .tag("endpoint", node.name)
+                    .register(meterRegistry);
+        }
+        if (!nodes.isEmpty()) {
+            log.info("Balanceando as chamadas ao MinIO entre {} nós: {}", nodes.size(), nodes.stream().map(n -> n.name).toList());
+        }
+    }
+
+    /**
+     * Indica se há nós configurados; sem eles o cliente fala só com {@code minio.url}.
+     */
+    public boolean isEnabled() {
+        return !nodes.isEmpty();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (nodes.isEmpty()) {
+            return chain.proceed(request);
+        }
+        int attempts = IDEMPOTENT_METHODS.contains(request.method()) ? Math.min(maxAttempts, nodes.size()) : 1;
+        List<Node> tried = new ArrayList<>(attempts);
+        for (int attempt = 1; ; attempt++) {
+            Node node = choose(tried);
+            tried.add(node);
+            node.outstanding.incrementAndGet();
+            Response response;
+            try {
+                response = chain.proceed(request.newBuilder().url(node.route(request.url())).build());
+            } catch (IOException e) {
+                node.outstanding.decrementAndGet();
+                failed(node, e.toString());
+                if (attempt >= attempts || chain.call().isCanceled()) {
+                    throw e;
+                }
+                log.warn("Falha de conexão com o nó {} do MinIO em {} {}; repetindo em outro nó", node.name,
+                        request.method(), request.url().encodedPath());
+                continue;
+            }
+            response = releaseOnClose(response, node);
+            if (!NODE_FAILURE_STATUS.contains(response.code())) {
+                succeeded(node);
+                return response;
+            }
+            failed(node, "HTTP " + response.code());
+            if (attempt >= attempts) {
+                return response;
+            }
+            response.close();
+            log.warn("Nó {} do MinIO respondeu {} em {} {}; repetindo em outro nó", node.name, response.code(),
+                    request.method(), request.url().encodedPath());
+        }
+    }
+
+    /**
+     * Sonda cada nó em {@code /minio/health/live}. Qualquer resposta abaixo de 500 conta como vivo: o MinIO responde
+     * 503 enquanto não está pronto.
+     */
+    @Scheduled(initialDelayString = "#{@minioProperties.balancerProbeInterval.toMillis()}",
+            fixedDelayString = "#{@minioProperties.balancerProbeInterval.toMillis()}")
+    public void probe() {
+        for (Node node : nodes) {
+            Request request = new Request.Builder()
+                    .url(node.url.newBuilder().encodedPath("/minio/health/live").build())
+                    .build();
+            try (Response response = probeClient.newCall(request).execute()) {
+                if (response.code() < 500) {
+                    restore(node);
+                } else {
+                    eject(node, "sonda de saúde respondeu HTTP " + response.code());
+                }
+            } catch (IOException e) {
+                eject(node, "sonda de saúde falhou: " + e);
+            }
+        }
+    }
+
+    /**
+     * Nó ainda não tentado nesta chamada, preferindo os saudáveis e, entre eles, o com menos chamadas em andamento.
+     * A varredura começa em uma posição aleatória para que os empates não caiam sempre no mesmo nó.
+     */
+    private Node choose(List<Node> tried) {
+        Node best = null;
+        int offset = ThreadLocalRandom.current().nextInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get((offset + i) % nodes.size());
+            if (tried.contains(node)) {
+                continue;
+            }
+            if (best == null
+                    || (node.healthy && !best.healthy)
+                    || (node.healthy == best.healthy && node.outstanding.get() < best.outstanding.get())) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private void succeeded(Node node) {
+        node.failures.set(0);
+        restore(node);
+    }
+
+    private void failed(Node node, String reason) {
+        if (node.failures.incrementAndGet() >= failureThreshold) {
+            eject(node, node.failures.get() + " falhas seguidas, a última " + reason);
+        }
+    }
+
+    private void eject(Node node, String reason) {
+        if (node.healthy) {
+            node.healthy = false;
+            log.warn("Nó {} do MinIO retirado da rotação: {}", node.name, reason);
+        }
+    }
+
+    private void restore(Node node) {
+        if (!node.healthy) {
+            node.failures.set(0);
+            node.healthy = true;
+            log.info("Nó {} do MinIO de volta à rotação", node.name);
+        }
+    }
+
+    /**
+     * Mantém a chamada em andamento no nó até o corpo da resposta ser fechado, que é quando um download termina.
+     */
+    private static Response releaseOnClose(Response response, Node node) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            node.outstanding.decrementAndGet();
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        ForwardingSource source = new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                if (released.compareAndSet(false, true)) {
+                    node.outstanding.decrementAndGet();
+                }
+                super.close();
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    private static final class Node {
+        private final HttpUrl url;
+        private final String name;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Node(HttpUrl url) {
+            this.url = url;
+            this.name = url.host() + ":" + url.port();
+        }
+
+        private HttpUrl route(HttpUrl target) {
+            return target.newBuilder().scheme(url.scheme()).host(url.host()).port(url.port()).build();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de todas as chamadas ao MinIO. Como interceptador do cliente HTTP compartilhado pelo {@code MinioClient}
+ * e pelo {@code MinioAsyncClient}, cobre cada operação do SDK sem instrumentar os pontos de chamada: o timer
+ * {@code minio.requests} mede do envio até os cabeçalhos da resposta (o corpo de um GET é lido depois, por quem o
+ * pediu) e o contador {@code minio.transfer} soma os bytes enviados e recebidos. A assinatura de URLs não passa
+ * pelo HTTP e é medida à parte, em {@link #presign}. Como fábrica de {@link EventListener}, mede também a abertura
+ * de cada conexão nova (TCP e handshake TLS) em {@code minio.http.connect}: chamadas que reaproveitam uma conexão do
+ * pool não aparecem ali.
+ * <p>
+ * O serviço e o tipo da mídia saem do nome do objeto ({@code {serviceName}/{fileName}}, também dentro das pastas de
+ * miniaturas e de arquivo). Os blobs do modo endereçado por conteúdo não levam nenhum dos dois no nome e, como as
+ * operações sobre o bucket, ficam com {@value #NONE}.
+ */
+@Component
+public class MinioMetrics implements Interceptor, EventListener.Factory {
+
+    static final String NONE = "none";
+    private static final String ARCHIVE_FOLDER = "arquivos_desativados/";
+
+    private final Meter.MeterProvider<Timer> requests;
+    private final Meter.MeterProvider<Counter> transfer;
+    private final Meter.MeterProvider<Timer> connects;
+    private final String bucketName;
+    private final List<String> folders;
+
+    public MinioMetrics(MeterRegistry meterRegistry, MinioProperties minioProperties,
+                        @Value("${app.media.thumbnails.prefix:miniaturas/}") String thumbnailPrefix,
+                        @Value("${app.media.content-addressed.prefix:blobs/}") String blobPrefix) {
+        this.requests = Timer.builder("minio.requests")
+                .description("Chamadas ao MinIO por operação")
+                .withRegistry(meterRegistry);
+        this.transfer = Counter.builder("minio.transfer")
+                .description("Bytes enviados ao MinIO (upload) e recebidos dele (download)")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.connects = Timer.builder("minio.http.connect")
+                .description("Abertura de conexões novas com o MinIO, incluindo o handshake TLS")
+                .withRegistry(meterRegistry);
+        this.bucketName = minioProperties.getBucketName();
+        this.folders = List.of(ARCHIVE_FOLDER, thumbnailPrefix, blobPrefix);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String operation = operation(request);
+        Tags object = objectTags(objectName(request.url()));
+
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            Response response = chain.proceed(request);
+            outcome = outcome(response.code());
+            if (response.isSuccessful()) {
+                countTransfer(operation, object, request.body(), response);
+            }
+            return response;
+        } finally {
+            requests.withTags(object.and("operation", operation, "outcome", outcome))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public EventListener create(Call call) {
+        return new EventListener() {
+            private long start;
+
+            @Override
+            public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+                connects.withTags("outcome", "SUCCESS").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol, IOException e) {
+                connects.withTags("outcome", "IO_ERROR").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Mede a assinatura local de uma URL, registrada em {@code minio.requests} com a operação {@code presign}.
+     */
+    public <T> T presign(String objectName, Callable<T> signer) throws Exception {
+        long start = System.nanoTime();
+        String outcome = "ERROR";
+        try {
+            T url = signer.call();
+            outcome = "SUCCESS";
+            return url;
+        } finally {
+            requests.withTags(objectTags(objectName).and("operation", "presign", "outcome", outcome))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void countTransfer(String operation, Tags object, RequestBody body, Response response) throws IOException {
+        if (("put".equals(operation) || "uploadPart".equals(operation)) && body != null) {
+            long sent = body.contentLength();
+            if (sent > 0) {
+                transfer.withTags(object.and("direction", "upload")).increment(sent);
+            }
+        } else if ("get".equals(operation)) {
+            long received = response.body() == null ? -1 : response.body().contentLength();
+            if (received > 0) {
+                transfer.withTags(object.and("direction", "download")).increment(received);
+            }
+        }
+    }
+
+    /**
+     * Operação do SDK reconhecida pelo método e pelos parâmetros da requisição S3.
+     */
+    static String operation(Request request) {
+        HttpUrl url = request.url();
+        boolean multipart = url.queryParameter("uploadId") != null;
+        return switch (request.method()) {
+            case "GET" -> url.queryParameterNames().contains("tagging") ? "getTags"
+                    : url.queryParameterNames().contains("location") ? "bucketLocation" : "get";
+            case "HEAD" -> "stat";
+            case "PUT" -> request.header("x-amz-copy-source") != null ? "copy"
+                    : url.queryParameterNames().contains("tagging") ? "tag"
+                    : multipart ? "uploadPart" : "put";
+            case "POST" -> url.queryParameterNames().contains("uploads") ? "createMultipart"
+                    : url.queryParameterNames().contains("delete") ? "removeBatch"
+                    : multipart ? "completeMultipart" : "post";
+            case "DELETE" -> multipart ? "abortMultipart" : "remove";
+            default -> request.method().toLowerCase();
+        };
+    }
+
+    /**
+     * Nome do objeto na URL em estilo de caminho ({@code /bucket/objeto}), o usado pelo SDK fora da AWS.
+     */
+    private String objectName(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int first = !segments.isEmpty() && segments.get(0).equals(bucketName) ? 1 : 0;
+        return String.join("/", segments.subList(first, segments.size()));
+    }
+
+    Tags objectTags(String objectName) {
+        String key = objectName;
+        for (String folder : folders) {
+            if (key.startsWith(folder)) {
+                key = key.substring(folder.length());
+                break;
+            }
+        }
+        int slash = key.indexOf('/');
+        String serviceName = slash > 0 ? key.substring(0, slash) : NONE;
+        return Tags.of("serviceName", serviceName, "mediaType", mediaType(key.substring(key.lastIndexOf('/') + 1)));
+    }
+
+    private static String mediaType(String fileName) {
+        if (fileName.indexOf('.') < 0) {
+            return NONE;
+        }
+        try {
+            return MediaType.fromFileName(fileName).name();
+        } catch (UnsupportedMediaTypeException e) {
+            return NONE;
+        }
+    }
+
+    private static String outcome(int status) {
+        if (status < 300) {
+            return "SUCCESS";
+        }
+        if (status < 400) {
+            return "REDIRECTION";
+        }
+        return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+}
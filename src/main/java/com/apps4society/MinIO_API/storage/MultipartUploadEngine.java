@@ -0,0 +1,468 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.UploadPartResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Envia objetos grandes usando a API multipart do S3: o arquivo é dividido em partes de tamanho fixo,
+ * enviadas em paralelo num executor limitado, cada parte com suas próprias tentativas. O upload só é
+ * concluído quando todas as partes chegam; em qualquer falha ele é abortado e nada fica visível no bucket.
+ */
+@Slf4j
+@Component
+public class MultipartUploadEngine {
+
+    // Menor parte aceita pelo S3, exceto a última.
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    public static final int MAX_PARTS = 10_000;
+    // Buffer inicial do upload reativo: corpos pequenos não chegam a reservar uma parte inteira.
+    static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final MinioAsyncClient minioAsyncClient;
+    private final ExecutorService executor;
+    private final long partSize;
+    private final int parallelism;
+    private final int maxRetries;
+    // Buffers de parte do upload reativo devolvidos depois do envio, reaproveitados pelos próximos uploads.
+    private final BlockingQueue<byte[]> partBuffers;
+
+    public MultipartUploadEngine(MinioAsyncClient minioAsyncClient,
+                                 @Qualifier("minioUploadExecutor") ExecutorService executor,
+                                 MinioProperties minioProperties) {
+        this.minioAsyncClient = minioAsyncClient;
+        this.executor = executor;
+        this.partSize = Math.max(minioProperties.getUploadPartSize().toBytes(), MIN_PART_SIZE);
+        this.parallelism = Math.max(minioProperties.getUploadParallelism(), 1);
+        this.maxRetries = Math.max(minioProperties.getUploadMaxRetries(), 0);
+        this.partBuffers = new ArrayBlockingQueue<>(parallelism + 1);
+    }
+
+    /**
+     * Envia o conteúdo do stream como um único objeto.
+     * @param size Tamanho total em bytes, ou -1 quando desconhecido.
+     */
+    public ObjectWriteResponse upload(String bucket, String objectName, InputStream stream, long size, String contentType) {
+        long effectivePartSize = partSizeFor(size);
+        String uploadId = initiate(bucket, objectName, contentType);
+        log.info("Upload multipart iniciado | Objeto: '{}' | uploadId: '{}' | Parte: {} bytes", objectName, uploadId, effectivePartSize);
+
+        // Limita quantas partes deste upload ficam em memória/voo ao mesmo tempo.
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<CompletableFuture<Part>> pending = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = stream.readNBytes((int) effectivePartSize);
+                if (buffer.length == 0 && partNumber > 1) {
+                    break;
+                }
+                if (partNumber > MAX_PARTS) {
+                    throw new FileStorageException("O arquivo excede o número máximo de partes do upload multipart.", null);
+                }
+                inFlight.acquire();
+                failFast(pending);
+
+                int number = partNumber++;
+                pending.add(CompletableFuture
+                        .supplyAsync(() -> uploadPartWithRetry(bucket, objectName, uploadId, number, buffer), executor)
+                        .whenComplete((part, error) -> inFlight.release()));
+
+                if (buffer.length < effectivePartSize) {
+                    break;
+                }
+            }
+
+            Part[] parts = new Part[pending.size()];
+            for (int i = 0; i < pending.size(); i++) {
+                parts[i] = pending.get(i).get();
+            }
+            Arrays.sort(parts, Comparator.comparingInt(Part::partNumber));
+
+            return complete(bucket, objectName, uploadId, parts);
+        } catch (Exception e) {
+            pending.forEach(future -> future.cancel(true));
+            abort(bucket, objectName, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Exception cause = unwrap(e);
+            if (cause instanceof FileStorageException storageException) {
+                throw storageException;
+            }
+            throw new FileStorageException("Erro no upload multipart para o armazenamento.", cause);
+        }
+    }
+
+    /**
+     * Versão não bloqueante de {@link #upload(String, String, InputStream, long, String)}, para o corpo de uma
+     * requisição reativa. Os buffers são agrupados em partes do tamanho configurado, e cada parte só é pedida ao
+     * cliente quando há vaga entre as {@code parallelism} em envio, então a memória por upload fica em torno de
+     * {@code (parallelism + 1) * partSize}. Se o conteúdo inteiro couber numa parte, vai num único putObject.
+     * <p>
+     * Cada parte é lida direto num buffer de {@code partSize} bytes, que vai para o MinIO sem outra cópia e volta a
+     * um pool limitado quando a parte termina. O primeiro buffer começa com {@link #INITIAL_BUFFER_SIZE} e só passa
+     * a um buffer de parte se o corpo for maior.
+     */
+    public Mono<ObjectWriteResponse> upload(String bucket, String objectName, Flux<DataBuffer> content, String contentType) {
+        return splitIntoParts(content)
+                .switchOnFirst((first, chunks) -> {
+                    if (first.hasError()) {
+                        return Mono.error(first.getThrowable());
+                    }
+                    Chunk chunk = first.get();
+                    if (chunk != null && chunk.last()) {
+                        return putSingle(bucket, objectName, chunk, contentType);
+                    }
+                    return uploadChunks(bucket, objectName, chunks, contentType);
+                })
+                .single();
+    }
+
+    private Mono<ObjectWriteResponse> putSingle(String bucket, String objectName, Chunk chunk, String contentType) {
+        return future(() -> minioAsyncClient.putObject(
+                PutObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName)
+                        .stream(new ByteArrayInputStream(chunk.data(), 0, chunk.length()), chunk.length(), -1)
+                        .contentType(contentType)
+                        .build()))
+                .onErrorMap(e -> !(e instanceof FileStorageException),
+                        e -> new FileStorageException("Erro ao salvar mídia no armazenamento.", e))
+                // Só depois do fim da chamada: num cancelamento o cliente HTTP ainda pode estar lendo o buffer.
+                .doAfterTerminate(() -> releaseBuffer(chunk.data()));
+    }
+
+    private Mono<ObjectWriteResponse> uploadChunks(String bucket, String objectName, Flux<Chunk> chunks, String contentType) {
+        return future(() -> minioAsyncClient.createMultipartUploadAsync(bucket, null, objectName, headers(contentType), null))
+                .map(response -> response.result().uploadId())
+                .onErrorMap(e -> new FileStorageException("Erro ao iniciar upload multipart no armazenamento.", e))
+                .flatMap(uploadId -> {
+                    log.info("Upload multipart reativo iniciado | Objeto: '{}' | uploadId: '{}' | Parte: {} bytes", objectName, uploadId, partSize);
+                    return chunks
+                            // Quando o tamanho é múltiplo exato da parte, a última sobra vem vazia.
+                            .filter(chunk -> {
+                                if (chunk.length() > 0) {
+                                    return true;
+                                }
+                                releaseBuffer(chunk.data());
+                                return false;
+                            })
+                            .index()
+                            .flatMapSequential(indexed -> uploadPartReactive(bucket, objectName, uploadId,
+                                    indexed.getT1().intValue() + 1, indexed.getT2()), parallelism, 1)
+                            .collectList()
+                            .map(parts -> parts.toArray(Part[]::new))
+                            .flatMap(parts -> future(() -> minioAsyncClient
+                                    .completeMultipartUploadAsync(bucket, null, objectName, uploadId, parts, null, null))
+                                    .doOnSuccess(response -> log.info("Upload multipart concluído | Objeto: '{}' | Partes: {}", objectName, parts.length)))
+                            .onErrorResume(e -> abortReactive(bucket, objectName, uploadId)
+                                    .then(Mono.error(e instanceof FileStorageException
+                                            ? e
+                                            : new FileStorageException("Erro no upload multipart para o armazenamento.", e))))
+                            .doOnCancel(() -> abortReactive(bucket, objectName, uploadId).subscribe());
+                });
+    }
+
+    private Mono<Void> abortReactive(String bucket, String objectName, String uploadId) {
+        return future(() -> minioAsyncClient.abortMultipartUploadAsync(bucket, null, objectName, uploadId, null, null))
+                .doOnSuccess(response -> log.warn("Upload multipart abortado | Objeto: '{}' | uploadId: '{}'", objectName, uploadId))
+                .onErrorResume(e -> {
+                    log.error("Erro ao abortar upload multipart '{}' do objeto '{}'", uploadId, objectName, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Part> uploadPartReactive(String bucket, String objectName, String uploadId, int partNumber, Chunk chunk) {
+        if (partNumber > MAX_PARTS) {
+            return Mono.error(new FileStorageException("O arquivo excede o número máximo de partes do upload multipart.", null));
+        }
+        return future(() -> minioAsyncClient.uploadPartAsync(bucket, null, objectName, chunk.data(), chunk.length(), uploadId, partNumber, null, null))
+                .map(response -> new Part(partNumber, response.etag()))
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(200))
+                        .doBeforeRetry(signal -> log.warn("Falha ao enviar parte {} de '{}' (tentativa {}/{}): {}",
+                                partNumber, objectName, signal.totalRetries() + 1, maxRetries + 1, signal.failure().getMessage()))
+                        .onRetryExhaustedThrow((spec, signal) -> new FileStorageException(
+                                "Erro ao enviar a parte " + partNumber + " para o armazenamento.", signal.failure())))
+                .doAfterTerminate(() -> releaseBuffer(chunk.data()));
+    }
+
+    /**
+     * Agrupa os buffers recebidos em partes de {@code partSize} bytes; a sobra do final sai marcada como última.
+     */
+    private Flux<Chunk> splitIntoParts(Flux<DataBuffer> content) {
+        return Flux.defer(() -> {
+            PartBuffer current = new PartBuffer();
+            return content
+                    .concatMapIterable(buffer -> {
+                        List<Chunk> full = new ArrayList<>(1);
+                        try {
+                            while (buffer.readableByteCount() > 0) {
+                                current.fill(buffer);
+                                if (current.isFull()) {
+                                    full.add(current.take(false));
+                                }
+                            }
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                        return full;
+                    })
+                    .concatWith(Mono.fromSupplier(() -> current.take(true)));
+        });
+    }
+
+    /**
+     * Parte em montagem. Começa num buffer pequeno e passa a um buffer de parte, copiando o que já leu, só se o
+     * conteúdo não couber nele; as partes seguintes já começam num buffer de parte.
+     */
+    private final class PartBuffer {
+
+        private byte[] data = new byte[(int) Math.min(INITIAL_BUFFER_SIZE, partSize)];
+        private int size;
+
+        void fill(DataBuffer buffer) {
+            if (size == data.length) {
+                byte[] larger = acquireBuffer();
+                System.arraycopy(data, 0, larger, 0, size);
+                data = larger;
+            }
+            int length = Math.min(buffer.readableByteCount(), data.length - size);
+            buffer.read(data, size, length);
+            size += length;
+        }
+
+        boolean isFull() {
+            return size == partSize;
+        }
+
+        Chunk take(boolean last) {
+            Chunk chunk = new Chunk(data, size, last);
+            if (!last) {
+                data = acquireBuffer();
+                size = 0;
+            }
+            return chunk;
+        }
+    }
+
+    private byte[] acquireBuffer() {
+        byte[] buffer = partBuffers.poll();
+        return buffer != null ? buffer : new byte[(int) partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        if (buffer.length == partSize) {
+            partBuffers.offer(buffer);
+        }
+    }
+
+    private record Chunk(byte[] data, int length, boolean last) {
+    }
+
+    /**
+     * Tamanho de parte configurado, já respeitando o mínimo de 5 MiB exigido pelo S3.
+     */
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Usa o tamanho de parte configurado, aumentando-o só quando necessário para caber no limite de partes do S3.
+     */
+    long partSizeFor(long size) {
+        if (size <= 0) {
+            return partSize;
+        }
+        long minimum = (size + MAX_PARTS - 1) / MAX_PARTS;
+        return Math.max(partSize, minimum);
+    }
+
+    private Part uploadPartWithRetry(String bucket, String objectName, String uploadId, int partNumber, byte[] data) {
+        Exception lastError = null;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            try {
+                UploadPartResponse response = minioAsyncClient
+                        .uploadPartAsync(bucket, null, objectName, data, data.length, uploadId, partNumber, null, null)
+                        .get();
+                return new Part(partNumber, response.etag());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FileStorageException("Upload da parte " + partNumber + " interrompido.", e);
+            } catch (Exception e) {
+                lastError = unwrap(e);
+                log.warn("Falha ao enviar parte {} de '{}' (tentativa {}/{}): {}",
+                        partNumber, objectName, attempt + 1, maxRetries + 1, lastError.getMessage());
+                backoff(attempt);
+            }
+        }
+        throw new FileStorageException("Erro ao enviar a parte " + partNumber + " para o armazenamento.", lastError);
+    }
+
+    /**
+     * Inicia um upload multipart e devolve o uploadId gerado pelo S3.
+     */
+    public String initiate(String bucket, String objectName, String contentType) {
+        try {
+            return minioAsyncClient.createMultipartUploadAsync(bucket, null, objectName, headers(contentType), null)
+                    .get().result().uploadId();
+        } catch (Exception e) {
+            throw new FileStorageException("Erro ao iniciar upload multipart no armazenamento.", unwrap(e));
+        }
+    }
+
+    /**
+     * Envia uma única parte lida de um stream. Como o stream não pode ser relido, não há novas tentativas aqui:
+     * quem reenvia a parte é o cliente.
+     */
+    public Part uploadPart(String bucket, String objectName, String uploadId, int partNumber, InputStream data, long length) {
+        try {
+            UploadPartResponse response = minioAsyncClient
+                    .uploadPartAsync(bucket, null, objectName, data, length, uploadId, partNumber, null, null)
+                    .get();
+            return new Part(partNumber, response.etag());
+        } catch (Exception e) {
+            throw new FileStorageException("Erro ao enviar a parte " + partNumber + " para o armazenamento.", unwrap(e));
+        }
+    }
+
+    /**
+     * Lista todas as partes já recebidas pelo S3 para o upload, percorrendo as páginas da listagem.
+     */
+    public List<Part> listParts(String bucket, String objectName, String uploadId) {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        try {
+            while (true) {
+                ListPartsResult result = minioAsyncClient
+                        .listPartsAsync(bucket, null, objectName, 1000, marker, uploadId, null, null)
+                        .get().result();
+                parts.addAll(result.partList());
+                if (!result.isTruncated()) {
+                    return parts;
+                }
+                marker = result.nextPartNumberMarker();
+            }
+        } catch (Exception e) {
+            throw new FileStorageException("Erro ao listar as partes do upload no armazenamento.", unwrap(e));
+        }
+    }
+
+    /**
+     * Conclui o upload; a partir daqui o objeto fica visível no bucket.
+     */
+    public ObjectWriteResponse complete(String bucket, String objectName, String uploadId, Part[] parts) {
+        try {
+            ObjectWriteResponse response = minioAsyncClient
+                    .completeMultipartUploadAsync(bucket, null, objectName, uploadId, parts, null, null).get();
+            log.info("Upload multipart concluído | Objeto: '{}' | Partes: {}", objectName, parts.length);
+            return response;
+        } catch (Exception e) {
+            throw new FileStorageException("Erro ao concluir upload multipart no armazenamento.", unwrap(e));
+        }
+    }
+
+    /**
+     * @return Verdadeiro se o upload foi abortado ou já não existia no MinIO.
+     */
+    public boolean abort(String bucket, String objectName, String uploadId) {
+        try {
+            minioAsyncClient.abortMultipartUploadAsync(bucket, null, objectName, uploadId, null, null).get();
+            log.warn("Upload multipart abortado | Objeto: '{}' | uploadId: '{}'", objectName, uploadId);
+            return true;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (unwrap(e) instanceof ErrorResponseException error && "NoSuchUpload".equals(error.errorResponse().code())) {
+                log.info("Upload multipart '{}' do objeto '{}' já não existe", uploadId, objectName);
+                return true;
+            }
+            log.error("Erro ao abortar upload multipart '{}' do objeto '{}'", uploadId, objectName, e);
+            return false;
+        }
+    }
+
+    /**
+     * Interrompe a leitura do arquivo assim que alguma parte falhar definitivamente.
+     */
+    private void failFast(List<CompletableFuture<Part>> pending) throws ExecutionException, InterruptedException {
+        for (CompletableFuture<Part> future : pending) {
+            if (future.isCompletedExceptionally()) {
+                future.get();
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        if (attempt >= maxRetries) {
+            return;
+        }
+        try {
+            Thread.sleep(200L << attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Multimap<String, String> headers(String contentType) {
+        return contentType == null
+                ? ImmutableMultimap.of()
+                : ImmutableMultimap.of("Content-Type", contentType);
+    }
+
+    /**
+     * Adapta as chamadas do cliente assíncrono, que declaram exceções checadas ao montar a requisição.
+     */
+    private static <T> Mono<T> future(Callable<CompletableFuture<T>> call) {
+        return Mono.defer(() -> {
+            try {
+                return Mono.fromFuture(call.call());
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+        });
+    }
+
+    private static Exception unwrap(Exception e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception exception ? exception : e;
+    }
+}
@@ -0,0 +1,121 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.StorageTaskRepository;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arquiva em lote, fora do horário de pico, os objetos das mídias desativadas. A desativação só grava a tarefa
+ * {@link StorageTaskType#ARCHIVE}; aqui as cópias para a pasta de arquivo são feitas no próprio MinIO e os
+ * originais saem com um único {@code removeObjects} por lote. Com {@code minio.archive.keep-copy=false} (bucket
+ * com versionamento ou regra de ciclo de vida guardando o histórico) a cópia é dispensada e sobra só a remoção.
+ */
+@Slf4j
+@Component
+public class StorageArchiver {
+
+    private final StorageTaskRepository storageTaskRepository;
+    private final StorageOutbox storageOutbox;
+    private final MinioClient minioClient;
+    private final String bucketName;
+    private final int batchSize;
+    private final boolean keepCopy;
+
+    public StorageArchiver(StorageTaskRepository storageTaskRepository, StorageOutbox storageOutbox, MinioClient minioClient,
+                           MinioProperties minioProperties) {
+        this.storageTaskRepository = storageTaskRepository;
+        this.storageOutbox = storageOutbox;
+        this.minioClient = minioClient;
+        this.bucketName = minioProperties.getBucketName();
+        this.batchSize = Math.max(minioProperties.getArchiveBatchSize(), 1);
+        this.keepCopy = minioProperties.isArchiveKeepCopy();
+    }
+
+    /**
+     * Processa lotes até esgotar as tarefas vencidas no início da execução. As que falham são reagendadas com a
+     * espera do outbox e, por isso, não voltam na mesma execução.
+     */
+    @Scheduled(cron = "${minio.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        int archived = 0;
+        List<StorageTask> batch;
+        int done;
+        do {
+            batch = storageTaskRepository.findByTypeAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(
+                    StorageTaskType.ARCHIVE, startedAt, Limit.of(batchSize));
+            done = archive(batch);
+            archived += done;
+            // Um lote cheio sem nenhum sucesso (MinIO fora do ar) encerra a execução; o resto fica para a próxima.
+        } while (batch.size() == batchSize && done > 0);
+        if (archived > 0) {
+            log.info("{} objetos de mídias desativadas arquivados", archived);
+        }
+    }
+
+    /**
+     * @return Quantidade de tarefas concluídas.
+     */
+    int archive(List<StorageTask> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<StorageTask>> copied = new HashMap<>();
+        for (StorageTask task : tasks) {
+            if (keepCopy) {
+                try {
+                    storageOutbox.copyObject(task.getSourceObject(), task.getTargetObject());
+                } catch (Exception e) {
+                    storageOutbox.reschedule(task, e);
+                    continue;
+                }
+            }
+            copied.computeIfAbsent(task.getSourceObject(), source -> new ArrayList<>()).add(task);
+        }
+        if (copied.isEmpty()) {
+            return 0;
+        }
+
+        // O resultado é preguiçoso: a remoção só acontece enquanto os erros são percorridos.
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(copied.keySet().stream().map(DeleteObject::new).toList())
+                        .build());
+        try {
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                List<StorageTask> failed = copied.remove(error.objectName());
+                if (failed != null) {
+                    Exception cause = new IllegalStateException(error.code() + ": " + error.message());
+                    failed.forEach(task -> storageOutbox.reschedule(task, cause));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Erro na remoção em lote de {} objetos arquivados", copied.size(), e);
+            copied.values().forEach(failed -> failed.forEach(task -> storageOutbox.reschedule(task, e)));
+            return 0;
+        }
+
+        List<StorageTask> done = copied.values().stream().flatMap(List::stream).toList();
+        storageTaskRepository.deleteAll(done);
+        return done.size();
+    }
+}
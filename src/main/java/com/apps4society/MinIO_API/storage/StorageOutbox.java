@@ -0,0 +1,285 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.StorageTaskRepository;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectArgs;
+import io.minio.SetObjectTagsArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbox das operações no MinIO que acompanham mudanças na tabela de mídias. A tarefa é registrada na mesma
+ * transação curta que altera a mídia; depois do commit quem alterou chama {@link #dispatch(StorageTask)} e,
+ * se o MinIO falhar, o {@link #relay()} tenta de novo com espera crescente. As operações são idempotentes,
+ * então repetir uma tarefa já executada não causa dano. As tarefas de arquivamento ficam de fora do relay e
+ * são executadas em lote pelo {@link StorageArchiver}.
+ */
+@Slf4j
+@Component
+public class StorageOutbox {
+
+    /**
+     * Tag aplicada aos objetos de mídias desativadas; regras de ciclo de vida do bucket podem filtrar por ela.
+     */
+    public static final Map<String, String> DISABLED_TAGS = Map.of("status", "desativado");
+
+    private final StorageTaskRepository storageTaskRepository;
+    private final MediaRepository mediaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MinioClient minioClient;
+    private final String bucketName;
+    private final int batchSize;
+    private final Duration retryInterval;
+    private final Duration maxBackoff;
+    private final ThreadPoolExecutor executor;
+
+    public StorageOutbox(StorageTaskRepository storageTaskRepository, MediaRepository mediaRepository,
+                         TransactionTemplate transactionTemplate, MinioClient minioClient, MinioProperties minioProperties) {
+        this.storageTaskRepository = storageTaskRepository;
+        this.mediaRepository = mediaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.minioClient = minioClient;
+        this.bucketName = minioProperties.getBucketName();
+        this.batchSize = Math.max(minioProperties.getOutboxBatchSize(), 1);
+        this.retryInterval = minioProperties.getOutboxPollInterval();
+        this.maxBackoff = minioProperties.getOutboxMaxBackoff();
+
+        int threads = Math.max(minioProperties.getOutboxDispatchThreads(), 1);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-outbox-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registra a movimentação de um objeto. Deve ser chamado dentro da transação que alterou a mídia.
+     */
+    public StorageTask move(String sourceObject, String targetObject) {
+        return storageTaskRepository.save(new StorageTask(StorageTaskType.MOVE, sourceObject, targetObject));
+    }
+
+    /**
+     * Registra a movimentação de um objeto cujo nome a mídia acabou de deixar. A mídia {@code nameHolderId} segura
+     * esse nome até a movimentação terminar e é removida junto com a tarefa; sem ela, um upload com o nome liberado
+     * poderia gravar o objeto antes e ser movido no lugar do antigo. Deve ser chamado dentro da transação que
+     * alterou a mídia.
+     */
+    public StorageTask move(String sourceObject, String targetObject, Long nameHolderId) {
+        StorageTask task = new StorageTask(StorageTaskType.MOVE, sourceObject, targetObject);
+        task.setNameHolderId(nameHolderId);
+        return storageTaskRepository.save(task);
+    }
+
+    /**
+     * Registra a remoção de um objeto. Deve ser chamado dentro da transação que alterou a mídia.
+     */
+    public StorageTask remove(String objectName) {
+        return storageTaskRepository.save(new StorageTask(StorageTaskType.REMOVE, objectName, null));
+    }
+
+    /**
+     * Registra a remoção de um objeto enviado sob um nome que a mídia {@code nameHolderId} reserva: ela segura o nome
+     * até a remoção terminar e é apagada junto com a tarefa, para que a remoção não alcance o envio de quem ficar com
+     * o nome depois. Deve ser chamado dentro de uma transação.
+     */
+    public StorageTask remove(String objectName, Long nameHolderId) {
+        StorageTask task = new StorageTask(StorageTaskType.REMOVE, objectName, null);
+        task.setNameHolderId(nameHolderId);
+        return storageTaskRepository.save(task);
+    }
+
+    /**
+     * Registra a marcação do objeto como desativado. Deve ser chamado dentro da transação que alterou a mídia.
+     */
+    public StorageTask tag(String objectName) {
+        return storageTaskRepository.save(new StorageTask(StorageTaskType.TAG, objectName, null));
+    }
+
+    /**
+     * Registra a movimentação do objeto para o arquivo, feita depois pelo {@link StorageArchiver}, e não na hora.
+     * Só serve para objetos cujo nome não pode ser reaproveitado por outro upload até lá. Deve ser chamado dentro
+     * da transação que alterou a mídia.
+     */
+    public StorageTask archive(String sourceObject, String targetObject) {
+        return storageTaskRepository.save(new StorageTask(StorageTaskType.ARCHIVE, sourceObject, targetObject));
+    }
+
+    /**
+     * Executa a tarefa agora, fora de qualquer transação. Em caso de falha a tarefa fica agendada para o relay.
+     * @return Verdadeiro se a operação foi concluída no MinIO.
+     */
+    public boolean dispatch(StorageTask task) {
+        try {
+            execute(task);
+        } catch (Exception e) {
+            reschedule(task, e);
+            return false;
+        }
+        try {
+            complete(task);
+        } catch (Exception e) {
+            // A operação já foi feita; se a tarefa sobrar, o relay a repete sem efeito.
+            log.error("Erro ao remover a tarefa de armazenamento '{}' concluída", task.getTaskId(), e);
+        }
+        log.info("Tarefa de armazenamento {} concluída | Objeto: '{}'", task.getType(), task.getSourceObject());
+        return true;
+    }
+
+    /**
+     * Executa a tarefa em segundo plano, sem segurar quem a registrou. Com a fila cheia a tarefa fica para o relay.
+     */
+    public void dispatchAsync(StorageTask task) {
+        try {
+            executor.execute(() -> dispatch(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila do outbox cheia; a tarefa de armazenamento '{}' fica para o relay", task.getTaskId());
+        }
+    }
+
+    /**
+     * Retoma as tarefas que falharam ou que não chegaram a ser executadas (por exemplo, se a aplicação caiu
+     * entre o commit e o dispatch).
+     */
+    @Scheduled(initialDelayString = "#{@minioProperties.outboxPollInterval.toMillis()}",
+            fixedDelayString = "#{@minioProperties.outboxPollInterval.toMillis()}")
+    public void relay() {
+        List<StorageTask> due = storageTaskRepository.findByTypeNotAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(
+                StorageTaskType.ARCHIVE, LocalDateTime.now(), Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return;
+        }
+        log.info("Reprocessando {} tarefas de armazenamento pendentes", due.size());
+        due.forEach(this::dispatch);
+    }
+
+    /**
+     * Apaga a tarefa concluída e, na mesma transação, a mídia que segurava o nome de origem: o nome só fica livre
+     * quando não há mais movimentação ou remoção pendente sobre ele.
+     */
+    private void complete(StorageTask task) {
+        if (task.getNameHolderId() == null) {
+            storageTaskRepository.delete(task);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            storageTaskRepository.delete(task);
+            mediaRepository.deleteById(task.getNameHolderId());
+        });
+        log.info("Nome de '{}' liberado para novos uploads", task.getSourceObject());
+    }
+
+    private void execute(StorageTask task) throws Exception {
+        switch (task.getType()) {
+            case MOVE, ARCHIVE -> moveObject(task.getSourceObject(), task.getTargetObject());
+            case REMOVE -> minioClient.removeObject(
+                    RemoveObjectArgs.builder().bucket(bucketName).object(task.getSourceObject()).build());
+            case TAG -> tagObject(task.getSourceObject());
+        }
+    }
+
+    private void moveObject(String sourceObject, String targetObject) throws Exception {
+        if (copyObject(sourceObject, targetObject)) {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(sourceObject).build());
+            log.info("Arquivo '{}' movido para '{}'", sourceObject, targetObject);
+        }
+    }
+
+    /**
+     * Copia o objeto no próprio MinIO, sem passar os bytes pela aplicação.
+     * @return Falso quando uma execução anterior já havia movido o objeto.
+     */
+    boolean copyObject(String sourceObject, String targetObject) throws Exception {
+        try {
+            minioClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(targetObject)
+                            .source(CopySource.builder().bucket(bucketName).object(sourceObject).build())
+                            .build()
+            );
+        } catch (ErrorResponseException e) {
+            // Uma execução anterior pode ter movido o objeto e falhado só ao apagar a tarefa.
+            if ("NoSuchKey".equals(e.errorResponse().code()) && exists(targetObject)) {
+                log.info("Objeto '{}' já havia sido movido para '{}'", sourceObject, targetObject);
+                return false;
+            }
+            throw e;
+        }
+        return true;
+    }
+
+    private void tagObject(String objectName) throws Exception {
+        try {
+            minioClient.setObjectTags(SetObjectTagsArgs.builder().bucket(bucketName).object(objectName).tags(DISABLED_TAGS).build());
+        } catch (ErrorResponseException e) {
+            // Já arquivado ou removido: não há mais o que marcar.
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                log.info("Objeto '{}' não está mais no lugar; marcação ignorada", objectName);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private boolean exists(String objectName) throws Exception {
+        try {
+            minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            return true;
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    void reschedule(StorageTask task, Exception error) {
+        int attempts = task.getAttempts() + 1;
+        Duration backoff = retryInterval.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        log.warn("Falha na tarefa de armazenamento {} de '{}' (tentativa {}), nova tentativa em {}: {}",
+                task.getType(), task.getSourceObject(), attempts, backoff, error.getMessage());
+
+        task.setAttempts(attempts);
+        task.setLastError(error.getMessage() == null ? null : error.getMessage().substring(0, Math.min(error.getMessage().length(), 1000)));
+        task.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        try {
+            storageTaskRepository.save(task);
+        } catch (Exception e) {
+            log.error("Erro ao reagendar a tarefa de armazenamento '{}'", task.getTaskId(), e);
+        }
+    }
+}
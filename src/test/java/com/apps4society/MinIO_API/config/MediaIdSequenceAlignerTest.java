@@ -0,0 +1,42 @@
+package com.apps4society.MinIO_API.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MediaIdSequenceAlignerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+
+    private MediaIdSequenceAligner aligner(Dialect dialect) {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getJdbcServices().getDialect()).thenReturn(dialect);
+        return new MediaIdSequenceAligner(jdbcTemplate, entityManagerFactory);
+    }
+
+    @Test
+    void testTableSequence_movedAboveExistingIds() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1000L);
+
+        aligner(new MySQLDialect()).afterSingletonsInstantiated();
+
+        // 1000 + bloco de 50 + 1: o primeiro bloco alocado vai de 1002 a 1051.
+        verify(jdbcTemplate).update("update media_seq set next_val = ? where next_val < ?", 1051L, 1051L);
+    }
+
+    @Test
+    void testNativeSequence_leftUntouched() {
+        aligner(new H2Dialect()).afterSingletonsInstantiated();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
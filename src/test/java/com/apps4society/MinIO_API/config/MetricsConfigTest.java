@@ -0,0 +1,61 @@
+package com.apps4society.MinIO_API.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockPart;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+
+    @Test
+    void testServiceName_fromUploadAttributeOrPathVariable() {
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/media");
+        MetricsConfig.tagServiceName(upload, "educAPI");
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/media/galeria/1");
+        get.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("serviceName", "galeria", "mediaId", "1"));
+
+        assertEquals("educAPI", MetricsConfig.serviceName(upload));
+        assertEquals("galeria", MetricsConfig.serviceName(get));
+        assertEquals(MetricsConfig.NONE, MetricsConfig.serviceName(new MockHttpServletRequest("GET", "/api/media/presigned")));
+    }
+
+    @Test
+    void testMultipartResolver_lazy_timesParseOnFirstAccess() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MultipartProperties properties = new MultipartProperties();
+        properties.setResolveLazily(true);
+        MultipartResolver resolver = metricsConfig.multipartResolver(registry, properties);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/media");
+        request.setContentType("multipart/form-data; boundary=limite");
+        request.addPart(new MockPart("mediaRequest", "{}".getBytes()));
+        MultipartHttpServletRequest multipart = resolver.resolveMultipart(request);
+
+        assertEquals(0, registry.get("http.multipart.parse").timer().count());
+        multipart.getFileMap();
+        assertEquals(1, registry.get("http.multipart.parse").timer().count());
+    }
+
+    @Test
+    void testMultipartResolver_eager_timesParseOnResolve() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MultipartResolver resolver = metricsConfig.multipartResolver(registry, new MultipartProperties());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/media");
+        request.setContentType("multipart/form-data; boundary=limite");
+        request.addPart(new MockPart("mediaRequest", "{}".getBytes()));
+        resolver.resolveMultipart(request);
+
+        assertEquals(1, registry.get("http.multipart.parse").timer().count());
+    }
+}
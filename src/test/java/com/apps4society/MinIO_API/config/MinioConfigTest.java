@@ -0,0 +1,80 @@
+package com.apps4society.MinIO_API.config;
+
+import com.apps4society.MinIO_API.storage.MinioEndpointBalancer;
+import com.apps4society.MinIO_API.storage.MinioMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinioConfigTest {
+
+    private SimpleMeterRegistry registry;
+    private MinioProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new MinioProperties();
+        properties.setHttpConnectTimeout(Duration.ofSeconds(10));
+        properties.setHttpReadTimeout(Duration.ofMinutes(5));
+        properties.setHttpWriteTimeout(Duration.ofMinutes(5));
+        properties.setHttpMaxIdleConnections(32);
+        properties.setHttpKeepAlive(Duration.ofMinutes(5));
+        properties.setHttpMaxRequests(128);
+        properties.setHttpMaxRequestsPerHost(64);
+        properties.setTlsSessionTimeout(Duration.ZERO);
+    }
+
+    private OkHttpClient httpClient() throws Exception {
+        return httpClient(false);
+    }
+
+    private OkHttpClient httpClient(boolean virtualThreads) throws Exception {
+        MinioMetrics metrics = new MinioMetrics(registry, properties, "miniaturas/", "blobs/");
+        MinioEndpointBalancer balancer = new MinioEndpointBalancer(properties, registry);
+        return new MinioConfig(properties, virtualThreads).minioHttpClient(metrics, balancer, registry);
+    }
+
+    @Test
+    void testMinioHttpClient_appliesLimitsAndPublishesPoolMetrics() throws Exception {
+        OkHttpClient client = httpClient();
+
+        assertEquals(128, client.dispatcher().getMaxRequests());
+        assertEquals(64, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(10_000, client.connectTimeoutMillis());
+        assertEquals(List.of(Protocol.HTTP_1_1), client.protocols());
+        assertEquals(32, registry.get("minio.http.pool.connection.limit").gauge().value());
+        assertEquals(0, registry.get("minio.http.pool.connection.count").tag("state", "idle").gauge().value());
+        assertEquals(0, registry.get("minio.http.calls").tag("state", "queued").gauge().value());
+    }
+
+    @Test
+    void testMinioHttpClient_virtualThreads_dispatcherDoesNotQueueCalls() throws Exception {
+        OkHttpClient client = httpClient(true);
+
+        assertEquals(Integer.MAX_VALUE, client.dispatcher().getMaxRequests());
+        assertEquals(Integer.MAX_VALUE, client.dispatcher().getMaxRequestsPerHost());
+        client.dispatcher().executorService().shutdown();
+    }
+
+    @Test
+    void testMinioHttpClient_http2AndTlsSessions_whenConfigured() throws Exception {
+        SSLSocketFactory platformFactory = httpClient().sslSocketFactory();
+        properties.setHttp2(true);
+        properties.setTlsSessionCacheSize(500);
+        registry = new SimpleMeterRegistry();
+
+        OkHttpClient client = httpClient();
+
+        assertEquals(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), client.protocols());
+        assertNotSame(platformFactory, client.sslSocketFactory());
+    }
+}
@@ -0,0 +1,130 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import com.apps4society.MinIO_API.service.MediaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MediaContentController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "app.media.proxy.enabled=true")
+class MediaContentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MediaService mediaService;
+
+    private final String serviceName = "educAPI";
+    private final Long mediaId = 100L;
+    private final byte[] content = "0123456789".getBytes();
+    private final MediaObject object = new MediaObject("educAPI/test.png", content.length, "abc123", "image/png", ZonedDateTime.now());
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Sucesso (200) com o arquivo completo")
+    void testDownloadFull_200() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+        when(mediaService.openMediaObject(object, 0L, content.length)).thenReturn(new ByteArrayInputStream(content));
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Sucesso (206) com Range")
+    void testDownloadRange_206() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+        when(mediaService.openMediaObject(object, 2L, 4L)).thenReturn(new ByteArrayInputStream("2345".getBytes()));
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId)
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Sucesso (206) servido pelo cache em disco")
+    void testDownloadRangeFromCache_206() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+        when(mediaService.readCachedMediaObject(object, 2L, 4L)).thenReturn(Optional.of(ByteBuffer.wrap("2345".getBytes())));
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId)
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("2345"));
+
+        verify(mediaService, never()).openMediaObject(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - If-Range de outra versão envia o arquivo completo (200)")
+    void testDownloadStaleIfRange_200() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+        when(mediaService.openMediaObject(object, 0L, content.length)).thenReturn(new ByteArrayInputStream(content));
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"outra-versao\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Não modificado (304)")
+    void testDownloadNotModified_304() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified());
+
+        verify(mediaService, never()).openMediaObject(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Intervalo fora do arquivo (416)")
+    void testDownloadUnsatisfiableRange_416() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenReturn(object);
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId)
+                        .header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        verify(mediaService, never()).openMediaObject(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}/content - Mídia não encontrada (404)")
+    void testDownloadNotFound_404() throws Exception {
+        when(mediaService.getMediaObject(serviceName, mediaId)).thenThrow(new MediaNotFoundException("Mídia não encontrada ou inativa."));
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}/content", serviceName, mediaId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Mídia não encontrada ou inativa."));
+    }
+}
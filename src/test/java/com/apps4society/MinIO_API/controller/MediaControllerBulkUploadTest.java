@@ -0,0 +1,129 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.model.DTO.BulkUploadResult;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "app.upload.bulk.max-files=2",
+        "app.upload.bulk.max-request-size=2KB",
+        "spring.servlet.multipart.max-file-size=1KB"
+})
+public class MediaControllerBulkUploadTest extends BaseMediaControllerTest {
+
+    private static final String BOUNDARY = "bulkBoundary";
+
+    private String mediaRequestPart() throws Exception {
+        return "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"mediaRequest\"\r\n" +
+                "Content-Type: application/json\r\n\r\n" +
+                new ObjectMapper().writeValueAsString(createMediaRequest()) + "\r\n";
+    }
+
+    private String filePart(String name) {
+        return filePart(name, "dummyContent");
+    }
+
+    private String filePart(String name, String content) {
+        return "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"files\"; filename=\"" + name + "\"\r\n" +
+                "Content-Type: " + fileType + "\r\n\r\n" +
+                content + "\r\n";
+    }
+
+    private MockHttpServletRequestBuilder bulk(String... parts) {
+        return post("/api/media/bulk")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content((String.join("", parts) + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Sucesso (201) - Todos os arquivos criados")
+    public void testUploadFiles_allCreated_201() throws Exception {
+        when(mediaService.uploadMediaBulk(any(MediaRequest.class), anyList())).thenReturn(List.of(
+                BulkUploadResult.created(new MediaResponse(1L, serviceName, "a.png", null)),
+                BulkUploadResult.created(new MediaResponse(2L, serviceName, "b.png", null))));
+
+        mockMvc.perform(bulk(mediaRequestPart(), filePart("a.png"), filePart("b.png")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].fileName").value("a.png"))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].media.entityId").value(1))
+                .andExpect(jsonPath("$[0].created").doesNotExist())
+                .andExpect(jsonPath("$[1].media.entityId").value(2));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MultipartFile>> files = ArgumentCaptor.forClass(List.class);
+        verify(mediaService).uploadMediaBulk(any(MediaRequest.class), files.capture());
+        assertEquals(List.of("a.png", "b.png"), files.getValue().stream().map(MultipartFile::getOriginalFilename).toList());
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Parcial (207) - Algum arquivo falhou")
+    public void testUploadFiles_partialFailure_207() throws Exception {
+        when(mediaService.uploadMediaBulk(any(MediaRequest.class), anyList())).thenReturn(List.of(
+                BulkUploadResult.created(new MediaResponse(1L, serviceName, "a.png", null)),
+                BulkUploadResult.failed("b.png", 409, "O arquivo com o nome 'b.png' já foi enviado para o serviço 'educAPI'.")));
+
+        mockMvc.perform(bulk(mediaRequestPart(), filePart("a.png"), filePart("b.png")))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[1].status").value(409))
+                .andExpect(jsonPath("$[1].media").doesNotExist())
+                .andExpect(jsonPath("$[1].error").exists());
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Falha (400) - Arquivos acima do limite")
+    public void testUploadFiles_tooManyFiles_400() throws Exception {
+        mockMvc.perform(bulk(mediaRequestPart(), filePart("a.png"), filePart("b.png"), filePart("c.png")))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Falha (413) - Arquivo acima do limite por arquivo")
+    public void testUploadFiles_fileTooLarge_413() throws Exception {
+        mockMvc.perform(bulk(mediaRequestPart(), filePart("a.png", "x".repeat(1500))))
+                .andExpect(status().isPayloadTooLarge());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Falha (413) - Corpo acima do limite do lote")
+    public void testUploadFiles_requestTooLarge_413() throws Exception {
+        String content = "x".repeat(900);
+
+        mockMvc.perform(bulk(mediaRequestPart(), filePart("a.png", content), filePart("b.png", content)))
+                .andExpect(status().isPayloadTooLarge());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/bulk - Falha (400) - Sem arquivos")
+    public void testUploadFiles_missingFiles_400() throws Exception {
+        mockMvc.perform(bulk(mediaRequestPart()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+}
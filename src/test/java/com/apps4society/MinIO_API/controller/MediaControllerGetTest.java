@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -20,7 +22,7 @@ public class MediaControllerGetTest extends BaseMediaControllerTest {
     @Test
     @DisplayName("GET /api/media/{serviceName}/{mediaId} - Sucesso (200)")
     public void testGetMediaSuccess_200() throws Exception {
-        when(mediaService.getMediaUrl(eq(serviceName), eq(mediaId))).thenReturn(mediaUrl);
+        when(mediaService.getMediaUrl(eq(serviceName), eq(mediaId), isNull())).thenReturn(mediaUrl);
 
         mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, mediaId))
                 .andExpect(status().isOk())
@@ -30,7 +32,7 @@ public class MediaControllerGetTest extends BaseMediaControllerTest {
     @Test
     @DisplayName("GET /api/media/{serviceName}/{mediaId} - Mídia não encontrada (404)")
     public void testGetMediaNotFound_404() throws Exception {
-        when(mediaService.getMediaUrl(eq(serviceName), eq(nonExistingMediaId)))
+        when(mediaService.getMediaUrl(eq(serviceName), eq(nonExistingMediaId), isNull()))
                 .thenThrow(new MediaNotFoundException("Mídia não encontrada ou inativa."));
 
         mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, nonExistingMediaId)
@@ -43,7 +45,7 @@ public class MediaControllerGetTest extends BaseMediaControllerTest {
     @Test
     @DisplayName("GET /api/media/{serviceName}/{mediaId} - Erro interno no serviço (500)")
     public void testGetMediaServiceException_500() throws Exception {
-        when(mediaService.getMediaUrl(eq(serviceName), eq(mediaId))).thenThrow(new RuntimeException("Erro interno"));
+        when(mediaService.getMediaUrl(eq(serviceName), eq(mediaId), isNull())).thenThrow(new RuntimeException("Erro interno"));
 
         mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, mediaId))
                 .andExpect(status().isInternalServerError());
@@ -52,7 +54,7 @@ public class MediaControllerGetTest extends BaseMediaControllerTest {
     @Test
     @DisplayName("GET /api/media/{serviceName}/{mediaId} - Parâmetro inválido (400) - MediaId inválido")
     public void testGetMediaInvalidMediaId_400() throws Exception {
-        when(mediaService.getMediaUrl(eq(serviceName), eq(-1L)))
+        when(mediaService.getMediaUrl(eq(serviceName), eq(-1L), isNull()))
                 .thenThrow(new IllegalArgumentException("O ID do material deve ser maior que 0."));
 
         mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, -1))
@@ -63,11 +65,31 @@ public class MediaControllerGetTest extends BaseMediaControllerTest {
     @Test
     @DisplayName("GET /api/media/{serviceName}/{mediaId} - Parâmetro inválido (400) - ServiceName vazio")
     public void testGetMediaInvalidServiceName_400() throws Exception {
-        when(mediaService.getMediaUrl(eq(" "), eq(mediaId)))
+        when(mediaService.getMediaUrl(eq(" "), eq(mediaId), isNull()))
                 .thenThrow(new IllegalArgumentException("O nome do serviço não pode ser vazio ou nulo."));
 
         mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", " ", mediaId))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("O nome do serviço não pode ser vazio ou nulo."));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}?width= - Repassa a largura ao serviço (200)")
+    public void testGetMediaWithWidth_200() throws Exception {
+        when(mediaService.getMediaUrl(serviceName, mediaId, 320)).thenReturn(mediaUrl);
+
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, mediaId).param("width", "320"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(mediaUrl));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId}?width=0 - Largura inválida (400)")
+    public void testGetMediaInvalidWidth_400() throws Exception {
+        mockMvc.perform(get("/api/media/{serviceName}/{mediaId}", serviceName, mediaId).param("width", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A largura deve ser maior que zero."));
+
+        verifyNoInteractions(mediaService);
+    }
+}
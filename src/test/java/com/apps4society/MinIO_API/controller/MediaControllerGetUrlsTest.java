@@ -0,0 +1,44 @@
+package com.apps4society.MinIO_API.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class MediaControllerGetUrlsTest extends BaseMediaControllerTest {
+
+    @Test
+    @DisplayName("POST /api/media/{serviceName}/urls - Sucesso (200)")
+    public void testGetMediaUrls_200() throws Exception {
+        Map<Long, String> urls = new LinkedHashMap<>();
+        urls.put(1L, "http://localhost/media/file1.png");
+        urls.put(2L, "http://localhost/media/file2.png");
+        when(mediaService.getMediaUrls(serviceName, List.of(1L, 2L, 3L), null)).thenReturn(urls);
+
+        mockMvc.perform(post("/api/media/{serviceName}/urls", serviceName)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaIds\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value("http://localhost/media/file1.png"))
+                .andExpect(jsonPath("$.2").value("http://localhost/media/file2.png"))
+                .andExpect(jsonPath("$.3").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/media/{serviceName}/urls - Falha (400) - Lista vazia")
+    public void testGetMediaUrlsEmpty_400() throws Exception {
+        mockMvc.perform(post("/api/media/{serviceName}/urls", serviceName)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+}
@@ -1,5 +1,6 @@
 package com.apps4society.MinIO_API.controller;
 
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
 import com.apps4society.MinIO_API.service.MediaService;
 import org.junit.jupiter.api.DisplayName;
@@ -10,12 +11,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,7 +44,7 @@ public class MediaControllerListTest {
                 new MediaResponse(2L, serviceName, "file2.png", "http://localhost/media/file2.png")
         );
 
-        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy)).thenReturn(mediaList);
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, null, 100, false, null)).thenReturn(new MediaPage(mediaList, null));
 
         mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -56,7 +60,7 @@ public class MediaControllerListTest {
     @Test
     @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy} - Nenhuma mídia encontrada (200, lista vazia)")
     public void testListMediaByUploadedBy_NoContent() throws Exception {
-        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy)).thenReturn(List.of());
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, null, 100, false, null)).thenReturn(new MediaPage(List.of(), null));
 
         mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -68,11 +72,78 @@ public class MediaControllerListTest {
     @Test
     @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy} - Erro no serviço (500)")
     public void testListMediaByUploadedBy_ServiceError() throws Exception {
-        when(mediaService.listMediaByUploadedBy(anyString(), anyLong()))
+        when(mediaService.listMediaByUploadedBy(anyString(), anyLong(), any(), anyInt(), anyBoolean(), any()))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy}?includeUrls=true - URLs preenchidas (200)")
+    public void testListMediaByUploadedBy_IncludeUrls() throws Exception {
+        List<MediaResponse> mediaList = List.of(
+                new MediaResponse(1L, serviceName, "file1.png", "http://localhost/media/file1.png?X-Amz-Signature=abc")
+        );
+
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, null, 100, true, null)).thenReturn(new MediaPage(mediaList, null));
+
+        mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
+                        .param("includeUrls", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].url").value("http://localhost/media/file1.png?X-Amz-Signature=abc"));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy}?afterId&limit - Próxima página no cabeçalho (200)")
+    public void testListMediaByUploadedBy_NextCursorHeader() throws Exception {
+        List<MediaResponse> mediaList = List.of(
+                new MediaResponse(11L, serviceName, "file11.png", null),
+                new MediaResponse(12L, serviceName, "file12.png", null)
+        );
+
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, 10L, 2, false, null)).thenReturn(new MediaPage(mediaList, 12L));
+
+        mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
+                        .param("afterId", "10")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "12"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy}?limit - Limite acima do máximo é reduzido (200)")
+    public void testListMediaByUploadedBy_LimitCapped() throws Exception {
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, null, 1000, false, null)).thenReturn(new MediaPage(List.of(), null));
+
+        mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
+                        .param("limit", "50000"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy}/stream - NDJSON (200)")
+    @SuppressWarnings("unchecked")
+    public void testStreamMediaByUploadedBy_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<MediaResponse> consumer = invocation.getArgument(2);
+            consumer.accept(new MediaResponse(1L, serviceName, "file1.png", null));
+            consumer.accept(new MediaResponse(2L, serviceName, "file2.png", null));
+            return null;
+        }).when(mediaService).streamMediaByUploadedBy(eq(serviceName), eq(uploadedBy), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/media/lists/{serviceName}/{uploadedBy}/stream", serviceName, uploadedBy))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"entityId\":1,\"serviceName\":\"educAPI\",\"fileName\":\"file1.png\"}\n" +
+                        "{\"entityId\":2,\"serviceName\":\"educAPI\",\"fileName\":\"file2.png\"}\n"));
+    }
 }
@@ -0,0 +1,80 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class MediaControllerPresignedUploadTest extends BaseMediaControllerTest {
+
+    private final String uploadUrl = "http://localhost:9000/test-bucket/educAPI/test.png?X-Amz-Signature=abc";
+
+    @Test
+    @DisplayName("POST /api/media/presigned - Sucesso (201)")
+    public void testReservePresignedUpload_201() throws Exception {
+        when(mediaService.reservePresignedUpload(any(PresignedUploadRequest.class)))
+                .thenReturn(new PresignedUploadResponse(mediaId, serviceName, fileName, uploadUrl, Instant.now()));
+
+        mockMvc.perform(post("/api/media/presigned")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + ",\"fileName\":\"" + fileName + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.entityId").value(mediaId))
+                .andExpect(jsonPath("$.uploadUrl").value(uploadUrl));
+
+        verify(mediaService).reservePresignedUpload(new PresignedUploadRequest(serviceName, uploadedBy, fileName));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/presigned - Falha (400) - Sem nome de arquivo")
+    public void testReservePresignedUploadMissingFileName_400() throws Exception {
+        mockMvc.perform(post("/api/media/presigned")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + "}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/{serviceName}/{mediaId}/confirm - Sucesso (200)")
+    public void testConfirmPresignedUpload_200() throws Exception {
+        when(mediaService.confirmPresignedUpload(serviceName, mediaId)).thenReturn(createMediaResponse());
+
+        mockMvc.perform(post("/api/media/{serviceName}/{mediaId}/confirm", serviceName, mediaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entityId").value(mediaId))
+                .andExpect(jsonPath("$.fileName").value(fileName));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/{serviceName}/{mediaId}/confirm - Falha (400) - Arquivo ainda não enviado")
+    public void testConfirmPresignedUploadObjectMissing_400() throws Exception {
+        when(mediaService.confirmPresignedUpload(serviceName, mediaId))
+                .thenThrow(new InvalidFileException("O arquivo '" + fileName + "' ainda não foi enviado ao armazenamento."));
+
+        mockMvc.perform(post("/api/media/{serviceName}/{mediaId}/confirm", serviceName, mediaId))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/media/{serviceName}/{mediaId}/confirm - Falha (404) - Reserva inexistente")
+    public void testConfirmPresignedUploadNotFound_404() throws Exception {
+        when(mediaService.confirmPresignedUpload(serviceName, mediaId))
+                .thenThrow(new MediaNotFoundException("Reserva de upload não encontrada ou já confirmada."));
+
+        mockMvc.perform(post("/api/media/{serviceName}/{mediaId}/confirm", serviceName, mediaId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Reserva de upload não encontrada ou já confirmada."));
+    }
+}
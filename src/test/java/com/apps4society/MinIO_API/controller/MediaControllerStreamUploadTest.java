@@ -0,0 +1,131 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "app.upload.stream.max-file-size=1KB")
+public class MediaControllerStreamUploadTest extends BaseMediaControllerTest {
+
+    private static final String BOUNDARY = "streamBoundary";
+
+    private String mediaRequestPart(String json) {
+        return "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"mediaRequest\"\r\n" +
+                "Content-Type: application/json\r\n\r\n" +
+                json + "\r\n";
+    }
+
+    private String filePart() {
+        return "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: " + fileType + "\r\n\r\n" +
+                "dummyContent\r\n";
+    }
+
+    private String videoPart(int size) {
+        return "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"video.mp4\"\r\n" +
+                "Content-Type: video/mp4\r\n\r\n" +
+                "x".repeat(size) + "\r\n";
+    }
+
+    private byte[] body(String... parts) {
+        return (String.join("", parts) + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/stream - Sucesso (201)")
+    public void testUploadFileStreamSuccess_201() throws Exception {
+        when(mediaService.uploadMediaStream(any(MediaRequest.class), eq(fileName), eq(fileType), any(InputStream.class)))
+                .thenReturn(createMediaResponse());
+
+        String json = "{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + "}";
+
+        mockMvc.perform(post("/api/media/stream")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body(mediaRequestPart(json), filePart())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.entityId").value(100))
+                .andExpect(jsonPath("$.fileName").value(fileName));
+
+        verify(mediaService, times(1)).uploadMediaStream(eq(createMediaRequest()), eq(fileName), eq(fileType), any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/stream - Falha (400) - Arquivo antes do 'mediaRequest'")
+    public void testUploadFileStreamFileBeforeRequest_400() throws Exception {
+        String json = "{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + "}";
+
+        mockMvc.perform(post("/api/media/stream")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body(filePart(), mediaRequestPart(json))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A parte 'mediaRequest' deve ser enviada antes da parte 'file'."));
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/stream - Falha (400) - 'mediaRequest' inválido")
+    public void testUploadFileStreamInvalidRequest_400() throws Exception {
+        String json = "{\"serviceName\":\"\",\"uploadedBy\":" + uploadedBy + "}";
+
+        mockMvc.perform(post("/api/media/stream")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body(mediaRequestPart(json), filePart())))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/stream - Falha (400) - Sem Arquivo")
+    public void testUploadFileStreamMissingFile_400() throws Exception {
+        String json = "{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + "}";
+
+        mockMvc.perform(post("/api/media/stream")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body(mediaRequestPart(json))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/stream - Falha (413) - Vídeo acima do limite no upload multipart")
+    public void testUploadFileStreamOversizedVideo_413() throws Exception {
+        // Como o serviço real: o vídeo de tamanho desconhecido vai pelo upload multipart, que embrulha o erro de
+        // leitura, e o serviço embrulha de novo.
+        when(mediaService.uploadMediaStream(any(MediaRequest.class), eq("video.mp4"), eq("video/mp4"), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    try {
+                        invocation.getArgument(3, InputStream.class).readAllBytes();
+                    } catch (IOException e) {
+                        throw new FileStorageException("Erro ao salvar mídia no armazenamento.",
+                                new FileStorageException("Erro no upload multipart para o armazenamento.", e));
+                    }
+                    return createMediaResponse();
+                });
+
+        String json = "{\"serviceName\":\"" + serviceName + "\",\"uploadedBy\":" + uploadedBy + "}";
+
+        mockMvc.perform(post("/api/media/stream")
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body(mediaRequestPart(json), videoPart(2048))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+}
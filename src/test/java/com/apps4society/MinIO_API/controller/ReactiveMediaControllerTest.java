@@ -0,0 +1,173 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.service.ReactiveMediaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = ReactiveMediaController.class, excludeAutoConfiguration = ReactiveSecurityAutoConfiguration.class,
+        properties = {"spring.servlet.multipart.max-file-size=1KB", "app.upload.stream.max-file-size=1MB"})
+class ReactiveMediaControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveMediaService mediaService;
+
+    private final String serviceName = "educAPI";
+    private final Long uploadedBy = 1L;
+    private final String fileName = "test.png";
+    private final String json = "{\"serviceName\":\"educAPI\",\"uploadedBy\":1}";
+
+    private MediaResponse createMediaResponse() {
+        return new MediaResponse(100L, serviceName, fileName, null);
+    }
+
+    @Test
+    @DisplayName("POST /api/media - Sucesso (201) com o arquivo em streaming")
+    void testUploadFileSuccess_201() {
+        when(mediaService.uploadMedia(eq(new MediaRequest(serviceName, uploadedBy)), eq(fileName), eq("image/png"), any()))
+                .thenAnswer(invocation -> invocation.<Flux<DataBuffer>>getArgument(3)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.just(createMediaResponse())));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("mediaRequest", json, MediaType.APPLICATION_JSON);
+        body.part("file", "dummyContent".getBytes(), MediaType.IMAGE_PNG).filename(fileName);
+
+        webTestClient.post().uri("/api/media")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.entityId").isEqualTo(100)
+                .jsonPath("$.fileName").isEqualTo(fileName);
+    }
+
+    @Test
+    @DisplayName("POST /api/media - Falha (413) - Arquivo acima do limite do upload comum, aceito em /stream")
+    void testUploadFileTooLarge_413_acceptedByStream() {
+        when(mediaService.uploadMedia(eq(new MediaRequest(serviceName, uploadedBy)), eq(fileName), eq("image/png"), any()))
+                .thenAnswer(invocation -> invocation.<Flux<DataBuffer>>getArgument(3)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.just(createMediaResponse())));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("mediaRequest", json, MediaType.APPLICATION_JSON);
+        body.part("file", new byte[2048], MediaType.IMAGE_PNG).filename(fileName);
+
+        webTestClient.post().uri("/api/media")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isEqualTo(413);
+        webTestClient.post().uri("/api/media/stream")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    @DisplayName("POST /api/media - Falha (400) - Arquivo antes do 'mediaRequest'")
+    void testUploadFileBeforeRequest_400() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", "dummyContent".getBytes(), MediaType.IMAGE_PNG).filename(fileName);
+        body.part("mediaRequest", json, MediaType.APPLICATION_JSON);
+
+        webTestClient.post().uri("/api/media")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("A parte 'mediaRequest' deve ser enviada antes da parte 'file'.");
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("POST /api/media - Falha (400) - Sem Arquivo")
+    void testUploadMissingFile_400() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("mediaRequest", json, MediaType.APPLICATION_JSON);
+
+        webTestClient.post().uri("/api/media")
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy} - Sucesso (200) com cursor")
+    void testListMediaWithCursor_200() {
+        when(mediaService.listMediaByUploadedBy(serviceName, uploadedBy, null, 100, false, null))
+                .thenReturn(Mono.just(new MediaPage(List.of(createMediaResponse()), 100L)));
+
+        webTestClient.get().uri("/api/media/lists/{serviceName}/{uploadedBy}", serviceName, uploadedBy)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(MediaController.NEXT_CURSOR_HEADER, "100")
+                .expectBody()
+                .jsonPath("$[0].entityId").isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("GET /api/media/lists/{serviceName}/{uploadedBy}/stream - Sucesso (200) em NDJSON")
+    void testStreamMedia_200() {
+        MediaResponse second = new MediaResponse(101L, serviceName, "outro.png", null);
+        when(mediaService.streamMediaByUploadedBy(serviceName, uploadedBy)).thenReturn(Flux.just(createMediaResponse(), second));
+
+        webTestClient.get().uri("/api/media/lists/{serviceName}/{uploadedBy}/stream", serviceName, uploadedBy)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(MediaResponse.class).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/media/{serviceName}/{mediaId} - Falha (404)")
+    void testGetMediaNotFound_404() {
+        when(mediaService.getMediaUrl(serviceName, 100L, null)).thenReturn(Mono.error(new MediaNotFoundException("Mídia não encontrada ou inativa.")));
+
+        webTestClient.get().uri("/api/media/{serviceName}/{mediaId}", serviceName, 100L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Mídia não encontrada ou inativa.");
+    }
+
+    @Test
+    @DisplayName("DELETE /api/media/{serviceName}/{mediaId} - Sucesso (204)")
+    void testDisableMedia_204() {
+        when(mediaService.disableMedia(serviceName, 100L)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/media/{serviceName}/{mediaId}", serviceName, 100L)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(mediaService).disableMedia(serviceName, 100L);
+    }
+}
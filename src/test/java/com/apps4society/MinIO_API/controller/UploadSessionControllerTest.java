@@ -0,0 +1,140 @@
+package com.apps4society.MinIO_API.controller;
+
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.exceptions.UploadSessionNotFoundException;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionRequest;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadedPartResponse;
+import com.apps4society.MinIO_API.model.enums.UploadSessionStatus;
+import com.apps4society.MinIO_API.service.UploadSessionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadSessionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class UploadSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UploadSessionService uploadSessionService;
+
+    private final String serviceName = "educAPI";
+    private final Long sessionId = 7L;
+
+    private UploadSessionResponse sessionResponse(List<UploadedPartResponse> parts) {
+        return new UploadSessionResponse(sessionId, serviceName, "aula.mp4", UploadSessionStatus.OPEN, 5L * 1024 * 1024, parts, null);
+    }
+
+    @Test
+    @DisplayName("POST /api/media/uploads - Sucesso (201)")
+    public void testInitiate_201() throws Exception {
+        when(uploadSessionService.initiate(any(UploadSessionRequest.class))).thenReturn(sessionResponse(List.of()));
+
+        mockMvc.perform(post("/api/media/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"serviceName\":\"educAPI\",\"uploadedBy\":42,\"fileName\":\"aula.mp4\",\"contentType\":\"video/mp4\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.sessionId").value(sessionId))
+                .andExpect(jsonPath("$.partSize").value(5 * 1024 * 1024))
+                .andExpect(jsonPath("$.status").value("OPEN"));
+
+        verify(uploadSessionService).initiate(new UploadSessionRequest(serviceName, 42L, "aula.mp4", "video/mp4"));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/uploads - Falha (400) - Sem nome de arquivo")
+    public void testInitiateMissingFileName_400() throws Exception {
+        mockMvc.perform(post("/api/media/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"serviceName\":\"educAPI\",\"uploadedBy\":42}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(uploadSessionService);
+    }
+
+    @Test
+    @DisplayName("PUT /api/media/uploads/{sessionId}/parts/{partNumber} - Sucesso (200)")
+    public void testUploadPart_200() throws Exception {
+        when(uploadSessionService.uploadPart(eq(sessionId), eq(2), any(InputStream.class), eq(8L)))
+                .thenReturn(new UploadedPartResponse(2, 8L, "etag-2"));
+
+        mockMvc.perform(put("/api/media/uploads/{sessionId}/parts/{partNumber}", sessionId, 2)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("conteudo".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.partNumber").value(2))
+                .andExpect(jsonPath("$.etag").value("etag-2"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/media/uploads/{sessionId}/parts/{partNumber} - Falha (404) - Sessão inexistente")
+    public void testUploadPartSessionNotFound_404() throws Exception {
+        when(uploadSessionService.uploadPart(eq(sessionId), eq(1), any(InputStream.class), anyLong()))
+                .thenThrow(new UploadSessionNotFoundException("Sessão de upload não encontrada."));
+
+        mockMvc.perform(put("/api/media/uploads/{sessionId}/parts/{partNumber}", sessionId, 1)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("conteudo".getBytes()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Sessão de upload não encontrada."));
+    }
+
+    @Test
+    @DisplayName("GET /api/media/uploads/{sessionId} - Sucesso (200)")
+    public void testGetSession_200() throws Exception {
+        when(uploadSessionService.getSession(sessionId))
+                .thenReturn(sessionResponse(List.of(new UploadedPartResponse(1, 5L * 1024 * 1024, "etag-1"))));
+
+        mockMvc.perform(get("/api/media/uploads/{sessionId}", sessionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parts.length()").value(1))
+                .andExpect(jsonPath("$.parts[0].partNumber").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/uploads/{sessionId}/complete - Sucesso (201)")
+    public void testComplete_201() throws Exception {
+        when(uploadSessionService.complete(sessionId)).thenReturn(new MediaResponse(99L, serviceName, "aula.mp4", null));
+
+        mockMvc.perform(post("/api/media/uploads/{sessionId}/complete", sessionId))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.entityId").value(99));
+    }
+
+    @Test
+    @DisplayName("POST /api/media/uploads/{sessionId}/complete - Falha (400) - Parte faltando")
+    public void testCompleteMissingPart_400() throws Exception {
+        when(uploadSessionService.complete(sessionId)).thenThrow(new InvalidInputException("A parte 2 ainda não foi recebida."));
+
+        mockMvc.perform(post("/api/media/uploads/{sessionId}/complete", sessionId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A parte 2 ainda não foi recebida."));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/media/uploads/{sessionId} - Sucesso (204)")
+    public void testAbort_204() throws Exception {
+        mockMvc.perform(delete("/api/media/uploads/{sessionId}", sessionId))
+                .andExpect(status().isNoContent());
+
+        verify(uploadSessionService).abort(sessionId);
+    }
+}
@@ -116,7 +116,8 @@ public abstract class BaseMediaIntegrationTest {
 
     protected InputStream createImageFile() {
         logger.info("📸 Criando imagem de teste...");
-        byte[] fakeImage = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9};
+        // Cabeçalho JPEG (SOI + APP0): o tipo da mídia é detectado pelo conteúdo
+        byte[] fakeImage = new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0};
         return new ByteArrayInputStream(fakeImage);
     }
 
@@ -0,0 +1,160 @@
+package com.apps4society.MinIO_API.integration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências e erros de um teste de carga, separados por fase e por endpoint. As amostras ficam todas em memória
+ * (alguns milhares por fase), então os percentis são exatos.
+ */
+final class LoadReport {
+
+    private final String label;
+    private final List<Phase> phases = new ArrayList<>();
+
+    /**
+     * @param label Identifica a execução no CSV (ex.: as configurações de pool e cache testadas).
+     */
+    LoadReport(String label) {
+        this.label = label;
+    }
+
+    Phase start(String name) {
+        Phase phase = new Phase(name);
+        phases.add(phase);
+        return phase;
+    }
+
+    List<Phase> phases() {
+        return phases;
+    }
+
+    /**
+     * Tabela legível para o log.
+     */
+    String format() {
+        StringBuilder table = new StringBuilder(String.format("%n%-14s %-48s %8s %8s %8s %10s %9s %9s %9s %9s%n",
+                "fase", "endpoint", "reqs", "erros", "erro %", "req/s", "p50 ms", "p99 ms", "p999 ms", "máx ms"));
+        for (Phase phase : phases) {
+            for (Endpoint endpoint : phase.endpoints()) {
+                Summary s = endpoint.summarize(phase.elapsed());
+                table.append(String.format("%-14s %-48s %8d %8d %8.2f %10.1f %9.1f %9.1f %9.1f %9.1f%s%n",
+                        phase.name, endpoint.name, s.requests(), s.errors(), s.errorRate() * 100, s.throughput(),
+                        s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(),
+                        endpoint.errorCodes.isEmpty() ? "" : "  " + endpoint.errorCodes));
+            }
+        }
+        return table.toString();
+    }
+
+    /**
+     * Acrescenta uma linha por endpoint ao CSV, para comparar execuções com configurações diferentes.
+     */
+    void appendCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder();
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            csv.append("executado_em,rotulo,fase,endpoint,requisicoes,erros,taxa_erro,req_por_s,p50_ms,p99_ms,p999_ms,max_ms\n");
+        }
+        String now = LocalDateTime.now().withNano(0).toString();
+        for (Phase phase : phases) {
+            for (Endpoint endpoint : phase.endpoints()) {
+                Summary s = endpoint.summarize(phase.elapsed());
+                csv.append(String.format(Locale.ROOT, "%s,\"%s\",%s,\"%s\",%d,%d,%.4f,%.1f,%.2f,%.2f,%.2f,%.2f%n",
+                        now, label, phase.name, endpoint.name, s.requests(), s.errors(), s.errorRate(), s.throughput(),
+                        s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis()));
+            }
+        }
+        Files.writeString(file, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    static final class Phase {
+
+        private final String name;
+        private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+        private final long startedAt = System.nanoTime();
+        private volatile long finishedAt;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @param status Código HTTP, ou 0 quando a requisição nem chegou a ter resposta.
+         */
+        void record(String endpoint, long latencyNanos, int status, boolean success) {
+            endpoints.computeIfAbsent(endpoint, Endpoint::new).record(latencyNanos, status, success);
+        }
+
+        void finish() {
+            finishedAt = System.nanoTime();
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos((finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt);
+        }
+
+        String name() {
+            return name;
+        }
+
+        List<Endpoint> endpoints() {
+            return endpoints.values().stream().sorted(Comparator.comparing(endpoint -> endpoint.name)).toList();
+        }
+    }
+
+    static final class Endpoint {
+
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> errorCodes = new TreeMap<>();
+
+        private Endpoint(String name) {
+            this.name = name;
+        }
+
+        private synchronized void record(long latencyNanos, int status, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+                errorCodes.merge(status, 1, Integer::sum);
+            }
+        }
+
+        String name() {
+            return name;
+        }
+
+        synchronized Summary summarize(Duration elapsed) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            return new Summary(count, errors, count == 0 ? 0 : (double) errors / count, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // Método do posto mais próximo: o menor valor com ao menos a fração pedida das amostras abaixo ou igual.
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+
+    record Summary(int requests, int errors, double errorRate, double throughput,
+                   double p50Millis, double p99Millis, double p999Millis, double maxMillis) {}
+}
@@ -0,0 +1,154 @@
+package com.apps4society.MinIO_API.integration;
+
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede a vazão de inserção e de desativação de mídias em lote no MySQL, comparando com uma transação por mídia
+ * (o caminho das requisições individuais). Confere pelas estatísticas do Hibernate que os comandos saem agrupados
+ * em lotes de {@code hibernate.jdbc.batch_size}. O total vem de {@code -Dbenchmark.rows} (padrão 20000):
+ * {@code mvn verify -Pintegration-tests -Dit.test=MediaBatchWriteBenchmarkIT -Dbenchmark.rows=100000}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MediaBatchWriteBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaBatchWriteBenchmarkIT.class);
+
+    private static final String SERVICE_NAME = "educAPI";
+    private static final int JDBC_BATCH_SIZE = 50;
+    // Mídias por transação, como num upload em lote grande.
+    private static final int CHUNK = 500;
+    // O caminho de uma transação por mídia é lento demais para o total; uma amostra basta para a comparação.
+    private static final int SINGLE_ROWS = 2_000;
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysqlContainer.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.jdbc.batch_size", () -> String.valueOf(JDBC_BATCH_SIZE));
+        registry.add("spring.jpa.properties.hibernate.order_inserts", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.order_updates", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        mediaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void batchedWritesOutpaceOneTransactionPerMedia() {
+        int rows = Integer.getInteger("benchmark.rows", 20_000);
+
+        statistics.clear();
+        long start = System.nanoTime();
+        List<Long> ids = new ArrayList<>(rows);
+        for (int from = 0; from < rows; from += CHUNK) {
+            List<Media> chunk = newMedias("lote", from, Math.min(from + CHUNK, rows));
+            transactionTemplate.executeWithoutResult(status -> mediaRepository.saveAll(chunk));
+            chunk.forEach(media -> ids.add(media.getEntityId()));
+        }
+        double batchedInsert = perSecond(rows, start);
+        long insertStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (int from = 0; from < rows; from += CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK, rows));
+            transactionTemplate.executeWithoutResult(status ->
+                    mediaRepository.findAllById(chunk).forEach(Media::disable));
+        }
+        double batchedDisable = perSecond(rows, start);
+        long disableStatements = statistics.getPrepareStatementCount();
+
+        start = System.nanoTime();
+        List<Media> singles = newMedias("individual", 0, SINGLE_ROWS);
+        singles.forEach(media -> transactionTemplate.executeWithoutResult(status -> mediaRepository.save(media)));
+        double singleInsert = perSecond(SINGLE_ROWS, start);
+
+        start = System.nanoTime();
+        singles.forEach(media -> transactionTemplate.executeWithoutResult(status ->
+                mediaRepository.findById(media.getEntityId()).ifPresent(Media::disable)));
+        double singleDisable = perSecond(SINGLE_ROWS, start);
+
+        logger.info(String.format("%12s | %16s | %16s", "operação", "lote (linhas/s)", "individual (linhas/s)"));
+        logger.info(String.format("%12s | %16.0f | %16.0f", "inserção", batchedInsert, singleInsert));
+        logger.info(String.format("%12s | %16.0f | %16.0f", "desativação", batchedDisable, singleDisable));
+        logger.info("Comandos preparados para {} linhas | inserção: {} | desativação: {}", rows, insertStatements, disableStatements);
+
+        assertEquals(rows, mediaRepository.count() - SINGLE_ROWS);
+        assertTrue(mediaRepository.findAllById(ids.subList(0, CHUNK)).stream().noneMatch(Media::isActive));
+        // Um comando por lote de INSERTs, mais as idas à tabela da sequência (uma a cada bloco de IDs).
+        long maxInserts = (long) Math.ceil((double) rows / JDBC_BATCH_SIZE) + (rows / Media.ID_ALLOCATION_SIZE + 1) * 2L;
+        assertTrue(insertStatements <= maxInserts, "Inserções não agrupadas: " + insertStatements + " comandos para " + rows + " linhas.");
+        // Um SELECT por transação mais um comando por lote de UPDATEs.
+        long maxUpdates = (long) Math.ceil((double) rows / CHUNK) + (long) Math.ceil((double) rows / JDBC_BATCH_SIZE);
+        assertTrue(disableStatements <= maxUpdates, "Desativações não agrupadas: " + disableStatements + " comandos para " + rows + " linhas.");
+        assertTrue(batchedInsert > singleInsert, "A inserção em lote deveria superar a individual.");
+        assertTrue(batchedDisable > singleDisable, "A desativação em lote deveria superar a individual.");
+    }
+
+    private static List<Media> newMedias(String prefix, int from, int to) {
+        List<Media> medias = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            medias.add(new Media((long) (i % 1_000), prefix + "-" + i + ".jpg", SERVICE_NAME, MediaType.IMAGE));
+        }
+        return medias;
+    }
+
+    private static double perSecond(int rows, long startNanos) {
+        return rows * 1e9 / (System.nanoTime() - startNanos);
+    }
+}
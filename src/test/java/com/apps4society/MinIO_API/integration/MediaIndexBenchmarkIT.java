@@ -0,0 +1,160 @@
+package com.apps4society.MinIO_API.integration;
+
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede a latência das consultas do {@code MediaRepository} enquanto a tabela cresce, conferindo pelo EXPLAIN
+ * que cada uma usa índice. Os tamanhos vêm de {@code -Dbenchmark.sizes} (padrão 10000,100000,1000000); para
+ * dezenas de milhões de linhas, por exemplo: {@code mvn verify -Pintegration-tests -Dit.test=MediaIndexBenchmarkIT
+ * -Dbenchmark.sizes=100000,1000000,10000000,30000000}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MediaIndexBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaIndexBenchmarkIT.class);
+
+    private static final String SERVICE_NAME = "educAPI";
+    private static final int UPLOADERS = 1_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int SAMPLES = 500;
+    private static final int PAGE_SIZE = 100;
+    // Com índice a latência cresce com log(n); uma varredura completa cresceria 1000x entre 10 mil e 10 milhões.
+    private static final double MAX_GROWTH = 5.0;
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysqlContainer.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lookupLatencyStaysFlatAsTableGrows() {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim).mapToLong(Long::parseLong).sorted().toArray();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        long rows = 0;
+        for (long size : sizes) {
+            insertRows(rows, size);
+            rows = size;
+            jdbcTemplate.execute("ANALYZE TABLE media");
+            assertIndexed("SELECT COUNT(*) FROM media WHERE file_name = 'arquivo-1.jpg' AND service_name = '"
+                    + SERVICE_NAME + "'", "uk_media_service_file");
+            assertIndexed("SELECT * FROM media WHERE service_name = '" + SERVICE_NAME + "' AND uploaded_by_id = 1"
+                    + " AND active = true AND entity_id > 0 ORDER BY entity_id LIMIT " + (PAGE_SIZE + 1),
+                    "idx_media_service_uploader");
+            results.add(measure(rows));
+        }
+
+        logger.info(String.format("%12s | %12s | %12s | %12s", "linhas", "exists (us)", "por ID (us)", "página (us)"));
+        for (Map<String, Object> result : results) {
+            logger.info(String.format("%12d | %12d | %12d | %12d", result.get("rows"),
+                    result.get("exists"), result.get("byId"), result.get("page")));
+        }
+
+        Map<String, Object> smallest = results.get(0);
+        Map<String, Object> largest = results.get(results.size() - 1);
+        for (String query : List.of("exists", "byId", "page")) {
+            long baseline = Math.max((long) smallest.get(query), 50);
+            long latest = (long) largest.get(query);
+            assertTrue(latest <= baseline * MAX_GROWTH, "Latência de '" + query + "' cresceu de " + baseline
+                    + "us para " + latest + "us entre " + smallest.get("rows") + " e " + largest.get("rows") + " linhas.");
+        }
+    }
+
+    private void assertIndexed(String sql, String expectedIndex) {
+        Map<String, Object> plan = jdbcTemplate.queryForList("EXPLAIN " + sql).get(0);
+        assertNotEquals("ALL", plan.get("type"), "Consulta fazendo varredura completa: " + sql);
+        assertEquals(expectedIndex, plan.get("key"), "Índice inesperado para: " + sql);
+    }
+
+    private void insertRows(long from, long to) {
+        String sql = "INSERT INTO media (entity_id, service_name, media_type, file_name, uploaded_by_id, active, pending)"
+                + " VALUES (?, ?, 'IMAGE', ?, ?, ?, false)";
+        for (long start = from; start < to; start += INSERT_BATCH) {
+            long end = Math.min(start + INSERT_BATCH, to);
+            List<Object[]> batch = new ArrayList<>((int) (end - start));
+            for (long i = start; i < end; i++) {
+                batch.add(new Object[]{i + 1, SERVICE_NAME, "arquivo-" + i + ".jpg", i % UPLOADERS, i % 10 != 0});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        logger.info("Tabela media com {} linhas.", to);
+    }
+
+    private Map<String, Object> measure(long rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long exists = median(() -> timed(() -> mediaRepository.existsByFileNameAndServiceName(
+                "arquivo-" + random.nextLong(rows) + ".jpg", SERVICE_NAME)));
+        long byId = median(() -> timed(() -> mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(
+                random.nextLong(1, rows + 1), SERVICE_NAME)));
+        long page = median(() -> timed(() -> mediaRepository
+                .findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(
+                        SERVICE_NAME, random.nextLong(UPLOADERS), random.nextLong(rows), Limit.of(PAGE_SIZE + 1))));
+        return Map.of("rows", rows, "exists", exists, "byId", byId, "page", page);
+    }
+
+    private static long timed(Runnable query) {
+        long start = System.nanoTime();
+        query.run();
+        return (System.nanoTime() - start) / 1_000;
+    }
+
+    /**
+     * Aquece as consultas e devolve a mediana, menos sensível a pausas do GC que a média.
+     */
+    private static long median(LongSupplier sample) {
+        for (int i = 0; i < SAMPLES / 5; i++) {
+            sample.getAsLong();
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = sample.getAsLong();
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
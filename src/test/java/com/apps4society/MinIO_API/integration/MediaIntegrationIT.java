@@ -308,19 +308,19 @@ public class MediaIntegrationIT {
     void testUploadMedia_UnsupportedMediaType_ShouldReturn406() {
         MediaRequest mediaRequest = new MediaRequest(SERVICE_NAME, UPLOADED_BY);
         String mediaRequestJson = serializeToJson(mediaRequest);
-        byte[] fileBytes = readFile(TEST_IMAGE_NAME);
+        // O tipo é detectado pelo conteúdo: um XML com nome de imagem continua sendo recusado
+        byte[] fileBytes = "<?xml version=\"1.0\"?><midia/>".getBytes();
 
-        // Simulando uma exceção UnsupportedMediaTypeException
         given()
                 .contentType("multipart/form-data")
                 .header("api-key", API_KEY)
                 .multiPart("mediaRequest", "mediaRequest.json", mediaRequestJson.getBytes(), "application/json")
-                .multiPart("file", TEST_IMAGE_NAME, fileBytes, "application/xml") // Envia um tipo de mídia inválido
+                .multiPart("file", TEST_IMAGE_NAME, fileBytes, "image/jpeg")
                 .when()
                 .post("/api/media")
                 .then()
                 .statusCode(HttpStatus.NOT_ACCEPTABLE.value()) // Verifica se o status é 406
-                .body("message", containsString("Unsupported Media Type"));
+                .body("message", containsString("não corresponde a nenhum tipo de mídia suportado"));
     }
 
     @Test
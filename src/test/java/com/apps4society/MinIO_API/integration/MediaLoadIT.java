@@ -0,0 +1,222 @@
+package com.apps4society.MinIO_API.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reproduz a mistura de tráfego de produção contra MySQL e MinIO reais (os containers do
+ * {@link BaseMediaIntegrationTest}): rajada de uploads, listagem de galerias, tempestade de pedidos de URL, uma fase
+ * mista com os três pesos de produção e uma onda de desativações. Cada fase roda em malha fechada com
+ * {@code load.concurrency} usuários simultâneos e o relatório traz vazão, p50/p99/p999 e taxa de erro por endpoint,
+ * no log e acrescentado a {@code load.report} (CSV), para comparar execuções.
+ * <p>
+ * As configurações da aplicação podem ser trocadas pela linha de comando para medir seu efeito, por exemplo:
+ * {@code mvn verify -Denv=integration -Dit.test=MediaLoadIT -Dload.label=sem-cache -Dminio.url-cache.max-entries=0}.
+ * Tamanhos das fases: {@code load.uploads}, {@code load.gallery.requests}, {@code load.url.requests},
+ * {@code load.mixed.duration} (0 pula a fase), {@code load.mixed.weights} (upload:galeria:url) e {@code load.disables}.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.io.minio=INFO",
+        "logging.level.com.apps4society.MinIO_API=WARN"
+})
+class MediaLoadIT extends BaseMediaIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaLoadIT.class);
+
+    private static final String UPLOAD = "POST /api/media";
+    private static final String GALLERY = "GET /api/media/lists/{serviceName}/{uploadedBy}";
+    private static final String URL = "GET /api/media/{serviceName}/{mediaId}";
+    private static final String DISABLE = "DELETE /api/media/{serviceName}/{mediaId}";
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int UPLOADS = Integer.getInteger("load.uploads", 300);
+    private static final int UPLOAD_SIZE_KB = Integer.getInteger("load.upload.size-kb", 64);
+    private static final int UPLOADERS = Integer.getInteger("load.uploaders", 10);
+    private static final int GALLERY_REQUESTS = Integer.getInteger("load.gallery.requests", 1000);
+    private static final int GALLERY_PAGE_SIZE = Integer.getInteger("load.gallery.page-size", 50);
+    private static final int URL_REQUESTS = Integer.getInteger("load.url.requests", 5000);
+    private static final Duration MIXED_DURATION = Duration.ofSeconds(Long.getLong("load.mixed.duration", 20));
+    private static final String MIXED_WEIGHTS = System.getProperty("load.mixed.weights", "5:25:70");
+    private static final int DISABLES = Integer.getInteger("load.disables", 100);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-report.csv"));
+
+    private static final byte[] JPEG_HEADER = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0};
+
+    private record Call(String endpoint, HttpRequest request, int expectedStatus, Consumer<String> onSuccess) {}
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    // Mídias ativas enviadas pelo teste, compartilhadas pelas fases.
+    private final List<Long> mediaIds = new CopyOnWriteArrayList<>();
+
+    @Test
+    void productionMix() throws Exception {
+        String label = System.getProperty("load.label", "concorrencia=" + CONCURRENCY + " upload=" + UPLOAD_SIZE_KB + "KB");
+        LoadReport report = new LoadReport(label);
+
+        run(report.start("upload-burst"), UPLOADS, null, this::upload);
+        assertFalse(mediaIds.isEmpty(), "Nenhum upload concluído; não há mídias para as outras fases.");
+
+        run(report.start("galeria"), GALLERY_REQUESTS, null, this::gallery);
+        run(report.start("urls"), URL_REQUESTS, null, this::url);
+
+        if (!MIXED_DURATION.isZero()) {
+            List<Supplier<Call>> mix = weightedMix();
+            run(report.start("mista"), Integer.MAX_VALUE, MIXED_DURATION,
+                    () -> mix.get(ThreadLocalRandom.current().nextInt(mix.size())).get());
+        }
+
+        // Cada desativação leva uma mídia diferente; a fila impede duas sobre a mesma.
+        Queue<Long> toDisable = new ConcurrentLinkedQueue<>(mediaIds.subList(0, Math.min(DISABLES, mediaIds.size())));
+        run(report.start("desativacao"), toDisable.size(), null, () -> disable(toDisable.remove()));
+
+        logger.info("Relatório de carga [{}]:{}", label, report.format());
+        report.appendCsv(REPORT);
+        logger.info("Resultados acrescentados a {}", REPORT.toAbsolutePath());
+
+        for (LoadReport.Phase phase : report.phases()) {
+            for (LoadReport.Endpoint endpoint : phase.endpoints()) {
+                LoadReport.Summary summary = endpoint.summarize(phase.elapsed());
+                assertTrue(summary.errorRate() <= MAX_ERROR_RATE, String.format("Fase '%s', %s: %.2f%% de erros (limite %.2f%%).",
+                        phase.name(), endpoint.name(), summary.errorRate() * 100, MAX_ERROR_RATE * 100));
+            }
+        }
+    }
+
+    /**
+     * Executa a fase em malha fechada: cada usuário só envia a próxima requisição depois da resposta da anterior.
+     * A fase termina após {@code requests} requisições ou ao fim de {@code duration}, o que vier primeiro.
+     */
+    private void run(LoadReport.Phase phase, int requests, Duration duration, Supplier<Call> next) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        long deadline = duration == null ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                users.execute(() -> {
+                    while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                        send(phase, next.get());
+                    }
+                });
+            }
+        } finally {
+            users.shutdown();
+            assertTrue(users.awaitTermination(30, TimeUnit.MINUTES), "Fase '" + phase.name() + "' não terminou.");
+            phase.finish();
+        }
+        logger.info("Fase '{}' concluída em {} ms", phase.name(), phase.elapsed().toMillis());
+    }
+
+    private void send(LoadReport.Phase phase, Call call) {
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<String> response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if (status == call.expectedStatus() && call.onSuccess() != null) {
+                call.onSuccess().accept(response.body());
+            }
+        } catch (IOException e) {
+            logger.debug("Falha de E/S em {}", call.endpoint(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            phase.record(call.endpoint(), System.nanoTime() - start, status, status == call.expectedStatus());
+        }
+    }
+
+    private List<Supplier<Call>> weightedMix() {
+        int[] weights = Arrays.stream(MIXED_WEIGHTS.split(":")).mapToInt(w -> Integer.parseInt(w.trim())).toArray();
+        assertEquals(3, weights.length, "load.mixed.weights deve ter o formato upload:galeria:url.");
+        List<Supplier<Call>> mix = new ArrayList<>();
+        mix.addAll(Collections.nCopies(weights[0], this::upload));
+        mix.addAll(Collections.nCopies(weights[1], this::gallery));
+        mix.addAll(Collections.nCopies(weights[2], this::url));
+        return mix;
+    }
+
+    private Call upload() {
+        String boundary = "carga-" + UUID.randomUUID();
+        long uploadedBy = ThreadLocalRandom.current().nextLong(1, UPLOADERS + 1);
+        String fileName = "carga-" + UUID.randomUUID() + ".jpg";
+        byte[] content = new byte[UPLOAD_SIZE_KB * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        System.arraycopy(JPEG_HEADER, 0, content, 0, JPEG_HEADER.length);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 512);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"mediaRequest\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + "{\"serviceName\":\"" + SERVICE_NAME + "\",\"uploadedBy\":" + uploadedBy + "}\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = request("/api/media")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return new Call(UPLOAD, request, 201, response -> mediaIds.add(readEntityId(response)));
+    }
+
+    private Call gallery() {
+        long uploadedBy = ThreadLocalRandom.current().nextLong(1, UPLOADERS + 1);
+        HttpRequest request = request("/api/media/lists/" + SERVICE_NAME + "/" + uploadedBy
+                + "?includeUrls=true&limit=" + GALLERY_PAGE_SIZE).GET().build();
+        return new Call(GALLERY, request, 200, null);
+    }
+
+    private Call url() {
+        Long mediaId = mediaIds.get(ThreadLocalRandom.current().nextInt(mediaIds.size()));
+        return new Call(URL, request("/api/media/" + SERVICE_NAME + "/" + mediaId).GET().build(), 200, null);
+    }
+
+    private Call disable(Long mediaId) {
+        // Some da lista antes de enviar, para que nenhuma outra fase peça a URL de uma mídia desativada.
+        mediaIds.remove(mediaId);
+        return new Call(DISABLE, request("/api/media/" + SERVICE_NAME + "/" + mediaId).DELETE().build(), 204, null);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("api-key", API_KEY)
+                .timeout(Duration.ofSeconds(60));
+    }
+
+    private Long readEntityId(String body) {
+        try {
+            JsonNode media = objectMapper.readTree(body);
+            return media.get("entityId").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Resposta de upload inválida: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.apps4society.MinIO_API.integration;
+
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mostra o ganho do modo de threads virtuais: cada requisição ao download via API fica {@code MINIO_LATENCY}
+ * bloqueada no {@code statObject}, que vai de fato pela rede, pelo dispatcher e pelo pool do OkHttp até um MinIO
+ * simulado ({@link MockWebServer}); com o pool padrão de 200 threads do Tomcat, no máximo 200 delas ficariam em
+ * andamento ao mesmo tempo. O teste confere o pico de chamadas simultâneas que chegam ao servidor; o tempo total é só
+ * registrado, porque depende dos núcleos disponíveis (com poucos, o custo de CPU por requisição domina). Roda só com
+ * H2, sem Docker: {@code mvn verify -Pintegration-tests -Dit.test=VirtualThreadLoadIT -Dload.concurrency=2000}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.media.proxy.enabled=true",
+        "logging.level.io.minio=INFO"
+})
+@ActiveProfiles("test")
+class VirtualThreadLoadIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadIT.class);
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final int WARMUP_REQUESTS = 200;
+    private static final Duration MINIO_LATENCY = Duration.ofMillis(500);
+    private static final byte[] CONTENT = "conteudo da foto".getBytes(StandardCharsets.UTF_8);
+
+    private static final SlowMinio minio = new SlowMinio();
+    private static MockWebServer server;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @DynamicPropertySource
+    static void minioProperties(DynamicPropertyRegistry registry) throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(minio);
+        server.start();
+        registry.add("minio.url", () -> "http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void concurrentRequestsScaleBeyondTomcatDefaultThreads() throws Exception {
+        Media media = mediaRepository.save(new Media(1L, "foto.png", "educAPI", MediaType.IMAGE));
+
+        URI uri = URI.create("http://localhost:" + port + "/api/media/educAPI/" + media.getEntityId() + "/content");
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clientThreads).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).header("api-key", "123").timeout(Duration.ofSeconds(60)).GET().build();
+
+            // Aquece o JIT e as conexões para medir só a concorrência.
+            List<CompletableFuture<HttpResponse<Void>>> warmup = new ArrayList<>();
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                warmup.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(warmup.toArray(CompletableFuture[]::new)).join();
+            minio.peak.set(0);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            long ok = responses.stream().filter(r -> r.join().statusCode() == 200).count();
+            Duration platformEstimate = MINIO_LATENCY.multipliedBy((CONCURRENCY + TOMCAT_DEFAULT_MAX_THREADS - 1) / TOMCAT_DEFAULT_MAX_THREADS);
+            logger.info("{} requisições em {} ms | {} com sucesso | pico de {} statObject simultâneos no MinIO | "
+                            + "com 200 threads de plataforma levaria ao menos {} ms",
+                    CONCURRENCY, elapsed.toMillis(), ok, minio.peak.get(), platformEstimate.toMillis());
+
+            assertEquals(CONCURRENCY, ok);
+            assertTrue(minio.peak.get() > TOMCAT_DEFAULT_MAX_THREADS,
+                    "Pico de " + minio.peak.get() + " chamadas simultâneas ao MinIO não passou das " + TOMCAT_DEFAULT_MAX_THREADS + " threads do Tomcat.");
+        }
+    }
+
+    /**
+     * MinIO simulado: o HEAD do {@code statObject} demora {@code MINIO_LATENCY} e conta quantos estão em andamento;
+     * o GET do conteúdo responde na hora.
+     */
+    private static final class SlowMinio extends Dispatcher {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            String path = request.getPath();
+            if (path != null && path.contains("location")) {
+                return new MockResponse().setBody("<LocationConstraint xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">us-east-1</LocationConstraint>");
+            }
+            MockResponse response = new MockResponse()
+                    .setHeader("ETag", "\"etag-foto\"")
+                    .setHeader("Content-Type", "image/png")
+                    .setHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+            if ("HEAD".equals(request.getMethod())) {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(MINIO_LATENCY);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return response.setHeader("Content-Length", CONTENT.length);
+            }
+            return response.setBody(new Buffer().write(CONTENT));
+        }
+    }
+}
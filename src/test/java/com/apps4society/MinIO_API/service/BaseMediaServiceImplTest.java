@@ -1,16 +1,28 @@
 package com.apps4society.MinIO_API.service;
 
 import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.config.MinioProperties;
 import com.apps4society.MinIO_API.mapper.MediaMapper;
 import com.apps4society.MinIO_API.model.entity.Media;
 import com.apps4society.MinIO_API.model.enums.MediaType;
 import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.storage.MediaObjectCache;
+import com.apps4society.MinIO_API.storage.MinioMetrics;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.minio.MinioClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.HexFormat;
 
 import static org.mockito.Mockito.when;
 
@@ -29,6 +41,26 @@ public abstract class BaseMediaServiceImplTest {
     @Mock
     protected MinioConfig minioConfig;
 
+    @Mock
+    protected MultipartUploadEngine multipartUploadEngine;
+
+    @Mock
+    protected StorageOutbox storageOutbox;
+
+    @Mock
+    protected MediaObjectCache mediaObjectCache;
+
+    @Mock
+    protected ThumbnailPipeline thumbnailPipeline;
+
+    @Mock
+    protected ContentAddressedStore contentStore;
+
+    @Mock
+    protected PlatformTransactionManager transactionManager;
+
+    protected PresignedUrlCache presignedUrlCache;
+
     // Service under test
     protected MediaServiceImpl mediaService;
 
@@ -37,6 +69,15 @@ public abstract class BaseMediaServiceImplTest {
     protected MockMultipartFile emptyFile;
     protected MockMultipartFile fileWithoutName;
 
+    // Início de arquivos reais: o tipo da mídia é detectado pelo conteúdo
+    protected static final byte[] PNG_CONTENT = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+    protected static final byte[] MP3_CONTENT = {'I', 'D', '3', 4, 0, 0, 0, 0, 0, 0};
+    protected static final byte[] MP4_CONTENT = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'm', 'p', '4', '2'};
+
+    protected static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
     // Reusable Media entity
     protected final String serviceName = "educAPI";
     protected final Long mediaId = 1L;
@@ -51,12 +92,18 @@ public abstract class BaseMediaServiceImplTest {
         when(minioConfig.getBucketName()).thenReturn("test-bucket");
 
         // Instantiate the service under test
-        mediaService = new MediaServiceImpl(mediaRepository, mediaMapper, minioClient, minioConfig);
+        presignedUrlCache = new PresignedUrlCache(100, 0.5, Clock.systemUTC());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        MediaPersistence mediaPersistence = new MediaPersistence(mediaRepository, storageOutbox, contentStore, presignedUrlCache,
+                mediaObjectCache, thumbnailPipeline, transactionTemplate);
+        mediaService = new MediaServiceImpl(mediaRepository, mediaMapper, minioClient, minioConfig,
+                new MinioMetrics(new SimpleMeterRegistry(), new MinioProperties(), "miniaturas/", "blobs/"), multipartUploadEngine, presignedUrlCache,
+                storageOutbox, mediaObjectCache, thumbnailPipeline, contentStore, mediaPersistence, transactionTemplate, Runnable::run);
 
         // Initialize test files
-        validFile = new MockMultipartFile("file", "updated-image.png", "image/png", "dummy".getBytes());
+        validFile = new MockMultipartFile("file", "updated-image.png", "image/png", PNG_CONTENT);
         emptyFile = new MockMultipartFile("file", "empty.png", "image/png", new byte[0]);
-        fileWithoutName = new MockMultipartFile("file", "", "image/png", "dummy".getBytes());
+        fileWithoutName = new MockMultipartFile("file", "", "image/png", PNG_CONTENT);
 
         existingMedia = new Media(42L, "old-image.png", "educAPI", MediaType.IMAGE);
 
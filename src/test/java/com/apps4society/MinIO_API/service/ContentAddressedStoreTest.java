@@ -0,0 +1,138 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.MediaBlobRepository;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAddressedStoreTest {
+
+    private static final String DIGEST = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Mock
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Mock
+    private StorageOutbox storageOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContentAddressedStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ContentAddressedStore(mediaBlobRepository, storageOutbox, transactionManager, true, "blobs/");
+    }
+
+    private MediaBlob blob(String objectName, long refCount) {
+        MediaBlob blob = new MediaBlob(DIGEST, objectName, 10, "image/png");
+        blob.setRefCount(refCount);
+        return blob;
+    }
+
+    @Test
+    void testNewObjectName_uniqueUnderPrefix() {
+        String first = store.newObjectName();
+
+        assertTrue(first.startsWith("blobs/"));
+        assertNotEquals(first, store.newObjectName());
+    }
+
+    @Test
+    void testAttach_newContent_uploadedObjectBecomesBlob() {
+        MediaBlob created = blob("blobs/a", 0);
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.empty(), Optional.of(created));
+
+        ContentAddressedStore.Attachment attachment = store.attach(DIGEST, 10, "image/png", "blobs/a");
+
+        ArgumentCaptor<MediaBlob> inserted = ArgumentCaptor.forClass(MediaBlob.class);
+        verify(mediaBlobRepository).saveAndFlush(inserted.capture());
+        assertEquals("blobs/a", inserted.getValue().getObjectName());
+        assertEquals(0, inserted.getValue().getRefCount());
+        assertSame(created, attachment.blob());
+        assertEquals(1, created.getRefCount());
+        assertNull(attachment.leftover());
+        verifyNoInteractions(storageOutbox);
+    }
+
+    @Test
+    void testAttach_concurrentCreation_joinsExistingBlob() {
+        MediaBlob other = blob("blobs/outro", 1);
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.empty(), Optional.of(other));
+        when(mediaBlobRepository.saveAndFlush(any(MediaBlob.class))).thenThrow(new DataIntegrityViolationException("uk_media_blob_digest"));
+        StorageTask removal = new StorageTask(StorageTaskType.REMOVE, "blobs/a", null);
+        when(storageOutbox.remove("blobs/a")).thenReturn(removal);
+
+        ContentAddressedStore.Attachment attachment = store.attach(DIGEST, 10, "image/png", "blobs/a");
+
+        assertEquals(2, other.getRefCount());
+        assertEquals("blobs/outro", attachment.blob().getObjectName());
+        assertSame(removal, attachment.leftover());
+    }
+
+    @Test
+    void testAttach_duplicateContent_discardsUploadedCopy() {
+        MediaBlob existing = blob("blobs/original", 3);
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.of(existing));
+        StorageTask removal = new StorageTask(StorageTaskType.REMOVE, "blobs/copia", null);
+        when(storageOutbox.remove("blobs/copia")).thenReturn(removal);
+
+        ContentAddressedStore.Attachment attachment = store.attach(DIGEST, 10, "image/png", "blobs/copia");
+
+        assertEquals(4, existing.getRefCount());
+        assertEquals("blobs/original", existing.getObjectName());
+        assertSame(removal, attachment.leftover());
+        verify(mediaBlobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testAttach_unreferencedBlob_takenOverByUploadedObject() {
+        // O objeto antigo já foi para o arquivo (ou está no outbox indo para lá); não pode ser reaproveitado nem removido.
+        MediaBlob released = blob("blobs/arquivado", 0);
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.of(released));
+
+        ContentAddressedStore.Attachment attachment = store.attach(DIGEST, 10, "image/png", "blobs/novo");
+
+        assertEquals("blobs/novo", released.getObjectName());
+        assertEquals(1, released.getRefCount());
+        assertNull(attachment.leftover());
+        verifyNoInteractions(storageOutbox);
+    }
+
+    @Test
+    void testRelease_lastReference_returnsObjectToArchive() {
+        MediaBlob shared = blob("blobs/a", 2);
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.of(shared));
+
+        assertEquals(Optional.empty(), store.release(DIGEST));
+        assertEquals(Optional.of("blobs/a"), store.release(DIGEST));
+        assertEquals(0, shared.getRefCount());
+        verify(mediaBlobRepository, times(2)).save(shared);
+    }
+
+    @Test
+    void testRelease_unknownOrUnreferencedBlob_returnsEmpty() {
+        when(mediaBlobRepository.findForUpdateByDigest(DIGEST)).thenReturn(Optional.empty(), Optional.of(blob("blobs/a", 0)));
+
+        assertEquals(Optional.empty(), store.release(DIGEST));
+        assertEquals(Optional.empty(), store.release(DIGEST));
+        verify(mediaBlobRepository, never()).save(any());
+    }
+}
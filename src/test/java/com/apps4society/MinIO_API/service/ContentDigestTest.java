@@ -0,0 +1,45 @@
+package com.apps4society.MinIO_API.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDigestTest {
+
+    // SHA-256 de "test"
+    private static final String TEST_SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    void testWrap_hashesEveryByteRead() throws Exception {
+        ContentDigest digest = new ContentDigest();
+
+        try (InputStream stream = digest.wrap(new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals('t', stream.read());
+            assertEquals(1, stream.skip(1));
+            assertArrayEquals("st".getBytes(StandardCharsets.UTF_8), stream.readAllBytes());
+        }
+
+        assertEquals(TEST_SHA256, digest.hex());
+        assertEquals(4, digest.size());
+    }
+
+    @Test
+    void testUpdate_keepsBufferReadPosition() {
+        ContentDigest digest = new ContentDigest();
+        DataBuffer first = DefaultDataBufferFactory.sharedInstance.wrap("te".getBytes(StandardCharsets.UTF_8));
+        DataBuffer second = DefaultDataBufferFactory.sharedInstance.wrap("st".getBytes(StandardCharsets.UTF_8));
+
+        digest.update(first);
+        digest.update(second);
+
+        assertEquals(2, first.readableByteCount());
+        assertEquals(TEST_SHA256, digest.hex());
+        assertEquals(4, digest.size());
+    }
+}
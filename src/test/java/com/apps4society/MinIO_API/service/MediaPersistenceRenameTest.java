@@ -0,0 +1,165 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.StorageTaskRepository;
+import com.apps4society.MinIO_API.storage.MediaObjectCache;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import io.minio.CopyObjectArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.RemoveObjectArgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Troca de arquivo contra um banco de verdade (H2), com o outbox real e o MinIO simulado: o nome antigo só pode
+ * voltar a ser usado depois que o objeto antigo saiu dele.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MediaPersistenceRenameTest {
+
+    private static final String SERVICE_NAME = "educAPI";
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private StorageTaskRepository storageTaskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MinioClient minioClient;
+    private StorageOutbox storageOutbox;
+    private MediaPersistence mediaPersistence;
+
+    @BeforeEach
+    void setUp() {
+        minioClient = mock(MinioClient.class);
+        MinioProperties minioProperties = mock(MinioProperties.class);
+        when(minioProperties.getBucketName()).thenReturn("test-bucket");
+        when(minioProperties.getOutboxBatchSize()).thenReturn(10);
+        when(minioProperties.getOutboxDispatchThreads()).thenReturn(1);
+        when(minioProperties.getOutboxPollInterval()).thenReturn(Duration.ofSeconds(30));
+        when(minioProperties.getOutboxMaxBackoff()).thenReturn(Duration.ofMinutes(5));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        storageOutbox = new StorageOutbox(storageTaskRepository, mediaRepository, transactionTemplate, minioClient, minioProperties);
+        mediaPersistence = new MediaPersistence(mediaRepository, storageOutbox, mock(ContentAddressedStore.class),
+                mock(PresignedUrlCache.class), mock(MediaObjectCache.class), mock(ThumbnailPipeline.class), transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageTaskRepository.deleteAll();
+        mediaRepository.deleteAll();
+    }
+
+    @Test
+    void testCommitUpdate_oldNameReuploadedBeforeOutboxDrains_isRejectedUntilMoveCompletes() throws Exception {
+        when(minioClient.copyObject(any(CopyObjectArgs.class)))
+                .thenThrow(new IOException("MinIO indisponível"))
+                .thenReturn(mock(ObjectWriteResponse.class));
+        Media media = mediaRepository.save(new Media(42L, "old.png", SERVICE_NAME, MediaType.IMAGE));
+
+        Media claim = mediaPersistence.claimRename(media, "new.png", MediaType.IMAGE);
+        mediaPersistence.commitUpdate(media, "new.png", new MediaSniffer.Detected(MediaType.IMAGE, "image/png"),
+                SERVICE_NAME + "/new.png", null, claim);
+        StorageTask move = awaitFailedAttempt();
+
+        // O objeto antigo ainda está em educAPI/old.png: um novo upload com esse nome seria arquivado no lugar dele.
+        assertThrows(DuplicateFileException.class, () -> mediaPersistence.claim(7L, "old.png", SERVICE_NAME, MediaType.IMAGE));
+        assertEquals("new.png", mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(media.getEntityId(), SERVICE_NAME)
+                .orElseThrow().getFileName());
+
+        assertTrue(storageOutbox.dispatch(move));
+
+        ArgumentCaptor<CopyObjectArgs> copy = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(minioClient, times(2)).copyObject(copy.capture());
+        assertEquals(SERVICE_NAME + "/old.png", copy.getValue().source().object());
+        assertEquals("arquivos_desativados/" + SERVICE_NAME + "/old.png", copy.getValue().object());
+        assertEquals(0, storageTaskRepository.count());
+        Media reupload = mediaPersistence.claim(7L, "old.png", SERVICE_NAME, MediaType.IMAGE);
+        assertTrue(reupload.isPending());
+    }
+
+    @Test
+    void testClaimRename_newNameHeldUntilCommit_rejectsConcurrentUploadAndHandsNameToMedia() {
+        Media media = mediaRepository.save(new Media(42L, "old.png", SERVICE_NAME, MediaType.IMAGE));
+
+        Media claim = mediaPersistence.claimRename(media, "new.png", MediaType.IMAGE);
+
+        // Enquanto o arquivo novo sobe, um upload com o mesmo nome não pode gravar em educAPI/new.png.
+        assertThrows(DuplicateFileException.class, () -> mediaPersistence.claim(7L, "new.png", SERVICE_NAME, MediaType.IMAGE));
+        assertTrue(mediaRepository.findByFileNameAndServiceNameAndPendingTrue("new.png", SERVICE_NAME).isEmpty());
+
+        mediaPersistence.commitUpdate(media, "new.png", new MediaSniffer.Detected(MediaType.IMAGE, "image/png"),
+                SERVICE_NAME + "/new.png", null, claim);
+
+        assertFalse(mediaRepository.existsById(claim.getEntityId()));
+        assertEquals("new.png", mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(media.getEntityId(), SERVICE_NAME)
+                .orElseThrow().getFileName());
+        assertThrows(DuplicateFileException.class, () -> mediaPersistence.claim(7L, "new.png", SERVICE_NAME, MediaType.IMAGE));
+    }
+
+    @Test
+    void testActivateUpload_saveFails_keepsNameUntilObjectRemoved() throws Exception {
+        doThrow(new IOException("MinIO indisponível")).doNothing().when(minioClient).removeObject(any(RemoveObjectArgs.class));
+        Media media = mediaPersistence.claim(7L, "a.png", SERVICE_NAME, MediaType.IMAGE);
+        // Sem serviceName a gravação falha depois que o objeto já subiu.
+        media.setServiceName(null);
+
+        assertThrows(RuntimeException.class, () -> mediaPersistence.activateUpload(media, SERVICE_NAME + "/a.png", null, "image/png"));
+        media.setServiceName(SERVICE_NAME);
+
+        StorageTask remove = awaitFailedAttempt();
+        assertEquals(SERVICE_NAME + "/a.png", remove.getSourceObject());
+        assertEquals(media.getEntityId(), remove.getNameHolderId());
+        // O objeto enviado ainda está em educAPI/a.png: um novo upload com o nome seria apagado pela remoção.
+        assertThrows(DuplicateFileException.class, () -> mediaPersistence.claim(8L, "a.png", SERVICE_NAME, MediaType.IMAGE));
+
+        assertTrue(storageOutbox.dispatch(remove));
+
+        assertEquals(0, storageTaskRepository.count());
+        assertTrue(mediaPersistence.claim(8L, "a.png", SERVICE_NAME, MediaType.IMAGE).isPending());
+    }
+
+    /**
+     * Espera o despacho em segundo plano falhar e reagendar a tarefa.
+     */
+    private StorageTask awaitFailedAttempt() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            List<StorageTask> tasks = storageTaskRepository.findAll();
+            if (tasks.size() == 1 && tasks.get(0).getAttempts() > 0) {
+                return tasks.get(0);
+            }
+            Thread.sleep(50);
+        }
+        return fail("A tarefa de armazenamento não foi tentada");
+    }
+}
@@ -0,0 +1,157 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.DTO.BulkUploadResult;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MediaServiceImplBulkUploadTest extends BaseMediaServiceImplTest {
+
+    private MediaRequest mediaRequest;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setup() throws Exception {
+        mediaRequest = new MediaRequest(serviceName, 42L);
+        when(mediaRepository.findFileNamesByServiceNameAndFileNameIn(eq(serviceName), anyCollection())).thenReturn(Set.of());
+        when(mediaRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Media> medias = invocation.getArgument(0);
+            medias.forEach(media -> media.setEntityId(ids.incrementAndGet()));
+            return medias;
+        });
+        when(mediaMapper.toResponse(any(Media.class))).thenAnswer(invocation -> {
+            Media media = invocation.getArgument(0);
+            return new MediaResponse(media.getEntityId(), media.getServiceName(), media.getFileName(), null);
+        });
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            invocation.<PutObjectArgs>getArgument(0).stream().readAllBytes();
+            return mock(ObjectWriteResponse.class);
+        });
+    }
+
+    private static MockMultipartFile png(String name) {
+        return new MockMultipartFile("files", name, "image/png", PNG_CONTENT);
+    }
+
+    @Test
+    void testUploadMediaBulk_claimsUploadsAndActivatesInBatch() throws Exception {
+        List<MultipartFile> files = List.of(png("a.png"), png("b.png"));
+
+        List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, files);
+
+        assertEquals(List.of(201, 201), results.stream().map(BulkUploadResult::status).toList());
+        assertEquals(List.of("a.png", "b.png"), results.stream().map(BulkUploadResult::fileName).toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Media>> claimed = ArgumentCaptor.forClass(List.class);
+        verify(mediaRepository).saveAllAndFlush(claimed.capture());
+        assertEquals(2, claimed.getValue().size());
+        assertEquals(List.of("a.png", "b.png"), claimed.getValue().stream().map(Media::getFileName).toList());
+
+        ArgumentCaptor<PutObjectArgs> puts = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient, times(2)).putObject(puts.capture());
+        assertEquals(Set.of("educAPI/a.png", "educAPI/b.png"), Set.copyOf(puts.getAllValues().stream().map(PutObjectArgs::object).toList()));
+
+        verify(mediaRepository).activateAll(List.of(1L, 2L));
+        verify(mediaRepository, never()).saveAndFlush(any(Media.class));
+        verify(mediaRepository, never()).save(any(Media.class));
+        verify(thumbnailPipeline, times(2)).schedule(any(Media.class));
+    }
+
+    @Test
+    void testUploadMediaBulk_invalidFiles_reportedWithoutBlockingOthers() throws Exception {
+        when(mediaRepository.findFileNamesByServiceNameAndFileNameIn(eq(serviceName), anyCollection())).thenReturn(Set.of("usado.png"));
+        List<MultipartFile> files = List.of(
+                png("a.png"),
+                new MockMultipartFile("files", "vazio.png", "image/png", new byte[0]),
+                png("a.png"),
+                new MockMultipartFile("files", "texto.png", "image/png", "não é uma imagem".getBytes()),
+                png("usado.png"));
+
+        List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, files);
+
+        assertEquals(List.of(201, 400, 409, 406, 409), results.stream().map(BulkUploadResult::status).toList());
+        assertNotNull(results.get(3).error());
+        verify(minioClient, times(1)).putObject(any(PutObjectArgs.class));
+        verify(mediaRepository).activateAll(List.of(1L));
+    }
+
+    @Test
+    void testUploadMediaBulk_concurrentClaim_fallsBackToPerFileClaims() throws Exception {
+        when(mediaRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> {
+            Media media = invocation.getArgument(0);
+            if (media.getFileName().equals("b.png")) {
+                throw new DataIntegrityViolationException("uk_media_service_file");
+            }
+            media.setEntityId(7L);
+            return media;
+        });
+
+        List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, List.of(png("a.png"), png("b.png")));
+
+        assertEquals(List.of(201, 409), results.stream().map(BulkUploadResult::status).toList());
+        verify(minioClient, times(1)).putObject(any(PutObjectArgs.class));
+        verify(mediaRepository).activateAll(List.of(7L));
+    }
+
+    @Test
+    void testUploadMediaBulk_uploadFailure_releasesOnlyFailedClaims() throws Exception {
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            PutObjectArgs args = invocation.getArgument(0);
+            if (args.object().endsWith("b.png")) {
+                throw new RuntimeException("MinIO indisponível");
+            }
+            return mock(ObjectWriteResponse.class);
+        });
+
+        List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, List.of(png("a.png"), png("b.png")));
+
+        assertEquals(List.of(201, 503), results.stream().map(BulkUploadResult::status).toList());
+        verify(mediaRepository).activateAll(List.of(1L));
+        verify(mediaRepository).deleteAllInBatch(argThat(medias ->
+                medias instanceof List<Media> list && list.size() == 1 && list.get(0).getFileName().equals("b.png")));
+        verify(thumbnailPipeline, times(1)).schedule(any(Media.class));
+    }
+
+    @Test
+    void testUploadMediaBulk_contentAddressed_attachesEachFile() throws Exception {
+        when(contentStore.isEnabled()).thenReturn(true);
+        when(contentStore.newObjectName()).thenReturn("blobs/a", "blobs/b");
+        MediaBlob blob = new MediaBlob(sha256(PNG_CONTENT), "blobs/a", PNG_CONTENT.length, "image/png");
+        StorageTask leftover = new StorageTask(StorageTaskType.REMOVE, "blobs/b", null);
+        when(contentStore.attach(sha256(PNG_CONTENT), PNG_CONTENT.length, "image/png", "blobs/a"))
+                .thenReturn(new ContentAddressedStore.Attachment(blob, null));
+        when(contentStore.attach(sha256(PNG_CONTENT), PNG_CONTENT.length, "image/png", "blobs/b"))
+                .thenReturn(new ContentAddressedStore.Attachment(blob, leftover));
+
+        List<BulkUploadResult> results = mediaService.uploadMediaBulk(mediaRequest, List.of(png("a.png"), png("b.png")));
+
+        assertEquals(List.of(201, 201), results.stream().map(BulkUploadResult::status).toList());
+        verify(mediaRepository, times(2)).save(argThat(media -> "blobs/a".equals(media.getObjectName()) && media.isActive()));
+        verify(mediaRepository, never()).activateAll(any());
+        verify(storageOutbox).dispatchAsync(leftover);
+    }
+}
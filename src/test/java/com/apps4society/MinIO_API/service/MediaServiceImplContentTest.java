@@ -0,0 +1,100 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.exceptions.MinIOConnectionException;
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MediaServiceImplContentTest extends BaseMediaServiceImplTest {
+
+    private final MediaObject object = new MediaObject("educAPI/old-image.png", 1000L, "abc123", "image/png", ZonedDateTime.now());
+
+    @Test
+    void testGetMediaObject_successful() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)).thenReturn(Optional.of(existingMedia));
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.size()).thenReturn(1000L);
+        when(stat.etag()).thenReturn("abc123");
+        when(stat.contentType()).thenReturn("image/png");
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        MediaObject result = mediaService.getMediaObject(serviceName, mediaId);
+
+        assertEquals("educAPI/old-image.png", result.objectName());
+        assertEquals(1000L, result.size());
+        assertEquals("abc123", result.etag());
+    }
+
+    @Test
+    void testGetMediaObject_overwrittenAfterPresignedConfirm_throwsMediaNotFoundException() throws Exception {
+        existingMedia.setUploadEtag("confirmado");
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)).thenReturn(Optional.of(existingMedia));
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.etag()).thenReturn("sobrescrito");
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+
+        MediaNotFoundException exception = assertThrows(MediaNotFoundException.class, () ->
+                mediaService.getMediaObject(serviceName, mediaId));
+
+        assertEquals("O arquivo da mídia foi alterado depois da confirmação do upload.", exception.getMessage());
+    }
+
+    @Test
+    void testGetMediaObject_mediaNotFound_throwsWithoutStat() {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)).thenReturn(Optional.empty());
+
+        assertThrows(MediaNotFoundException.class, () -> mediaService.getMediaObject(serviceName, mediaId));
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testGetMediaObject_objectMissing_throwsMediaNotFoundException() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName)).thenReturn(Optional.of(existingMedia));
+        ErrorResponse notFound = new ErrorResponse("NoSuchKey", "Object does not exist", "test-bucket", "educAPI/old-image.png", null, null, null);
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenThrow(new ErrorResponseException(notFound, null, null));
+
+        MediaNotFoundException exception = assertThrows(MediaNotFoundException.class, () ->
+                mediaService.getMediaObject(serviceName, mediaId));
+
+        assertEquals("Arquivo da mídia não encontrado no armazenamento.", exception.getMessage());
+    }
+
+    @Test
+    void testOpenMediaObject_requestsRangeBoundToEtag() throws Exception {
+        GetObjectResponse body = mock(GetObjectResponse.class);
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(body);
+
+        InputStream result = mediaService.openMediaObject(object, 100L, 50L);
+
+        assertSame(body, result);
+        ArgumentCaptor<GetObjectArgs> args = ArgumentCaptor.forClass(GetObjectArgs.class);
+        verify(minioClient).getObject(args.capture());
+        assertEquals("educAPI/old-image.png", args.getValue().object());
+        assertEquals(100L, args.getValue().offset());
+        assertEquals(50L, args.getValue().length());
+        assertEquals("\"abc123\"", args.getValue().matchETag());
+    }
+
+    @Test
+    void testOpenMediaObject_minioFailure_throwsMinIOConnectionException() throws Exception {
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenThrow(new RuntimeException("Erro simulado ao acessar MinIO"));
+
+        assertThrows(MinIOConnectionException.class, () -> mediaService.openMediaObject(object, 0L, -1L));
+    }
+}
@@ -1,21 +1,20 @@
 package com.apps4society.MinIO_API.service;
 
-import com.apps4society.MinIO_API.exceptions.FileStorageException;
 import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
 import com.apps4society.MinIO_API.model.entity.Media;
-import com.apps4society.MinIO_API.model.enums.MediaType;
-import io.minio.CopyObjectArgs;
-import io.minio.RemoveObjectArgs;
-import io.minio.errors.ErrorResponseException;
-import org.junit.jupiter.api.BeforeEach;
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.mockito.InOrder;
+import org.springframework.transaction.TransactionStatus;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class MediaServiceImplDisableTest extends BaseMediaServiceImplTest {
@@ -29,6 +28,8 @@ class MediaServiceImplDisableTest extends BaseMediaServiceImplTest {
                 mediaService.disableMedia(serviceName, mediaId));
 
         assertEquals("Mídia não encontrada ou inativa.", exception.getMessage());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(storageOutbox);
     }
 
     @Test
@@ -36,43 +37,74 @@ class MediaServiceImplDisableTest extends BaseMediaServiceImplTest {
         when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
                 .thenReturn(Optional.of(existingMedia));
 
-        when(minioClient.copyObject(any(CopyObjectArgs.class)))
-                .thenReturn(mock(io.minio.ObjectWriteResponse.class));
-
-        doNothing().when(minioClient).removeObject(any(RemoveObjectArgs.class));
-
         ArgumentCaptor<Media> mediaCaptor = ArgumentCaptor.forClass(Media.class);
         when(mediaRepository.save(mediaCaptor.capture())).thenReturn(existingMedia);
 
+        StorageTask tag = new StorageTask(StorageTaskType.TAG, "educAPI/old-image.png", null);
+        when(storageOutbox.tag("educAPI/old-image.png")).thenReturn(tag);
+
         mediaService.disableMedia(serviceName, mediaId);
 
         Media savedMedia = mediaCaptor.getValue();
         assertFalse(savedMedia.isActive(), "A mídia deveria estar desativada após o método disableMedia.");
 
         verify(mediaRepository, times(1)).findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName);
-        verify(minioClient, times(1)).copyObject(any(CopyObjectArgs.class));
-        verify(minioClient, times(1)).removeObject(any(RemoveObjectArgs.class));
         verify(mediaRepository, times(1)).save(any(Media.class));
+        verify(mediaObjectCache).evict("educAPI/old-image.png");
+        verify(thumbnailPipeline).discard(mediaId);
+        verify(storageOutbox).archive("educAPI/old-image.png", "arquivos_desativados/educAPI/old-image.png");
+        verify(storageOutbox).dispatchAsync(tag);
+        verify(storageOutbox, never()).move(anyString(), anyString());
+        verify(storageOutbox, never()).dispatch(any());
+        verifyNoInteractions(minioClient);
     }
 
-
     @Test
-    void testDisableMedia_minioFailure_throwsFileStorageException() throws Exception {
+    void testDisableMedia_sharedBlob_onlyDecrementsReference() {
+        existingMedia.useBlob(new MediaBlob("ab12", "blobs/conteudo", 10, "image/png"));
         when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
                 .thenReturn(Optional.of(existingMedia));
+        when(contentStore.release("ab12")).thenReturn(Optional.empty());
+
+        mediaService.disableMedia(serviceName, mediaId);
 
-        doThrow(new RuntimeException("Erro simulado no MinIO"))
-                .when(minioClient).copyObject(any(CopyObjectArgs.class));
+        assertFalse(existingMedia.isActive());
+        verify(contentStore).release("ab12");
+        verify(storageOutbox, never()).archive(anyString(), anyString());
+        verify(storageOutbox, never()).dispatchAsync(any());
+        verifyNoInteractions(mediaObjectCache, minioClient);
+    }
 
-        FileStorageException exception = assertThrows(FileStorageException.class, () ->
-                mediaService.disableMedia(serviceName, mediaId));
+    @Test
+    void testDisableMedia_lastBlobReference_archivesBlobObject() {
+        existingMedia.useBlob(new MediaBlob("ab12", "blobs/conteudo", 10, "image/png"));
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(contentStore.release("ab12")).thenReturn(Optional.of("blobs/conteudo"));
+        StorageTask tag = new StorageTask(StorageTaskType.TAG, "blobs/conteudo", null);
+        when(storageOutbox.tag("blobs/conteudo")).thenReturn(tag);
 
-        assertEquals("Erro ao mover mídia no armazenamento.", exception.getMessage());
+        mediaService.disableMedia(serviceName, mediaId);
 
-        verify(mediaRepository, times(1)).findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName);
-        verify(minioClient, times(1)).copyObject(any(CopyObjectArgs.class));
-        verify(minioClient, never()).removeObject(any(RemoveObjectArgs.class));
-        verify(mediaRepository, never()).save(any(Media.class));
+        verify(storageOutbox).archive("blobs/conteudo", "arquivos_desativados/blobs/conteudo");
+        verify(storageOutbox).dispatchAsync(tag);
     }
 
+    @Test
+    void testDisableMedia_tagsObjectOnlyAfterCommit() {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        StorageTask tag = new StorageTask(StorageTaskType.TAG, "educAPI/old-image.png", null);
+        when(storageOutbox.tag(any())).thenReturn(tag);
+
+        mediaService.disableMedia(serviceName, mediaId);
+
+        InOrder order = inOrder(mediaRepository, storageOutbox, transactionManager);
+        order.verify(mediaRepository).save(existingMedia);
+        order.verify(storageOutbox).archive("educAPI/old-image.png", "arquivos_desativados/educAPI/old-image.png");
+        order.verify(storageOutbox).tag("educAPI/old-image.png");
+        order.verify(transactionManager).commit(nullable(TransactionStatus.class));
+        order.verify(storageOutbox).dispatchAsync(tag);
+        assertFalse(existingMedia.isActive());
+    }
 }
@@ -2,8 +2,11 @@ package com.apps4society.MinIO_API.service;
 
 import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
 import com.apps4society.MinIO_API.exceptions.MinIOConnectionException;
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.MediaVariant;
 import io.minio.GetPresignedObjectUrlArgs;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Optional;
 
@@ -19,7 +22,7 @@ class MediaServiceImplGetTest extends BaseMediaServiceImplTest {
                 .thenReturn(Optional.empty());
 
         MediaNotFoundException exception = assertThrows(MediaNotFoundException.class, () ->
-                mediaService.getMediaUrl(serviceName, mediaId));
+                mediaService.getMediaUrl(serviceName, mediaId, null));
 
         assertEquals("Mídia não encontrada ou inativa.", exception.getMessage());
     }
@@ -33,7 +36,7 @@ class MediaServiceImplGetTest extends BaseMediaServiceImplTest {
         when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
                 .thenReturn(expectedUrl);
 
-        String result = mediaService.getMediaUrl(serviceName, mediaId);
+        String result = mediaService.getMediaUrl(serviceName, mediaId, null);
 
         assertNotNull(result);
         assertEquals(expectedUrl, result);
@@ -51,11 +54,98 @@ class MediaServiceImplGetTest extends BaseMediaServiceImplTest {
                 .thenThrow(new RuntimeException("Erro simulado ao acessar MinIO"));
 
         MinIOConnectionException exception = assertThrows(MinIOConnectionException.class, () ->
-                mediaService.getMediaUrl(serviceName, mediaId));
+                mediaService.getMediaUrl(serviceName, mediaId, null));
 
         assertEquals("Erro ao gerar URL assinada da mídia.", exception.getMessage());
 
         verify(mediaRepository, times(1)).findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName);
         verify(minioClient, times(1)).getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class));
     }
+
+    @Test
+    void testGetMediaUrl_disabledWhileSigning_urlNotCached() throws Exception {
+        existingMedia.setEntityId(mediaId);
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia))
+                .thenReturn(Optional.empty());
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class))).thenAnswer(invocation -> {
+            // A desativação de outra requisição termina depois da leitura e antes do put no cache.
+            presignedUrlCache.invalidate(serviceName, mediaId);
+            return "https://minio.example.com/educAPI/test-image.png";
+        });
+
+        mediaService.getMediaUrl(serviceName, mediaId, null);
+
+        assertThrows(MediaNotFoundException.class, () -> mediaService.getMediaUrl(serviceName, mediaId, null));
+    }
+
+    @Test
+    void testGetMediaUrl_secondCall_servedFromCache() throws Exception {
+        existingMedia.setEntityId(mediaId);
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenReturn("https://minio.example.com/educAPI/old-image.png");
+
+        String first = mediaService.getMediaUrl(serviceName, mediaId, null);
+        String second = mediaService.getMediaUrl(serviceName, mediaId, null);
+
+        assertEquals(first, second);
+        verify(mediaRepository, times(1)).findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName);
+        verify(minioClient, times(1)).getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class));
+    }
+
+    @Test
+    void testGetMediaUrl_afterDisable_cacheInvalidated() throws Exception {
+        existingMedia.setEntityId(mediaId);
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenReturn("https://minio.example.com/educAPI/old-image.png");
+        mediaService.getMediaUrl(serviceName, mediaId, null);
+
+        mediaService.disableMedia(serviceName, mediaId);
+
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.empty());
+        assertThrows(MediaNotFoundException.class, () -> mediaService.getMediaUrl(serviceName, mediaId, null));
+    }
+
+    @Test
+    void testGetMediaUrl_blobMedia_signsBlobWithFileName() throws Exception {
+        existingMedia.useBlob(new MediaBlob("ab12", "blobs/conteudo", 10, "image/png"));
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class))).thenReturn("https://minio/blobs/conteudo");
+
+        mediaService.getMediaUrl(serviceName, mediaId, null);
+
+        ArgumentCaptor<GetPresignedObjectUrlArgs> captor = ArgumentCaptor.forClass(GetPresignedObjectUrlArgs.class);
+        verify(minioClient).getPresignedObjectUrl(captor.capture());
+        assertEquals("blobs/conteudo", captor.getValue().object());
+        assertEquals("inline; filename=\"old-image.png\"",
+                captor.getValue().extraQueryParams().get("response-content-disposition").iterator().next());
+    }
+
+    @Test
+    void testGetMediaUrl_withWidth_signsThumbnail() throws Exception {
+        existingMedia.setEntityId(mediaId);
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(mediaId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(thumbnailPipeline.variantFor(100)).thenReturn(160);
+        when(thumbnailPipeline.find(mediaId, 160)).thenReturn(Optional.of(
+                new MediaVariant(mediaId, 160, 90, "miniaturas/educAPI/" + mediaId + "/160/old-image.png", 4_000)));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenReturn("https://minio.example.com/miniaturas/educAPI/160/old-image.png", "https://minio.example.com/educAPI/old-image.png");
+
+        String thumbnail = mediaService.getMediaUrl(serviceName, mediaId, 100);
+        String original = mediaService.getMediaUrl(serviceName, mediaId, null);
+
+        ArgumentCaptor<GetPresignedObjectUrlArgs> captor = ArgumentCaptor.forClass(GetPresignedObjectUrlArgs.class);
+        verify(minioClient, times(2)).getPresignedObjectUrl(captor.capture());
+        assertEquals("miniaturas/educAPI/" + mediaId + "/160/old-image.png", captor.getAllValues().get(0).object());
+        assertEquals("educAPI/old-image.png", captor.getAllValues().get(1).object());
+        assertNotEquals(thumbnail, original);
+        assertEquals(thumbnail, mediaService.getMediaUrl(serviceName, mediaId, 100));
+    }
 }
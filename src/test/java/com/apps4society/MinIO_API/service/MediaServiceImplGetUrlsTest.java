@@ -0,0 +1,87 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import io.minio.GetPresignedObjectUrlArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MediaServiceImplGetUrlsTest extends BaseMediaServiceImplTest {
+
+    private Media media1;
+    private Media media2;
+
+    @BeforeEach
+    void setup() throws Exception {
+        media1 = new Media(42L, "image1.png", serviceName, MediaType.IMAGE);
+        media1.setEntityId(1L);
+        media2 = new Media(42L, "image2.png", serviceName, MediaType.IMAGE);
+        media2.setEntityId(2L);
+
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenAnswer(invocation -> "https://minio.example.com/" + invocation.<GetPresignedObjectUrlArgs>getArgument(0).object());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetMediaUrls_loadsMissingWithSingleQueryAndKeepsRequestOrder() {
+        when(mediaRepository.findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), any()))
+                .thenReturn(List.of(media1, media2));
+
+        Map<Long, String> urls = mediaService.getMediaUrls(serviceName, List.of(2L, 1L, 3L), null);
+
+        assertEquals(List.of(2L, 1L), List.copyOf(urls.keySet()));
+        assertEquals("https://minio.example.com/educAPI/image1.png", urls.get(1L));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(mediaRepository, times(1)).findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), ids.capture());
+        assertEquals(List.of(2L, 1L, 3L), List.copyOf(ids.getValue()));
+        verify(mediaRepository, never()).findByEntityIdAndServiceNameAndActiveTrue(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetMediaUrls_cachedUrlsSkipDatabase() throws Exception {
+        presignedUrlCache.put(serviceName, 1L, "https://cache/image1.png", Duration.ofHours(1));
+        when(mediaRepository.findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), any()))
+                .thenReturn(List.of(media2));
+
+        Map<Long, String> urls = mediaService.getMediaUrls(serviceName, List.of(1L, 2L), null);
+
+        assertEquals("https://cache/image1.png", urls.get(1L));
+        assertEquals("https://minio.example.com/educAPI/image2.png", urls.get(2L));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(mediaRepository).findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), ids.capture());
+        assertEquals(List.of(2L), List.copyOf(ids.getValue()));
+        verify(minioClient, times(1)).getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class));
+    }
+
+    @Test
+    void testGetMediaUrls_allCached_noQuery() {
+        presignedUrlCache.put(serviceName, 1L, "https://cache/image1.png", Duration.ofHours(1));
+
+        Map<Long, String> urls = mediaService.getMediaUrls(serviceName, List.of(1L, 1L), null);
+
+        assertEquals(Map.of(1L, "https://cache/image1.png"), urls);
+        verifyNoInteractions(mediaRepository);
+    }
+
+    @Test
+    void testGetMediaUrls_invalidId_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> mediaService.getMediaUrls(serviceName, List.of(1L, 0L), null));
+
+        verifyNoInteractions(mediaRepository);
+    }
+}
@@ -1,30 +1,39 @@
 package com.apps4society.MinIO_API.service;
 
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
 import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.projection.MediaSummary;
+import io.minio.GetPresignedObjectUrlArgs;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class MediaServiceImplListTest extends BaseMediaServiceImplTest {
 
+    private Media media(long id, String fileName) {
+        Media media = new Media(1L, fileName, serviceName, MediaType.IMAGE);
+        media.setEntityId(id);
+        media.setActive(true);
+        return media;
+    }
+
     @Test
     void testListMediaByUploadedBy_successful() {
-        Media media1 = new Media(1L, "image1.png", serviceName, MediaType.IMAGE);
-        media1.setEntityId(1L);
-        media1.setActive(true);
-
-        Media media2 = new Media(1L, "image2.png", serviceName, MediaType.IMAGE);
-        media2.setEntityId(2L);
-        media2.setActive(true);
+        Media media1 = media(1L, "image1.png");
+        Media media2 = media(2L, "image2.png");
 
         List<Media> mockMedias = List.of(media1, media2);
 
-        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrue(serviceName, 1L))
+        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(serviceName, 1L, 0L, Limit.of(11)))
                 .thenReturn(mockMedias);
 
         when(mediaMapper.toResponse(media1)).thenReturn(new MediaResponse(
@@ -41,10 +50,12 @@ class MediaServiceImplListTest extends BaseMediaServiceImplTest {
                 "https://minio.example.com/educAPI/image2.png"
         ));
 
-        List<MediaResponse> result = mediaService.listMediaByUploadedBy(serviceName, 1L);
+        MediaPage page = mediaService.listMediaByUploadedBy(serviceName, 1L, null, 10, false, null);
+        List<MediaResponse> result = page.items();
 
         assertNotNull(result);
         assertEquals(2, result.size());
+        assertNull(page.nextCursor());
 
         assertAll("Validando resposta da listagem",
                 () -> assertEquals(1L, result.get(0).entityId()),
@@ -56,21 +67,79 @@ class MediaServiceImplListTest extends BaseMediaServiceImplTest {
                 () -> assertEquals("image2.png", result.get(1).fileName())
         );
 
-        verify(mediaRepository, times(1)).findByServiceNameAndUploadedByAndActiveTrue(serviceName, 1L);
+        verify(mediaRepository, times(1))
+                .findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(serviceName, 1L, 0L, Limit.of(11));
         verify(mediaMapper, times(2)).toResponse(any(Media.class));
     }
 
     @Test
     void testListMediaByUploadedBy_noMediaFound_returnsEmptyList() {
-        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrue(serviceName, 1L))
+        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(eq(serviceName), eq(1L), eq(0L), any(Limit.class)))
                 .thenReturn(List.of());
 
-        List<MediaResponse> result = mediaService.listMediaByUploadedBy(serviceName, 1L);
+        MediaPage page = mediaService.listMediaByUploadedBy(serviceName, 1L, null, 10, false, null);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertNotNull(page.items());
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
 
-        verify(mediaRepository, times(1)).findByServiceNameAndUploadedByAndActiveTrue(serviceName, 1L);
         verify(mediaMapper, never()).toResponse(any(Media.class));
     }
+
+    @Test
+    void testListMediaByUploadedBy_morePages_returnsCursorOfLastItem() {
+        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(serviceName, 1L, 5L, Limit.of(3)))
+                .thenReturn(List.of(media(6L, "a.png"), media(8L, "b.png"), media(9L, "c.png")));
+
+        MediaPage page = mediaService.listMediaByUploadedBy(serviceName, 1L, 5L, 2, false, null);
+
+        assertEquals(2, page.items().size());
+        assertEquals(8L, page.nextCursor());
+    }
+
+    @Test
+    void testListMediaByUploadedBy_invalidLimit_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> mediaService.listMediaByUploadedBy(serviceName, 1L, null, 0, false, null));
+
+        verifyNoInteractions(mediaRepository);
+    }
+
+    @Test
+    void testListMediaByUploadedBy_includeUrls_signsWithSingleBatchQuery() throws Exception {
+        Media media1 = media(1L, "image1.png");
+        Media media2 = media(2L, "image2.png");
+
+        when(mediaRepository.findByServiceNameAndUploadedByAndActiveTrueAndEntityIdGreaterThanOrderByEntityIdAsc(eq(serviceName), eq(1L), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(media1, media2));
+        when(mediaRepository.findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), anyCollection())).thenReturn(List.of(media1, media2));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class)))
+                .thenAnswer(invocation -> "https://minio.example.com/" + invocation.<GetPresignedObjectUrlArgs>getArgument(0).object());
+        when(mediaMapper.toResponse(any(Media.class), anyString())).thenAnswer(invocation -> {
+            Media media = invocation.getArgument(0);
+            return new MediaResponse(media.getEntityId(), media.getServiceName(), media.getFileName(), invocation.getArgument(1));
+        });
+
+        List<MediaResponse> result = mediaService.listMediaByUploadedBy(serviceName, 1L, null, 10, true, null).items();
+
+        assertEquals("https://minio.example.com/educAPI/image1.png", result.get(0).url());
+        assertEquals("https://minio.example.com/educAPI/image2.png", result.get(1).url());
+        verify(mediaRepository, times(1)).findByServiceNameAndEntityIdInAndActiveTrue(eq(serviceName), anyCollection());
+        verify(mediaRepository, never()).findByEntityIdAndServiceNameAndActiveTrue(anyLong(), anyString());
+    }
+
+    @Test
+    void testStreamMediaByUploadedBy_deliversEachItemAndClosesStream() {
+        MediaSummary summary = mock(MediaSummary.class);
+        List<Boolean> closed = new ArrayList<>();
+        Stream<MediaSummary> stream = Stream.of(summary, summary).onClose(() -> closed.add(true));
+        when(mediaRepository.streamByServiceNameAndUploadedByAndActiveTrueOrderByEntityIdAsc(serviceName, 1L)).thenReturn(stream);
+        MediaResponse response = new MediaResponse(1L, serviceName, "image1.png", null);
+        when(mediaMapper.toResponse(summary)).thenReturn(response);
+
+        List<MediaResponse> received = new ArrayList<>();
+        mediaService.streamMediaByUploadedBy(serviceName, 1L, received::add);
+
+        assertEquals(List.of(response, response), received);
+        assertEquals(List.of(true), closed);
+    }
 }
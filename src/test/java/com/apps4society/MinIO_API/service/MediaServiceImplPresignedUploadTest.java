@@ -0,0 +1,195 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.exceptions.MinIOConnectionException;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadRequest;
+import com.apps4society.MinIO_API.model.DTO.PresignedUploadResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import io.minio.messages.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MediaServiceImplPresignedUploadTest extends BaseMediaServiceImplTest {
+
+    private final String uploadUrl = "https://minio.example.com/test-bucket/educAPI/foto.png?X-Amz-Signature=abc";
+    private Media pendingMedia;
+
+    @BeforeEach
+    void setup() {
+        when(minioConfig.getPresignedUploadExpiry()).thenReturn(Duration.ofMinutes(15));
+        pendingMedia = new Media(42L, "foto.png", serviceName, MediaType.IMAGE);
+        pendingMedia.setEntityId(mediaId);
+        pendingMedia.reserve();
+    }
+
+    private StatObjectResponse stat(long size) {
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(stat.size()).thenReturn(size);
+        when(stat.etag()).thenReturn("etag-confirmado");
+        return stat;
+    }
+
+    @Test
+    void testReservePresignedUpload_successful_savesPendingMediaAndSignsPut() throws Exception {
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> {
+            Media media = invocation.getArgument(0);
+            media.setEntityId(mediaId);
+            return media;
+        });
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class))).thenReturn(uploadUrl);
+
+        PresignedUploadResponse response = mediaService.reservePresignedUpload(new PresignedUploadRequest(serviceName, 42L, "foto.png"));
+
+        assertEquals(mediaId, response.entityId());
+        assertEquals(uploadUrl, response.uploadUrl());
+        assertNotNull(response.expiresAt());
+
+        ArgumentCaptor<Media> saved = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository).saveAndFlush(saved.capture());
+        assertTrue(saved.getValue().isPending());
+        assertFalse(saved.getValue().isActive());
+        verify(mediaRepository).save(saved.getValue());
+        assertTrue(saved.getValue().getReservedUntil().isAfter(LocalDateTime.now().plusMinutes(14)));
+
+        ArgumentCaptor<GetPresignedObjectUrlArgs> args = ArgumentCaptor.forClass(GetPresignedObjectUrlArgs.class);
+        verify(minioClient).getPresignedObjectUrl(args.capture());
+        assertEquals(Method.PUT, args.getValue().method());
+        assertEquals(serviceName + "/foto.png", args.getValue().object());
+        assertEquals(15 * 60, args.getValue().expiry());
+    }
+
+    @Test
+    void testReservePresignedUpload_existingReservationFromSameUser_reusesRow() throws Exception {
+        when(mediaRepository.findByFileNameAndServiceNameAndPendingTrue("foto.png", serviceName)).thenReturn(Optional.of(pendingMedia));
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class))).thenReturn(uploadUrl);
+
+        PresignedUploadResponse response = mediaService.reservePresignedUpload(new PresignedUploadRequest(serviceName, 42L, "foto.png"));
+
+        assertEquals(mediaId, response.entityId());
+        verify(mediaRepository, never()).saveAndFlush(any(Media.class));
+        verify(mediaRepository).save(pendingMedia);
+        assertTrue(pendingMedia.getReservedUntil().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+
+    @Test
+    void testReservePresignedUpload_expiredReservationFromOtherUser_removesStaleObjectAndReclaims() throws Exception {
+        pendingMedia.setReservedUntil(LocalDateTime.now().minusMinutes(1));
+        when(mediaRepository.findByFileNameAndServiceNameAndPendingTrue("foto.png", serviceName)).thenReturn(Optional.of(pendingMedia));
+        when(mediaRepository.saveAndFlush(any(Media.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_media_service_file"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(mediaRepository.deleteExpiredReservation(eq("foto.png"), eq(serviceName), any(LocalDateTime.class))).thenReturn(1);
+        when(minioClient.getPresignedObjectUrl(any(GetPresignedObjectUrlArgs.class))).thenReturn(uploadUrl);
+
+        mediaService.reservePresignedUpload(new PresignedUploadRequest(serviceName, 7L, "foto.png"));
+
+        ArgumentCaptor<RemoveObjectArgs> removed = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioClient).removeObject(removed.capture());
+        assertEquals(serviceName + "/foto.png", removed.getValue().object());
+        ArgumentCaptor<Media> claimed = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository, times(2)).saveAndFlush(claimed.capture());
+        assertEquals(7L, claimed.getValue().getUploadedBy());
+        assertTrue(claimed.getValue().isPending());
+    }
+
+    @Test
+    void testReservePresignedUpload_validReservationFromOtherUser_throwsDuplicateFileException() {
+        pendingMedia.setReservedUntil(LocalDateTime.now().plusMinutes(5));
+        when(mediaRepository.findByFileNameAndServiceNameAndPendingTrue("foto.png", serviceName)).thenReturn(Optional.of(pendingMedia));
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class,
+                () -> mediaService.reservePresignedUpload(new PresignedUploadRequest(serviceName, 7L, "foto.png")));
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testReservePresignedUpload_duplicate_throwsDuplicateFileException() {
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class,
+                () -> mediaService.reservePresignedUpload(new PresignedUploadRequest(serviceName, 42L, "foto.png")));
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testConfirmPresignedUpload_objectPresent_activatesMedia() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)).thenReturn(Optional.of(pendingMedia));
+        StatObjectResponse stat = stat(8);
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+        MediaResponse expected = new MediaResponse(mediaId, serviceName, "foto.png", null);
+        when(mediaMapper.toResponse(pendingMedia)).thenReturn(expected);
+
+        MediaResponse result = mediaService.confirmPresignedUpload(serviceName, mediaId);
+
+        assertEquals(expected, result);
+        assertTrue(pendingMedia.isActive());
+        assertFalse(pendingMedia.isPending());
+        assertEquals("etag-confirmado", pendingMedia.getUploadEtag());
+        verify(mediaRepository).save(pendingMedia);
+    }
+
+    @Test
+    void testConfirmPresignedUpload_expiredReservation_throwsInvalidInputException() {
+        pendingMedia.setReservedUntil(LocalDateTime.now().minusMinutes(1));
+        when(mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)).thenReturn(Optional.of(pendingMedia));
+
+        assertThrows(InvalidInputException.class, () -> mediaService.confirmPresignedUpload(serviceName, mediaId));
+
+        verifyNoInteractions(minioClient);
+        assertTrue(pendingMedia.isPending());
+    }
+
+    @Test
+    void testConfirmPresignedUpload_objectMissing_throwsInvalidFileException() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)).thenReturn(Optional.of(pendingMedia));
+        ErrorResponse notFound = new ErrorResponse("NoSuchKey", "Object does not exist", "test-bucket", serviceName + "/foto.png", null, null, null);
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenThrow(new ErrorResponseException(notFound, null, null));
+
+        assertThrows(InvalidFileException.class, () -> mediaService.confirmPresignedUpload(serviceName, mediaId));
+
+        assertTrue(pendingMedia.isPending());
+        verify(mediaRepository, never()).save(any(Media.class));
+    }
+
+    @Test
+    void testConfirmPresignedUpload_minioFailure_throwsMinIOConnectionException() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)).thenReturn(Optional.of(pendingMedia));
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenThrow(new RuntimeException("Erro simulado ao acessar MinIO"));
+
+        assertThrows(MinIOConnectionException.class, () -> mediaService.confirmPresignedUpload(serviceName, mediaId));
+    }
+
+    @Test
+    void testConfirmPresignedUpload_noReservation_throwsMediaNotFoundException() {
+        when(mediaRepository.findByEntityIdAndServiceNameAndPendingTrue(mediaId, serviceName)).thenReturn(Optional.empty());
+
+        assertThrows(MediaNotFoundException.class, () -> mediaService.confirmPresignedUpload(serviceName, mediaId));
+
+        verifyNoInteractions(minioClient);
+    }
+}
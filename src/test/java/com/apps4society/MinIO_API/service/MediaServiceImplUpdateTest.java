@@ -1,23 +1,30 @@
 package com.apps4society.MinIO_API.service;
 
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
 import com.apps4society.MinIO_API.exceptions.FileStorageException;
 import com.apps4society.MinIO_API.exceptions.InvalidFileException;
 import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
 import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
 import io.minio.ObjectWriteResponse;
 import io.minio.PutObjectArgs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class MediaServiceImplUpdateTest extends BaseMediaServiceImplTest {
@@ -30,7 +37,7 @@ class MediaServiceImplUpdateTest extends BaseMediaServiceImplTest {
     void init() {
         ReflectionTestUtils.setField(mediaService, "bucketName", "test-bucket");
 
-        file = new MockMultipartFile("file", "new-image.png", "image/png", "dummy".getBytes());
+        file = new MockMultipartFile("file", "new-image.png", "image/png", PNG_CONTENT);
 
         existingMedia = new Media(42L, "old-image.png", serviceName, MediaType.IMAGE);
         existingMedia.setEntityId(entityId);
@@ -57,9 +64,10 @@ class MediaServiceImplUpdateTest extends BaseMediaServiceImplTest {
 
         when(minioClient.putObject(any(PutObjectArgs.class))).thenReturn(mock(ObjectWriteResponse.class));
 
-        existingMedia.setFileName("new-image.png"); // Nome salvo no banco
 
-        when(mediaRepository.save(any(Media.class))).thenReturn(existingMedia);
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenReturn(existingMedia);
+        StorageTask archive = new StorageTask(StorageTaskType.MOVE, "educAPI/old-image.png", "arquivos_desativados/educAPI/old-image.png");
+        when(storageOutbox.move(eq("educAPI/old-image.png"), eq("arquivos_desativados/educAPI/old-image.png"), any())).thenReturn(archive);
 
         MediaResponse expectedResponse = new MediaResponse(
                 existingMedia.getEntityId(),
@@ -84,8 +92,55 @@ class MediaServiceImplUpdateTest extends BaseMediaServiceImplTest {
         // Verifica chamadas nos mocks
         verify(mediaRepository, times(1)).findByEntityIdAndServiceNameAndActiveTrue(entityId, serviceName);
         verify(minioClient, times(1)).putObject(any(PutObjectArgs.class));
-        verify(mediaRepository, times(1)).save(any(Media.class));
+        // O novo nome é reservado antes do envio e a reserva passa para a mídia na mesma transação.
+        verify(mediaRepository).saveAndFlush(argThat(claim -> claim != existingMedia && !claim.isActive()
+                && "new-image.png".equals(claim.getFileName())));
+        verify(mediaRepository).saveAndFlush(existingMedia);
+        verify(mediaRepository).delete(argThat(claim -> claim != existingMedia && "new-image.png".equals(claim.getFileName())));
         verify(mediaMapper, times(1)).toResponse(any(Media.class));
+        verify(storageOutbox, times(1)).dispatchAsync(archive);
+        // O nome antigo continua reservado até a movimentação terminar.
+        verify(mediaRepository).save(argThat(holder -> holder != existingMedia && !holder.isActive()
+                && "old-image.png".equals(holder.getFileName())));
+        verify(mediaObjectCache).evict("educAPI/old-image.png");
+        verify(thumbnailPipeline).discard(existingMedia.getEntityId());
+        verify(thumbnailPipeline).schedule(existingMedia);
+        verify(minioClient, never()).copyObject(any());
+        assertEquals("new-image.png", existingMedia.getFileName());
+    }
+
+    @Test
+    void testUpdateMedia_dbFailure_removesNewObject() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(entityId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenReturn(mock(ObjectWriteResponse.class));
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mediaRepository.saveAndFlush(existingMedia)).thenThrow(new CannotCreateTransactionException("Banco indisponível"));
+        StorageTask cleanup = new StorageTask(StorageTaskType.REMOVE, "educAPI/new-image.png", null);
+        when(storageOutbox.remove(eq("educAPI/new-image.png"), any())).thenReturn(cleanup);
+
+        MediaRequest request = new MediaRequest(serviceName, 42L);
+
+        assertThrows(FileStorageException.class, () -> mediaService.updateMedia(entityId, request, file));
+
+        // A reserva do novo nome só sai junto com a remoção do objeto enviado.
+        verify(storageOutbox).dispatchAsync(cleanup);
+        verify(storageOutbox, never()).move(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateMedia_nameTakenMeanwhile_throwsDuplicateFileException() throws Exception {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(entityId, serviceName))
+                .thenReturn(Optional.of(existingMedia));
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        MediaRequest request = new MediaRequest(serviceName, 42L);
+
+        assertThrows(DuplicateFileException.class, () -> mediaService.updateMedia(entityId, request, file));
+
+        // O nome já tem dono: nada é enviado, e o objeto do upload concorrente fica intacto.
+        verify(minioClient, never()).putObject(any(PutObjectArgs.class));
+        verifyNoInteractions(storageOutbox);
     }
 
     @Test
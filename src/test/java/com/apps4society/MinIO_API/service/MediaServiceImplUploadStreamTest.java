@@ -0,0 +1,102 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MediaServiceImplUploadStreamTest extends BaseMediaServiceImplTest {
+
+    private MediaRequest mediaRequest;
+
+    @BeforeEach
+    void setup() {
+        mediaRequest = new MediaRequest(serviceName, 42L);
+        when(minioConfig.getUploadPartSize()).thenReturn(10L * 1024 * 1024);
+    }
+
+    @Test
+    void testUploadMediaStream_successful_usesUnknownSizeWithPartSize() throws Exception {
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenReturn(mock(ObjectWriteResponse.class));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MediaResponse expected = new MediaResponse(1L, serviceName, "audio.mp3", null);
+        when(mediaMapper.toResponse(any(Media.class))).thenReturn(expected);
+
+        MediaResponse result = mediaService.uploadMediaStream(mediaRequest, "audio.mp3", "audio/mpeg",
+                new ByteArrayInputStream(MP3_CONTENT));
+
+        assertEquals(expected, result);
+
+        ArgumentCaptor<PutObjectArgs> captor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient, times(1)).putObject(captor.capture());
+        assertEquals(-1, captor.getValue().objectSize());
+        assertEquals(10L * 1024 * 1024, captor.getValue().partSize());
+        assertEquals(serviceName + "/audio.mp3", captor.getValue().object());
+        verify(mediaRepository, times(1)).saveAndFlush(any(Media.class));
+        verify(mediaRepository, times(1)).save(any(Media.class));
+        verifyNoInteractions(multipartUploadEngine);
+    }
+
+    @Test
+    void testUploadMediaStream_video_usesMultipartEngine() throws Exception {
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mediaService.uploadMediaStream(mediaRequest, "video.mp4", "video/mp4", new ByteArrayInputStream(MP4_CONTENT));
+
+        verify(multipartUploadEngine, times(1)).upload(eq("test-bucket"), eq(serviceName + "/video.mp4"),
+                any(InputStream.class), eq(-1L), eq("video/mp4"));
+        verify(minioClient, never()).putObject(any(PutObjectArgs.class));
+        verify(mediaRepository, times(1)).save(any(Media.class));
+    }
+
+    @Test
+    void testUploadMediaStream_emptyStream_throwsInvalidFileException() {
+        assertThrows(InvalidFileException.class, () -> mediaService.uploadMediaStream(mediaRequest, "video.mp4", "video/mp4",
+                new ByteArrayInputStream(new byte[0])));
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testUploadMediaStream_blankFileName_throwsInvalidFileException() {
+        assertThrows(InvalidFileException.class, () -> mediaService.uploadMediaStream(mediaRequest, " ", "video/mp4",
+                new ByteArrayInputStream(MP4_CONTENT)));
+    }
+
+    @Test
+    void testUploadMediaStream_duplicate_throwsDuplicateFileException() {
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class, () -> mediaService.uploadMediaStream(mediaRequest, "video.mp4", "video/mp4",
+                new ByteArrayInputStream(MP4_CONTENT)));
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testUploadMediaStream_minioFailure_throwsFileStorageException() throws Exception {
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenThrow(new RuntimeException("Erro ao salvar no MinIO"));
+
+        assertThrows(FileStorageException.class, () -> mediaService.uploadMediaStream(mediaRequest, "audio.mp3", "audio/mpeg",
+                new ByteArrayInputStream(MP3_CONTENT)));
+
+        verify(mediaRepository, never()).save(any(Media.class));
+        verify(mediaRepository, times(1)).delete(any(Media.class));
+    }
+}
@@ -1,23 +1,30 @@
 package com.apps4society.MinIO_API.service;
 
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
 import com.apps4society.MinIO_API.exceptions.FileStorageException;
 import com.apps4society.MinIO_API.exceptions.InvalidFileException;
 import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
 import com.apps4society.MinIO_API.model.DTO.MediaRequest;
 import com.apps4society.MinIO_API.model.DTO.MediaResponse;
 import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
 import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
 import io.minio.ObjectWriteResponse;
 import io.minio.PutObjectArgs;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Slf4j
@@ -30,7 +37,7 @@ class MediaServiceImplUploadTest extends BaseMediaServiceImplTest {
     void setup() {
         ReflectionTestUtils.setField(mediaService, "bucketName", "test-bucket");
 
-        file = new MockMultipartFile("file", "test-image.png", "image/png", "dummy".getBytes());
+        file = new MockMultipartFile("file", "test-image.png", "image/png", PNG_CONTENT);
 
         mediaRequest = new MediaRequest(
                 "educAPI", // serviceName
@@ -68,11 +75,39 @@ class MediaServiceImplUploadTest extends BaseMediaServiceImplTest {
     }
 
     @Test
-    void testUploadMedia_invalidFileName_throwsUnsupportedMediaTypeException() {
-        MockMultipartFile invalidFile = new MockMultipartFile("file", "", "image/png", "dummy".getBytes());
+    void testUploadMedia_blankFileName_throwsInvalidFileException() {
+        MockMultipartFile invalidFile = new MockMultipartFile("file", "", "image/png", PNG_CONTENT);
         MediaRequest requestArquivoSemNome = new MediaRequest("educAPI", 42L);
 
-        assertThrows(UnsupportedMediaTypeException.class, () -> mediaService.uploadMedia(requestArquivoSemNome, invalidFile));
+        assertThrows(InvalidFileException.class, () -> mediaService.uploadMedia(requestArquivoSemNome, invalidFile));
+        verifyNoInteractions(mediaRepository);
+    }
+
+    @Test
+    void testUploadMedia_unrecognizedContent_throwsUnsupportedMediaTypeException() {
+        MockMultipartFile textFile = new MockMultipartFile("file", "foto.png", "image/png", "não é uma imagem".getBytes());
+
+        assertThrows(UnsupportedMediaTypeException.class, () -> mediaService.uploadMedia(mediaRequest, textFile));
+
+        verifyNoInteractions(minioClient);
+        verify(mediaRepository, never()).saveAndFlush(any(Media.class));
+    }
+
+    @Test
+    void testUploadMedia_misnamedFile_typeAndContentTypeFromContent() throws Exception {
+        MockMultipartFile misnamed = new MockMultipartFile("file", "foto.mp4", "video/mp4", PNG_CONTENT);
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mediaService.uploadMedia(mediaRequest, misnamed);
+
+        ArgumentCaptor<Media> claimed = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository).saveAndFlush(claimed.capture());
+        assertEquals(MediaType.IMAGE, claimed.getValue().getMediaType());
+
+        ArgumentCaptor<PutObjectArgs> put = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient).putObject(put.capture());
+        assertEquals("image/png", put.getValue().contentType());
+        verifyNoInteractions(multipartUploadEngine);
     }
 
     @Test
@@ -81,6 +116,82 @@ class MediaServiceImplUploadTest extends BaseMediaServiceImplTest {
                 .thenThrow(new RuntimeException("Erro ao salvar no MinIO"));
 
         assertThrows(FileStorageException.class, () -> mediaService.uploadMedia(mediaRequest, file));
+
+        verify(mediaRepository, times(1)).saveAndFlush(any(Media.class));
+        verify(mediaRepository, times(1)).delete(any(Media.class));
+    }
+
+    @Test
+    void testUploadMedia_duplicate_throwsDuplicateFileExceptionWithoutUploading() {
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class, () -> mediaService.uploadMedia(mediaRequest, file));
+
+        verifyNoInteractions(minioClient);
+        verify(mediaRepository, never()).existsByFileNameAndServiceName(any(), any());
+    }
+
+    @Test
+    void testUploadMedia_contentAddressed_storesUnderBlobObject() throws Exception {
+        when(contentStore.isEnabled()).thenReturn(true);
+        when(contentStore.newObjectName()).thenReturn("blobs/novo");
+        // O digest é calculado conforme o cliente do MinIO lê o fluxo.
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            invocation.<PutObjectArgs>getArgument(0).stream().readAllBytes();
+            return mock(ObjectWriteResponse.class);
+        });
+        MediaBlob blob = new MediaBlob(sha256(PNG_CONTENT), "blobs/novo", PNG_CONTENT.length, "image/png");
+        when(contentStore.attach(sha256(PNG_CONTENT), PNG_CONTENT.length, "image/png", "blobs/novo"))
+                .thenReturn(new ContentAddressedStore.Attachment(blob, null));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mediaService.uploadMedia(mediaRequest, file);
+
+        ArgumentCaptor<PutObjectArgs> put = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient).putObject(put.capture());
+        assertEquals("blobs/novo", put.getValue().object());
+
+        ArgumentCaptor<Media> saved = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository).save(saved.capture());
+        assertEquals("blobs/novo", saved.getValue().getObjectName());
+        assertEquals(sha256(PNG_CONTENT), saved.getValue().getBlobDigest());
+        assertEquals("test-image.png", saved.getValue().getFileName());
+        assertTrue(saved.getValue().isActive());
+        verify(storageOutbox, never()).dispatch(any());
+    }
+
+    @Test
+    void testUploadMedia_contentAddressed_duplicateContent_removesUploadedCopy() throws Exception {
+        when(contentStore.isEnabled()).thenReturn(true);
+        when(contentStore.newObjectName()).thenReturn("blobs/copia");
+        when(minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            invocation.<PutObjectArgs>getArgument(0).stream().readAllBytes();
+            return mock(ObjectWriteResponse.class);
+        });
+        MediaBlob existing = new MediaBlob(sha256(PNG_CONTENT), "blobs/original", PNG_CONTENT.length, "image/png");
+        StorageTask leftover = new StorageTask(StorageTaskType.REMOVE, "blobs/copia", null);
+        when(contentStore.attach(eq(sha256(PNG_CONTENT)), eq((long) PNG_CONTENT.length), eq("image/png"), eq("blobs/copia")))
+                .thenReturn(new ContentAddressedStore.Attachment(existing, leftover));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mediaService.uploadMedia(mediaRequest, file);
+
+        verify(mediaRepository).save(argThat(media -> "blobs/original".equals(media.getObjectName())));
+        verify(storageOutbox).dispatch(leftover);
+    }
+
+    @Test
+    void testUploadMedia_contentAddressed_saveFails_removesUploadedObjectAndReleasesClaim() throws Exception {
+        when(contentStore.isEnabled()).thenReturn(true);
+        when(contentStore.newObjectName()).thenReturn("blobs/novo");
+        when(contentStore.attach(any(), anyLong(), any(), any())).thenThrow(new IllegalStateException("banco fora do ar"));
+        StorageTask removal = new StorageTask(StorageTaskType.REMOVE, "blobs/novo", null);
+        when(storageOutbox.remove("blobs/novo")).thenReturn(removal);
+
+        assertThrows(FileStorageException.class, () -> mediaService.uploadMedia(mediaRequest, file));
+
+        verify(storageOutbox).dispatch(removal);
+        verify(mediaRepository).delete(any(Media.class));
     }
 
     @Test
@@ -120,16 +231,13 @@ class MediaServiceImplUploadTest extends BaseMediaServiceImplTest {
 
         log.info("Verificando as interações com os mocks...");
         verify(minioClient, times(1)).putObject(any(PutObjectArgs.class));
-        verify(mediaRepository, times(1)).save(any(Media.class));
+        ArgumentCaptor<Media> claimed = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository, times(1)).saveAndFlush(claimed.capture());
+        verify(mediaRepository, times(1)).save(claimed.getValue());
+        assertTrue(claimed.getValue().isActive());
+        assertFalse(claimed.getValue().isPending());
         verify(mediaMapper, times(1)).toResponse(any(Media.class));
 
         log.info("Teste testUploadMedia_successful concluído com sucesso.");
     }
-
-
-
-
-
-
-
 }
@@ -0,0 +1,109 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaSnifferTest {
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Caixa ftyp completa: tamanho, tipo, marca principal, versão zero e marcas compatíveis.
+     */
+    private static byte[] ftyp(String major, String... compatible) {
+        int size = 16 + 4 * compatible.length;
+        StringBuilder brands = new StringBuilder(major).append("\0\0\0\0");
+        for (String brand : compatible) {
+            brands.append(brand);
+        }
+        byte[] box = new byte[size];
+        box[3] = (byte) size;
+        System.arraycopy("ftyp".getBytes(), 0, box, 4, 4);
+        System.arraycopy(brands.toString().getBytes(), 0, box, 8, size - 8);
+        return box;
+    }
+
+    @Test
+    void testDetect_jpeg() {
+        MediaSniffer.Detected detected = MediaSniffer.detect(bytes(0xFF, 0xD8, 0xFF, 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F'));
+
+        assertEquals(new MediaSniffer.Detected(MediaType.IMAGE, "image/jpeg"), detected);
+    }
+
+    @Test
+    void testDetect_png() {
+        assertEquals(new MediaSniffer.Detected(MediaType.IMAGE, "image/png"), MediaSniffer.detect(BaseMediaServiceImplTest.PNG_CONTENT));
+    }
+
+    @Test
+    void testDetect_mp4() {
+        assertEquals(new MediaSniffer.Detected(MediaType.VIDEO, "video/mp4"), MediaSniffer.detect(BaseMediaServiceImplTest.MP4_CONTENT));
+    }
+
+    @Test
+    void testDetect_mp4UnknownMajorBrandWithMp4Compatible() {
+        // Câmera com marca própria, declarando compatibilidade com MP4.
+        MediaSniffer.Detected detected = MediaSniffer.detect(ftyp("XAVC", "XAVC", "mp42", "iso2"));
+
+        assertEquals(new MediaSniffer.Detected(MediaType.VIDEO, "video/mp4"), detected);
+    }
+
+    @Test
+    void testDetect_heicImage_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(ftyp("heic", "mif1", "heic")));
+    }
+
+    @Test
+    void testDetect_avifWithMp4Compatible_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(ftyp("avif", "avif", "mif1", "miaf", "iso8")));
+    }
+
+    @Test
+    void testDetect_m4aAudio_throwsUnsupportedMediaTypeException() {
+        // Áudio AAC do iTunes: as marcas compatíveis incluem mp42 e isom.
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(ftyp("M4A ", "M4A ", "mp42", "isom")));
+    }
+
+    @Test
+    void testDetect_quickTime_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(ftyp("qt  ", "qt  ")));
+    }
+
+    @Test
+    void testDetect_mp3WithId3Tag() {
+        assertEquals(new MediaSniffer.Detected(MediaType.AUDIO, "audio/mpeg"), MediaSniffer.detect(BaseMediaServiceImplTest.MP3_CONTENT));
+    }
+
+    @Test
+    void testDetect_mp3FrameSync() {
+        // MPEG-1 camada III, 128 kbps, 44,1 kHz
+        MediaSniffer.Detected detected = MediaSniffer.detect(bytes(0xFF, 0xFB, 0x90, 0x64));
+
+        assertEquals(new MediaSniffer.Detected(MediaType.AUDIO, "audio/mpeg"), detected);
+    }
+
+    @Test
+    void testDetect_invalidFrameHeader_throwsUnsupportedMediaTypeException() {
+        // Sincronismo presente, mas com taxa de bits inválida (1111)
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(bytes(0xFF, 0xFB, 0xF0, 0x64)));
+    }
+
+    @Test
+    void testDetect_unknownContent_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect("<html><body>".getBytes()));
+    }
+
+    @Test
+    void testDetect_headerShorterThanSignature_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class, () -> MediaSniffer.detect(bytes(0x89, 'P', 'N')));
+    }
+}
@@ -0,0 +1,180 @@
+package com.apps4society.MinIO_API.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresignedUrlCacheTest {
+
+    private static final Duration EXPIRY = Duration.ofHours(1);
+
+    /**
+     * Relógio ajustável para simular a passagem do tempo.
+     */
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private MutableClock clock;
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new PresignedUrlCache(2, 0.5, clock);
+    }
+
+    @Test
+    void testGet_returnsUrlWhileEnoughLifetimeRemains() {
+        cache.put("educAPI", 1L, "url-1", EXPIRY);
+
+        clock.advance(Duration.ofMinutes(29));
+        assertEquals(Optional.of("url-1"), cache.get("educAPI", 1L));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testGet_keyIncludesServiceName() {
+        cache.put("educAPI", 1L, "url-1", EXPIRY);
+
+        assertEquals(Optional.empty(), cache.get("outroServico", 1L));
+    }
+
+    @Test
+    void testPut_evictsLeastRecentlyUsedWhenFull() {
+        cache.put("educAPI", 1L, "url-1", EXPIRY);
+        cache.put("educAPI", 2L, "url-2", EXPIRY);
+        cache.get("educAPI", 1L);
+
+        cache.put("educAPI", 3L, "url-3", EXPIRY);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("educAPI", 1L).isPresent());
+        assertTrue(cache.get("educAPI", 2L).isEmpty());
+        assertTrue(cache.get("educAPI", 3L).isPresent());
+    }
+
+    @Test
+    void testConcurrentAccess_staysWithinLimitAndDropsInvalidated() throws Exception {
+        PresignedUrlCache shared = new PresignedUrlCache(50, 0.5, clock);
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                workers.add(threads.submit(() -> {
+                    for (long i = 0; i < 5_000; i++) {
+                        long mediaId = (i * 31 + seed) % 200;
+                        if (shared.get("educAPI", mediaId).isEmpty()) {
+                            shared.put("educAPI", mediaId, "url-" + mediaId, EXPIRY);
+                        }
+                        if (i % 100 == seed) {
+                            shared.invalidate("educAPI", mediaId);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        assertTrue(shared.size() <= 50);
+        shared.invalidate("educAPI", 7L);
+        assertEquals(Optional.empty(), shared.get("educAPI", 7L));
+    }
+
+    @Test
+    void testInvalidate_removesEntry() {
+        cache.put("educAPI", 1L, "url-1", EXPIRY);
+
+        cache.invalidate("educAPI", 1L);
+
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L));
+    }
+
+    @Test
+    void testInvalidate_removesAllVariants() {
+        cache.put("educAPI", 1L, "url-1", EXPIRY);
+        cache.put("educAPI", 1L, 160, "url-1-160", EXPIRY);
+
+        assertEquals(Optional.of("url-1-160"), cache.get("educAPI", 1L, 160));
+        assertEquals(1, cache.size());
+
+        cache.invalidate("educAPI", 1L);
+
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L));
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L, 160));
+    }
+
+    @Test
+    void testPut_invalidatedAfterGeneration_isDropped() {
+        long generation = cache.generation();
+        cache.invalidate("educAPI", 1L);
+
+        cache.put("educAPI", 1L, 0, "url-stale", EXPIRY, generation);
+        cache.put("educAPI", 2L, 0, "url-2", EXPIRY, generation);
+
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L));
+        assertEquals(Optional.of("url-2"), cache.get("educAPI", 2L));
+
+        cache.put("educAPI", 1L, 0, "url-fresh", EXPIRY, cache.generation());
+        assertEquals(Optional.of("url-fresh"), cache.get("educAPI", 1L));
+    }
+
+    @Test
+    void testPut_forgottenInvalidation_stillDropsOlderGenerations() {
+        long generation = cache.generation();
+        cache.invalidate("educAPI", 1L);
+        cache.invalidate("educAPI", 2L);
+        cache.invalidate("educAPI", 3L);
+
+        // A invalidação da mídia 1 saiu do registro limitado; a dúvida descarta a URL.
+        cache.put("educAPI", 1L, 0, "url-stale", EXPIRY, generation);
+
+        assertEquals(Optional.empty(), cache.get("educAPI", 1L));
+    }
+
+    @Test
+    void testPut_zeroCapacity_disablesCache() {
+        PresignedUrlCache disabled = new PresignedUrlCache(0, 0.5, clock);
+
+        disabled.put("educAPI", 1L, "url-1", EXPIRY);
+
+        assertEquals(Optional.empty(), disabled.get("educAPI", 1L));
+    }
+}
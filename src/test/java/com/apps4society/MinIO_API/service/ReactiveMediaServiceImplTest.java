@@ -0,0 +1,222 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.exceptions.MediaNotFoundException;
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+import com.apps4society.MinIO_API.mapper.MediaMapper;
+import com.apps4society.MinIO_API.model.DTO.MediaPage;
+import com.apps4society.MinIO_API.model.DTO.MediaRequest;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaBlob;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.storage.MediaObjectCache;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import io.minio.ObjectWriteResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveMediaServiceImplTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String SERVICE_NAME = "educAPI";
+
+    @Mock
+    private MediaService mediaService;
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private MediaMapper mediaMapper;
+
+    @Mock
+    private MultipartUploadEngine multipartUploadEngine;
+
+    @Mock
+    private StorageOutbox storageOutbox;
+
+    @Mock
+    private MediaObjectCache mediaObjectCache;
+
+    @Mock
+    private ThumbnailPipeline thumbnailPipeline;
+
+    @Mock
+    private ContentAddressedStore contentStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private MinioConfig minioConfig;
+
+    private ReactiveMediaServiceImpl reactiveMediaService;
+    private final MediaRequest mediaRequest = new MediaRequest(SERVICE_NAME, 42L);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(minioConfig.getBucketName()).thenReturn(BUCKET);
+        MediaPersistence mediaPersistence = new MediaPersistence(mediaRepository, storageOutbox, contentStore,
+                new PresignedUrlCache(100, 0.5, Clock.systemUTC()), mediaObjectCache, thumbnailPipeline,
+                new TransactionTemplate(transactionManager));
+        reactiveMediaService = new ReactiveMediaServiceImpl(mediaService, mediaRepository, mediaMapper, multipartUploadEngine,
+                thumbnailPipeline, contentStore, mediaPersistence, minioConfig, 2);
+    }
+
+    private Flux<DataBuffer> content(byte[] bytes) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes));
+    }
+
+    @Test
+    void testUploadMedia_successful_streamsToEngineAndActivates() {
+        when(multipartUploadEngine.upload(eq(BUCKET), eq(SERVICE_NAME + "/foto.png"), any(), eq("image/png")))
+                .thenAnswer(invocation -> invocation.<Flux<DataBuffer>>getArgument(2).then(Mono.just(mock(ObjectWriteResponse.class))));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MediaResponse expected = new MediaResponse(1L, SERVICE_NAME, "foto.png", null);
+        when(mediaMapper.toResponse(any(Media.class))).thenReturn(expected);
+
+        MediaResponse result = reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png", content(BaseMediaServiceImplTest.PNG_CONTENT)).block();
+
+        assertEquals(expected, result);
+        verify(mediaRepository).saveAndFlush(any(Media.class));
+        verify(mediaRepository).save(argThat(media -> media.isActive() && !media.isPending()));
+    }
+
+    @Test
+    void testUploadMedia_contentAddressed_hashesStreamedBuffers() throws Exception {
+        byte[] bytes = BaseMediaServiceImplTest.PNG_CONTENT;
+        when(contentStore.isEnabled()).thenReturn(true);
+        when(contentStore.newObjectName()).thenReturn("blobs/novo");
+        when(multipartUploadEngine.upload(eq(BUCKET), eq("blobs/novo"), any(), eq("image/png")))
+                .thenAnswer(invocation -> invocation.<Flux<DataBuffer>>getArgument(2).then(Mono.just(mock(ObjectWriteResponse.class))));
+        String digest = BaseMediaServiceImplTest.sha256(bytes);
+        when(contentStore.attach(digest, bytes.length, "image/png", "blobs/novo"))
+                .thenReturn(new ContentAddressedStore.Attachment(new MediaBlob(digest, "blobs/novo", bytes.length, "image/png"), null));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png",
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 0, 10)),
+                        DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 10, bytes.length)))).block();
+
+        verify(mediaRepository).save(argThat(media -> "blobs/novo".equals(media.getObjectName()) && digest.equals(media.getBlobDigest())));
+    }
+
+    @Test
+    void testUploadMedia_emptyContent_throwsInvalidFileWithoutClaim() {
+        assertThrows(InvalidFileException.class, () ->
+                reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png", Flux.empty()).block());
+
+        verifyNoInteractions(mediaRepository, multipartUploadEngine);
+    }
+
+    @Test
+    void testUploadMedia_unrecognizedContent_throwsUnsupportedMediaTypeWithoutClaim() {
+        assertThrows(UnsupportedMediaTypeException.class, () ->
+                reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png", content("não é uma imagem".getBytes())).block());
+
+        verifyNoInteractions(mediaRepository, multipartUploadEngine);
+    }
+
+    @Test
+    void testUploadMedia_misnamedFile_usesDetectedContentType() {
+        when(multipartUploadEngine.upload(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Flux<DataBuffer>>getArgument(2).then(Mono.just(mock(ObjectWriteResponse.class))));
+        when(mediaRepository.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reactiveMediaService.uploadMedia(mediaRequest, "faixa.png", "image/png", content(BaseMediaServiceImplTest.MP3_CONTENT)).block();
+
+        verify(multipartUploadEngine).upload(eq(BUCKET), eq(SERVICE_NAME + "/faixa.png"), any(), eq("audio/mpeg"));
+        verify(mediaRepository).saveAndFlush(argThat(media -> media.getMediaType() == MediaType.AUDIO));
+    }
+
+    @Test
+    void testUploadMedia_duplicate_throwsDuplicateFile() {
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class, () ->
+                reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png", content(BaseMediaServiceImplTest.PNG_CONTENT)).block());
+
+        verifyNoInteractions(multipartUploadEngine);
+    }
+
+    @Test
+    void testUploadMedia_storageFails_releasesClaim() {
+        when(multipartUploadEngine.upload(any(), any(), any(), any()))
+                .thenReturn(Mono.error(new FileStorageException("Erro no upload multipart para o armazenamento.", null)));
+
+        assertThrows(FileStorageException.class, () ->
+                reactiveMediaService.uploadMedia(mediaRequest, "foto.png", "image/png", content(BaseMediaServiceImplTest.PNG_CONTENT)).block());
+
+        verify(mediaRepository).delete(any(Media.class));
+        verify(mediaRepository, never()).save(any(Media.class));
+    }
+
+    @Test
+    void testUpdateMedia_successful_archivesOldObject() {
+        Media media = new Media(42L, "old.png", SERVICE_NAME, MediaType.IMAGE);
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(1L, SERVICE_NAME)).thenReturn(Optional.of(media));
+        when(multipartUploadEngine.upload(eq(BUCKET), eq(SERVICE_NAME + "/new.png"), any(), any()))
+                .thenReturn(Mono.just(mock(ObjectWriteResponse.class)));
+        when(mediaRepository.saveAndFlush(media)).thenReturn(media);
+        StorageTask archive = new StorageTask(StorageTaskType.MOVE, SERVICE_NAME + "/old.png", "arquivos_desativados/" + SERVICE_NAME + "/old.png");
+        when(storageOutbox.move(eq(SERVICE_NAME + "/old.png"), eq("arquivos_desativados/" + SERVICE_NAME + "/old.png"), any())).thenReturn(archive);
+
+        reactiveMediaService.updateMedia(1L, mediaRequest, "new.png", "image/png", content(BaseMediaServiceImplTest.PNG_CONTENT)).block();
+
+        assertEquals("new.png", media.getFileName());
+        verify(storageOutbox).dispatchAsync(archive);
+        verify(mediaRepository).save(argThat(holder -> holder != media && !holder.isActive() && "old.png".equals(holder.getFileName())));
+        verify(mediaObjectCache).evict(SERVICE_NAME + "/old.png");
+    }
+
+    @Test
+    void testUpdateMedia_notFound_throwsWithoutUpload() {
+        when(mediaRepository.findByEntityIdAndServiceNameAndActiveTrue(1L, SERVICE_NAME)).thenReturn(Optional.empty());
+
+        assertThrows(MediaNotFoundException.class, () ->
+                reactiveMediaService.updateMedia(1L, mediaRequest, "new.png", "image/png", content(BaseMediaServiceImplTest.PNG_CONTENT)).block());
+
+        verifyNoInteractions(multipartUploadEngine);
+    }
+
+    @Test
+    void testStreamMediaByUploadedBy_followsCursorPages() {
+        MediaResponse first = new MediaResponse(1L, SERVICE_NAME, "a.png", null);
+        MediaResponse second = new MediaResponse(2L, SERVICE_NAME, "b.png", null);
+        MediaResponse third = new MediaResponse(3L, SERVICE_NAME, "c.png", null);
+        when(mediaService.listMediaByUploadedBy(SERVICE_NAME, 42L, null, 2, false, null)).thenReturn(new MediaPage(List.of(first, second), 2L));
+        when(mediaService.listMediaByUploadedBy(SERVICE_NAME, 42L, 2L, 2, false, null)).thenReturn(new MediaPage(List.of(third), null));
+
+        List<MediaResponse> result = reactiveMediaService.streamMediaByUploadedBy(SERVICE_NAME, 42L).collectList().block();
+
+        assertEquals(List.of(first, second, third), result);
+    }
+}
@@ -0,0 +1,176 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.MediaVariant;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.MediaVariantRepository;
+import com.apps4society.MinIO_API.storage.StorageOutbox;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import okhttp3.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailPipelineTest {
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private MediaVariantRepository mediaVariantRepository;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private StorageOutbox storageOutbox;
+
+    @Mock
+    private MinioConfig minioConfig;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PresignedUrlCache presignedUrlCache;
+
+    private final Long mediaId = 7L;
+    private final String serviceName = "educAPI";
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(minioConfig.getBucketName()).thenReturn("test-bucket");
+        presignedUrlCache = new PresignedUrlCache(100, 0.5, Clock.systemUTC());
+    }
+
+    private ThumbnailPipeline pipeline(boolean enabled, int... widths) {
+        return new ThumbnailPipeline(mediaRepository, mediaVariantRepository, minioClient, storageOutbox, presignedUrlCache,
+                new TransactionTemplate(transactionManager), minioConfig, enabled, widths, "miniaturas/", 40_000_000L, 1, 10);
+    }
+
+    private Media activeMedia(String fileName) {
+        Media media = new Media(1L, fileName, serviceName, MediaType.IMAGE);
+        media.setEntityId(mediaId);
+        media.activate();
+        return media;
+    }
+
+    private void storeImage(int width, int height, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        when(minioClient.getObject(any(GetObjectArgs.class))).thenReturn(new GetObjectResponse(Headers.of(), "test-bucket", null,
+                serviceName + "/foto." + format, new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void testGenerate_createsVariantsSmallerThanOriginal() throws Exception {
+        storeImage(640, 400, "jpg");
+        when(mediaRepository.findById(mediaId)).thenReturn(Optional.of(activeMedia("foto.jpg")));
+        presignedUrlCache.put(serviceName, mediaId, "https://minio/educAPI/foto.jpg", Duration.ofHours(1));
+
+        pipeline(true, 160, 480, 1024).generate(mediaId, serviceName, "foto.jpg", "educAPI/foto.jpg");
+
+        ArgumentCaptor<PutObjectArgs> puts = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClient, times(2)).putObject(puts.capture());
+        assertEquals(List.of("miniaturas/educAPI/7/480/foto.jpg", "miniaturas/educAPI/7/160/foto.jpg"),
+                puts.getAllValues().stream().map(PutObjectArgs::object).toList());
+        assertEquals("image/jpeg", puts.getValue().contentType());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MediaVariant>> saved = ArgumentCaptor.forClass(List.class);
+        verify(mediaVariantRepository).saveAll(saved.capture());
+        assertEquals(List.of(480, 160), saved.getValue().stream().map(MediaVariant::getWidth).toList());
+        assertEquals(List.of(300, 100), saved.getValue().stream().map(MediaVariant::getHeight).toList());
+        assertTrue(presignedUrlCache.get(serviceName, mediaId).isEmpty());
+    }
+
+    @Test
+    void testGenerate_mediaChangedMeanwhile_discardsObjects() throws Exception {
+        storeImage(640, 400, "png");
+        when(mediaRepository.findById(mediaId)).thenReturn(Optional.of(activeMedia("outra.png")));
+
+        pipeline(true, 160).generate(mediaId, serviceName, "foto.png", "educAPI/foto.png");
+
+        verify(minioClient).putObject(any(PutObjectArgs.class));
+        verify(storageOutbox).remove("miniaturas/educAPI/7/160/foto.png");
+        verify(mediaVariantRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testGenerate_imageTooLarge_skipsGeneration() throws Exception {
+        storeImage(640, 400, "png");
+        ThumbnailPipeline pipeline = new ThumbnailPipeline(mediaRepository, mediaVariantRepository, minioClient, storageOutbox,
+                presignedUrlCache, new TransactionTemplate(transactionManager), minioConfig, true, new int[]{160}, "miniaturas/", 1_000L, 1, 10);
+
+        pipeline.generate(mediaId, serviceName, "foto.png", "educAPI/foto.png");
+
+        verify(minioClient, never()).putObject(any(PutObjectArgs.class));
+        verifyNoInteractions(mediaVariantRepository);
+    }
+
+    @Test
+    void testVariantFor_picksSmallestWidthThatFits() {
+        ThumbnailPipeline pipeline = pipeline(true, 480, 160);
+
+        assertEquals(160, pipeline.variantFor(100));
+        assertEquals(160, pipeline.variantFor(160));
+        assertEquals(480, pipeline.variantFor(161));
+        assertEquals(PresignedUrlCache.ORIGINAL, pipeline.variantFor(481));
+        assertEquals(PresignedUrlCache.ORIGINAL, pipeline.variantFor(null));
+        assertEquals(PresignedUrlCache.ORIGINAL, pipeline(false, 160).variantFor(100));
+    }
+
+    @Test
+    void testDiscard_removesRowsAndObjects() {
+        List<MediaVariant> variants = List.of(new MediaVariant(mediaId, 160, 100, "miniaturas/educAPI/7/160/foto.jpg", 10));
+        when(mediaVariantRepository.findByMediaId(mediaId)).thenReturn(variants);
+
+        pipeline(true, 160).discard(mediaId);
+
+        verify(storageOutbox).remove("miniaturas/educAPI/7/160/foto.jpg");
+        verify(mediaVariantRepository).deleteAll(variants);
+    }
+
+    @Test
+    void testSchedule_disabledOrNotImage_doesNothing() {
+        Media video = activeMedia("aula.mp4");
+        video.setMediaType(MediaType.VIDEO);
+
+        pipeline(false, 160).schedule(activeMedia("foto.jpg"));
+        pipeline(true, 160).schedule(video);
+
+        verifyNoInteractions(minioClient);
+    }
+
+    @Test
+    void testResize_keepsAspectRatio() {
+        BufferedImage result = ThumbnailPipeline.resize(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), 160, false);
+
+        assertEquals(160, result.getWidth());
+        assertEquals(80, result.getHeight());
+    }
+}
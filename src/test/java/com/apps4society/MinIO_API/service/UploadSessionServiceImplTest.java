@@ -0,0 +1,378 @@
+package com.apps4society.MinIO_API.service;
+
+import com.apps4society.MinIO_API.config.MinioConfig;
+import com.apps4society.MinIO_API.exceptions.DuplicateFileException;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import com.apps4society.MinIO_API.exceptions.InvalidFileException;
+import com.apps4society.MinIO_API.exceptions.InvalidInputException;
+import com.apps4society.MinIO_API.exceptions.UnsupportedMediaTypeException;
+import com.apps4society.MinIO_API.exceptions.UploadSessionNotFoundException;
+import com.apps4society.MinIO_API.mapper.MediaMapper;
+import com.apps4society.MinIO_API.model.DTO.MediaResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionRequest;
+import com.apps4society.MinIO_API.model.DTO.UploadSessionResponse;
+import com.apps4society.MinIO_API.model.DTO.UploadedPartResponse;
+import com.apps4society.MinIO_API.model.entity.Media;
+import com.apps4society.MinIO_API.model.entity.UploadSession;
+import com.apps4society.MinIO_API.model.enums.MediaType;
+import com.apps4society.MinIO_API.model.enums.UploadSessionStatus;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.UploadSessionRepository;
+import com.apps4society.MinIO_API.storage.MultipartUploadEngine;
+import io.minio.messages.Part;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UploadSessionServiceImplTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String UPLOAD_ID = "upload-1";
+    private static final long MIB = 1024 * 1024;
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private MediaMapper mediaMapper;
+
+    @Mock
+    private MultipartUploadEngine multipartUploadEngine;
+
+    @Mock
+    private MinioConfig minioConfig;
+
+    @Mock
+    private ThumbnailPipeline thumbnailPipeline;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UploadSessionServiceImpl uploadSessionService;
+
+    private final String serviceName = "educAPI";
+    private final Long sessionId = 7L;
+    private UploadSession openSession;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(minioConfig.getBucketName()).thenReturn(BUCKET);
+        when(multipartUploadEngine.getPartSize()).thenReturn(5L * 1024 * 1024);
+        uploadSessionService = new UploadSessionServiceImpl(uploadSessionRepository, mediaRepository, mediaMapper, multipartUploadEngine, minioConfig,
+                thumbnailPipeline, new TransactionTemplate(transactionManager), TTL);
+
+        openSession = new UploadSession(UPLOAD_ID, serviceName, "aula.mp4", "video/mp4", MediaType.VIDEO, 42L,
+                LocalDateTime.now().plusHours(1));
+        openSession.setSessionId(sessionId);
+    }
+
+    private Part part(int number) {
+        return part(number, 5 * MIB);
+    }
+
+    private Part part(int number, long size) {
+        Part part = mock(Part.class);
+        when(part.partNumber()).thenReturn(number);
+        when(part.etag()).thenReturn("etag-" + number);
+        when(part.partSize()).thenReturn(size);
+        return part;
+    }
+
+    @Test
+    void testInitiate_successful_opensMultipartUpload() {
+        when(multipartUploadEngine.initiate(BUCKET, serviceName + "/aula.mp4", "video/mp4")).thenReturn(UPLOAD_ID);
+        when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> {
+            UploadSession session = invocation.getArgument(0);
+            session.setSessionId(sessionId);
+            return session;
+        });
+
+        UploadSessionResponse response = uploadSessionService.initiate(new UploadSessionRequest(serviceName, 42L, "aula.mp4", "video/mp4"));
+
+        assertEquals(sessionId, response.sessionId());
+        assertEquals(UploadSessionStatus.OPEN, response.status());
+        assertEquals(5L * 1024 * 1024, response.partSize());
+        assertTrue(response.parts().isEmpty());
+
+        ArgumentCaptor<UploadSession> captor = ArgumentCaptor.forClass(UploadSession.class);
+        verify(uploadSessionRepository).save(captor.capture());
+        assertEquals(UPLOAD_ID, captor.getValue().getUploadId());
+        assertEquals(MediaType.VIDEO, captor.getValue().getMediaType());
+        assertTrue(captor.getValue().getExpiresAt().isAfter(LocalDateTime.now().plus(TTL).minusMinutes(1)));
+    }
+
+    @Test
+    void testInitiate_duplicateMedia_throwsDuplicateFileException() {
+        when(mediaRepository.existsByFileNameAndServiceName("aula.mp4", serviceName)).thenReturn(true);
+
+        assertThrows(DuplicateFileException.class,
+                () -> uploadSessionService.initiate(new UploadSessionRequest(serviceName, 42L, "aula.mp4", "video/mp4")));
+
+        verify(multipartUploadEngine, never()).initiate(any(), any(), any());
+    }
+
+    @Test
+    void testInitiate_openSessionForSameFile_throwsDuplicateFileException() {
+        when(uploadSessionRepository.existsValidOpenSession(eq("aula.mp4"), eq(serviceName), any(), any())).thenReturn(true);
+
+        assertThrows(DuplicateFileException.class,
+                () -> uploadSessionService.initiate(new UploadSessionRequest(serviceName, 42L, "aula.mp4", "video/mp4")));
+
+        verify(multipartUploadEngine, never()).initiate(any(), any(), any());
+    }
+
+    @Test
+    void testInitiate_unsupportedExtension_throwsUnsupportedMediaTypeException() {
+        assertThrows(UnsupportedMediaTypeException.class,
+                () -> uploadSessionService.initiate(new UploadSessionRequest(serviceName, 42L, "arquivo.exe", null)));
+
+        verifyNoInteractions(multipartUploadEngine);
+    }
+
+    @Test
+    void testUploadPart_successful_forwardsStreamToEngine() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        InputStream stream = new ByteArrayInputStream("conteudo".getBytes());
+        when(multipartUploadEngine.uploadPart(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID, 3, stream, 8L))
+                .thenReturn(new Part(3, "etag-3"));
+
+        UploadedPartResponse response = uploadSessionService.uploadPart(sessionId, 3, stream, 8L);
+
+        assertEquals(new UploadedPartResponse(3, 8L, "etag-3"), response);
+    }
+
+    @Test
+    void testUploadPart_smallPartBeforeReceivedParts_throwsInvalidInputException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(3));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 2, new ByteArrayInputStream(new byte[1024]), 1024L));
+
+        verify(multipartUploadEngine, never()).uploadPart(any(), any(), any(), anyInt(), any(), anyLong());
+        assertNull(openSession.getFinalPartNumber());
+    }
+
+    @Test
+    void testUploadPart_smallPartBecomesFinal_laterPartsRejected() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(List.of());
+        when(multipartUploadEngine.uploadPart(eq(BUCKET), eq(serviceName + "/aula.mp4"), eq(UPLOAD_ID), eq(2), any(), eq(1024L)))
+                .thenReturn(new Part(2, "etag-2"));
+
+        uploadSessionService.uploadPart(sessionId, 2, new ByteArrayInputStream(new byte[1024]), 1024L);
+
+        assertEquals(2, openSession.getFinalPartNumber());
+        verify(uploadSessionRepository).save(openSession);
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 3, new ByteArrayInputStream(new byte[0]), 5 * MIB));
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 1, new ByteArrayInputStream(new byte[1024]), 1024L));
+        verify(multipartUploadEngine, times(1)).uploadPart(any(), any(), any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void testUploadPart_expiredSession_throwsInvalidInputException() {
+        openSession.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+
+        InvalidInputException exception = assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 1, new ByteArrayInputStream(new byte[0]), 5 * MIB));
+
+        assertEquals("A sessão de upload expirou.", exception.getMessage());
+        verify(multipartUploadEngine, never()).uploadPart(any(), any(), any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void testUploadPart_invalidPartNumber_throwsInvalidInputException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 0, new ByteArrayInputStream(new byte[1]), 1L));
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, MultipartUploadEngine.MAX_PARTS + 1, new ByteArrayInputStream(new byte[1]), 1L));
+
+        verify(multipartUploadEngine, never()).uploadPart(any(), any(), any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void testUploadPart_withoutContentLength_throwsInvalidFileException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+
+        assertThrows(InvalidFileException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 1, new ByteArrayInputStream(new byte[0]), -1L));
+    }
+
+    @Test
+    void testUploadPart_sessionNotFound_throwsUploadSessionNotFoundException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.empty());
+
+        assertThrows(UploadSessionNotFoundException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 1, new ByteArrayInputStream(new byte[1]), 1L));
+    }
+
+    @Test
+    void testUploadPart_completedSession_throwsInvalidInputException() {
+        openSession.setStatus(UploadSessionStatus.COMPLETED);
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+
+        assertThrows(InvalidInputException.class,
+                () -> uploadSessionService.uploadPart(sessionId, 1, new ByteArrayInputStream(new byte[1]), 1L));
+    }
+
+    @Test
+    void testGetSession_listsReceivedPartsInOrder() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(2), part(1));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+
+        UploadSessionResponse response = uploadSessionService.getSession(sessionId);
+
+        assertEquals(2, response.parts().size());
+        assertEquals(1, response.parts().get(0).partNumber());
+        assertEquals(2, response.parts().get(1).partNumber());
+    }
+
+    @Test
+    void testComplete_successful_savesMediaAndClosesSession() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(2), part(1));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> {
+            Media media = invocation.getArgument(0);
+            media.setEntityId(99L);
+            return media;
+        });
+        MediaResponse expected = new MediaResponse(99L, serviceName, "aula.mp4", null);
+        when(mediaMapper.toResponse(any(Media.class))).thenReturn(expected);
+
+        MediaResponse result = uploadSessionService.complete(sessionId);
+
+        assertEquals(expected, result);
+        ArgumentCaptor<Part[]> captor = ArgumentCaptor.forClass(Part[].class);
+        verify(multipartUploadEngine).complete(eq(BUCKET), eq(serviceName + "/aula.mp4"), eq(UPLOAD_ID), captor.capture());
+        assertEquals(1, captor.getValue()[0].partNumber());
+        assertEquals(2, captor.getValue()[1].partNumber());
+        assertEquals(UploadSessionStatus.COMPLETED, openSession.getStatus());
+        assertEquals(99L, openSession.getMediaId());
+        ArgumentCaptor<Media> media = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository).save(media.capture());
+        assertTrue(media.getValue().isActive());
+        assertFalse(media.getValue().isPending());
+    }
+
+    @Test
+    void testComplete_nameTakenMeanwhile_throwsDuplicateFileExceptionBeforeCompleting() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(1));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+        when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("uk_media_service_file"));
+
+        assertThrows(DuplicateFileException.class, () -> uploadSessionService.complete(sessionId));
+
+        verify(multipartUploadEngine, never()).complete(any(), any(), any(), any());
+        assertEquals(UploadSessionStatus.OPEN, openSession.getStatus());
+    }
+
+    @Test
+    void testComplete_storageFailure_releasesClaimAndKeepsSessionOpen() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(1));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+        doThrow(new FileStorageException("Erro ao concluir upload multipart no armazenamento.", null))
+                .when(multipartUploadEngine).complete(eq(BUCKET), eq(serviceName + "/aula.mp4"), eq(UPLOAD_ID), any(Part[].class));
+
+        assertThrows(FileStorageException.class, () -> uploadSessionService.complete(sessionId));
+
+        ArgumentCaptor<Media> claimed = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepository).saveAndFlush(claimed.capture());
+        verify(mediaRepository).delete(claimed.getValue());
+        verify(uploadSessionRepository, never()).save(any(UploadSession.class));
+        assertEquals(UploadSessionStatus.OPEN, openSession.getStatus());
+    }
+
+    @Test
+    void testComplete_missingPart_throwsInvalidInputException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(1), part(3));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+
+        InvalidInputException exception = assertThrows(InvalidInputException.class, () -> uploadSessionService.complete(sessionId));
+
+        assertEquals("A parte 2 ainda não foi recebida.", exception.getMessage());
+        verify(multipartUploadEngine, never()).complete(any(), any(), any(), any());
+        verify(mediaRepository, never()).saveAndFlush(any(Media.class));
+    }
+
+    @Test
+    void testComplete_smallPartBeforeLast_throwsInvalidInputException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        List<Part> parts = List.of(part(1, MIB), part(2, MIB));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(parts);
+
+        InvalidInputException exception = assertThrows(InvalidInputException.class, () -> uploadSessionService.complete(sessionId));
+
+        assertEquals("A parte 1 tem menos de 5 MiB; só a última parte pode ser menor.", exception.getMessage());
+        verify(multipartUploadEngine, never()).complete(any(), any(), any(), any());
+        verify(mediaRepository, never()).saveAndFlush(any(Media.class));
+    }
+
+    @Test
+    void testComplete_noParts_throwsInvalidFileException() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+        when(multipartUploadEngine.listParts(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(List.of());
+
+        assertThrows(InvalidFileException.class, () -> uploadSessionService.complete(sessionId));
+    }
+
+    @Test
+    void testAbort_abortsUploadAndMarksSession() {
+        when(uploadSessionRepository.findById(sessionId)).thenReturn(Optional.of(openSession));
+
+        uploadSessionService.abort(sessionId);
+
+        verify(multipartUploadEngine).abort(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID);
+        assertEquals(UploadSessionStatus.ABORTED, openSession.getStatus());
+        verify(uploadSessionRepository).save(openSession);
+    }
+
+    @Test
+    void testExpireSessions_abortsExpiredUploadsAndKeepsFailuresOpen() {
+        UploadSession failing = new UploadSession("upload-2", serviceName, "outra.mp4", "video/mp4", MediaType.VIDEO, 42L,
+                LocalDateTime.now().minusHours(1));
+        when(uploadSessionRepository.findExpiredOpenSessions(any(), any(), any(Limit.class))).thenReturn(List.of(openSession, failing));
+        when(multipartUploadEngine.abort(BUCKET, serviceName + "/aula.mp4", UPLOAD_ID)).thenReturn(true);
+        when(multipartUploadEngine.abort(BUCKET, serviceName + "/outra.mp4", "upload-2")).thenReturn(false);
+
+        uploadSessionService.expireSessions();
+
+        assertEquals(UploadSessionStatus.EXPIRED, openSession.getStatus());
+        verify(uploadSessionRepository).save(openSession);
+        assertEquals(UploadSessionStatus.OPEN, failing.getStatus());
+        verify(uploadSessionRepository, never()).save(failing);
+    }
+}
@@ -0,0 +1,177 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.model.DTO.MediaObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaObjectCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private MediaObjectCache cache(long maxSize, long maxObjectSize) {
+        return new MediaObjectCache(true, directory, DataSize.ofBytes(maxSize), DataSize.ofBytes(maxObjectSize));
+    }
+
+    private MediaObject object(String name, String content, String etag) {
+        return new MediaObject(name, content.length(), etag, "image/png", ZonedDateTime.now());
+    }
+
+    private Supplier<InputStream> loader(String content) {
+        return () -> {
+            loads.incrementAndGet();
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private String text(Optional<ByteBuffer> buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.orElseThrow()).toString();
+    }
+
+    private long filesInCache() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> !file.getFileName().toString().equals(MediaObjectCache.LOCK_FILE)).count();
+        }
+    }
+
+    @Test
+    void testRead_missThenHit_loadsOnce() {
+        MediaObjectCache cache = cache(1000, 100);
+        MediaObject object = object("educAPI/foto.png", "0123456789", "v1");
+
+        assertEquals("0123456789", text(cache.read(object, 0, 10, loader("0123456789"))));
+        assertEquals("2345", text(cache.read(object, 2, 4, loader("0123456789"))));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testRead_etagChanged_reloads() {
+        MediaObjectCache cache = cache(1000, 100);
+        cache.read(object("educAPI/foto.png", "antigo", "v1"), 0, 6, loader("antigo"));
+
+        String result = text(cache.read(object("educAPI/foto.png", "novo!!", "v2"), 0, 6, loader("novo!!")));
+
+        assertEquals("novo!!", result);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testRead_objectTooLarge_bypassesCache() throws Exception {
+        MediaObjectCache cache = cache(1000, 5);
+
+        assertTrue(cache.read(object("educAPI/video.mp4", "0123456789", "v1"), 0, 10, loader("0123456789")).isEmpty());
+
+        assertEquals(0, loads.get());
+        assertEquals(0, filesInCache());
+    }
+
+    @Test
+    void testRead_overLimit_evictsLeastRecentlyUsed() throws Exception {
+        MediaObjectCache cache = cache(20, 10);
+        MediaObject first = object("educAPI/a.png", "aaaaaaaaaa", "a");
+        MediaObject second = object("educAPI/b.png", "bbbbbbbbbb", "b");
+        cache.read(first, 0, 10, loader("aaaaaaaaaa"));
+        cache.read(second, 0, 10, loader("bbbbbbbbbb"));
+        cache.read(first, 0, 10, loader("aaaaaaaaaa"));
+
+        cache.read(object("educAPI/c.png", "cccccccccc", "c"), 0, 10, loader("cccccccccc"));
+        cache.read(first, 0, 10, loader("aaaaaaaaaa"));
+        cache.read(second, 0, 10, loader("bbbbbbbbbb"));
+
+        assertEquals(4, loads.get());
+        assertEquals(2, filesInCache());
+    }
+
+    @Test
+    void testRead_loaderFails_returnsEmpty() throws Exception {
+        MediaObjectCache cache = cache(1000, 100);
+        Supplier<InputStream> failing = () -> {
+            throw new UncheckedIOException(new IOException("Erro simulado ao acessar MinIO"));
+        };
+
+        assertTrue(cache.read(object("educAPI/foto.png", "0123456789", "v1"), 0, 10, failing).isEmpty());
+        assertEquals(0, filesInCache());
+    }
+
+    @Test
+    void testEvict_removesFile() throws Exception {
+        MediaObjectCache cache = cache(1000, 100);
+        MediaObject object = object("educAPI/foto.png", "0123456789", "v1");
+        cache.read(object, 0, 10, loader("0123456789"));
+
+        cache.evict("educAPI/foto.png");
+        cache.read(object, 0, 10, loader("0123456789"));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, filesInCache());
+    }
+
+    @Test
+    void testStart_removesOnlyOwnLeftovers() throws Exception {
+        MediaObjectCache previous = cache(1000, 100);
+        previous.read(object("educAPI/foto.png", "0123456789", "v1"), 0, 10, loader("0123456789")).orElseThrow();
+        Path leftover;
+        try (Stream<Path> files = Files.list(directory)) {
+            leftover = files.filter(file -> file.toString().endsWith(".cache")).findFirst().orElseThrow();
+        }
+        previous.close();
+
+        MediaObjectCache restarted = cache(1000, 100);
+
+        assertFalse(Files.exists(leftover));
+        assertEquals(0, filesInCache());
+        restarted.close();
+    }
+
+    @Test
+    void testStart_directoryWithForeignFiles_refusesToStart() throws Exception {
+        Path foreign = Files.writeString(directory.resolve("relatorio.pdf"), "não é do cache");
+
+        assertThrows(IllegalStateException.class, () -> cache(1000, 100));
+        assertTrue(Files.exists(foreign));
+    }
+
+    @Test
+    void testStart_unmarkedDirectoryWithCacheLikeFiles_refusesToStart() throws Exception {
+        Path file = Files.writeString(directory.resolve("dados.cache"), "de outro programa");
+
+        assertThrows(IllegalStateException.class, () -> cache(1000, 100));
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void testStart_directoryInUse_refusesToStart() {
+        MediaObjectCache first = cache(1000, 100);
+
+        assertThrows(IllegalStateException.class, () -> cache(1000, 100));
+        first.close();
+    }
+
+    @Test
+    void testRead_disabled_returnsEmpty() {
+        MediaObjectCache cache = new MediaObjectCache(false, directory, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+
+        assertTrue(cache.read(object("educAPI/foto.png", "0123456789", "v1"), 0, 10, loader("0123456789")).isEmpty());
+        assertEquals(0, loads.get());
+    }
+}
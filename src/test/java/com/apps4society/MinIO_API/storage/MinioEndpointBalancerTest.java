@@ -0,0 +1,163 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinioEndpointBalancerTest {
+
+    // Endereço assinado pelo SDK (minio.url); as conexões vão para os nós.
+    private static final String SIGNED_HOST = "minio.local:9000";
+
+    private SimpleMeterRegistry registry;
+    private MockWebServer nodeA;
+    private MockWebServer nodeB;
+    private MinioEndpointBalancer balancer;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        nodeA = new MockWebServer();
+        nodeB = new MockWebServer();
+        nodeA.start();
+        nodeB.start();
+
+        MinioProperties properties = new MinioProperties();
+        properties.setEndpoints(List.of(nodeA.url("/").toString(), " " + nodeB.url("/") + " "));
+        properties.setBalancerFailureThreshold(2);
+        properties.setBalancerMaxAttempts(3);
+        properties.setBalancerProbeTimeout(Duration.ofSeconds(2));
+        registry = new SimpleMeterRegistry();
+        balancer = new MinioEndpointBalancer(properties, registry);
+        client = new OkHttpClient.Builder().addInterceptor(balancer).build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    private Request.Builder request() {
+        return new Request.Builder().url("http://" + SIGNED_HOST + "/test-bucket/educAPI/foto.png").header("Host", SIGNED_HOST);
+    }
+
+    private int call(Request.Builder request) throws IOException {
+        try (Response response = client.newCall(request.build()).execute()) {
+            response.body().bytes();
+            return response.code();
+        }
+    }
+
+    private double healthy(int port) {
+        return registry.get("minio.endpoint.healthy").tag("endpoint", "localhost:" + port).gauge().value();
+    }
+
+    @Test
+    void testIntercept_routesToLeastOutstandingNode_keepingSignedHost() throws IOException, InterruptedException {
+        nodeA.enqueue(new MockResponse().setBody("a"));
+        nodeB.enqueue(new MockResponse().setBody("b"));
+
+        // A primeira resposta fica aberta (download em andamento), então a segunda vai para o outro nó.
+        try (Response first = client.newCall(request().get().build()).execute()) {
+            String second;
+            try (Response response = client.newCall(request().get().build()).execute()) {
+                second = response.body().string();
+            }
+            assertNotEquals(first.body().string(), second);
+        }
+
+        RecordedRequest recorded = nodeA.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals(SIGNED_HOST, recorded.getHeader("Host"));
+        assertEquals("/test-bucket/educAPI/foto.png", recorded.getPath());
+        assertEquals(1, nodeB.getRequestCount());
+        assertEquals(0, registry.get("minio.endpoint.outstanding").tag("endpoint", "localhost:" + nodeA.getPort()).gauge().value());
+    }
+
+    @Test
+    void testIntercept_idempotentFailure_retriedOnOtherNode() throws IOException {
+        // Só a primeira chamada, no nó que for sorteado, falha.
+        AtomicInteger requests = new AtomicInteger();
+        Dispatcher firstFails = new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(requests.getAndIncrement() == 0 ? 503 : 200);
+            }
+        };
+        nodeA.setDispatcher(firstFails);
+        nodeB.setDispatcher(firstFails);
+
+        assertEquals(200, call(request().put(RequestBody.create(new byte[16], null))));
+        assertEquals(1, nodeA.getRequestCount());
+        assertEquals(1, nodeB.getRequestCount());
+    }
+
+    @Test
+    void testIntercept_nonIdempotentFailure_notRetried() throws IOException {
+        nodeA.enqueue(new MockResponse().setResponseCode(503));
+        nodeB.enqueue(new MockResponse().setResponseCode(503));
+
+        assertEquals(503, call(request().url("http://" + SIGNED_HOST + "/test-bucket/foto.png?uploads")
+                .post(RequestBody.create(new byte[0], null))));
+        assertEquals(1, nodeA.getRequestCount() + nodeB.getRequestCount());
+    }
+
+    @Test
+    void testIntercept_failingNodeEjectedAndRestoredByProbe() throws IOException, InterruptedException {
+        int portA = nodeA.getPort();
+        nodeA.shutdown();
+        nodeB.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+
+        // O empate entre os nós é sorteado; cada vez que o nó parado é sorteado a chamada é repetida no outro.
+        for (int i = 0; i < 100 && healthy(portA) == 1; i++) {
+            assertEquals(200, call(request().get()));
+        }
+        assertEquals(0, healthy(portA));
+        int before = nodeB.getRequestCount();
+        assertEquals(200, call(request().get()));
+        assertEquals(before + 1, nodeB.getRequestCount());
+
+        nodeA = new MockWebServer();
+        nodeA.start(portA);
+        nodeA.enqueue(new MockResponse().setResponseCode(200));
+        balancer.probe();
+
+        assertEquals(1, healthy(portA));
+        assertEquals("/minio/health/live", nodeA.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    @Test
+    void testIntercept_withoutEndpoints_passesThrough() throws IOException {
+        MinioEndpointBalancer disabled = new MinioEndpointBalancer(new MinioProperties(), registry);
+        OkHttpClient direct = new OkHttpClient.Builder().addInterceptor(disabled).build();
+        nodeA.enqueue(new MockResponse().setResponseCode(200));
+
+        try (Response response = direct.newCall(new Request.Builder().url(nodeA.url("/test-bucket/x.png")).build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertFalse(disabled.isEnabled());
+    }
+}
@@ -0,0 +1,120 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinioMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new SimpleMeterRegistry();
+        MinioProperties properties = new MinioProperties();
+        properties.setBucketName("test-bucket");
+        MinioMetrics metrics = new MinioMetrics(registry, properties, "miniaturas/", "blobs/");
+
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder().addInterceptor(metrics).eventListenerFactory(metrics).build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private void call(Request.Builder request) throws IOException {
+        try (Response response = client.newCall(request.build()).execute()) {
+            response.body().bytes();
+        }
+    }
+
+    private Request.Builder object(String path) {
+        return new Request.Builder().url(server.url("/test-bucket/" + path));
+    }
+
+    private Timer timer(String operation, String serviceName, String mediaType, String outcome) {
+        return registry.find("minio.requests")
+                .tags("operation", operation, "serviceName", serviceName, "mediaType", mediaType, "outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    void testIntercept_putAndGet_timedAndBytesCounted() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("0123456789"));
+
+        call(object("educAPI/foto.png").put(RequestBody.create(new byte[2048], MediaType.get("image/png"))));
+        call(object("educAPI/foto.png").get());
+
+        assertEquals(1, timer("put", "educAPI", "IMAGE", "SUCCESS").count());
+        assertEquals(1, timer("get", "educAPI", "IMAGE", "SUCCESS").count());
+        assertEquals(2048, registry.get("minio.transfer").tags("direction", "upload", "serviceName", "educAPI").counter().count());
+        assertEquals(10, registry.get("minio.transfer").tags("direction", "download", "mediaType", "IMAGE").counter().count());
+        // A segunda chamada reaproveita a conexão do pool.
+        assertEquals(1, registry.get("minio.http.connect").tag("outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void testIntercept_recognizesOperationsFromRequest() throws IOException {
+        for (int i = 0; i < 6; i++) {
+            server.enqueue(new MockResponse().setResponseCode(200));
+        }
+
+        call(object("educAPI/aula.mp4").head());
+        call(object("arquivos_desativados/educAPI/aula.mp4").put(RequestBody.create(new byte[0], null))
+                .header("x-amz-copy-source", "/test-bucket/educAPI/aula.mp4"));
+        call(object("educAPI/aula.mp4?tagging").put(RequestBody.create(new byte[0], null)));
+        call(object("educAPI/aula.mp4?uploadId=abc&partNumber=1").put(RequestBody.create(new byte[5], null)));
+        call(object("educAPI/aula.mp4").delete());
+        call(new Request.Builder().url(server.url("/test-bucket?delete")).post(RequestBody.create(new byte[0], null)));
+
+        assertEquals(1, timer("stat", "educAPI", "VIDEO", "SUCCESS").count());
+        assertEquals(1, timer("copy", "educAPI", "VIDEO", "SUCCESS").count());
+        assertEquals(1, timer("tag", "educAPI", "VIDEO", "SUCCESS").count());
+        assertEquals(1, timer("uploadPart", "educAPI", "VIDEO", "SUCCESS").count());
+        assertEquals(1, timer("remove", "educAPI", "VIDEO", "SUCCESS").count());
+        assertEquals(1, timer("removeBatch", MinioMetrics.NONE, MinioMetrics.NONE, "SUCCESS").count());
+    }
+
+    @Test
+    void testIntercept_errorResponse_taggedWithOutcomeAndNoBytes() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("<Error><Code>NoSuchKey</Code></Error>"));
+
+        call(object("miniaturas/educAPI/42/160/foto.jpg").get());
+
+        assertEquals(1, timer("get", "educAPI", "IMAGE", "CLIENT_ERROR").count());
+        assertNull(registry.find("minio.transfer").counter());
+    }
+
+    @Test
+    void testPresign_recordedWithoutHttp() throws Exception {
+        MinioMetrics metrics = new MinioMetrics(registry, new MinioProperties(), "miniaturas/", "blobs/");
+
+        assertEquals("url", metrics.presign("blobs/6f1c1e0e", () -> "url"));
+        assertThrows(IllegalStateException.class, () -> metrics.presign("educAPI/podcast.mp3", () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        assertEquals(1, timer("presign", MinioMetrics.NONE, MinioMetrics.NONE, "SUCCESS").count());
+        assertEquals(1, timer("presign", "educAPI", "AUDIO", "ERROR").count());
+    }
+}
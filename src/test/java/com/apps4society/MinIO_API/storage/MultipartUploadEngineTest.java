@@ -0,0 +1,282 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.exceptions.FileStorageException;
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.UploadPartResponse;
+import io.minio.messages.InitiateMultipartUploadResult;
+import io.minio.messages.Part;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MultipartUploadEngineTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String OBJECT = "educAPI/video.mp4";
+    private static final String UPLOAD_ID = "upload-1";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Mock
+    private MinioAsyncClient minioAsyncClient;
+
+    @Mock
+    private MinioProperties minioProperties;
+
+    private ExecutorService executor;
+    private MultipartUploadEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(minioProperties.getUploadPartSize()).thenReturn(DataSize.ofBytes(PART_SIZE));
+        when(minioProperties.getUploadParallelism()).thenReturn(2);
+        when(minioProperties.getUploadMaxRetries()).thenReturn(1);
+
+        executor = Executors.newFixedThreadPool(2);
+        engine = new MultipartUploadEngine(minioAsyncClient, executor, minioProperties);
+
+        InitiateMultipartUploadResult result = mock(InitiateMultipartUploadResult.class);
+        when(result.uploadId()).thenReturn(UPLOAD_ID);
+        CreateMultipartUploadResponse created = mock(CreateMultipartUploadResponse.class);
+        when(created.result()).thenReturn(result);
+        when(minioAsyncClient.createMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(created));
+        when(minioAsyncClient.completeMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(Part[].class), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(ObjectWriteResponse.class)));
+        when(minioAsyncClient.abortMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<UploadPartResponse> partResponse(int partNumber) {
+        return CompletableFuture.completedFuture(
+                new UploadPartResponse(Headers.of(), BUCKET, null, OBJECT, UPLOAD_ID, partNumber, "etag-" + partNumber));
+    }
+
+    private void stubParts() throws Exception {
+        when(minioAsyncClient.uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any()))
+                .thenAnswer(invocation -> partResponse(invocation.getArgument(6)));
+    }
+
+    @Test
+    void testUpload_splitsIntoPartsAndCompletesInOrder() throws Exception {
+        stubParts();
+        byte[] data = new byte[2 * PART_SIZE + 10];
+
+        engine.upload(BUCKET, OBJECT, new ByteArrayInputStream(data), data.length, "video/mp4");
+
+        verify(minioAsyncClient, times(3)).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any());
+        verify(minioAsyncClient).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), eq(10L), eq(UPLOAD_ID), eq(3), any(), any());
+
+        ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+        verify(minioAsyncClient).completeMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), parts.capture(), any(), any());
+        assertEquals(3, parts.getValue().length);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, parts.getValue()[i].partNumber());
+            assertEquals("etag-" + (i + 1), parts.getValue()[i].etag());
+        }
+        verify(minioAsyncClient, never()).abortMultipartUploadAsync(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpload_unknownSize_exactMultipleOfPartSize() throws Exception {
+        stubParts();
+        byte[] data = new byte[2 * PART_SIZE];
+
+        engine.upload(BUCKET, OBJECT, new ByteArrayInputStream(data), -1, "video/mp4");
+
+        verify(minioAsyncClient, times(2)).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), eq((long) PART_SIZE), eq(UPLOAD_ID), anyInt(), any(), any());
+        verify(minioAsyncClient).completeMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(Part[].class), any(), any());
+    }
+
+    @Test
+    void testUpload_retriesFailedPartIndividually() throws Exception {
+        AtomicInteger partTwoAttempts = new AtomicInteger();
+        when(minioAsyncClient.uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any()))
+                .thenAnswer(invocation -> {
+                    int partNumber = invocation.getArgument(6);
+                    if (partNumber == 2 && partTwoAttempts.getAndIncrement() == 0) {
+                        return CompletableFuture.failedFuture(new RuntimeException("Falha de rede simulada"));
+                    }
+                    return partResponse(partNumber);
+                });
+        byte[] data = new byte[PART_SIZE + 10];
+
+        engine.upload(BUCKET, OBJECT, new ByteArrayInputStream(data), data.length, "video/mp4");
+
+        assertEquals(2, partTwoAttempts.get());
+        verify(minioAsyncClient).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), eq(1), any(), any());
+        verify(minioAsyncClient).completeMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(Part[].class), any(), any());
+    }
+
+    @Test
+    void testUpload_partFailsAfterRetries_abortsUpload() throws Exception {
+        when(minioAsyncClient.uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Falha de rede simulada")));
+        byte[] data = new byte[PART_SIZE + 10];
+
+        assertThrows(FileStorageException.class, () ->
+                engine.upload(BUCKET, OBJECT, new ByteArrayInputStream(data), data.length, "video/mp4"));
+
+        verify(minioAsyncClient).abortMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(), any());
+        verify(minioAsyncClient, never()).completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Corpo reativo em buffers de 64 KiB, como chegam do servidor.
+     */
+    private Flux<DataBuffer> content(int size) {
+        int chunk = 64 * 1024;
+        return Flux.range(0, (size + chunk - 1) / chunk)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[Math.min(chunk, size - i * chunk)]));
+    }
+
+    @Test
+    void testReactiveUpload_smallContent_usesSinglePut() throws Exception {
+        when(minioAsyncClient.putObject(any(PutObjectArgs.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(ObjectWriteResponse.class)));
+
+        engine.upload(BUCKET, OBJECT, content(PART_SIZE - 1), "video/mp4").block();
+
+        ArgumentCaptor<PutObjectArgs> put = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioAsyncClient).putObject(put.capture());
+        assertEquals(OBJECT, put.getValue().object());
+        assertEquals(PART_SIZE - 1, put.getValue().objectSize());
+        verify(minioAsyncClient, never()).createMultipartUploadAsync(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testReactiveUpload_largeContent_splitsIntoParts() throws Exception {
+        stubParts();
+
+        engine.upload(BUCKET, OBJECT, content(2 * PART_SIZE + 10), "video/mp4").block();
+
+        verify(minioAsyncClient, times(2)).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), eq((long) PART_SIZE), eq(UPLOAD_ID), anyInt(), any(), any());
+        verify(minioAsyncClient).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), eq(10L), eq(UPLOAD_ID), eq(3), any(), any());
+        ArgumentCaptor<Part[]> parts = ArgumentCaptor.forClass(Part[].class);
+        verify(minioAsyncClient).completeMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), parts.capture(), any(), any());
+        assertEquals(3, parts.getValue().length);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, parts.getValue()[i].partNumber());
+        }
+        verify(minioAsyncClient, never()).putObject(any(PutObjectArgs.class));
+    }
+
+    @Test
+    void testReactiveUpload_partBuffersSentWithoutCopyAndReused() throws Exception {
+        stubParts();
+
+        engine.upload(BUCKET, OBJECT, content(PART_SIZE + 10), "video/mp4").block();
+        engine.upload(BUCKET, OBJECT, content(PART_SIZE + 10), "video/mp4").block();
+
+        ArgumentCaptor<Object> data = ArgumentCaptor.forClass(Object.class);
+        verify(minioAsyncClient, times(4)).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), data.capture(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any());
+        List<Object> first = data.getAllValues().subList(0, 2);
+        for (Object buffer : data.getAllValues()) {
+            assertEquals(PART_SIZE, ((byte[]) buffer).length);
+        }
+        // O segundo upload reaproveita os buffers do primeiro, já devolvidos ao pool.
+        for (Object buffer : data.getAllValues().subList(2, 4)) {
+            assertTrue(first.stream().anyMatch(used -> used == buffer));
+        }
+    }
+
+    @Test
+    void testReactiveUpload_partContentKept() throws Exception {
+        stubParts();
+        byte[] body = new byte[PART_SIZE + 10];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i % 251);
+        }
+        AtomicInteger mismatches = new AtomicInteger();
+        when(minioAsyncClient.uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any()))
+                .thenAnswer(invocation -> {
+                    byte[] part = invocation.getArgument(3);
+                    long length = invocation.getArgument(4);
+                    int number = invocation.getArgument(6);
+                    for (int i = 0; i < length; i++) {
+                        if (part[i] != body[(number - 1) * PART_SIZE + i]) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                    return partResponse(number);
+                });
+
+        engine.upload(BUCKET, OBJECT, Flux.range(0, 3).map(i -> {
+            int from = i * (body.length / 3);
+            int to = i == 2 ? body.length : from + body.length / 3;
+            return DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, from, to));
+        }), "video/mp4").block();
+
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    void testReactiveUpload_exactMultipleOfPartSize_skipsEmptyLastPart() throws Exception {
+        stubParts();
+
+        engine.upload(BUCKET, OBJECT, content(2 * PART_SIZE), "video/mp4").block();
+
+        verify(minioAsyncClient, times(2)).uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), eq((long) PART_SIZE), eq(UPLOAD_ID), anyInt(), any(), any());
+        verify(minioAsyncClient, never()).uploadPartAsync(any(), any(), any(), any(), eq(0L), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testReactiveUpload_partFailsAfterRetries_abortsUpload() throws Exception {
+        when(minioAsyncClient.uploadPartAsync(eq(BUCKET), any(), eq(OBJECT), any(), anyLong(), eq(UPLOAD_ID), anyInt(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Falha de rede simulada")));
+
+        assertThrows(FileStorageException.class, () ->
+                engine.upload(BUCKET, OBJECT, content(PART_SIZE + 10), "video/mp4").block());
+
+        verify(minioAsyncClient).abortMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(), any());
+        verify(minioAsyncClient, never()).completeMultipartUploadAsync(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testReactiveUpload_contentFails_abortsUpload() throws Exception {
+        stubParts();
+        Flux<DataBuffer> broken = content(PART_SIZE + 10).concatWith(Flux.error(new IllegalStateException("Cliente desconectou")));
+
+        assertThrows(FileStorageException.class, () -> engine.upload(BUCKET, OBJECT, broken, "video/mp4").block());
+
+        verify(minioAsyncClient).abortMultipartUploadAsync(eq(BUCKET), any(), eq(OBJECT), eq(UPLOAD_ID), any(), any());
+    }
+
+    @Test
+    void testPartSizeFor_growsToRespectPartLimit() {
+        assertEquals(PART_SIZE, engine.partSizeFor(-1));
+        assertEquals(PART_SIZE, engine.partSizeFor(100L * 1024 * 1024));
+
+        long huge = (long) PART_SIZE * MultipartUploadEngine.MAX_PARTS * 2;
+        assertTrue(engine.partSizeFor(huge) * MultipartUploadEngine.MAX_PARTS >= huge);
+    }
+}
@@ -0,0 +1,152 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.StorageTaskRepository;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StorageArchiverTest {
+
+    @Mock
+    private StorageTaskRepository storageTaskRepository;
+
+    @Mock
+    private StorageOutbox storageOutbox;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private MinioProperties minioProperties;
+
+    @Mock
+    private Result<DeleteError> deleteResult;
+
+    @Captor
+    private ArgumentCaptor<Iterable<StorageTask>> deletedTasks;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(minioProperties.getBucketName()).thenReturn("test-bucket");
+        when(minioProperties.getArchiveBatchSize()).thenReturn(2);
+        when(minioProperties.isArchiveKeepCopy()).thenReturn(true);
+    }
+
+    private StorageArchiver archiver() {
+        return new StorageArchiver(storageTaskRepository, storageOutbox, minioClient, minioProperties);
+    }
+
+    private static StorageTask archiveTask(String source) {
+        return new StorageTask(StorageTaskType.ARCHIVE, source, "arquivos_desativados/" + source);
+    }
+
+    @SafeVarargs
+    private void removeObjectsReturns(Result<DeleteError>... errors) {
+        when(minioClient.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of(errors));
+    }
+
+    private Collection<StorageTask> deleted(StorageTaskRepository repository) {
+        verify(repository).deleteAll(deletedTasks.capture());
+        List<StorageTask> tasks = new ArrayList<>();
+        deletedTasks.getValue().forEach(tasks::add);
+        return tasks;
+    }
+
+    @Test
+    void testArchive_copiesThenRemovesBatchAtOnce() throws Exception {
+        StorageTask first = archiveTask("educAPI/a.png");
+        StorageTask second = archiveTask("educAPI/b.png");
+        removeObjectsReturns();
+
+        assertEquals(2, archiver().archive(List.of(first, second)));
+
+        verify(storageOutbox).copyObject("educAPI/a.png", "arquivos_desativados/educAPI/a.png");
+        verify(storageOutbox).copyObject("educAPI/b.png", "arquivos_desativados/educAPI/b.png");
+        verify(minioClient, times(1)).removeObjects(any(RemoveObjectsArgs.class));
+        assertEquals(Set.of(first, second), Set.copyOf(deleted(storageTaskRepository)));
+    }
+
+    @Test
+    void testArchive_copyFailure_keepsOriginalAndReschedules() throws Exception {
+        StorageTask ok = archiveTask("educAPI/a.png");
+        StorageTask failing = archiveTask("educAPI/b.png");
+        RuntimeException cause = new RuntimeException("MinIO indisponível");
+        doThrow(cause).when(storageOutbox).copyObject(eq("educAPI/b.png"), any());
+        removeObjectsReturns();
+
+        assertEquals(1, archiver().archive(List.of(ok, failing)));
+
+        ArgumentCaptor<RemoveObjectsArgs> remove = ArgumentCaptor.forClass(RemoveObjectsArgs.class);
+        verify(minioClient).removeObjects(remove.capture());
+        assertEquals(1, remove.getValue().objects().spliterator().getExactSizeIfKnown());
+        verify(storageOutbox).reschedule(failing, cause);
+        assertEquals(List.of(ok), List.copyOf(deleted(storageTaskRepository)));
+    }
+
+    @Test
+    void testArchive_deleteError_reschedulesTask() throws Exception {
+        StorageTask ok = archiveTask("educAPI/a.png");
+        StorageTask failing = archiveTask("educAPI/b.png");
+        DeleteError error = mock(DeleteError.class);
+        when(error.objectName()).thenReturn("educAPI/b.png");
+        when(error.code()).thenReturn("AccessDenied");
+        when(deleteResult.get()).thenReturn(error);
+        removeObjectsReturns(deleteResult);
+
+        assertEquals(1, archiver().archive(List.of(ok, failing)));
+
+        verify(storageOutbox).reschedule(eq(failing), any(IllegalStateException.class));
+        verify(storageOutbox, never()).reschedule(eq(ok), any());
+        assertEquals(List.of(ok), List.copyOf(deleted(storageTaskRepository)));
+    }
+
+    @Test
+    void testArchive_withoutKeepCopy_onlyRemoves() throws Exception {
+        when(minioProperties.isArchiveKeepCopy()).thenReturn(false);
+        StorageTask task = archiveTask("educAPI/a.png");
+        removeObjectsReturns();
+
+        assertEquals(1, archiver().archive(List.of(task)));
+
+        verify(storageOutbox, never()).copyObject(any(), any());
+        verify(minioClient).removeObjects(any(RemoveObjectsArgs.class));
+    }
+
+    @Test
+    void testArchive_scheduled_stopsOnPartialBatch() {
+        when(storageTaskRepository.findByTypeAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(
+                eq(StorageTaskType.ARCHIVE), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(archiveTask("educAPI/a.png"), archiveTask("educAPI/b.png")))
+                .thenReturn(List.of(archiveTask("educAPI/c.png")));
+        removeObjectsReturns();
+
+        archiver().archive();
+
+        verify(storageTaskRepository, times(2)).findByTypeAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(
+                eq(StorageTaskType.ARCHIVE), any(LocalDateTime.class), argThat(limit -> limit.max() == 2));
+        verify(minioClient, times(2)).removeObjects(any(RemoveObjectsArgs.class));
+    }
+}
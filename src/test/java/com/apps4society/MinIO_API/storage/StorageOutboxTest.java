@@ -0,0 +1,201 @@
+package com.apps4society.MinIO_API.storage;
+
+import com.apps4society.MinIO_API.config.MinioProperties;
+import com.apps4society.MinIO_API.model.entity.StorageTask;
+import com.apps4society.MinIO_API.model.enums.StorageTaskType;
+import com.apps4society.MinIO_API.repository.MediaRepository;
+import com.apps4society.MinIO_API.repository.StorageTaskRepository;
+import io.minio.CopyObjectArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.RemoveObjectArgs;
+import io.minio.SetObjectTagsArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StorageOutboxTest {
+
+    private static final String SOURCE = "educAPI/foto.png";
+    private static final String TARGET = "arquivos_desativados/educAPI/foto.png";
+
+    @Mock
+    private StorageTaskRepository storageTaskRepository;
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private MinioClient minioClient;
+
+    @Mock
+    private MinioProperties minioProperties;
+
+    private StorageOutbox storageOutbox;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(minioProperties.getBucketName()).thenReturn("test-bucket");
+        when(minioProperties.getOutboxBatchSize()).thenReturn(10);
+        when(minioProperties.getOutboxPollInterval()).thenReturn(Duration.ofSeconds(30));
+        when(minioProperties.getOutboxMaxBackoff()).thenReturn(Duration.ofMinutes(5));
+        storageOutbox = new StorageOutbox(storageTaskRepository, mediaRepository, new TransactionTemplate(transactionManager),
+                minioClient, minioProperties);
+    }
+
+    private ErrorResponseException noSuchKey() {
+        ErrorResponse error = new ErrorResponse("NoSuchKey", "Object does not exist", "test-bucket", SOURCE, null, null, null);
+        return new ErrorResponseException(error, null, null);
+    }
+
+    @Test
+    void testDispatch_move_copiesRemovesAndDeletesTask() throws Exception {
+        when(minioClient.copyObject(any(CopyObjectArgs.class))).thenReturn(mock(ObjectWriteResponse.class));
+        StorageTask task = new StorageTask(StorageTaskType.MOVE, SOURCE, TARGET);
+
+        assertTrue(storageOutbox.dispatch(task));
+
+        ArgumentCaptor<CopyObjectArgs> copy = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(minioClient).copyObject(copy.capture());
+        assertEquals(TARGET, copy.getValue().object());
+        assertEquals(SOURCE, copy.getValue().source().object());
+        ArgumentCaptor<RemoveObjectArgs> remove = ArgumentCaptor.forClass(RemoveObjectArgs.class);
+        verify(minioClient).removeObject(remove.capture());
+        assertEquals(SOURCE, remove.getValue().object());
+        verify(storageTaskRepository).delete(task);
+        verifyNoInteractions(mediaRepository);
+    }
+
+    @Test
+    void testDispatch_moveWithNameHolder_releasesNameOnlyAfterMove() throws Exception {
+        when(minioClient.copyObject(any(CopyObjectArgs.class)))
+                .thenThrow(new IOException("MinIO indisponível"))
+                .thenReturn(mock(ObjectWriteResponse.class));
+        StorageTask task = new StorageTask(StorageTaskType.MOVE, SOURCE, TARGET);
+        task.setNameHolderId(7L);
+
+        assertFalse(storageOutbox.dispatch(task));
+        verify(mediaRepository, never()).deleteById(any());
+
+        assertTrue(storageOutbox.dispatch(task));
+        verify(storageTaskRepository).delete(task);
+        verify(mediaRepository).deleteById(7L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testDispatch_moveAlreadyDone_isIdempotent() throws Exception {
+        doThrow(noSuchKey()).when(minioClient).copyObject(any(CopyObjectArgs.class));
+        StatObjectResponse stat = mock(StatObjectResponse.class);
+        when(minioClient.statObject(any(StatObjectArgs.class))).thenReturn(stat);
+        StorageTask task = new StorageTask(StorageTaskType.MOVE, SOURCE, TARGET);
+
+        assertTrue(storageOutbox.dispatch(task));
+
+        verify(minioClient, never()).removeObject(any(RemoveObjectArgs.class));
+        verify(storageTaskRepository).delete(task);
+    }
+
+    @Test
+    void testDispatch_failure_keepsTaskWithBackoff() throws Exception {
+        doThrow(new RuntimeException("MinIO indisponível")).when(minioClient).copyObject(any(CopyObjectArgs.class));
+        StorageTask task = new StorageTask(StorageTaskType.MOVE, SOURCE, TARGET);
+        task.setAttempts(2);
+
+        assertFalse(storageOutbox.dispatch(task));
+
+        assertEquals(3, task.getAttempts());
+        assertEquals("MinIO indisponível", task.getLastError());
+        // 30s * 2^2 = 2min, abaixo do teto de 5min.
+        assertTrue(task.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(110)));
+        assertTrue(task.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(130)));
+        verify(storageTaskRepository).save(task);
+        verify(storageTaskRepository, never()).delete(any());
+    }
+
+    @Test
+    void testDispatch_failure_backoffIsCapped() throws Exception {
+        doThrow(new RuntimeException("MinIO indisponível")).when(minioClient).removeObject(any(RemoveObjectArgs.class));
+        StorageTask task = new StorageTask(StorageTaskType.REMOVE, SOURCE, null);
+        task.setAttempts(10);
+
+        storageOutbox.dispatch(task);
+
+        assertTrue(task.getNextAttemptAt().isBefore(LocalDateTime.now().plusMinutes(5).plusSeconds(1)));
+    }
+
+    @Test
+    void testRelay_dispatchesDueTasks() throws Exception {
+        StorageTask first = new StorageTask(StorageTaskType.REMOVE, "educAPI/a.png", null);
+        StorageTask second = new StorageTask(StorageTaskType.REMOVE, "educAPI/b.png", null);
+        when(storageTaskRepository.findByTypeNotAndNextAttemptAtLessThanEqualOrderByTaskIdAsc(
+                eq(StorageTaskType.ARCHIVE), any(LocalDateTime.class), eqLimit(10)))
+                .thenReturn(List.of(first, second));
+
+        storageOutbox.relay();
+
+        verify(minioClient, times(2)).removeObject(any(RemoveObjectArgs.class));
+        verify(storageTaskRepository).delete(first);
+        verify(storageTaskRepository).delete(second);
+    }
+
+    @Test
+    void testDispatch_tag_marksObjectAsDisabled() throws Exception {
+        StorageTask task = new StorageTask(StorageTaskType.TAG, SOURCE, null);
+
+        assertTrue(storageOutbox.dispatch(task));
+
+        ArgumentCaptor<SetObjectTagsArgs> tags = ArgumentCaptor.forClass(SetObjectTagsArgs.class);
+        verify(minioClient).setObjectTags(tags.capture());
+        assertEquals(SOURCE, tags.getValue().object());
+        assertEquals(StorageOutbox.DISABLED_TAGS, tags.getValue().tags().get());
+        verify(storageTaskRepository).delete(task);
+    }
+
+    @Test
+    void testDispatch_tagMissingObject_isDone() throws Exception {
+        doThrow(noSuchKey()).when(minioClient).setObjectTags(any(SetObjectTagsArgs.class));
+        StorageTask task = new StorageTask(StorageTaskType.TAG, SOURCE, null);
+
+        assertTrue(storageOutbox.dispatch(task));
+
+        verify(storageTaskRepository).delete(task);
+    }
+
+    @Test
+    void testDispatchAsync_runsOffCallerThread() throws Exception {
+        StorageTask task = new StorageTask(StorageTaskType.REMOVE, SOURCE, null);
+
+        storageOutbox.dispatchAsync(task);
+
+        verify(storageTaskRepository, timeout(1000)).delete(task);
+        verify(minioClient).removeObject(any(RemoveObjectArgs.class));
+    }
+
+    private static Limit eqLimit(int max) {
+        return argThat(limit -> limit != null && limit.max() == max);
+    }
+}